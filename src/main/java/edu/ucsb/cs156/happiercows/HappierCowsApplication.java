@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 import org.springframework.data.auditing.DateTimeProvider;
@@ -16,6 +17,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
 
+import edu.ucsb.cs156.happiercows.config.EagerBeansFilter;
 import edu.ucsb.cs156.happiercows.services.wiremock.WiremockService;
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,6 +28,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class HappierCowsApplication {
 
+  static final int STARTUP_STEPS = 20000;
+
   @Autowired
   WiremockService wiremockService;
 
@@ -55,8 +59,21 @@ public class HappierCowsApplication {
   }
   
   public static void main(String[] args) {
-    SpringApplication.run(HappierCowsApplication.class, args);
+    SpringApplication application = new SpringApplication(HappierCowsApplication.class);
+    // records how long each bean takes to create, for StartupReport
+    application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+    application.run(args);
   }
+
+  /**
+   * Beans that have to run at startup are created then even when
+   * spring.main.lazy-initialization is on
+   */
+  @Bean
+  public static EagerBeansFilter eagerBeansFilter() {
+    return new EagerBeansFilter();
+  }
+
   @Bean
   public DateTimeProvider utcDateTimeProvider() {
       return () -> {
@@ -0,0 +1,51 @@
+package edu.ucsb.cs156.happiercows.config;
+
+import java.io.IOException;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETags for the large API GETs the frontend polls (CACHEABLE): the response
+ * is buffered and hashed, and a request whose If-None-Match matches gets a
+ * 304 with no body. The ETag is weak so that Tomcat still compresses the
+ * response (it leaves responses with strong ETags alone).
+ *
+ * The responses are marked "private, no-cache" so the browser keeps them but
+ * asks again each time; without that Spring Security sends "no-store" and the
+ * browser never has an ETag to send back. Every other request, including
+ * /api/currentUser and the admin pages, keeps "no-store" and is not buffered.
+ */
+public class ApiEtagFilter extends ShallowEtagHeaderFilter {
+
+    public static final String CACHE_CONTROL = "private, no-cache";
+
+    static final Set<String> CACHEABLE = Set.of(
+            "/api/usercommons/commons/all",
+            "/api/commonstats",
+            "/api/commonstats/commons",
+            "/api/jobs/all");
+
+    public ApiEtagFilter() {
+        setWriteWeakETag(true);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || !CACHEABLE.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        super.doFilterInternal(request, response, filterChain);
+    }
+}
@@ -0,0 +1,56 @@
+package edu.ucsb.cs156.happiercows.config;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * With spring.main.lazy-initialization, keeps creating at startup the beans
+ * that do their work without being asked for: scheduled methods (ticks,
+ * heartbeats, write-behind), startup and shutdown hooks (trade log replay,
+ * last-online flush), event listeners and runners. Everything else, mostly
+ * controllers and what only they use, is created on first use.
+ */
+public class EagerBeansFilter implements LazyInitializationExcludeFilter {
+
+    static final List<Class<? extends Annotation>> EAGER_ANNOTATIONS = List.of(
+            Scheduled.class, PostConstruct.class, PreDestroy.class, EventListener.class);
+
+    static final List<Class<?>> EAGER_TYPES = List.of(
+            ApplicationRunner.class, CommandLineRunner.class, ApplicationListener.class, SmartLifecycle.class);
+
+    @Override
+    public boolean isExcluded(String beanName, BeanDefinition beanDefinition, Class<?> beanType) {
+        if (beanType == null) {
+            return false;
+        }
+        for (Class<?> type : EAGER_TYPES) {
+            if (type.isAssignableFrom(beanType)) {
+                return true;
+            }
+        }
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(ClassUtils.getUserClass(beanType))) {
+            for (Class<? extends Annotation> annotation : EAGER_ANNOTATIONS) {
+                if (AnnotatedElementUtils.hasAnnotation(method, annotation)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package edu.ucsb.cs156.happiercows.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+/**
+ * Caching for the frontend and the API (see app.http.* and
+ * server.compression.* in application.properties).
+ *
+ * The frontend build puts a content hash in every file name under /static/,
+ * so those files are cached for app.http.staticMaxAgeDays; a .br or .gz copy
+ * next to a file is sent instead when the browser accepts it. Other frontend
+ * files, index.html among them, are revalidated on each use. The large API
+ * GETs the frontend polls get an ETag from {@link ApiEtagFilter}.
+ */
+@Configuration
+public class HttpCachingConfig implements WebMvcConfigurer {
+
+    @Value("${app.http.staticMaxAgeDays}")
+    private long staticMaxAgeDays;
+
+    @Value("${app.http.etags}")
+    private boolean etags;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/static/**")
+                .addResourceLocations("classpath:/public/static/")
+                .setCacheControl(CacheControl.maxAge(staticMaxAgeDays, TimeUnit.DAYS).cachePublic())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ApiEtagFilter> apiEtagFilter() {
+        FilterRegistrationBean<ApiEtagFilter> registration = new FilterRegistrationBean<>(new ApiEtagFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setEnabled(etags);
+        return registration;
+    }
+}
@@ -23,7 +23,7 @@ import org.springframework.security.web.authentication.Http403ForbiddenEntryPoin
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
-import edu.ucsb.cs156.happiercows.entities.User;
+import edu.ucsb.cs156.happiercows.models.UserAuthInfo;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 
@@ -98,7 +98,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     if (adminEmails.contains(email)) {
       return true;
     }
-    Optional<User> u = userRepository.findByEmail(email);
+    Optional<UserAuthInfo> u = userRepository.findAuthInfoByEmail(email);
     return u.isPresent() && u.get().isAdmin();
   }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package edu.ucsb.cs156.happiercows.config;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Once the app is ready, logs the beans that took longest to create (each
+ * time includes the beans it needed first), from the steps recorded by the
+ * BufferingApplicationStartup set up in main, then drops the recording.
+ *
+ * With app.startup.exitWhenReady the app then exits; the Dockerfile uses
+ * that for the run that records the class data sharing archive.
+ */
+@Slf4j
+@Component
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    static final String INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    @Value("${app.startup.reportBeans}")
+    int reportBeans;
+
+    @Value("${app.startup.exitWhenReady}")
+    boolean exitWhenReady;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            if (reportBeans > 0) {
+                log.info("Slowest beans to create:\n{}", String.join("\n", slowestBeans(startup.getBufferedTimeline(), reportBeans)));
+            }
+            startup.drainBufferedTimeline();
+        }
+        if (exitWhenReady) {
+            log.info("app.startup.exitWhenReady is set, exiting");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    /** "beanName: N ms" for the <code>n</code> slowest bean creations, slowest first. */
+    static List<String> slowestBeans(StartupTimeline timeline, int n) {
+        return timeline.getEvents().stream()
+                .filter(e -> INSTANTIATE_STEP.equals(e.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(n)
+                .map(e -> String.format("%s: %d ms", beanName(e.getStartupStep()), e.getDuration().toMillis()))
+                .toList();
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
@@ -11,12 +11,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 
 import edu.ucsb.cs156.happiercows.entities.Announcement;
 import edu.ucsb.cs156.happiercows.repositories.AnnouncementRepository;
+import edu.ucsb.cs156.happiercows.services.AnnouncementService;
 
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
@@ -40,9 +38,14 @@ public class AnnouncementsController extends ApiController{
     @Autowired
     private UserCommonsRepository userCommonsRepository;
 
+    @Autowired
+    private AnnouncementService announcementService;
+
     @Autowired
     ObjectMapper mapper;
 
+    static final int MAX_PAGE_SIZE = 1000;
+
 
     @Operation(summary = "Create an announcement", description = "Create an announcement associated with a specific commons")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
@@ -89,14 +92,46 @@ public class AnnouncementsController extends ApiController{
 
         // Save the announcement
         announcementRepository.save(announcementObj);
+        announcementService.invalidate(commonsId);
 
         return ResponseEntity.ok(announcementObj);
     }
 
-    @Operation(summary = "Get all announcements", description = "Get all announcements associated with a specific commons.")
+    @Operation(summary = "Get all announcements", description = "Get the announcements of a specific commons that have not ended, newest first, a page at a time.")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
     @GetMapping("/getbycommonsid")
-    public ResponseEntity<Object> getAnnouncements(@Parameter(description = "The id of the common") @RequestParam Long commonsId) {
+    public ResponseEntity<Object> getAnnouncements(
+        @Parameter(description = "The id of the common") @RequestParam Long commonsId,
+        @Parameter(description = "The page to return, from 0") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "The number of announcements per page") @RequestParam(defaultValue = "1000") int size) {
+
+        ResponseEntity<Object> rejected = checkCanRead(commonsId, page, size);
+        if (rejected != null) {
+            return rejected;
+        }
+        return ResponseEntity.ok(announcementService.notEnded(commonsId, page, size));
+    }
+
+    @Operation(summary = "Get active announcements", description = "Get the announcements of a specific commons that are showing now, newest first, a page at a time.")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    @GetMapping("/active")
+    public ResponseEntity<Object> getActiveAnnouncements(
+        @Parameter(description = "The id of the common") @RequestParam Long commonsId,
+        @Parameter(description = "The page to return, from 0") @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "The number of announcements per page") @RequestParam(defaultValue = "20") int size) {
+
+        ResponseEntity<Object> rejected = checkCanRead(commonsId, page, size);
+        if (rejected != null) {
+            return rejected;
+        }
+        return ResponseEntity.ok(announcementService.active(commonsId, page, size));
+    }
+
+    // null if the current user may read this page of the commons' announcements
+    private ResponseEntity<Object> checkCanRead(Long commonsId, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("page must be at least 0 and size between 1 and " + MAX_PAGE_SIZE + ".");
+        }
 
         // Make sure the user is part of the commons or is an admin
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -104,16 +139,14 @@ public class AnnouncementsController extends ApiController{
             log.info("User is not an admin");
             User user = getCurrentUser().getUser();
             Long userId = user.getId();
+
             Optional<UserCommons> userCommonsLookup = userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId);
 
             if (!userCommonsLookup.isPresent()) {
                 return ResponseEntity.badRequest().body("Commons_id must exist.");
             }
         }
-
-        int MAX_ANNOUNCEMENTS = 1000;
-        Page<Announcement> announcements = announcementRepository.findByCommonsId(commonsId, PageRequest.of(0, MAX_ANNOUNCEMENTS, Sort.by("startDate").descending()));
-        return ResponseEntity.ok(announcements);
+        return null;
     }
 
     @Operation(summary = "Get announcements by id", description = "Get announcement by its id.")
@@ -180,6 +213,7 @@ public class AnnouncementsController extends ApiController{
 
         // Save the announcement
         announcementRepository.save(announcementObj);
+        announcementService.invalidate(announcementObj.getCommonsId());
         return ResponseEntity.ok(announcementObj);
     }
 
@@ -201,6 +235,7 @@ public class AnnouncementsController extends ApiController{
 
         // Hide the message
         announcementRepository.delete(announcementObj);
+        announcementService.invalidate(announcementObj.getCommonsId());
         return ResponseEntity.ok(announcementObj);
     }
 
@@ -20,9 +20,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import edu.ucsb.cs156.happiercows.services.CommonsDeletionService;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.LeaderboardService;
 
 
 import java.util.Optional;
@@ -45,6 +49,15 @@ public class CommonsController extends ApiController {
     @Autowired
     CommonsPlusBuilderService commonsPlusBuilderService;
 
+    @Autowired
+    LeaderboardService leaderboardService;
+
+    @Autowired
+    GameStateEngine gameStateEngine;
+
+    @Autowired
+    CommonsDeletionService commonsDeletionService;
+
     @Value("${app.commons.default.startingBalance}")
     private double defaultStartingBalance;
 
@@ -159,6 +172,16 @@ public class CommonsController extends ApiController {
         if (params.getBelowCapacityHealthUpdateStrategy() != null) {
             updated.setBelowCapacityHealthUpdateStrategy(CowHealthUpdateStrategies.valueOf(params.getBelowCapacityHealthUpdateStrategy()));
         }
+        // a blank cron goes back to the app default; null leaves the schedule as it was
+        if (params.getMilkTheCowsCron() != null) {
+            updated.setMilkTheCowsCron(tickCron(params.getMilkTheCowsCron(), "Milk The Cows Cron"));
+        }
+        if (params.getUpdateCowHealthCron() != null) {
+            updated.setUpdateCowHealthCron(tickCron(params.getUpdateCowHealthCron(), "Update Cow Health Cron"));
+        }
+        if (params.getRecordCommonStatsCron() != null) {
+            updated.setRecordCommonStatsCron(tickCron(params.getRecordCommonStatsCron(), "Record Common Stats Cron"));
+        }
 
         if (params.getDegradationRate() < 0) {
             throw new IllegalArgumentException("Degradation Rate cannot be negative");
@@ -185,10 +208,26 @@ public class CommonsController extends ApiController {
             throw new IllegalArgumentException("Carrying Capacity cannot be less than 1");
         }
         commonsRepository.save(updated);
+        // trades in memory use the old cow price
+        gameStateEngine.evict(id);
 
         return ResponseEntity.status(status).build();
     }
 
+    @Operation(summary = "Archive a commons, so its game is no longer ticked, or bring it back")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PutMapping("/archive")
+    public Commons archiveCommons(
+            @Parameter(name="id") @RequestParam long id,
+            @Parameter(name="archived") @RequestParam(defaultValue = "true") boolean archived
+    ) {
+        Commons commons = commonsRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(Commons.class, id));
+
+        commons.setArchived(archived);
+        return commonsRepository.save(commons);
+    }
+
     @Operation(summary = "Get a specific commons")
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("")
@@ -219,7 +258,10 @@ public class CommonsController extends ApiController {
                 .showLeaderboard(params.getShowLeaderboard())
                 .showChat(params.getShowChat())
                 .capacityPerUser(params.getCapacityPerUser())
-                .carryingCapacity(params.getCarryingCapacity());
+                .carryingCapacity(params.getCarryingCapacity())
+                .milkTheCowsCron(tickCron(params.getMilkTheCowsCron(), "Milk The Cows Cron"))
+                .updateCowHealthCron(tickCron(params.getUpdateCowHealthCron(), "Update Cow Health Cron"))
+                .recordCommonStatsCron(tickCron(params.getRecordCommonStatsCron(), "Record Common Stats Cron"));
 
         // ok to set null values for these, so old backend still works
         if (params.getAboveCapacityHealthUpdateStrategy() != null) {
@@ -264,6 +306,16 @@ public class CommonsController extends ApiController {
     }
 
 
+    private static String tickCron(String cron, String label) {
+        if (cron == null || cron.isBlank()) {
+            return null;
+        }
+        if (!CronExpression.isValidExpression(cron.trim())) {
+            throw new IllegalArgumentException(label + " is not a valid cron expression");
+        }
+        return cron.trim();
+    }
+
     @Operation(summary = "List all cow health update strategies")
     @PreAuthorize("hasRole('ROLE_USER')")
     @GetMapping("/all-health-update-strategies")
@@ -306,6 +358,7 @@ public class CommonsController extends ApiController {
                 .build();
 
         userCommonsRepository.save(uc);
+        leaderboardService.update(uc);
 
         String body = mapper.writeValueAsString(joinedCommons);
         return ResponseEntity.ok().body(body);
@@ -317,16 +370,10 @@ public class CommonsController extends ApiController {
     public Object deleteCommons(
             @Parameter(name="id") @RequestParam Long id) {
         
-        Iterable<UserCommons> userCommons = userCommonsRepository.findByCommonsId(id);
-
-        for (UserCommons commons : userCommons) {
-            userCommonsRepository.delete(commons);
-        }
-
         commonsRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException(Commons.class, id));
 
-        commonsRepository.deleteById(id);
+        commonsDeletionService.delete(id);
 
         String responseString = String.format("commons with id %d deleted", id);
         return genericMessage(responseString);
@@ -345,6 +392,8 @@ public class CommonsController extends ApiController {
                 );
 
         userCommonsRepository.delete(userCommons);
+        leaderboardService.remove(commonsId, userId);
+        gameStateEngine.evict(commonsId);
 
         String responseString = String.format("user with id %d deleted from commons with id %d, %d users remain", userId, commonsId, commonsRepository.getNumUsers(commonsId).orElse(0));
 
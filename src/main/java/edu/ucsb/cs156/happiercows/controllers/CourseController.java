@@ -4,8 +4,13 @@ import edu.ucsb.cs156.happiercows.entities.Course;
 import edu.ucsb.cs156.happiercows.repositories.CourseRepository;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,6 +22,8 @@ public class CourseController extends ApiController {
     @Autowired
     private CourseRepository courseRepository;
 
+    static final int MAX_PAGE_SIZE = 500;
+
     /**
      * This method returns a list of all courses.
      * 
@@ -29,4 +36,44 @@ public class CourseController extends ApiController {
         Iterable<Course> courses = courseRepository.findAll();
         return courses;
     }
+
+    /**
+     * This method returns one page of courses, without counting them all.
+     *
+     * @return the courses on the page and whether there is a next page
+     */
+    @Operation(summary = "Get one page of courses, sorted and optionally filtered by term and a prefix of their code or name")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/paged")
+    public Slice<Course> coursesPaged(
+            @Parameter(name="page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(name="size") @RequestParam(defaultValue = "50") int size,
+            @Parameter(name="sort", description="one of code, name, term") @RequestParam(defaultValue = "code") String sort,
+            @Parameter(name="direction", description="ASC or DESC") @RequestParam(defaultValue = "ASC") String direction,
+            @Parameter(name="term", description="only courses in this term") @RequestParam(required = false) String term,
+            @Parameter(name="search", description="prefix of the course's code or name") @RequestParam(required = false) String search) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        Pageable pageable = PageRequest.of(page, size, sortFor(sort, Sort.Direction.fromString(direction)));
+        boolean byTerm = term != null && !term.isBlank();
+        if (search == null || search.isBlank()) {
+            return byTerm ? courseRepository.findSliceByTerm(term.trim(), pageable) : courseRepository.findSlice(pageable);
+        }
+        return byTerm ? courseRepository.searchSliceByTerm(search.trim(), term.trim(), pageable)
+                : courseRepository.searchSlice(search.trim(), pageable);
+    }
+
+    static Sort sortFor(String sort, Sort.Direction direction) {
+        switch (sort) {
+            case "code":
+                return Sort.by(direction, "code").and(Sort.by("id"));
+            case "name":
+                return Sort.by(direction, "name").and(Sort.by("id"));
+            case "term":
+                return Sort.by(direction, "term", "code").and(Sort.by("id"));
+            default:
+                throw new IllegalArgumentException("sort must be one of code, name, term");
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.ucsb.cs156.happiercows.entities.CowDeath;
+import edu.ucsb.cs156.happiercows.repositories.CowDeathRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "CowDeaths")
+@RequestMapping("/api/cowdeaths")
+@RestController
+public class CowDeathsController extends ApiController {
+
+    @Autowired
+    CowDeathRepository cowDeathRepository;
+
+    @Operation(summary = "Get the cow deaths in a commons over a time range")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/commons")
+    public Iterable<CowDeath> cowDeathsForCommons(
+            @Parameter(name = "commonsId") @RequestParam Long commonsId,
+            @Parameter(name = "from", description = "start of the range, inclusive, e.g. 2024-11-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(name = "to", description = "end of the range, exclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        checkRange(from, to);
+        return cowDeathRepository.findByCommonsIdBetween(commonsId, from, to);
+    }
+
+    @Operation(summary = "Get the deaths of one farmer's cows in a commons over a time range")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/commons/user")
+    public Iterable<CowDeath> cowDeathsForUser(
+            @Parameter(name = "commonsId") @RequestParam Long commonsId,
+            @Parameter(name = "userId") @RequestParam Long userId,
+            @Parameter(name = "from", description = "start of the range, inclusive, e.g. 2024-11-01T00:00:00") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(name = "to", description = "end of the range, exclusive") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        checkRange(from, to);
+        return cowDeathRepository.findByCommonsIdAndUserIdBetween(commonsId, userId, from, to);
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.ucsb.cs156.happiercows.models.HistoryPoint;
+import edu.ucsb.cs156.happiercows.services.UserHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "History")
+@RequestMapping("/api/history")
+@RestController
+public class HistoryController extends ApiController {
+
+    static final int MAX_POINTS = 2000;
+
+    // bounds for a range left open; both fit in a SQL timestamp
+    static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    UserHistoryService userHistoryService;
+
+    @Operation(summary = "Get the wealth and herd history of a user in a commons (admin only)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("")
+    public List<HistoryPoint> historyForUser(
+            @Parameter(name = "commonsId") @RequestParam Long commonsId,
+            @Parameter(name = "userId") @RequestParam Long userId,
+            @Parameter(name = "from", description = "start of the range, inclusive; the whole game if omitted") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(name = "to", description = "end of the range, exclusive") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(name = "points", description = "most points to return; longer histories are downsampled") @RequestParam(defaultValue = "200") int points) {
+        return series(commonsId, userId, from, to, points);
+    }
+
+    @Operation(summary = "Get the wealth and herd history of the current user in a commons")
+    @PreAuthorize("hasRole('ROLE_USER')")
+    @GetMapping("/commonsid")
+    public List<HistoryPoint> historyForCurrentUser(
+            @Parameter(name = "commonsId") @RequestParam Long commonsId,
+            @Parameter(name = "from", description = "start of the range, inclusive; the whole game if omitted") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(name = "to", description = "end of the range, exclusive") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(name = "points", description = "most points to return; longer histories are downsampled") @RequestParam(defaultValue = "200") int points) {
+        Long userId = getCurrentUser().getUser().getId();
+        return series(commonsId, userId, from, to, points);
+    }
+
+    private List<HistoryPoint> series(Long commonsId, Long userId, LocalDateTime from, LocalDateTime to, int points) {
+        if (points < 1 || points > MAX_POINTS) {
+            throw new IllegalArgumentException("points must be between 1 and " + MAX_POINTS);
+        }
+        return userHistoryService.series(commonsId, userId, from == null ? EARLIEST : from, to == null ? LATEST : to, points);
+    }
+}
@@ -7,34 +7,54 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
 import edu.ucsb.cs156.happiercows.jobs.InstructorReportJob;
 import edu.ucsb.cs156.happiercows.jobs.InstructorReportJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.InstructorReportJobSingleCommons;
 import edu.ucsb.cs156.happiercows.jobs.InstructorReportJobSingleCommonsFactory;
+import edu.ucsb.cs156.happiercows.jobs.JobRetentionJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.BulkEnrollJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.DeleteCommonsJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.GrantCowsJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.ResetWealthJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.CatchUpTicksJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.MilkTheCowsJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.MilkTheCowsJobFactoryInd;
 import edu.ucsb.cs156.happiercows.jobs.SetCowHealthJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.SimulateCommonsJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.UpdateCowHealthJobFactoryInd;
 import edu.ucsb.cs156.happiercows.jobs.TestJob;
 import edu.ucsb.cs156.happiercows.jobs.UpdateCowHealthJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.RecordCommonStatsJob;
 import edu.ucsb.cs156.happiercows.jobs.RecordCommonStatsJobFactory;
+import edu.ucsb.cs156.happiercows.models.JobLogDelta;
+import edu.ucsb.cs156.happiercows.models.JobSummary;
+import edu.ucsb.cs156.happiercows.models.TickLedgerEntry;
+import edu.ucsb.cs156.happiercows.repositories.TickCheckpointRepository;
 import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.services.jobs.JobEventService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobLogs;
 import edu.ucsb.cs156.happiercows.services.jobs.JobService;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.services.SimulationService;
+
+import java.util.List;
 
 
 @Tag(name = "Jobs")
@@ -77,11 +97,41 @@ public class JobsController extends ApiController {
     @Autowired
     RecordCommonStatsJobFactory recordCommonStatsJobFactory;
 
-    @Operation(summary = "List all jobs")
+    @Autowired
+    JobEventService jobEventService;
+
+    @Autowired
+    JobRetentionJobFactory jobRetentionJobFactory;
+
+    @Autowired
+    SimulateCommonsJobFactory simulateCommonsJobFactory;
+
+    @Autowired
+    CatchUpTicksJobFactory catchUpTicksJobFactory;
+
+    @Autowired
+    BulkEnrollJobFactory bulkEnrollJobFactory;
+
+    @Autowired
+    DeleteCommonsJobFactory deleteCommonsJobFactory;
+
+    @Autowired
+    ResetWealthJobFactory resetWealthJobFactory;
+
+    @Autowired
+    GrantCowsJobFactory grantCowsJobFactory;
+
+    @Autowired
+    TickCheckpointRepository tickCheckpointRepository;
+
+    @Value("${app.jobs.all.limit}")
+    private int allJobsLimit;
+
+    @Operation(summary = "List the most recent jobs (at most app.jobs.all.limit), newest first")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/all")
     public Iterable<Job> allJobs() {
-        Iterable<Job> jobs = jobsRepository.findAll();
+        Iterable<Job> jobs = jobsRepository.findAll(PageRequest.of(0, allJobsLimit, Sort.by("id").descending())).getContent();
         return jobs;
     }
 
@@ -96,6 +146,38 @@ public class JobsController extends ApiController {
         return jobs;
     }
 
+    @Operation(summary = "List jobs without their logs, newest first")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/all/summary")
+    public Page<JobSummary> allJobSummaries(
+         @Parameter(name="page") @RequestParam int page,
+         @Parameter(name="size") @RequestParam int size
+    ) {
+        return jobsRepository.findSummaries(PageRequest.of(page, size, Sort.by("id").descending()));
+    }
+
+    @Operation(summary = "Get the log of a job, starting at a character offset")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/log")
+    public JobLogDelta jobLog(
+         @Parameter(name="id") @RequestParam Long id,
+         @Parameter(name="offset", description="number of characters of the log the caller already has") @RequestParam(defaultValue = "0") int offset
+    ) {
+        Job job = jobsRepository.findById(id)
+            .orElseThrow(() -> new EntityNotFoundException(Job.class, id));
+        String log = job.getLog() == null ? "" : job.getLog();
+        // a truncated log has changed after its truncation marker since the caller read it
+        int start = Math.max(0, Math.min(offset, JobLogs.stableLength(log)));
+        return new JobLogDelta(id, start, log.substring(start));
+    }
+
+    @Operation(summary = "Subscribe to job status changes and log lines (server-sent events named status and log)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter jobEvents() {
+        return jobEventService.subscribe();
+    }
+
     @Operation(summary = "Launch Test Job (click fail if you want to test exception handling)")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/launch/testjob")
@@ -171,6 +253,56 @@ public class JobsController extends ApiController {
         return jobService.runAsJob(setCowHealthJob);
     }
 
+    @Operation(summary = "Launch Job to set the wealth of every farmer in a commons")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/launch/resetwealth")
+    public Job resetWealth(
+        @Parameter(name="commonsId") @RequestParam Long commonsId,
+        @Parameter(name="wealth") @RequestParam double wealth
+    ) {
+        if (wealth < 0) {
+            throw new IllegalArgumentException("wealth must not be negative");
+        }
+        JobContextConsumer resetWealthJob = resetWealthJobFactory.create(commonsId, wealth);
+        return jobService.runAsJob(resetWealthJob);
+    }
+
+    @Operation(summary = "Launch Job to give every farmer in a commons more cows")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/launch/grantcows")
+    public Job grantCows(
+        @Parameter(name="commonsId") @RequestParam Long commonsId,
+        @Parameter(name="cows") @RequestParam int cows
+    ) {
+        if (cows < 1) {
+            throw new IllegalArgumentException("cows must be at least 1");
+        }
+        JobContextConsumer grantCowsJob = grantCowsJobFactory.create(commonsId, cows);
+        return jobService.runAsJob(grantCowsJob);
+    }
+
+    @Operation(summary = "Launch Job to join every student of a course who has logged in to a commons")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/launch/bulkenroll")
+    public Job bulkEnroll(
+        @Parameter(name="courseId") @RequestParam Long courseId,
+        @Parameter(name="commonsId") @RequestParam Long commonsId
+    ) {
+        JobContextConsumer bulkEnrollJob = bulkEnrollJobFactory.create(courseId, commonsId);
+        return jobService.runAsJob(bulkEnrollJob);
+    }
+
+    @Operation(summary = "Launch Job to delete a commons and all of its rows, or to archive it")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/launch/deletecommons")
+    public Job deleteCommons(
+        @Parameter(name="commonsId") @RequestParam Long commonsId,
+        @Parameter(name="archive", description="keep the commons' history and only stop ticking it") @RequestParam(defaultValue = "false") Boolean archive
+    ) {
+        JobContextConsumer deleteCommonsJob = deleteCommonsJobFactory.create(commonsId, archive);
+        return jobService.runAsJob(deleteCommonsJob);
+    }
+
     @Operation(summary = "Launch Job to Produce Instructor Report")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/launch/instructorreport")
@@ -200,4 +332,43 @@ public class JobsController extends ApiController {
         RecordCommonStatsJob recordCommonStatsJob = (RecordCommonStatsJob) recordCommonStatsJobFactory.create();
         return jobService.runAsJob(recordCommonStatsJob);
     }
+
+    @Operation(summary = "Launch Job to delete old jobs and compress the logs of older ones")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/launch/jobretention")
+    public Job jobRetention(
+    ) {
+        JobContextConsumer jobRetentionJob = jobRetentionJobFactory.create();
+        return jobService.runAsJob(jobRetentionJob);
+    }
+
+    @Operation(summary = "Get the last tick of each type applied to each commons")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/ticks/ledger")
+    public List<TickLedgerEntry> tickLedger() {
+        return tickCheckpointRepository.findLedger();
+    }
+
+    @Operation(summary = "Launch Job to apply the ticks that were missed while the app was down")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/launch/catchupticks")
+    public Job catchUpTicks(
+    ) {
+        JobContextConsumer catchUpTicksJob = catchUpTicksJobFactory.create();
+        return jobService.runAsJob(catchUpTicksJob);
+    }
+
+    @Operation(summary = "Launch Job to simulate a commons forward from its current state (the commons is not changed)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/launch/simulatecommons")
+    public Job simulateCommons(
+        @Parameter(name="commonsId") @RequestParam Long commonsId,
+        @Parameter(name="ticks") @RequestParam int ticks
+    ) {
+        if (ticks < 0 || ticks > SimulationService.MAX_TICKS) {
+            throw new IllegalArgumentException("ticks must be between 0 and " + SimulationService.MAX_TICKS);
+        }
+        JobContextConsumer simulateCommonsJob = simulateCommonsJobFactory.create(commonsId, ticks);
+        return jobService.runAsJob(simulateCommonsJob);
+    }
 }
@@ -0,0 +1,90 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.UserCommons;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.models.LeaderboardMetric;
+import edu.ucsb.cs156.happiercows.models.LeaderboardView;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.LeaderboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Leaderboard")
+@RequestMapping("/api/leaderboard")
+@RestController
+public class LeaderboardController extends ApiController {
+
+    static final int MAX_ENTRIES = 100;
+
+    @Autowired
+    LeaderboardService leaderboardService;
+
+    @Autowired
+    CommonsRepository commonsRepository;
+
+    @Operation(summary = "Get the top players of a commons", description = "Visible to admins, and to players of the commons when its leaderboard is shown")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    @GetMapping("/top")
+    public ResponseEntity<Object> top(
+            @Parameter(name="commonsId") @RequestParam Long commonsId,
+            @Parameter(name="metric", description="totalWealth, numOfCows or cowHealth") @RequestParam(defaultValue = "totalWealth") LeaderboardMetric metric,
+            @Parameter(name="k", description="number of players to return") @RequestParam(defaultValue = "10") int k) {
+        checkCount("k", k);
+        if (!canView(commonsId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(leaderboardService.top(commonsId, metric, k));
+    }
+
+    @Operation(summary = "Get the current user's rank in a commons, with the players ranked just above and below")
+    @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
+    @GetMapping("/me")
+    public ResponseEntity<Object> me(
+            @Parameter(name="commonsId") @RequestParam Long commonsId,
+            @Parameter(name="metric", description="totalWealth, numOfCows or cowHealth") @RequestParam(defaultValue = "totalWealth") LeaderboardMetric metric,
+            @Parameter(name="neighbours", description="number of players to include on each side") @RequestParam(defaultValue = "2") int neighbours) {
+        checkCount("neighbours", neighbours);
+        if (!canView(commonsId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Long userId = getCurrentUser().getUser().getId();
+        Optional<LeaderboardView> view = leaderboardService.around(commonsId, userId, metric, neighbours);
+        if (view.isEmpty()) {
+            throw new EntityNotFoundException(UserCommons.class, "commonsId", commonsId, "userId", userId);
+        }
+        return ResponseEntity.ok(view.get());
+    }
+
+    // Admins can see every leaderboard; players only their own commons', and only if it is shown
+    private boolean canView(Long commonsId) {
+        Commons commons = commonsRepository.findById(commonsId)
+                .orElseThrow(() -> new EntityNotFoundException(Commons.class, commonsId));
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            return true;
+        }
+        Long userId = getCurrentUser().getUser().getId();
+        return commons.isShowLeaderboard() && leaderboardService.isPlayer(commonsId, userId);
+    }
+
+    private static void checkCount(String name, int value) {
+        if (value < 0 || value > MAX_ENTRIES) {
+            throw new IllegalArgumentException("%s must be between 0 and %d".formatted(name, MAX_ENTRIES));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.ucsb.cs156.happiercows.models.SchedulerStatus;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Scheduler")
+@RequestMapping("/api/scheduler")
+@RestController
+public class SchedulerController extends ApiController {
+
+    @Autowired
+    private SchedulerLockService schedulerLockService;
+
+    @Operation(summary = "Get the live instances, the scheduler leases and this instance's lease counters")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/status")
+    public SchedulerStatus getStatus() {
+        return schedulerLockService.getStatus();
+    }
+}
@@ -0,0 +1,50 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.ucsb.cs156.happiercows.models.SimulationParams;
+import edu.ucsb.cs156.happiercows.models.SimulationResult;
+import edu.ucsb.cs156.happiercows.models.SimulationRunSummary;
+import edu.ucsb.cs156.happiercows.models.SimulationSweep;
+import edu.ucsb.cs156.happiercows.services.SimulationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Simulation")
+@RequestMapping("/api/simulation")
+@RestController
+public class SimulationController extends ApiController {
+
+    @Autowired
+    SimulationService simulationService;
+
+    @Operation(summary = "Simulate a commons forward from its current state without changing it",
+        description = "Parameters left out of the request body are taken from the commons")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/run")
+    public SimulationResult run(
+            @Parameter(name="commonsId") @RequestParam Long commonsId,
+            @Parameter(name="request body") @RequestBody SimulationParams params
+    ) {
+        return simulationService.simulate(commonsId, params);
+    }
+
+    @Operation(summary = "Simulate a commons many times with randomly varied parameters and return the final state of each run")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/sweep")
+    public List<SimulationRunSummary> sweep(
+            @Parameter(name="commonsId") @RequestParam Long commonsId,
+            @Parameter(name="request body") @RequestBody SimulationSweep sweep
+    ) {
+        return simulationService.sweep(commonsId, sweep);
+    }
+}
@@ -0,0 +1,96 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import edu.ucsb.cs156.happiercows.entities.Student;
+import edu.ucsb.cs156.happiercows.models.RosterImportResult;
+import edu.ucsb.cs156.happiercows.repositories.StudentRepository;
+import edu.ucsb.cs156.happiercows.services.StudentRosterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Students")
+@RequestMapping("/api/students")
+@RestController
+public class StudentsController extends ApiController {
+
+    @Autowired
+    StudentRepository studentRepository;
+
+    @Autowired
+    StudentRosterService studentRosterService;
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    @Operation(summary = "List the students in a course (admin only)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("")
+    public Iterable<Student> getStudentsByCourse(
+            @Parameter(name = "courseId") @RequestParam Long courseId) {
+        return studentRepository.findByCourseId(courseId);
+    }
+
+    @Operation(summary = "Get one page of the students in a course, sorted and optionally filtered by a prefix of their perm, email or last name (admin only)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/paged")
+    public Slice<Student> studentsPaged(
+            @Parameter(name = "courseId") @RequestParam Long courseId,
+            @Parameter(name = "page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(name = "size") @RequestParam(defaultValue = "50") int size,
+            @Parameter(name = "sort", description = "one of lastName, perm, email") @RequestParam(defaultValue = "lastName") String sort,
+            @Parameter(name = "direction", description = "ASC or DESC") @RequestParam(defaultValue = "ASC") String direction,
+            @Parameter(name = "search", description = "prefix of the student's perm, email or last name") @RequestParam(required = false) String search) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        Pageable pageable = PageRequest.of(page, size, sortFor(sort, Sort.Direction.fromString(direction)));
+        if (search == null || search.isBlank()) {
+            return studentRepository.findSliceByCourseId(courseId, pageable);
+        }
+        return studentRepository.searchSliceByCourseId(courseId, search.trim(), pageable);
+    }
+
+    static Sort sortFor(String sort, Sort.Direction direction) {
+        switch (sort) {
+            case "lastName":
+                return Sort.by(direction, "lastName", "firstMiddleName").and(Sort.by("id"));
+            case "perm":
+                return Sort.by(direction, "perm").and(Sort.by("id"));
+            case "email":
+                return Sort.by(direction, "email").and(Sort.by("id"));
+            default:
+                throw new IllegalArgumentException("sort must be one of lastName, perm, email");
+        }
+    }
+
+    @Operation(summary = "Import a course roster from CSV (admin only)",
+            description = "Adds new students and updates existing ones, matched by perm. The CSV needs perm and email columns; lastName and firstMiddleName are optional.")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping(value = "/upload/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public RosterImportResult uploadRoster(
+            @Parameter(name = "courseId") @RequestParam long courseId,
+            @Parameter(name = "file") @RequestPart("file") MultipartFile file) throws IOException {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return studentRosterService.importRoster(courseId, reader);
+        }
+    }
+}
@@ -19,14 +19,25 @@ import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
 import edu.ucsb.cs156.happiercows.errors.NoCowsException;
 import edu.ucsb.cs156.happiercows.errors.NotEnoughMoneyException;
+import edu.ucsb.cs156.happiercows.models.CompactTable;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.LeaderboardService;
+import edu.ucsb.cs156.happiercows.services.UserHistoryService;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PutMapping;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 @Tag(name = "User Commons")
 @RequestMapping("/api/usercommons")
 @RestController
@@ -41,6 +52,46 @@ public class UserCommonsController extends ApiController {
   @Autowired
   ObjectMapper mapper;
 
+  @Autowired
+  LeaderboardService leaderboardService;
+
+  @Autowired
+  GameStateEngine gameStateEngine;
+
+  @Autowired
+  UserHistoryService userHistoryService;
+
+  private UserCommons findUserCommons(Long commonsId, Long userId) {
+    if (gameStateEngine.isEnabled()) {
+      return gameStateEngine.find(commonsId, userId).map(GameStateEngine::toUserCommons)
+          .orElseThrow(
+              () -> new EntityNotFoundException(UserCommons.class, "commonsId", commonsId, "userId", userId));
+    }
+    return userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)
+        .orElseThrow(
+            () -> new EntityNotFoundException(UserCommons.class, "commonsId", commonsId, "userId", userId));
+  }
+
+  /**
+   * Append the trader's point to their history. The trade is already saved
+   * by then, so a failure here is logged rather than failing the trade, which
+   * a retry would make twice.
+   */
+  private void recordHistory(Long commonsId, Long userId, UserCommons userCommons) {
+    UserCommonsSummary row = UserCommonsSummary.builder()
+        .userId(userId)
+        .commonsId(commonsId)
+        .totalWealth(userCommons.getTotalWealth())
+        .numOfCows(userCommons.getNumOfCows())
+        .cowHealth(userCommons.getCowHealth())
+        .build();
+    try {
+      userHistoryService.record(commonsId, List.of(row), LocalDateTime.now());
+    } catch (RuntimeException e) {
+      log.error("could not record the history of user {} in commons {}", userId, commonsId, e);
+    }
+  }
+
   @Operation(summary = "Get a specific user commons (admin only)")
   @PreAuthorize("hasRole('ROLE_ADMIN')")
   @GetMapping("")
@@ -48,10 +99,7 @@ public class UserCommonsController extends ApiController {
       @Parameter(name="userId") @RequestParam Long userId,
       @Parameter(name="commonsId") @RequestParam Long commonsId) throws JsonProcessingException {
 
-    UserCommons userCommons = userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)
-        .orElseThrow(
-            () -> new EntityNotFoundException(UserCommons.class, "commonsId", commonsId, "userId", userId));
-    return userCommons;
+    return findUserCommons(commonsId, userId);
   }
 
   @Operation(summary = "Get a user commons for current user")
@@ -62,10 +110,7 @@ public class UserCommonsController extends ApiController {
 
     User u = getCurrentUser().getUser();
     Long userId = u.getId();
-    UserCommons userCommons = userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)
-        .orElseThrow(
-            () -> new EntityNotFoundException(UserCommons.class, "commonsId", commonsId, "userId", userId));
-    return userCommons;
+    return findUserCommons(commonsId, userId);
   }
 
   @Operation(summary = "Buy a cow, totalWealth updated")
@@ -78,6 +123,12 @@ public class UserCommonsController extends ApiController {
         User u = getCurrentUser().getUser();
         Long userId = u.getId();
 
+        if (gameStateEngine.isEnabled()) {
+          UserCommons userCommons = GameStateEngine.toUserCommons(gameStateEngine.buy(commonsId, userId, numCows));
+          leaderboardService.update(userCommons);
+          return ResponseEntity.ok().body(mapper.writeValueAsString(userCommons));
+        }
+
         Commons commons = commonsRepository.findById(commonsId).orElseThrow( 
           ()->new EntityNotFoundException(Commons.class, commonsId));
         UserCommons userCommons = userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)
@@ -93,6 +144,8 @@ public class UserCommonsController extends ApiController {
           throw new NotEnoughMoneyException("You need more money!");
         }
         userCommonsRepository.save(userCommons);
+        leaderboardService.update(userCommons);
+        recordHistory(commonsId, userId, userCommons);
 
         String body = mapper.writeValueAsString(userCommons);
         return ResponseEntity.ok().body(body);
@@ -107,6 +160,12 @@ public class UserCommonsController extends ApiController {
         User u = getCurrentUser().getUser();
         Long userId = u.getId();
 
+        if (gameStateEngine.isEnabled()) {
+          UserCommons userCommons = GameStateEngine.toUserCommons(gameStateEngine.sell(commonsId, userId, numCows));
+          leaderboardService.update(userCommons);
+          return ResponseEntity.ok().body(mapper.writeValueAsString(userCommons));
+        }
+
         Commons commons = commonsRepository.findById(commonsId).orElseThrow( 
           ()->new EntityNotFoundException(Commons.class, commonsId));
         UserCommons userCommons = userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)
@@ -124,6 +183,8 @@ public class UserCommonsController extends ApiController {
           throw new NoCowsException("You do not have enough cows to sell!");
         }
         userCommonsRepository.save(userCommons);
+        leaderboardService.update(userCommons);
+        recordHistory(commonsId, userId, userCommons);
 
         String body = mapper.writeValueAsString(userCommons);
         return ResponseEntity.ok().body(body);
@@ -131,16 +192,27 @@ public class UserCommonsController extends ApiController {
 
     
 
-    @Operation(summary = "Get all user commons for a specific commons")
+    @Operation(summary = "Get all user commons for a specific commons",
+        description = "format=compact returns {columns, rows} with one array of values per user instead of one object per user")
     @PreAuthorize("hasAnyRole('ROLE_USER', 'ROLE_ADMIN')")
     @GetMapping("/commons/all")
-    public  ResponseEntity<String> getUsersCommonsByCommonsId(
-        @Parameter(name="commonsId") @RequestParam Long commonsId) throws JsonProcessingException {
-      Iterable<UserCommons> uc = userCommonsRepository.findByCommonsId(commonsId);
-      
-   
-    String body = mapper.writeValueAsString(uc);
-    return ResponseEntity.ok().body(body);
+    public Object getUsersCommonsByCommonsId(
+        @Parameter(name="commonsId") @RequestParam Long commonsId,
+        @Parameter(name="format", description="objects (default) or compact") @RequestParam(defaultValue = "objects") String format) {
+      List<UserCommonsSummary> userCommons = gameStateEngine.isEnabled()
+          ? gameStateEngine.summaries(commonsId)
+          : userCommonsRepository.findSummariesByCommonsId(commonsId);
+
+      switch (format) {
+        case "objects":
+          return userCommons;
+        case "compact":
+          List<Object[]> rows = new ArrayList<>(userCommons.size());
+          userCommons.forEach(uc -> rows.add(uc.toRow()));
+          return CompactTable.builder().columns(UserCommonsSummary.COLUMNS).rows(rows).build();
+        default:
+          throw new IllegalArgumentException("format must be objects or compact");
+      }
   }
 
 }
\ No newline at end of file
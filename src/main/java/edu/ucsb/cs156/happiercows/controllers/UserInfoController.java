@@ -3,6 +3,7 @@ package edu.ucsb.cs156.happiercows.controllers;
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.models.CurrentUser;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.LastOnlineService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 
@@ -22,12 +23,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserInfoController extends ApiController {
   @Autowired
   private UserRepository userRepository;
+
+  @Autowired
+  private LastOnlineService lastOnlineService;
  
   @Operation(summary = "Get information about current user")
   @PreAuthorize("hasRole('ROLE_USER')")
   @GetMapping("")
   public CurrentUser getCurrentUser() {
-    return super.getCurrentUser();
+    // User.commons is lazy, so fetch it explicitly for the one response that includes it
+    CurrentUser currentUser = super.getCurrentUser();
+    User user = currentUser.getUser();
+    if (user != null) {
+      userRepository.findWithCommonsById(user.getId()).ifPresent(currentUser::setUser);
+      Instant pendingLastOnline = lastOnlineService.getPending(user.getId());
+      if (pendingLastOnline != null) {
+        currentUser.getUser().setLastOnline(pendingLastOnline);
+      }
+    }
+    return currentUser;
   }
 
   @Operation(summary = "Update user's last online time")
@@ -36,8 +50,7 @@ public class UserInfoController extends ApiController {
   public ResponseEntity<Instant> updateLastOnline() {
     User user = super.getCurrentUser().getUser();
     Instant timeNow = Instant.now();
-    user.setLastOnline(timeNow);
-    userRepository.save(user);
+    lastOnlineService.recordHeartbeat(user.getId(), timeNow);
     return ResponseEntity.ok().body(timeNow);
   }
 }
@@ -1,9 +1,22 @@
 package edu.ucsb.cs156.happiercows.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +24,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.models.UserSummary;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.LastOnlineService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,16 +45,83 @@ public class UsersController extends ApiController {
     @Autowired
     ObjectMapper mapper;
 
+    @Autowired
+    LastOnlineService lastOnlineService;
+
+    static final int MAX_PAGE_SIZE = 500;
+    static final int EXPORT_BATCH_SIZE = 500;
+
     @Operation(summary = "Get a list of all users")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("")
     public ResponseEntity<String> users()
             throws JsonProcessingException {
-        Iterable<User> users = userRepository.findAll();
+        Iterable<UserSummary> users = lastOnlineService.applyPending(userRepository.findAllSummaries());
         String body = mapper.writeValueAsString(users);
         return ResponseEntity.ok().body(body);
     }
     
+    @Operation(summary = "Get one page of users, sorted and optionally filtered by a prefix of their email or name")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/paged")
+    public Page<UserSummary> usersPaged(
+            @Parameter(name="page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(name="size") @RequestParam(defaultValue = "50") int size,
+            @Parameter(name="sort", description="one of lastOnline, email, name") @RequestParam(defaultValue = "lastOnline") String sort,
+            @Parameter(name="direction", description="ASC or DESC") @RequestParam(defaultValue = "DESC") String direction,
+            @Parameter(name="search", description="prefix of the user's email, full name or family name") @RequestParam(required = false) String search) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        Pageable pageable = PageRequest.of(page, size, sortFor(sort, Sort.Direction.fromString(direction)));
+        if (search == null || search.isBlank()) {
+            return lastOnlineService.applyPending(userRepository.findSummaries(pageable));
+        }
+        return lastOnlineService.applyPending(userRepository.searchSummaries(search.trim(), pageable));
+    }
+
+    @Operation(summary = "Download all users as a JSON array (streamed in batches)")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = this::writeAllUsers;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=users.json")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    void writeAllUsers(OutputStream out) throws IOException {
+        ObjectWriter writer = mapper.writerFor(UserSummary.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = mapper.getFactory().createGenerator(out);
+        generator.writeStartArray();
+        long afterId = 0;
+        List<UserSummary> batch;
+        do {
+            batch = userRepository.findSummariesAfterId(afterId, PageRequest.of(0, EXPORT_BATCH_SIZE));
+            for (UserSummary user : batch) {
+                writer.writeValue(generator, lastOnlineService.applyPending(user));
+                afterId = user.getId();
+            }
+            generator.flush();
+        } while (batch.size() == EXPORT_BATCH_SIZE);
+        generator.writeEndArray();
+        generator.flush();
+    }
+
+    static Sort sortFor(String sort, Sort.Direction direction) {
+        switch (sort) {
+            case "lastOnline":
+                return Sort.by(direction, "lastOnline").and(Sort.by("id"));
+            case "email":
+                return Sort.by(direction, "email").and(Sort.by("id"));
+            case "name":
+                return Sort.by(direction, "familyName", "givenName").and(Sort.by("id"));
+            default:
+                throw new IllegalArgumentException("sort must be one of lastOnline, email, name");
+        }
+    }
+
     @Operation(summary = "Suspend a user by id")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @PostMapping("/suspend")
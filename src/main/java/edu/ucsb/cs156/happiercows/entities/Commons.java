@@ -18,6 +18,7 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity(name = "commons")
+@Table(indexes = @Index(name = "commons_active_idx", columnList = "archived, lastDate, startingDate"))
 public class Commons {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +32,11 @@ public class Commons {
     private LocalDateTime lastDate;
     private boolean showLeaderboard;
 
+    // archived commons are kept for their history but never ticked again;
+    // the column default fills in existing rows when the column is added
+    @Column(columnDefinition = "boolean default false")
+    private boolean archived;
+
     @Builder.Default
     private boolean showChat = true;
     
@@ -46,6 +52,11 @@ public class Commons {
     @Builder.Default
     private CowHealthUpdateStrategies aboveCapacityHealthUpdateStrategy = CowHealthUpdateStrategies.DEFAULT_ABOVE_CAPACITY;
 
+    // per-commons tick schedules; null means the app.*.cron default
+    private String milkTheCowsCron;
+    private String updateCowHealthCron;
+    private String recordCommonStatsCron;
+
 
     @OneToMany(mappedBy = "commons", cascade = CascadeType.REMOVE)
     @JsonIgnore
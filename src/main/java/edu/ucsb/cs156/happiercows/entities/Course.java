@@ -12,6 +12,7 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Builder
 @Entity(name = "courses")
+@Table(indexes = @Index(name = "courses_term_code_idx", columnList = "term, code"))
 public class Course {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -17,6 +17,10 @@ import lombok.AccessLevel;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Builder
 @Entity(name = "cowdeath")
+@Table(indexes = {
+    @Index(name = "cowdeath_commons_time_idx", columnList = "commons_id, zonedDateTime"),
+    @Index(name = "cowdeath_commons_user_time_idx", columnList = "commons_id, user_id, zonedDateTime")
+})
 public class CowDeath {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
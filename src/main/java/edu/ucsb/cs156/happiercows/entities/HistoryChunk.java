@@ -0,0 +1,50 @@
+package edu.ucsb.cs156.happiercows.entities;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Up to app.history.chunkPoints consecutive points of one farmer's wealth and
+ * herd history, delta-encoded by HistoryCodec. Points are appended to the
+ * farmer's newest chunk until it is full, then a new chunk is started.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+@Entity(name = "history_chunks")
+@Table(indexes = {
+    @Index(name = "history_chunks_series_idx", columnList = "commonsId, userId, startTime"),
+    // finds the open chunks (fewer than chunkPoints points) without reading the full ones
+    @Index(name = "history_chunks_open_idx", columnList = "commonsId, points")
+})
+public class HistoryChunk {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    private long commonsId;
+    private long userId;
+
+    // times of the first and last point
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+
+    private int points;
+
+    @Column(length = 16384)
+    private byte[] data;
+}
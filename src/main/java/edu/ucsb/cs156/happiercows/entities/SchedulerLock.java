@@ -0,0 +1,34 @@
+package edu.ucsb.cs156.happiercows.entities;
+
+import java.time.Instant;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A named lease shared by every instance of the app. Whoever holds a lease
+ * until <code>lockedUntil</code> is the only instance allowed to do the work
+ * it guards; instances also hold an <code>instance:&lt;id&gt;</code> lease
+ * as a heartbeat. Leases are taken and renewed by SchedulerLockService.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+@Entity(name = "scheduler_locks")
+public class SchedulerLock {
+    @Id
+    private String name;
+
+    private String lockedBy;
+
+    private Instant lockedAt;
+
+    private Instant lockedUntil;
+}
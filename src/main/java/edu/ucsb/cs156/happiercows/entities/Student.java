@@ -12,6 +12,11 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Builder
 @Entity(name = "student")
+@Table(indexes = {
+    @Index(name = "student_course_perm_idx", columnList = "courseId, perm"),
+    @Index(name = "student_email_idx", columnList = "email"),
+    @Index(name = "student_perm_idx", columnList = "perm")
+})
 public class Student {
 
   // Unique Student Id
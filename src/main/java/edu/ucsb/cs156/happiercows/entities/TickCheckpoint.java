@@ -0,0 +1,44 @@
+package edu.ucsb.cs156.happiercows.entities;
+
+import java.time.ZonedDateTime;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Records that a tick has been applied to a commons. The row is written in the
+ * same transaction as the tick's changes to the commons, and the unique key
+ * means a tick can never be applied to a commons twice.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+@Entity(name = "tick_checkpoints")
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = { "tickType", "commonsId", "scheduledTime" }))
+public class TickCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Enumerated(EnumType.STRING)
+    private TickType tickType;
+
+    private long commonsId;
+
+    private ZonedDateTime scheduledTime;
+
+    private ZonedDateTime completedAt;
+}
@@ -0,0 +1,11 @@
+package edu.ucsb.cs156.happiercows.entities;
+
+/**
+ * The kinds of periodic work ("ticks") that advance a game. Each tick is
+ * applied to each commons at most once per scheduled time; see TickCheckpoint.
+ */
+public enum TickType {
+    milkTheCows,
+    updateCowHealth,
+    recordCommonStats
+}
@@ -12,6 +12,12 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Builder
 @Entity(name = "users")
+@Table(indexes = {
+    @Index(name = "users_email_idx", columnList = "email"),
+    @Index(name = "users_full_name_idx", columnList = "fullName"),
+    @Index(name = "users_family_name_idx", columnList = "familyName"),
+    @Index(name = "users_last_online_idx", columnList = "lastOnline")
+})
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,7 +37,7 @@ public class User {
   @Builder.Default
   private Instant lastOnline = Instant.now();
 
-  @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST,CascadeType.REMOVE})
+  @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST,CascadeType.REMOVE})
   @JoinTable(name = "user_commons", 
     joinColumns = @JoinColumn(name = "user_id", referencedColumnName = "id"), 
     inverseJoinColumns = @JoinColumn(name = "commons_id", referencedColumnName = "id"))
@@ -1,6 +1,8 @@
 package edu.ucsb.cs156.happiercows.entities.jobs;
 
+import edu.ucsb.cs156.happiercows.entities.TickType;
 import edu.ucsb.cs156.happiercows.entities.User;
+import edu.ucsb.cs156.happiercows.services.jobs.JobLogs;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
@@ -17,6 +19,7 @@ import java.time.ZonedDateTime;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Builder
 @Entity(name = "jobs")
+@Table(indexes = @Index(columnList = "createdAt"))
 @EntityListeners(AuditingEntityListener.class)
 
 public class Job {
@@ -36,6 +39,27 @@ public class Job {
 
     private String status;
 
+    /** The instance of the app running the job; see SchedulerLockService */
+    private String instanceId;
+
+    /** For jobs that apply a tick: which tick, the commons it is limited to (null for all), and the time it was scheduled for */
+    @Enumerated(EnumType.STRING)
+    private TickType tickType;
+    private Long commonsId;
+    private ZonedDateTime scheduledTime;
+
     @Column(columnDefinition="text")
     private String log;
+
+    /** Gzipped log of an old job; set by JobRetentionJob, which clears <code>log</code> at the same time. */
+    @JsonIgnore
+    @Column(columnDefinition="bytea")
+    private byte[] compressedLog;
+
+    public String getLog() {
+        if (log == null && compressedLog != null) {
+            return JobLogs.decompress(compressedLog);
+        }
+        return log;
+    }
 }
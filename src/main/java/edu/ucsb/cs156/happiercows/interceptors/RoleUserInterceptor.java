@@ -20,7 +20,7 @@ import java.util.Optional;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.Collection;
-import edu.ucsb.cs156.happiercows.entities.User;
+import edu.ucsb.cs156.happiercows.models.UserAuthInfo;
 
 
 
@@ -41,9 +41,9 @@ public class RoleUserInterceptor implements HandlerInterceptor {
         if (authentication instanceof OAuth2AuthenticationToken ) {
             OAuth2User oAuthUser = ((OAuth2AuthenticationToken) authentication).getPrincipal();
             String email = oAuthUser.getAttribute("email");
-            Optional<User> optionalUser = userRepository.findByEmail(email);
+            Optional<UserAuthInfo> optionalUser = userRepository.findAuthInfoByEmail(email);
             if (optionalUser.isPresent()){
-                User user = optionalUser.get();
+                UserAuthInfo user = optionalUser.get();
 
                 if(user.isSuspended()) {
                     response.sendError(HttpServletResponse.SC_FORBIDDEN, "Your account has been suspended. Contact an administrator to restore your account");
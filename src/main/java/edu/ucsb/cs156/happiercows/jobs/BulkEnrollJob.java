@@ -0,0 +1,69 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.util.Optional;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.Course;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.CourseRepository;
+import edu.ucsb.cs156.happiercows.repositories.StudentRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Joins every student of a course who has logged in to a commons with one
+ * INSERT ... SELECT, instead of each student joining on their own. Students
+ * already in the commons are skipped, so the job can be run again later for
+ * the students who had not logged in yet.
+ */
+@AllArgsConstructor
+public class BulkEnrollJob implements JobContextConsumer {
+
+    private long courseId;
+    private long commonsId;
+
+    @Getter
+    private CourseRepository courseRepository;
+    @Getter
+    private CommonsRepository commonsRepository;
+    @Getter
+    private StudentRepository studentRepository;
+    @Getter
+    private UserCommonsRepository userCommonsRepository;
+
+    @Override
+    public void accept(JobContext ctx) throws Exception {
+        ctx.log("Enrolling course students in commons...");
+
+        Optional<Course> course = courseRepository.findById(courseId);
+        if (course.isEmpty()) {
+            ctx.log(String.format("No course found for id %d", courseId));
+            return;
+        }
+        Optional<Commons> commons = commonsRepository.findById(commonsId);
+        if (commons.isEmpty()) {
+            ctx.log(String.format("No commons found for id %d", commonsId));
+            return;
+        }
+
+        long students = studentRepository.countByCourseId(courseId);
+        ctx.log(String.format("Course %s has %d students", course.get().getCode(), students));
+
+        int enrolled;
+        try {
+            enrolled = userCommonsRepository.enrollCourse(courseId, commonsId);
+        } catch (DataIntegrityViolationException e) {
+            // a student joined on their own while the insert ran; the retry skips them
+            ctx.log("A student joined during the enrolment; trying again");
+            enrolled = userCommonsRepository.enrollCourse(courseId, commonsId);
+        }
+
+        ctx.log(String.format("Enrolled %d students in commons %s", enrolled, commons.get().getName()));
+        ctx.log(String.format("%d students were already members or have not logged in yet", students - enrolled));
+    }
+}
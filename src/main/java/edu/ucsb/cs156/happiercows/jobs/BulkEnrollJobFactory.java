@@ -0,0 +1,31 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.CourseRepository;
+import edu.ucsb.cs156.happiercows.repositories.StudentRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+@Service
+public class BulkEnrollJobFactory {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CommonsRepository commonsRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserCommonsRepository userCommonsRepository;
+
+    public JobContextConsumer create(long courseId, long commonsId) {
+        return new BulkEnrollJob(courseId, commonsId, courseRepository, commonsRepository, studentRepository,
+                userCommonsRepository);
+    }
+}
@@ -0,0 +1,98 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.models.TickLedgerEntry;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.TickCheckpointRepository;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService.DueTicks;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Applies the ticks that fell due while the app was down. For each commons
+ * and tick type, the tick checkpoints give the last tick applied; every tick
+ * the schedule says has fallen due since then is applied, oldest first, with
+ * ticks of different types due at the same time in TickType order. Commons
+ * with no ticks yet are left alone, and at most <code>maxTicks</code> of the
+ * latest missed ticks are applied per commons and type. Archived commons are
+ * skipped.
+ */
+@AllArgsConstructor
+public class CatchUpTicksJob implements JobContextConsumer {
+
+    @Getter
+    private TickCheckpointRepository tickCheckpointRepository;
+
+    @Getter
+    private CommonsRepository commonsRepository;
+
+    @Getter
+    private TickScheduleService tickScheduleService;
+
+    @Getter
+    private TickJobFactory tickJobFactory;
+
+    @Getter
+    private int maxTicks;
+
+    @Getter
+    private ZonedDateTime now;
+
+    record MissedTick(ZonedDateTime scheduledTime, TickType tickType, long commonsId) {
+    }
+
+    @Override
+    public void accept(JobContext ctx) throws Exception {
+        ctx.log("Looking for missed ticks...");
+
+        Map<Long, Commons> commonsById = new HashMap<>();
+        commonsRepository.findAll().forEach(commons -> commonsById.put(commons.getId(), commons));
+
+        List<MissedTick> missed = new ArrayList<>();
+        for (TickLedgerEntry entry : tickCheckpointRepository.findLedger()) {
+            Commons commons = commonsById.get(entry.getCommonsId());
+            if (commons == null || commons.isArchived()) {
+                continue;
+            }
+            DueTicks due = tickScheduleService.dueTicks(entry.getTickType(), commons, entry.getLastScheduledTime(), now, maxTicks);
+            if (due.dropped() > 0) {
+                ctx.log(String.format("Commons %s missed %d more %s ticks; only the latest %d are applied",
+                        commons.getName(), due.dropped(), entry.getTickType(), maxTicks));
+            }
+            for (ZonedDateTime time : due.times()) {
+                missed.add(new MissedTick(time, entry.getTickType(), commons.getId()));
+            }
+        }
+        missed.sort(Comparator.comparing((MissedTick m) -> m.scheduledTime().toInstant())
+                .thenComparing(MissedTick::tickType)
+                .thenComparingLong(MissedTick::commonsId));
+
+        int i = 0;
+        while (i < missed.size()) {
+            MissedTick first = missed.get(i);
+            int end = i;
+            while (end < missed.size() && missed.get(end).scheduledTime().isEqual(first.scheduledTime())
+                    && missed.get(end).tickType() == first.tickType()) {
+                end++;
+            }
+            ctx.log(String.format("Catching up %s for %s in %d commons", first.tickType(), first.scheduledTime(), end - i));
+            for (MissedTick tick : missed.subList(i, end)) {
+                tickJobFactory.create(tick.tickType(), tick.commonsId(), tick.scheduledTime()).accept(ctx);
+            }
+            i = end;
+        }
+
+        ctx.log(String.format("Caught up %d missed ticks", missed.size()));
+    }
+}
@@ -0,0 +1,36 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.time.ZonedDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.TickCheckpointRepository;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+@Service
+public class CatchUpTicksJobFactory {
+
+    @Autowired
+    private TickCheckpointRepository tickCheckpointRepository;
+
+    @Autowired
+    private CommonsRepository commonsRepository;
+
+    @Autowired
+    private TickScheduleService tickScheduleService;
+
+    @Autowired
+    private TickJobFactory tickJobFactory;
+
+    @Value("${app.ticks.catchUp.maxTicks}")
+    private int maxTicks;
+
+    public JobContextConsumer create() {
+        return new CatchUpTicksJob(tickCheckpointRepository, commonsRepository, tickScheduleService, tickJobFactory,
+                maxTicks, ZonedDateTime.now());
+    }
+}
@@ -0,0 +1,152 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ticks each commons on its own schedule, when app.ticks.perCommons is set,
+ * instead of ticking every commons at once from the global crons in
+ * ScheduledJobs.
+ *
+ * The next tick of each type for each commons is kept in a priority queue
+ * ordered by when it should run: its scheduled time plus the commons' offset
+ * from TickScheduleService, which spreads the commons over a window. The tick
+ * keeps its unshifted scheduled time, so its checkpoint is the same as if the
+ * global job had run it. The commons are re-read every app.ticks.refreshMs to
+ * pick up new commons and changed schedules; commons whose game is over or
+ * that are archived are dropped, and ticks before a game starts are skipped.
+ */
+@Component
+@Slf4j
+public class CommonsTickScheduler {
+
+    @Autowired
+    CommonsRepository commonsRepository;
+
+    @Autowired
+    TickScheduleService tickScheduleService;
+
+    @Autowired
+    TickJobFactory tickJobFactory;
+
+    @Autowired
+    JobService jobService;
+
+    @Autowired
+    SchedulerLockService schedulerLockService;
+
+    @Value("${app.ticks.perCommons}")
+    boolean enabled;
+
+    @Value("${app.ticks.refreshMs}")
+    private long refreshMs;
+
+    record PlannedTick(Instant runAt, ZonedDateTime scheduledTime, TickType tickType, long commonsId, CronExpression cron) {
+        String key() {
+            return CommonsTickScheduler.key(tickType, commonsId);
+        }
+    }
+
+    static String key(TickType tickType, long commonsId) {
+        return tickType + "/commons-" + commonsId;
+    }
+
+    private final PriorityQueue<PlannedTick> queue = new PriorityQueue<>(Comparator.comparing(PlannedTick::runAt));
+
+    // the live tick for each key; queue entries that are no longer here were replaced and are skipped
+    private final Map<String, PlannedTick> planned = new HashMap<>();
+
+    private Map<Long, Commons> commonsById = new HashMap<>();
+
+    private Instant lastRefresh;
+
+    @Scheduled(fixedDelayString = "${app.ticks.pollMs}")
+    public void poll() {
+        if (enabled) {
+            poll(ZonedDateTime.now());
+        }
+    }
+
+    synchronized void poll(ZonedDateTime now) {
+        if (lastRefresh == null || !now.toInstant().isBefore(lastRefresh.plusMillis(refreshMs))) {
+            refresh(now);
+            lastRefresh = now.toInstant();
+        }
+        while (!queue.isEmpty() && !queue.peek().runAt().isAfter(now.toInstant())) {
+            PlannedTick tick = queue.poll();
+            if (planned.get(tick.key()) != tick) {
+                continue;
+            }
+            Commons commons = commonsById.get(tick.commonsId());
+            if (TickScheduleService.duringGame(commons, tick.scheduledTime())) {
+                launch(tick);
+            }
+            plan(tick.tickType(), commons, tick.cron(), tick.scheduledTime());
+        }
+    }
+
+    private void refresh(ZonedDateTime now) {
+        commonsById = new HashMap<>();
+        for (Commons commons : commonsRepository.findUnfinished(now.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime())) {
+            commonsById.put(commons.getId(), commons);
+        }
+        planned.values().removeIf(tick -> !commonsById.containsKey(tick.commonsId()));
+        for (Commons commons : commonsById.values()) {
+            for (TickType tickType : TickType.values()) {
+                CronExpression cron = tickScheduleService.cronFor(tickType, commons);
+                PlannedTick current = planned.get(key(tickType, commons.getId()));
+                if (current == null || !current.cron().equals(cron)) {
+                    plan(tickType, commons, cron, now);
+                }
+            }
+        }
+        queue.removeIf(tick -> planned.get(tick.key()) != tick);
+    }
+
+    private void plan(TickType tickType, Commons commons, CronExpression cron, ZonedDateTime after) {
+        String key = key(tickType, commons.getId());
+        ZonedDateTime next = cron.next(after.withZoneSameInstant(tickScheduleService.getZone()));
+        if (next == null || TickScheduleService.gameOver(commons, next)) {
+            planned.remove(key);
+            return;
+        }
+        Duration offset = tickScheduleService.offsetFor(commons);
+        PlannedTick tick = new PlannedTick(next.toInstant().plus(offset), next, tickType, commons.getId(), cron);
+        planned.put(key, tick);
+        queue.add(tick);
+    }
+
+    private void launch(PlannedTick tick) {
+        if (!schedulerLockService.claimSingleton(tick.key())) {
+            log.info("CommonsTickScheduler: {} for {} is running on another instance", tick.key(), tick.scheduledTime());
+            return;
+        }
+        jobService.runAsJob(tickJobFactory.create(tick.tickType(), tick.commonsId(), tick.scheduledTime()));
+        log.info("CommonsTickScheduler: launched {} for {}", tick.key(), tick.scheduledTime());
+    }
+
+    /** How many ticks are waiting to run. */
+    public synchronized int plannedTicks() {
+        return planned.size();
+    }
+}
@@ -0,0 +1,58 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.util.Map;
+import java.util.Optional;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.CommonsDeletionService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Deletes a commons and all of its rows (see CommonsDeletionService) in the
+ * background, logging how many rows were deleted from each table. With
+ * archive set the commons is only archived instead: its history is kept and
+ * it is no longer ticked.
+ */
+@AllArgsConstructor
+public class DeleteCommonsJob implements JobContextConsumer {
+
+    private long commonsId;
+    private boolean archive;
+
+    @Getter
+    private CommonsRepository commonsRepository;
+    @Getter
+    private CommonsDeletionService commonsDeletionService;
+
+    @Override
+    public void accept(JobContext ctx) throws Exception {
+        Optional<Commons> commons = commonsRepository.findById(commonsId);
+        if (commons.isEmpty()) {
+            ctx.log(String.format("No commons found for id %d", commonsId));
+            return;
+        }
+        String name = commons.get().getName();
+
+        if (archive) {
+            ctx.log(String.format("Archiving commons %s...", name));
+            Commons archived = commons.get();
+            archived.setArchived(true);
+            commonsRepository.save(archived);
+            ctx.log(String.format("Commons %s archived", name));
+            return;
+        }
+
+        ctx.log(String.format("Deleting commons %s...", name));
+        Map<String, Integer> deleted = commonsDeletionService.delete(commonsId);
+        int total = 0;
+        for (Map.Entry<String, Integer> table : deleted.entrySet()) {
+            ctx.log(String.format("%s: %d rows deleted", table.getKey(), table.getValue()));
+            total += table.getValue();
+        }
+        ctx.log(String.format("Commons %s deleted (%d rows)", name, total));
+    }
+}
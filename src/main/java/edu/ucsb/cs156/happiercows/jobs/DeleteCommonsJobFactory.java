@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.CommonsDeletionService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+@Service
+public class DeleteCommonsJobFactory {
+
+    @Autowired
+    private CommonsRepository commonsRepository;
+
+    @Autowired
+    private CommonsDeletionService commonsDeletionService;
+
+    public JobContextConsumer create(long commonsId, boolean archive) {
+        return new DeleteCommonsJob(commonsId, archive, commonsRepository, commonsDeletionService);
+    }
+}
@@ -0,0 +1,31 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+
+public class GrantCowsJob extends UserCommonsBulkUpdateJob {
+
+    private int cows;
+
+    public GrantCowsJob(long commonsId, int cows, CommonsRepository commonsRepository,
+            UserCommonsRepository userCommonsRepository, GameStateEngine gameStateEngine) {
+        super(commonsId, commonsRepository, userCommonsRepository, gameStateEngine);
+        this.cows = cows;
+    }
+
+    @Override
+    protected String starting() {
+        return "Granting cows...";
+    }
+
+    @Override
+    protected int update(long commonsId) {
+        return getUserCommonsRepository().grantCows(commonsId, cows);
+    }
+
+    @Override
+    protected String finished(int updated) {
+        return String.format("Granted %d cows to each of %d farmers", cows, updated);
+    }
+}
@@ -0,0 +1,90 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobStatusEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A job still marked "running" whose instance is no longer alive (its
+ * heartbeat lease has expired, or it predates instance ids) was cut off by a
+ * shutdown or crash. On startup, and then periodically, one instance marks
+ * such jobs "error", and the ones that were applying a tick are launched
+ * again for the same scheduled time; thanks to the tick checkpoints, only the
+ * commons the tick had not finished are processed.
+ */
+@Component
+@Slf4j
+public class InterruptedJobRecovery {
+
+    @Autowired
+    JobsRepository jobsRepository;
+
+    @Autowired
+    JobService jobService;
+
+    @Autowired
+    TickJobFactory tickJobFactory;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    SchedulerLockService schedulerLockService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        recoverInterruptedJobs();
+    }
+
+    @Scheduled(fixedDelayString = "${app.scheduler.heartbeatMs}", initialDelayString = "${app.scheduler.heartbeatMs}")
+    public void recoverPeriodically() {
+        recoverInterruptedJobs();
+    }
+
+    /**
+     * @return the jobs launched to resume interrupted ticks
+     */
+    public List<Job> recoverInterruptedJobs() {
+        List<Job> resumed = new ArrayList<>();
+        List<Job> running = jobsRepository.findByStatus("running");
+        if (running.isEmpty()) {
+            return resumed;
+        }
+        List<String> liveInstances = new ArrayList<>(schedulerLockService.liveInstances());
+        liveInstances.add(schedulerLockService.getInstanceId());
+        List<Job> orphaned = running.stream()
+                .filter(job -> job.getInstanceId() == null || !liveInstances.contains(job.getInstanceId()))
+                .toList();
+        if (orphaned.isEmpty() || !schedulerLockService.claimSingleton("jobRecovery")) {
+            return resumed;
+        }
+        for (Job interrupted : orphaned) {
+            log.info("Job {} was interrupted", interrupted.getId());
+            interrupted.setStatus("error");
+            new JobContext(jobsRepository, interrupted).log("Interrupted by a restart");
+            eventPublisher.publishEvent(new JobStatusEvent(interrupted, interrupted.getStatus()));
+
+            if (interrupted.getTickType() != null) {
+                Job job = jobService.runAsJob(tickJobFactory.create(
+                        interrupted.getTickType(), interrupted.getCommonsId(), interrupted.getScheduledTime()));
+                new JobContext(jobsRepository, interrupted).log("Resumed as job " + job.getId());
+                resumed.add(job);
+            }
+        }
+        return resumed;
+    }
+}
@@ -0,0 +1,78 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.services.jobs.JobLogs;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * This job keeps the jobs table from growing without bound. It deletes finished
+ * jobs beyond the newest <code>keepLast</code>, deletes finished jobs older than
+ * <code>maxAgeDays</code>, and gzips the logs of finished jobs older than
+ * <code>compressAfterDays</code>. A limit of zero or less turns that step off.
+ * Running jobs are never touched.
+ */
+
+@AllArgsConstructor
+@Getter
+public class JobRetentionJob implements JobContextConsumer {
+
+    public static final int COMPRESS_BATCH_SIZE = 100;
+
+    private JobsRepository jobsRepository;
+
+    private int keepLast;
+
+    private int maxAgeDays;
+
+    private int compressAfterDays;
+
+    @Override
+    public void accept(JobContext ctx) throws Exception {
+        ctx.log("Starting job retention job...");
+        ZonedDateTime now = ZonedDateTime.now();
+
+        if (keepLast > 0) {
+            List<Long> oldest = jobsRepository.findFinishedIds(PageRequest.of(keepLast, 1));
+            int deleted = oldest.isEmpty() ? 0 : jobsRepository.deleteFinishedUpToId(oldest.get(0));
+            ctx.log(String.format("Deleted %d finished jobs beyond the newest %d", deleted, keepLast));
+        }
+
+        if (maxAgeDays > 0) {
+            int deleted = jobsRepository.deleteFinishedCreatedBefore(now.minusDays(maxAgeDays));
+            ctx.log(String.format("Deleted %d finished jobs older than %d days", deleted, maxAgeDays));
+        }
+
+        if (compressAfterDays > 0) {
+            ZonedDateTime cutoff = now.minusDays(compressAfterDays);
+            int compressed = 0;
+            long chars = 0;
+            long bytes = 0;
+            List<Job> batch;
+            do {
+                batch = jobsRepository.findUncompressedCreatedBefore(cutoff, PageRequest.of(0, COMPRESS_BATCH_SIZE));
+                for (Job job : batch) {
+                    byte[] compressedLog = JobLogs.compress(job.getLog());
+                    chars += job.getLog().length();
+                    bytes += compressedLog.length;
+                    job.setCompressedLog(compressedLog);
+                    job.setLog(null);
+                }
+                jobsRepository.saveAll(batch);
+                compressed += batch.size();
+            } while (batch.size() == COMPRESS_BATCH_SIZE);
+            ctx.log(String.format("Compressed the logs of %d jobs older than %d days (%d characters to %d bytes)",
+                    compressed, compressAfterDays, chars, bytes));
+        }
+
+        ctx.log("Job retention job done!");
+    }
+}
@@ -0,0 +1,28 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+@Service
+public class JobRetentionJobFactory {
+
+    @Autowired
+    private JobsRepository jobsRepository;
+
+    @Value("${app.jobs.retention.keepLast}")
+    private int keepLast;
+
+    @Value("${app.jobs.retention.maxAgeDays}")
+    private int maxAgeDays;
+
+    @Value("${app.jobs.retention.compressAfterDays}")
+    private int compressAfterDays;
+
+    public JobContextConsumer create() {
+        return new JobRetentionJob(jobsRepository, keepLast, maxAgeDays, compressAfterDays);
+    }
+}
@@ -1,22 +1,26 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 
 import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.entities.Profit;
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.ProfitRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
-import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+import edu.ucsb.cs156.happiercows.services.jobs.TickJob;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 @AllArgsConstructor
-public class MilkTheCowsJob implements JobContextConsumer {
+public class MilkTheCowsJob implements TickJob {
 
     @Getter
     private CommonsRepository commonsRepository;
@@ -26,6 +30,24 @@ public class MilkTheCowsJob implements JobContextConsumer {
     private UserRepository userRepository;
     @Getter
     private ProfitRepository profitRepository;
+    @Getter
+    private TickCheckpointService tickCheckpointService;
+    @Getter
+    private ZonedDateTime scheduledTime;
+    @Getter
+    private CommonsShard shard;
+
+    /** Milks every active commons, skipping the ones already milked for <code>scheduledTime</code>. */
+    public MilkTheCowsJob(CommonsRepository commonsRepository, UserCommonsRepository userCommonsRepository,
+            UserRepository userRepository, ProfitRepository profitRepository,
+            TickCheckpointService tickCheckpointService, ZonedDateTime scheduledTime) {
+        this(commonsRepository, userCommonsRepository, userRepository, profitRepository, tickCheckpointService, scheduledTime, CommonsShard.ALL);
+    }
+
+    @Override
+    public TickType getTickType() {
+        return TickType.milkTheCows;
+    }
 
     public static String formatDollars(double amount) {
         return  String.format("$%.2f", amount);
@@ -34,33 +56,50 @@ public class MilkTheCowsJob implements JobContextConsumer {
     @Override
     public void accept(JobContext ctx) throws Exception {
         ctx.log("Starting to milk the cows");
+        if (shard.count() > 1) {
+            ctx.log("Milking commons in " + shard);
+        }
 
-        Iterable<Commons> allCommons = commonsRepository.findAll();
+        Iterable<Commons> allCommons = shard.filter(commonsRepository.findActive(getTickTime()));
 
         for (Commons commons : allCommons) {
-            String name = commons.getName();
-            double milkPrice = commons.getMilkPrice();
-            ctx.log("Milking cows for Commons: " + name + ", Milk Price: " + formatDollars(milkPrice));
-
-            Iterable<UserCommons> allUserCommons = userCommonsRepository.findByCommonsId(commons.getId());
-
-            for (UserCommons userCommons : allUserCommons) {
-                milkCows(ctx, commons, userCommons, profitRepository, userCommonsRepository);
+            boolean applied = tickCheckpointService.runOnce(TickType.milkTheCows, commons.getId(), scheduledTime,
+                    () -> milkCommons(ctx, commons, profitRepository, userCommonsRepository, getTickTime()));
+            if (!applied) {
+                ctx.log("Commons " + commons.getName() + " has already been milked for " + scheduledTime + ", skipping");
             }
         }
 
         ctx.log("Cows have been milked!");
     }
 
+    /** This method milks the cows of every user in a commons.
+     *  It is shared with MilkTheCowsJobInd. The profits are recorded at
+     *  <code>tickTime</code>, the time the tick was scheduled for.
+     */
+
+    public static void milkCommons(JobContext ctx, Commons commons, ProfitRepository profitRepository, UserCommonsRepository userCommonsRepository, LocalDateTime tickTime) {
+        String name = commons.getName();
+        double milkPrice = commons.getMilkPrice();
+        ctx.log("Milking cows for Commons: " + name + ", Milk Price: " + formatDollars(milkPrice));
+
+        Iterable<UserCommons> allUserCommons = userCommonsRepository.findByCommonsId(commons.getId());
+
+        for (UserCommons userCommons : allUserCommons) {
+            milkCows(ctx, commons, userCommons, profitRepository, userCommonsRepository, tickTime);
+        }
+    }
+
     /** This method performs the function of milking the cows for a single userCommons.
      *  It is a public method only so it can be exposed to the unit tests
      * @param ctx the JobContext
      * @param commons the Commons
      * @param userCommons the UserCommons
+     * @param tickTime the time of the tick, recorded on the Profit
      *
      */
 
-    public static void milkCows(JobContext ctx, Commons commons, UserCommons userCommons, ProfitRepository profitRepository, UserCommonsRepository userCommonsRepository) {
+    public static void milkCows(JobContext ctx, Commons commons, UserCommons userCommons, ProfitRepository profitRepository, UserCommonsRepository userCommonsRepository, LocalDateTime tickTime) {
         User user = userCommons.getUser();
 
         ctx.log("User: " + user.getFullName()
@@ -72,7 +111,7 @@ public class MilkTheCowsJob implements JobContextConsumer {
         Profit profit = Profit.builder()
                 .userCommons(userCommons)
                 .amount(profitAmount)
-                .timestamp(LocalDateTime.now())
+                .timestamp(tickTime)
                 .numCows(userCommons.getNumOfCows())
                 .avgCowHealth(userCommons.getCowHealth())
                 .build();
@@ -92,8 +131,15 @@ public class MilkTheCowsJob implements JobContextConsumer {
      * @return
      */
     public static double calculateMilkingProfit(Commons commons, UserCommons userCommons) {
-        double milkPrice = commons.getMilkPrice();
-        double profit = userCommons.getNumOfCows() * (userCommons.getCowHealth() / 100.0) * milkPrice;
+        return calculateMilkingProfit(commons.getMilkPrice(), userCommons.getNumOfCows(), userCommons.getCowHealth());
+    }
+
+    /**
+     * Calculate the profit from milking <code>numCows</code> cows of the given health;
+     * used directly by the simulation, which keeps farmers in arrays rather than entities.
+     */
+    public static double calculateMilkingProfit(double milkPrice, int numCows, double cowHealth) {
+        double profit = numCows * (cowHealth / 100.0) * milkPrice;
         return profit;
     }
 }
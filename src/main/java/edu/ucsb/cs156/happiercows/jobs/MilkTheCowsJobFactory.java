@@ -1,12 +1,16 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
+import java.time.ZonedDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.ProfitRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
 
 @Service
@@ -24,11 +28,27 @@ public class MilkTheCowsJobFactory {
     @Autowired
     private ProfitRepository profitRepository;
 
+    @Autowired
+    private TickCheckpointService tickCheckpointService;
+
     public JobContextConsumer create() {
+        return create(ZonedDateTime.now());
+    }
+
+    /** @param scheduledTime identifies the tick; re-running it only milks the commons it has not milked yet */
+    public JobContextConsumer create(ZonedDateTime scheduledTime) {
+        return create(scheduledTime, CommonsShard.ALL);
+    }
+
+    /** @param shard the slice of the commons this instance milks for the tick */
+    public JobContextConsumer create(ZonedDateTime scheduledTime, CommonsShard shard) {
         return new MilkTheCowsJob(
                 commonsRepository,
                 userCommonsRepository,
                 userRepository,
-                profitRepository);
+                profitRepository,
+                tickCheckpointService,
+                scheduledTime,
+                shard);
     }
 }
@@ -1,5 +1,7 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
+import java.time.ZonedDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -7,6 +9,7 @@ import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.ProfitRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
 
 @Service
@@ -24,13 +27,22 @@ public class MilkTheCowsJobFactoryInd {
     @Autowired
     private ProfitRepository profitRepository;
 
+    @Autowired
+    private TickCheckpointService tickCheckpointService;
+
 
     public JobContextConsumer create(Long commonsID) {
+        return create(commonsID, ZonedDateTime.now());
+    }
+
+    public JobContextConsumer create(Long commonsID, ZonedDateTime scheduledTime) {
         return new MilkTheCowsJobInd(
                 commonsRepository,
                 userCommonsRepository,
                 userRepository,
                 profitRepository,
-                commonsID);
+                commonsID,
+                tickCheckpointService,
+                scheduledTime);
     }
 }
@@ -8,13 +8,16 @@ import edu.ucsb.cs156.happiercows.repositories.ProfitRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
-import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+import edu.ucsb.cs156.happiercows.services.jobs.TickJob;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import java.time.ZonedDateTime;
 import java.util.Optional;
 
 @AllArgsConstructor
-public class MilkTheCowsJobInd implements JobContextConsumer {
+public class MilkTheCowsJobInd implements TickJob {
 
     @Getter
     private CommonsRepository commonsRepository;
@@ -26,6 +29,20 @@ public class MilkTheCowsJobInd implements JobContextConsumer {
     private ProfitRepository profitRepository;
     @Getter
     private long commonsID;
+    @Getter
+    private TickCheckpointService tickCheckpointService;
+    @Getter
+    private ZonedDateTime scheduledTime;
+
+    @Override
+    public TickType getTickType() {
+        return TickType.milkTheCows;
+    }
+
+    @Override
+    public Long getTickCommonsId() {
+        return commonsID;
+    }
 
     public String formatDollars(double amount) {
         return  String.format("$%.2f", amount);
@@ -38,16 +55,11 @@ public class MilkTheCowsJobInd implements JobContextConsumer {
 
         if(commonMilkedOpt.isPresent()){
             Commons commonMilked = commonMilkedOpt.get();
-            String name = commonMilked.getName();
-            double milkPrice = commonMilked.getMilkPrice();
-            ctx.log("Milking cows for Commons: " + name + ", Milk Price: " + formatDollars(milkPrice));
-
-            Iterable<UserCommons> allUserCommons = userCommonsRepository.findByCommonsId(commonMilked.getId());
-
-            for (UserCommons userCommons : allUserCommons) {
-                MilkTheCowsJob.milkCows(ctx, commonMilked, userCommons, profitRepository, userCommonsRepository);
+            boolean applied = tickCheckpointService.runOnce(TickType.milkTheCows, commonMilked.getId(), scheduledTime,
+                    () -> MilkTheCowsJob.milkCommons(ctx, commonMilked, profitRepository, userCommonsRepository, getTickTime()));
+            if (!applied) {
+                ctx.log("Commons " + commonMilked.getName() + " has already been milked for " + scheduledTime + ", skipping");
             }
-            
 
             ctx.log("Cows have been milked!");
         } else {
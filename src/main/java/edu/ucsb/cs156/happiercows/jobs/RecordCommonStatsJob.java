@@ -1,11 +1,16 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
+import java.time.ZonedDateTime;
+
 import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.entities.CommonStats;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.services.CommonStatsService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
-import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+import edu.ucsb.cs156.happiercows.services.jobs.TickJob;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -14,7 +19,7 @@ import lombok.Getter;
 */
 
 @AllArgsConstructor
-public class RecordCommonStatsJob implements JobContextConsumer {
+public class RecordCommonStatsJob implements TickJob {
 
     @Getter
     private CommonStatsService commonStatsService;
@@ -22,16 +27,45 @@ public class RecordCommonStatsJob implements JobContextConsumer {
     @Getter
     private CommonsRepository commonsRepository;
 
+    @Getter
+    private TickCheckpointService tickCheckpointService;
+
+    @Getter
+    private ZonedDateTime scheduledTime;
+
+    @Getter
+    private CommonsShard shard;
+
+    /** Records stats for every active commons that does not have them yet for <code>scheduledTime</code>. */
+    public RecordCommonStatsJob(CommonStatsService commonStatsService, CommonsRepository commonsRepository,
+            TickCheckpointService tickCheckpointService, ZonedDateTime scheduledTime) {
+        this(commonStatsService, commonsRepository, tickCheckpointService, scheduledTime, CommonsShard.ALL);
+    }
+
+    @Override
+    public TickType getTickType() {
+        return TickType.recordCommonStats;
+    }
+
     @Override
     public void accept(JobContext ctx) throws Exception {
         ctx.log("Starting record common stats job...");
-        Iterable<Commons> allCommons = commonsRepository.findAll();
+        if (shard.count() > 1) {
+            ctx.log("Recording stats for commons in " + shard);
+        }
+        Iterable<Commons> allCommons = shard.filter(commonsRepository.findActive(getTickTime()));
 
         for (Commons commons : allCommons) {
             ctx.log(String.format("Starting Commons id=%d (%s)...", commons.getId(), commons.getName()));
-            CommonStats commonStats = commonStatsService.createAndSaveCommonStats(commons.getId());
-            ctx.log(String.format("CommonStats %d for commons id=%d (%s) finished.", commonStats.getId(), commons.getId(),
-                    commons.getName()));
+            boolean applied = tickCheckpointService.runOnce(TickType.recordCommonStats, commons.getId(), scheduledTime, () -> {
+                CommonStats commonStats = commonStatsService.createAndSaveCommonStats(commons.getId());
+                ctx.log(String.format("CommonStats %d for commons id=%d (%s) finished.", commonStats.getId(), commons.getId(),
+                        commons.getName()));
+            });
+            if (!applied) {
+                ctx.log(String.format("Stats for commons id=%d (%s) were already recorded for %s, skipping", commons.getId(),
+                        commons.getName(), scheduledTime));
+            }
         }
         ctx.log("Record common stats job done!");
     }
@@ -1,10 +1,14 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
+import java.time.ZonedDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.services.CommonStatsService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
 
 @Service
@@ -16,10 +20,24 @@ public class RecordCommonStatsJobFactory {
     @Autowired
     private CommonStatsService commonStatsService;
 
+    @Autowired
+    private TickCheckpointService tickCheckpointService;
+
     public JobContextConsumer create() {
+        return create(ZonedDateTime.now());
+    }
+
+    public JobContextConsumer create(ZonedDateTime scheduledTime) {
+        return create(scheduledTime, CommonsShard.ALL);
+    }
+
+    public JobContextConsumer create(ZonedDateTime scheduledTime, CommonsShard shard) {
         return new RecordCommonStatsJob(
             commonStatsService,
-            commonsRepository);
+            commonsRepository,
+            tickCheckpointService,
+            scheduledTime,
+            shard);
     }
     
 }
@@ -0,0 +1,33 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.time.ZonedDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.CommonStatsService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+@Service
+public class RecordCommonStatsJobFactoryInd {
+
+    @Autowired
+    private CommonsRepository commonsRepository;
+
+    @Autowired
+    private CommonStatsService commonStatsService;
+
+    @Autowired
+    private TickCheckpointService tickCheckpointService;
+
+    public JobContextConsumer create(Long commonsID, ZonedDateTime scheduledTime) {
+        return new RecordCommonStatsJobInd(
+            commonStatsService,
+            commonsRepository,
+            commonsID,
+            tickCheckpointService,
+            scheduledTime);
+    }
+}
@@ -0,0 +1,68 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import edu.ucsb.cs156.happiercows.entities.CommonStats;
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.CommonStatsService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.TickJob;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Records one row of CommonStats for a single commons. */
+
+@AllArgsConstructor
+public class RecordCommonStatsJobInd implements TickJob {
+
+    @Getter
+    private CommonStatsService commonStatsService;
+
+    @Getter
+    private CommonsRepository commonsRepository;
+
+    @Getter
+    private long commonsID;
+
+    @Getter
+    private TickCheckpointService tickCheckpointService;
+
+    @Getter
+    private ZonedDateTime scheduledTime;
+
+    @Override
+    public TickType getTickType() {
+        return TickType.recordCommonStats;
+    }
+
+    @Override
+    public Long getTickCommonsId() {
+        return commonsID;
+    }
+
+    @Override
+    public void accept(JobContext ctx) throws Exception {
+        ctx.log("Starting record common stats job...");
+        Optional<Commons> commonsOpt = commonsRepository.findById(commonsID);
+
+        if (commonsOpt.isPresent()) {
+            Commons commons = commonsOpt.get();
+            boolean applied = tickCheckpointService.runOnce(TickType.recordCommonStats, commons.getId(), scheduledTime, () -> {
+                CommonStats commonStats = commonStatsService.createAndSaveCommonStats(commons.getId());
+                ctx.log(String.format("CommonStats %d for commons id=%d (%s) finished.", commonStats.getId(), commons.getId(),
+                        commons.getName()));
+            });
+            if (!applied) {
+                ctx.log(String.format("Stats for commons id=%d (%s) were already recorded for %s, skipping", commons.getId(),
+                        commons.getName(), scheduledTime));
+            }
+            ctx.log("Record common stats job done!");
+        } else {
+            ctx.log(String.format("No commons found for id %d", commonsID));
+        }
+    }
+}
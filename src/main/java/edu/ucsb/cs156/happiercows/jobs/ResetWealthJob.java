@@ -0,0 +1,31 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+
+public class ResetWealthJob extends UserCommonsBulkUpdateJob {
+
+    private double totalWealth;
+
+    public ResetWealthJob(long commonsId, double totalWealth, CommonsRepository commonsRepository,
+            UserCommonsRepository userCommonsRepository, GameStateEngine gameStateEngine) {
+        super(commonsId, commonsRepository, userCommonsRepository, gameStateEngine);
+        this.totalWealth = totalWealth;
+    }
+
+    @Override
+    protected String starting() {
+        return "Resetting wealth...";
+    }
+
+    @Override
+    protected int update(long commonsId) {
+        return getUserCommonsRepository().setTotalWealth(commonsId, totalWealth);
+    }
+
+    @Override
+    protected String finished(int updated) {
+        return String.format("Wealth set to %s for %d farmers", totalWealth, updated);
+    }
+}
@@ -0,0 +1,26 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+@Service
+public class ResetWealthJobFactory {
+
+    @Autowired
+    private CommonsRepository commonsRepository;
+
+    @Autowired
+    private UserCommonsRepository userCommonsRepository;
+
+    @Autowired
+    private GameStateEngine gameStateEngine;
+
+    public JobContextConsumer create(long commonsId, double totalWealth) {
+        return new ResetWealthJob(commonsId, totalWealth, commonsRepository, userCommonsRepository, gameStateEngine);
+    }
+}
@@ -1,9 +1,18 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
 import edu.ucsb.cs156.happiercows.services.jobs.JobService;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +26,18 @@ import lombok.extern.slf4j.Slf4j;
  * a Unix cron expression, but with an extra field at the beginning for
  * the seconds.
  * 
+ * The tick jobs are identified by the minute they were scheduled for, so a
+ * tick that is retried (for example after a restart) is not applied twice.
+ * 
+ * Every instance of the app fires these crons; a tick is only launched for
+ * the shards of the commons whose lease this instance holds (see
+ * SchedulerLockService), so running several instances does not multiply ticks.
+ * Ticks missed while the app was down are applied on startup by
+ * CatchUpTicksJob.
+ * 
+ * With app.ticks.perCommons set, the tick crons here do nothing and
+ * CommonsTickScheduler ticks each commons on its own schedule instead.
+ * 
  * @see <a href="https://docs.spring.io/spring-framework/docs/current/javadoc-api/org/springframework/scheduling/support/CronExpression.html">Spring Cron Syntax</a>
  * 
  */
@@ -36,34 +57,100 @@ public class ScheduledJobs {
 
    @Autowired
    RecordCommonStatsJobFactory recordCommonStatsJobFactory;
+
+   @Autowired
+   JobRetentionJobFactory jobRetentionJobFactory;
+
+   @Autowired
+   SchedulerLockService schedulerLockService;
+
+   @Autowired
+   CatchUpTicksJobFactory catchUpTicksJobFactory;
+
+   @Value("${app.ticks.catchUp.onStartup}")
+   private boolean catchUpOnStartup;
+
+   // when set, CommonsTickScheduler runs the ticks instead
+   @Value("${app.ticks.perCommons}")
+   boolean perCommons;
    
    @Scheduled(cron = "${app.updateCowHealth.cron}", zone = "${spring.jackson.time-zone}")
    public void runUpdateCowHealthJobBasedOnCron() {
       log.info("runUpdateCowHealthJobBasedOnCron: running");
+      if (perCommons) {
+         log.info("runUpdateCowHealthJobBasedOnCron: ticks are scheduled per commons");
+         return;
+      }
 
-      JobContextConsumer updateCowHealthJob = updateCowHealthJobFactory.create();
-      jobService.runAsJob(updateCowHealthJob);
-   
-      log.info("runUpdateCowHealthJobBasedOnCron: launched job");
+      ZonedDateTime scheduledTime = scheduledTime();
+      for (CommonsShard shard : schedulerLockService.claimTickShards(TickType.updateCowHealth)) {
+         JobContextConsumer updateCowHealthJob = updateCowHealthJobFactory.create(scheduledTime, shard);
+         jobService.runAsJob(updateCowHealthJob);
+         log.info("runUpdateCowHealthJobBasedOnCron: launched job for {}", shard);
+      }
    }
 
    @Scheduled(cron = "${app.milkTheCows.cron}", zone = "${spring.jackson.time-zone}")
    public void runMilkTheCowsJobBasedOnCron() {
       log.info("runMilkTheCowsJobBasedOnCron: running");
+      if (perCommons) {
+         log.info("runMilkTheCowsJobBasedOnCron: ticks are scheduled per commons");
+         return;
+      }
 
-      JobContextConsumer milkTheCowsJob = milkTheCowsJobFactory.create();
-      jobService.runAsJob(milkTheCowsJob);
-   
-      log.info("runMilkTheCowsJobBasedOnCron: launched job");
+      ZonedDateTime scheduledTime = scheduledTime();
+      for (CommonsShard shard : schedulerLockService.claimTickShards(TickType.milkTheCows)) {
+         JobContextConsumer milkTheCowsJob = milkTheCowsJobFactory.create(scheduledTime, shard);
+         jobService.runAsJob(milkTheCowsJob);
+         log.info("runMilkTheCowsJobBasedOnCron: launched job for {}", shard);
+      }
    }
 
    @Scheduled(cron = "${app.recordCommonStats.cron}", zone = "${spring.jackson.time-zone}")
    public void runRecordCommonStatsJobBasedOnCron() {
       log.info("runRecordCommonStatsJobBasedOnCron: running");
+      if (perCommons) {
+         log.info("runRecordCommonStatsJobBasedOnCron: ticks are scheduled per commons");
+         return;
+      }
+
+      ZonedDateTime scheduledTime = scheduledTime();
+      for (CommonsShard shard : schedulerLockService.claimTickShards(TickType.recordCommonStats)) {
+         JobContextConsumer recordCommonStatsJob = recordCommonStatsJobFactory.create(scheduledTime, shard);
+         jobService.runAsJob(recordCommonStatsJob);
+         log.info("runRecordCommonStatsJobBasedOnCron: launched job for {}", shard);
+      }
+   }
+
+   @Scheduled(cron = "${app.jobs.retention.cron}", zone = "${spring.jackson.time-zone}")
+   public void runJobRetentionJobBasedOnCron() {
+      log.info("runJobRetentionJobBasedOnCron: running");
+
+      if (!schedulerLockService.claimSingleton("jobRetention")) {
+         log.info("runJobRetentionJobBasedOnCron: running on another instance");
+         return;
+      }
 
-      JobContextConsumer recordCommonStatsJob = recordCommonStatsJobFactory.create();
-      jobService.runAsJob(recordCommonStatsJob);
+      JobContextConsumer jobRetentionJob = jobRetentionJobFactory.create();
+      jobService.runAsJob(jobRetentionJob);
+
+      log.info("runJobRetentionJobBasedOnCron: launched job");
+   }
+
+   @EventListener(ApplicationReadyEvent.class)
+   public void runCatchUpTicksJobOnStartup() {
+      if (!catchUpOnStartup || !schedulerLockService.claimSingleton("tickCatchUp")) {
+         return;
+      }
+      log.info("runCatchUpTicksJobOnStartup: running");
+
+      JobContextConsumer catchUpTicksJob = catchUpTicksJobFactory.create();
+      jobService.runAsJob(catchUpTicksJob);
+
+      log.info("runCatchUpTicksJobOnStartup: launched job");
+   }
 
-      log.info("runRecordCommonStatsJobBasedOnCron: launched job");
+   static ZonedDateTime scheduledTime() {
+      return ZonedDateTime.now().truncatedTo(ChronoUnit.MINUTES);
    }
 }
@@ -5,12 +5,10 @@ import org.springframework.stereotype.Service;
 
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
-import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
-import lombok.extern.slf4j.Slf4j;
 
 @Service
-@Slf4j
 public class SetCowHealthJobFactory  {
 
     @Autowired 
@@ -20,11 +18,9 @@ public class SetCowHealthJobFactory  {
     private UserCommonsRepository userCommonsRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private GameStateEngine gameStateEngine;
 
     public JobContextConsumer create(Long commonsID, double health) {
-        log.info("commonsRepository = " + commonsRepository);
-        log.info("userCommonsRepository = " + userCommonsRepository);
-        return new SetCowHealthJob(commonsID, health, commonsRepository, userCommonsRepository, userRepository);
+        return new SetCowHealthJob(commonsID, health, commonsRepository, userCommonsRepository, gameStateEngine);
     }
 }
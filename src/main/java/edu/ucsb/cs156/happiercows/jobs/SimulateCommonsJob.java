@@ -0,0 +1,49 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import edu.ucsb.cs156.happiercows.models.SimulationParams;
+import edu.ucsb.cs156.happiercows.models.SimulationResult;
+import edu.ucsb.cs156.happiercows.services.SimulationService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * This job simulates a commons forward from its current state, using its own
+ * parameters, and logs the trajectory. The commons itself is not changed.
+ */
+
+@AllArgsConstructor
+@Getter
+public class SimulateCommonsJob implements JobContextConsumer {
+
+    /** at most this many trajectory lines are logged */
+    public static final int LOGGED_SAMPLES = 10;
+
+    private SimulationService simulationService;
+
+    private Long commonsId;
+
+    private int ticks;
+
+    @Override
+    public void accept(JobContext ctx) throws Exception {
+        ctx.log(String.format("Simulating commons id=%d for %d ticks...", commonsId, ticks));
+        SimulationParams params = SimulationParams.builder()
+                .ticks(ticks)
+                .sampleEvery(Math.max(1, ticks / LOGGED_SAMPLES))
+                .build();
+        SimulationResult result = simulationService.simulate(commonsId, params);
+
+        ctx.log(String.format("Users: %d, effective capacity: %d", result.getNumUsers(), result.getEffectiveCapacity()));
+        for (int i = 0; i < result.getTicks().length; i++) {
+            ctx.log(String.format("Tick %d: cows: %d, average cow health: %.2f, total wealth: %s, cow deaths: %d",
+                    result.getTicks()[i],
+                    result.getTotalCows()[i],
+                    result.getAverageCowHealth()[i],
+                    MilkTheCowsJob.formatDollars(result.getTotalWealth()[i]),
+                    result.getCowDeaths()[i]));
+        }
+        ctx.log("Simulation done!");
+    }
+}
@@ -0,0 +1,18 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.services.SimulationService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+@Service
+public class SimulateCommonsJobFactory {
+
+    @Autowired
+    private SimulationService simulationService;
+
+    public JobContextConsumer create(Long commonsId, int ticks) {
+        return new SimulateCommonsJob(simulationService, commonsId, ticks);
+    }
+}
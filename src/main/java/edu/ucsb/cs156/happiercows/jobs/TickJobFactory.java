@@ -0,0 +1,52 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.time.ZonedDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+/**
+ * Creates the job for a tick from its type, commons and scheduled time, as
+ * recorded on a Job, so that a tick can be re-run exactly as it was launched.
+ */
+@Service
+public class TickJobFactory {
+
+    @Autowired
+    MilkTheCowsJobFactory milkTheCowsJobFactory;
+
+    @Autowired
+    MilkTheCowsJobFactoryInd milkTheCowsJobFactoryInd;
+
+    @Autowired
+    UpdateCowHealthJobFactory updateCowHealthJobFactory;
+
+    @Autowired
+    UpdateCowHealthJobFactoryInd updateCowHealthJobFactoryInd;
+
+    @Autowired
+    RecordCommonStatsJobFactory recordCommonStatsJobFactory;
+
+    @Autowired
+    RecordCommonStatsJobFactoryInd recordCommonStatsJobFactoryInd;
+
+    /**
+     * @param commonsId the commons to limit the tick to, or null for every commons
+     */
+    public JobContextConsumer create(TickType tickType, Long commonsId, ZonedDateTime scheduledTime) {
+        return switch (tickType) {
+            case milkTheCows -> commonsId == null
+                    ? milkTheCowsJobFactory.create(scheduledTime)
+                    : milkTheCowsJobFactoryInd.create(commonsId, scheduledTime);
+            case updateCowHealth -> commonsId == null
+                    ? updateCowHealthJobFactory.create(scheduledTime)
+                    : updateCowHealthJobFactoryInd.create(commonsId, scheduledTime);
+            case recordCommonStats -> commonsId == null
+                    ? recordCommonStatsJobFactory.create(scheduledTime)
+                    : recordCommonStatsJobFactoryInd.create(commonsId, scheduledTime);
+        };
+    }
+}
@@ -2,20 +2,30 @@ package edu.ucsb.cs156.happiercows.jobs;
 
 import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.entities.CommonsPlus;
+import edu.ucsb.cs156.happiercows.entities.CowDeath;
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
-import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+import edu.ucsb.cs156.happiercows.services.jobs.TickJob;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.services.CowDeathService;
 import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategy;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 @AllArgsConstructor
-public class UpdateCowHealthJob implements JobContextConsumer {
+public class UpdateCowHealthJob implements TickJob {
 
     @Getter
     private CommonsRepository commonsRepository;
@@ -25,13 +35,28 @@ public class UpdateCowHealthJob implements JobContextConsumer {
     private UserRepository userRepository;
     @Getter
     private CommonsPlusBuilderService commonsPlusBuilderService;
+    @Getter
+    private TickCheckpointService tickCheckpointService;
+    @Getter
+    private ZonedDateTime scheduledTime;
+    @Getter
+    private CommonsShard shard;
+    @Getter
+    private CowDeathService cowDeathService;
+
+    @Override
+    public TickType getTickType() {
+        return TickType.updateCowHealth;
+    }
 
     @Override
     public void accept(JobContext ctx) throws Exception {
         ctx.log("Updating cow health...");
+        if (shard.count() > 1) {
+            ctx.log("Updating commons in " + shard);
+        }
 
-
-        Iterable<Commons> allCommons = commonsRepository.findAll();
+        Iterable<Commons> allCommons = shard.filter(commonsRepository.findActive(getTickTime()));
         Iterable<CommonsPlus> allCommonsPlus = commonsPlusBuilderService.convertToCommonsPlus(allCommons);
 
         for (CommonsPlus commonsPlus : allCommonsPlus) {
@@ -39,7 +64,11 @@ public class UpdateCowHealthJob implements JobContextConsumer {
 
             Commons commons = commonsPlus.getCommons();
             
-            runUpdateJobInCommons(commons, commonsPlus, commonsPlusBuilderService, commonsRepository, userCommonsRepository, ctx);
+            boolean applied = tickCheckpointService.runOnce(TickType.updateCowHealth, commons.getId(), scheduledTime,
+                    () -> runUpdateJobInCommons(commons, commonsPlus, commonsPlusBuilderService, commonsRepository, userCommonsRepository, cowDeathService, getTickTime(), ctx));
+            if (!applied) {
+                ctx.log("Commons " + commons.getName() + " has already had its cow health updated for " + scheduledTime + ", skipping");
+            }
             
         }
 
@@ -54,20 +83,33 @@ public class UpdateCowHealthJob implements JobContextConsumer {
             int totalCows
     ) {
         var health = strategy.calculateNewCowHealth(commonsPlus, userCommons, totalCows);
+        return clampCowHealth(health);
+    }
+
+    public static double clampCowHealth(double health) {
         return Math.max(0, Math.min(health, 100));
     }
 
-    public static void calculateCowDeaths(UserCommons userCommons, JobContext ctx) {
+    /** @return the number of cows that died, 0 if the farmer's cows are still alive */
+    public static int calculateCowDeaths(UserCommons userCommons, JobContext ctx) {
         if (userCommons.getCowHealth() == 0.0) {
-            userCommons.setCowDeaths(userCommons.getCowDeaths() + userCommons.getNumOfCows());
+            int cowsKilled = userCommons.getNumOfCows();
+            userCommons.setCowDeaths(userCommons.getCowDeaths() + cowsKilled);
             userCommons.setNumOfCows(0);
             userCommons.setCowHealth(100.0);
 
             ctx.log(" " + userCommons.getCowDeaths() + " cows for this user died." );
+            return cowsKilled;
         }
+        return 0;
     }
 
-    public static void runUpdateJobInCommons(Commons commons, CommonsPlus commonsPlus, CommonsPlusBuilderService commonsPlusBuilderService, CommonsRepository commonsRepository, UserCommonsRepository userCommonsRepository, JobContext ctx){
+    /**
+     * Update the cow health of every farmer in the commons. Cows that die are
+     * recorded in cowdeath, at <code>tickTime</code>, with one batch for the
+     * commons.
+     */
+    public static void runUpdateJobInCommons(Commons commons, CommonsPlus commonsPlus, CommonsPlusBuilderService commonsPlusBuilderService, CommonsRepository commonsRepository, UserCommonsRepository userCommonsRepository, CowDeathService cowDeathService, LocalDateTime tickTime, JobContext ctx){
         ctx.log("Commons " + commons.getName() + ", degradationRate: " + commons.getDegradationRate() + ", effectiveCapacity: " + commonsPlus.getEffectiveCapacity());
 
             int numUsers = commonsRepository.getNumUsers(commons.getId()).orElseThrow(() -> new RuntimeException("Error calling getNumUsers(" + commons.getId() + ")"));
@@ -85,19 +127,41 @@ public class UpdateCowHealthJob implements JobContextConsumer {
             var isAboveCapacity = totalCows > carryingCapacity;
             var cowHealthUpdateStrategy = isAboveCapacity ? commons.getAboveCapacityHealthUpdateStrategy() : commons.getBelowCapacityHealthUpdateStrategy();
 
-            for (UserCommons userCommons : allUserCommons) {
+            List<UserCommons> userCommonsList = new ArrayList<>();
+            allUserCommons.forEach(userCommonsList::add);
+
+            double[] newCowHealth = new double[userCommonsList.size()];
+            int[] numCows = new int[userCommonsList.size()];
+            for (int i = 0; i < newCowHealth.length; i++) {
+                newCowHealth[i] = userCommonsList.get(i).getCowHealth();
+                numCows[i] = userCommonsList.get(i).getNumOfCows();
+            }
+            cowHealthUpdateStrategy.calculateNewCowHealth(newCowHealth, numCows, totalCows, carryingCapacity, commons.getDegradationRate());
+
+            List<CowDeath> deaths = new ArrayList<>();
+            for (int i = 0; i < newCowHealth.length; i++) {
+                UserCommons userCommons = userCommonsList.get(i);
                 User user = userCommons.getUser();
 
-                var newCowHealth = calculateNewCowHealthUsingStrategy(cowHealthUpdateStrategy, commonsPlusBuilderService.toCommonsPlus(commons), userCommons, totalCows);
                 ctx.log("User: " + user.getFullName() + ", numCows: " + userCommons.getNumOfCows() + ", cowHealth: " + userCommons.getCowHealth());
 
                 double oldHealth = userCommons.getCowHealth();
-                userCommons.setCowHealth(newCowHealth);
-                calculateCowDeaths(userCommons, ctx);
+                userCommons.setCowHealth(clampCowHealth(newCowHealth[i]));
+                int cowsKilled = calculateCowDeaths(userCommons, ctx);
+                if (cowsKilled > 0) {
+                    deaths.add(CowDeath.builder()
+                            .commonsId(commons.getId())
+                            .userId(user.getId())
+                            .zonedDateTime(tickTime)
+                            .cowsKilled(cowsKilled)
+                            .avgHealth(oldHealth)
+                            .build());
+                }
 
                 ctx.log(" old cow health: " + oldHealth + ", new cow health: " + userCommons.getCowHealth());
-                userCommonsRepository.save(userCommons);
             }
+            userCommonsRepository.saveAll(userCommonsList);
+            cowDeathService.recordAll(deaths);
 
     }
 }
@@ -1,11 +1,16 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
+import java.time.ZonedDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.CowDeathService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
 import lombok.extern.slf4j.Slf4j;
@@ -26,9 +31,26 @@ public class UpdateCowHealthJobFactory  {
     @Autowired
     private CommonsPlusBuilderService commonsPlusBuilderService;
 
+    @Autowired
+    private TickCheckpointService tickCheckpointService;
+
+    @Autowired
+    private CowDeathService cowDeathService;
+
     public JobContextConsumer create() {
+        return create(ZonedDateTime.now());
+    }
+
+    /** @param scheduledTime identifies the tick; re-running it only updates the commons it has not updated yet */
+    public JobContextConsumer create(ZonedDateTime scheduledTime) {
+        return create(scheduledTime, CommonsShard.ALL);
+    }
+
+    /** @param shard the slice of the commons this instance updates for the tick */
+    public JobContextConsumer create(ZonedDateTime scheduledTime, CommonsShard shard) {
         log.info("commonsRepository = " + commonsRepository);
         log.info("userCommonsRepository = " + userCommonsRepository);
-        return new UpdateCowHealthJob(commonsRepository, userCommonsRepository, userRepository, commonsPlusBuilderService);
+        return new UpdateCowHealthJob(commonsRepository, userCommonsRepository, userRepository, commonsPlusBuilderService,
+                tickCheckpointService, scheduledTime, shard, cowDeathService);
     }
 }
@@ -1,5 +1,7 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
+import java.time.ZonedDateTime;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -8,6 +10,8 @@ import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.services.CowDeathService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,9 +31,20 @@ public class UpdateCowHealthJobFactoryInd  {
     @Autowired
     private CommonsPlusBuilderService commonsPlusBuilderService;
 
+    @Autowired
+    private TickCheckpointService tickCheckpointService;
+
+    @Autowired
+    private CowDeathService cowDeathService;
+
     public JobContextConsumer create(Long commonsID) {
+        return create(commonsID, ZonedDateTime.now());
+    }
+
+    public JobContextConsumer create(Long commonsID, ZonedDateTime scheduledTime) {
         log.info("commonsRepository = " + commonsRepository);
         log.info("userCommonsRepository = " + userCommonsRepository);
-        return new UpdateCowHealthJobInd(commonsRepository, userCommonsRepository, userRepository, commonsPlusBuilderService, commonsID);
+        return new UpdateCowHealthJobInd(commonsRepository, userCommonsRepository, userRepository, commonsPlusBuilderService, commonsID,
+                tickCheckpointService, scheduledTime, cowDeathService);
     }
 }
@@ -1,5 +1,6 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
 
 import edu.ucsb.cs156.happiercows.entities.Commons;
@@ -8,13 +9,16 @@ import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.services.CowDeathService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
-import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+import edu.ucsb.cs156.happiercows.services.jobs.TickJob;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 @AllArgsConstructor
-public class UpdateCowHealthJobInd implements JobContextConsumer {
+public class UpdateCowHealthJobInd implements TickJob {
 
     @Getter
     private CommonsRepository commonsRepository;
@@ -26,6 +30,22 @@ public class UpdateCowHealthJobInd implements JobContextConsumer {
     private CommonsPlusBuilderService commonsPlusBuilderService;
     @Getter
     private Long commonsID;
+    @Getter
+    private TickCheckpointService tickCheckpointService;
+    @Getter
+    private ZonedDateTime scheduledTime;
+    @Getter
+    private CowDeathService cowDeathService;
+
+    @Override
+    public TickType getTickType() {
+        return TickType.updateCowHealth;
+    }
+
+    @Override
+    public Long getTickCommonsId() {
+        return commonsID;
+    }
 
     @Override
     public void accept(JobContext ctx) throws Exception {
@@ -37,7 +57,11 @@ public class UpdateCowHealthJobInd implements JobContextConsumer {
         if(commonUpdatedOpt.isPresent()){
             Commons commonsUpdated = commonUpdatedOpt.get();
             CommonsPlus commonsPlus = commonsPlusBuilderService.toCommonsPlus(commonsUpdated);
-            UpdateCowHealthJob.runUpdateJobInCommons(commonsUpdated, commonsPlus, commonsPlusBuilderService, commonsRepository, userCommonsRepository, ctx); 
+            boolean applied = tickCheckpointService.runOnce(TickType.updateCowHealth, commonsUpdated.getId(), scheduledTime,
+                    () -> UpdateCowHealthJob.runUpdateJobInCommons(commonsUpdated, commonsPlus, commonsPlusBuilderService, commonsRepository, userCommonsRepository, cowDeathService, getTickTime(), ctx));
+            if (!applied) {
+                ctx.log("Commons " + commonsUpdated.getName() + " has already had its cow health updated for " + scheduledTime + ", skipping");
+            }
             ctx.log("Cow health has been updated!");
         } else {
             ctx.log(String.format("No commons found for id %d", commonsID));
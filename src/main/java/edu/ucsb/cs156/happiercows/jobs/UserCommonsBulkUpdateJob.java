@@ -0,0 +1,65 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import java.util.Optional;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import lombok.Getter;
+
+/**
+ * An admin edit applied to every farmer of a commons with a single UPDATE
+ * (see the bulk methods of UserCommonsRepository), instead of loading and
+ * saving each UserCommons. The log reports how many farmers were changed
+ * rather than a line per farmer.
+ *
+ * The UPDATE runs through {@link GameStateEngine#exclusive}, like a tick, so
+ * trades held in memory are written before it and are not written back over
+ * it afterwards.
+ */
+public abstract class UserCommonsBulkUpdateJob implements JobContextConsumer {
+
+    private final long commonsId;
+
+    @Getter
+    private final CommonsRepository commonsRepository;
+    @Getter
+    private final UserCommonsRepository userCommonsRepository;
+    @Getter
+    private final GameStateEngine gameStateEngine;
+
+    protected UserCommonsBulkUpdateJob(long commonsId, CommonsRepository commonsRepository,
+            UserCommonsRepository userCommonsRepository, GameStateEngine gameStateEngine) {
+        this.commonsId = commonsId;
+        this.commonsRepository = commonsRepository;
+        this.userCommonsRepository = userCommonsRepository;
+        this.gameStateEngine = gameStateEngine;
+    }
+
+    /** The first line of the log, e.g. "Setting cow health..." */
+    protected abstract String starting();
+
+    /** Apply the edit to every farmer of the commons and return how many were changed. */
+    protected abstract int update(long commonsId);
+
+    /** The last line of the log, given the number of farmers changed. */
+    protected abstract String finished(int updated);
+
+    @Override
+    public void accept(JobContext ctx) throws Exception {
+        ctx.log(starting());
+
+        Optional<Commons> commons = commonsRepository.findById(commonsId);
+        if (commons.isEmpty()) {
+            ctx.log(String.format("No commons found for id %d", commonsId));
+            return;
+        }
+        ctx.log("Commons " + commons.get().getName());
+
+        int updated = gameStateEngine.exclusive(commonsId, () -> update(commonsId));
+        ctx.log(finished(updated));
+    }
+}
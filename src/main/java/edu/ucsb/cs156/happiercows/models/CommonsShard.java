@@ -0,0 +1,40 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+
+/**
+ * One of <code>count</code> slices of the commons, by id, so that the work of
+ * a tick can be split between instances.
+ */
+public record CommonsShard(int index, int count) {
+
+    public static final CommonsShard ALL = new CommonsShard(0, 1);
+
+    public CommonsShard {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+    }
+
+    public boolean contains(long commonsId) {
+        return Math.floorMod(commonsId, count) == index;
+    }
+
+    public List<Commons> filter(Iterable<Commons> commons) {
+        List<Commons> inShard = new ArrayList<>();
+        for (Commons c : commons) {
+            if (contains(c.getId())) {
+                inShard.add(c);
+            }
+        }
+        return inShard;
+    }
+
+    @Override
+    public String toString() {
+        return "shard " + index + " of " + count;
+    }
+}
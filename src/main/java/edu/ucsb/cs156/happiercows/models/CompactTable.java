@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+import java.util.List;
+
+/**
+ * A list of records sent as column names plus one array of values per row,
+ * so that property names are not repeated for every row.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class CompactTable {
+  private List<String> columns;
+  private List<Object[]> rows;
+}
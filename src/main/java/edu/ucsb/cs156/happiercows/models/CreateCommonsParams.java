@@ -35,4 +35,8 @@ public class CreateCommonsParams {
 
     private String aboveCapacityHealthUpdateStrategy;
     private String belowCapacityHealthUpdateStrategy;
+
+    private String milkTheCowsCron;
+    private String updateCowHealthCron;
+    private String recordCommonStatsCron;
 }
@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A farmer's wealth and herd at one time, as stored in the history of a
+ * UserCommons. Wealth is kept to the cent and cow health to the hundredth.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class HistoryPoint {
+  private LocalDateTime time;
+  private double totalWealth;
+  private int numOfCows;
+  private double cowHealth;
+}
@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+/**
+ * The part of a job's log starting at character {@code offset}, which
+ * replaces whatever the client had from {@code offset} on. For a truncated
+ * log the offset may be smaller than the one the client asked for (see
+ * JobLogEvent).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class JobLogDelta {
+  private long jobId;
+  private int offset;
+  private String message;
+}
@@ -0,0 +1,29 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+import java.time.ZonedDateTime;
+
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+
+/**
+ * A job without its log, for listings and status updates.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class JobSummary {
+  private long id;
+  private ZonedDateTime createdAt;
+  private ZonedDateTime updatedAt;
+  private String status;
+
+  public static JobSummary from(Job job) {
+    return new JobSummary(job.getId(), job.getCreatedAt(), job.getUpdatedAt(), job.getStatus());
+  }
+}
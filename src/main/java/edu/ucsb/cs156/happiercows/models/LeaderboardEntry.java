@@ -0,0 +1,26 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+/**
+ * One player's standing in a commons; the compact row the leaderboard
+ * endpoints return instead of the full UserCommons.
+ *
+ * Entries are kept in sorted lists by LeaderboardService, so they are
+ * replaced rather than modified once ranked.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class LeaderboardEntry {
+  private long userId;
+  private String username;
+  private double totalWealth;
+  private int numOfCows;
+  private double cowHealth;
+}
@@ -0,0 +1,27 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The values a commons leaderboard can be ranked by. Constant names match the
+ * UserCommons property names so that they can be passed as request
+ * parameters unchanged.
+ */
+public enum LeaderboardMetric {
+  totalWealth(LeaderboardEntry::getTotalWealth),
+  numOfCows(LeaderboardEntry::getNumOfCows),
+  cowHealth(LeaderboardEntry::getCowHealth);
+
+  private final Comparator<LeaderboardEntry> ranking;
+
+  LeaderboardMetric(ToDoubleFunction<LeaderboardEntry> value) {
+    // highest value first; ties broken by user id so that the order is total
+    this.ranking = Comparator.comparingDouble(value).reversed()
+        .thenComparingLong(LeaderboardEntry::getUserId);
+  }
+
+  public Comparator<LeaderboardEntry> ranking() {
+    return ranking;
+  }
+}
@@ -0,0 +1,26 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+import java.util.List;
+
+/**
+ * A contiguous slice of a leaderboard. The rank of entries[i] is
+ * firstRank + i (ranks start at 1); myRank is only set for "my rank"
+ * queries.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class LeaderboardView {
+  private LeaderboardMetric metric;
+  private int totalPlayers;
+  private int firstRank;
+  private Integer myRank;
+  private List<LeaderboardEntry> entries;
+}
@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import java.time.Instant;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How often this instance has tried to take a lease, and how it went.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class LeaseStats {
+  private long acquired;
+  private long denied;
+  private Instant lastAcquiredAt;
+}
@@ -0,0 +1,27 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The outcome of importing a roster CSV into a course: a count per status
+ * and one {@link RosterRowResult} per data row.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class RosterImportResult {
+  private long courseId;
+  private int inserted;
+  private int updated;
+  private int unchanged;
+  private int duplicates;
+  private int invalid;
+  private List<RosterRowResult> rows;
+}
@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * What a roster import did with one row of the CSV: inserted, updated,
+ * unchanged, duplicate (the perm appeared earlier in the file) or invalid.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class RosterRowResult {
+  private long line;
+  private String perm;
+  private String status;
+  private String message;
+}
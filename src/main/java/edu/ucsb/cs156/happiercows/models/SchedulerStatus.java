@@ -0,0 +1,27 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import java.util.List;
+import java.util.Map;
+
+import edu.ucsb.cs156.happiercows.entities.SchedulerLock;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The scheduler as seen by one instance: who is alive, which leases are held,
+ * and this instance's lease counters.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class SchedulerStatus {
+  private String instanceId;
+  private List<String> liveInstances;
+  private int shards;
+  private List<SchedulerLock> locks;
+  private Map<String, LeaseStats> leaseStats;
+}
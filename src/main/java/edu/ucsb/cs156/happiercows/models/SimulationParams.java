@@ -0,0 +1,34 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Settings for a simulation run. Commons parameters that are left null are
+ * taken from the commons being simulated.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder(toBuilder = true)
+public class SimulationParams {
+  /** number of cow health updates to simulate */
+  @Builder.Default
+  private Integer ticks = 100;
+  /** the cows are milked after every milkEvery-th tick (the live game updates health twice per milking) */
+  @Builder.Default
+  private Integer milkEvery = 2;
+  /** record the state of the commons every sampleEvery ticks */
+  @Builder.Default
+  private Integer sampleEvery = 1;
+
+  private Double degradationRate;
+  private Integer carryingCapacity;
+  private Integer capacityPerUser;
+  private Double milkPrice;
+  private String aboveCapacityHealthUpdateStrategy;
+  private String belowCapacityHealthUpdateStrategy;
+}
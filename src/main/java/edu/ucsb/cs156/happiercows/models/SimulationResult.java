@@ -0,0 +1,31 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The trajectory of a simulated commons. The arrays are parallel: element i
+ * describes the commons after <code>ticks[i]</code> ticks (element 0 is the
+ * starting state).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class SimulationResult {
+  /** the settings actually used, with the commons' own values filled in */
+  private SimulationParams params;
+  private int numUsers;
+  private int effectiveCapacity;
+
+  private int[] ticks;
+  private int[] totalCows;
+  private double[] averageCowHealth;
+  private double[] totalWealth;
+  private int[] cowDeaths;
+
+  private long elapsedMs;
+}
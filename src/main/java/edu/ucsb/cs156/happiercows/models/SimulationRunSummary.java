@@ -0,0 +1,33 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The parameters of one run of a sweep and the state of the commons at its end.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class SimulationRunSummary {
+  private SimulationParams params;
+  private int totalCows;
+  private double averageCowHealth;
+  private double totalWealth;
+  private int cowDeaths;
+
+  public static SimulationRunSummary from(SimulationResult result) {
+    int last = result.getTicks().length - 1;
+    return SimulationRunSummary.builder()
+        .params(result.getParams())
+        .totalCows(result.getTotalCows()[last])
+        .averageCowHealth(result.getAverageCowHealth()[last])
+        .totalWealth(result.getTotalWealth()[last])
+        .cowDeaths(result.getCowDeaths()[last])
+        .build();
+  }
+}
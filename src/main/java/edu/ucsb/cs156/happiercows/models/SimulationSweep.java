@@ -0,0 +1,28 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A Monte-Carlo sweep: <code>runs</code> simulations whose degradation rate,
+ * carrying capacity, capacity per user and milk price are drawn uniformly
+ * within <code>spread</code> (a fraction, e.g. 0.25 for &plusmn;25%) of the
+ * values in <code>params</code>.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class SimulationSweep {
+  @Builder.Default
+  private SimulationParams params = SimulationParams.builder().build();
+  @Builder.Default
+  private int runs = 100;
+  @Builder.Default
+  private double spread = 0.25;
+  @Builder.Default
+  private long seed = 0;
+}
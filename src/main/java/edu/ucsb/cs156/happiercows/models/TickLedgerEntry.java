@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import java.time.ZonedDateTime;
+
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The most recent tick of one type that has been applied to a commons.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class TickLedgerEntry {
+  private TickType tickType;
+  private long commonsId;
+  private ZonedDateTime lastScheduledTime;
+}
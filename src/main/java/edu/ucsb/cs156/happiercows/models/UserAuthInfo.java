@@ -0,0 +1,23 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+/**
+ * The handful of user columns needed to authorize a request; loaded with a
+ * projection query so that the per-request security checks never touch the
+ * user's commons.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class UserAuthInfo {
+  private long id;
+  private String email;
+  private boolean admin;
+  private boolean suspended;
+}
@@ -0,0 +1,41 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+import java.util.List;
+
+/**
+ * The columns of a UserCommons that the leaderboard and chat views use, with
+ * the same JSON property names as the entity.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class UserCommonsSummary {
+  public static final List<String> COLUMNS = List.of(
+      "userId", "commonsId", "username", "totalWealth", "numOfCows",
+      "cowHealth", "cowsBought", "cowsSold", "cowDeaths");
+
+  private long userId;
+  private long commonsId;
+  private String username;
+  private double totalWealth;
+  private int numOfCows;
+  private double cowHealth;
+  private int cowsBought;
+  private int cowsSold;
+  private int cowDeaths;
+
+  /**
+   * @return the values of this row in the order of {@link #COLUMNS}
+   */
+  public Object[] toRow() {
+    return new Object[] { userId, commonsId, username, totalWealth, numOfCows,
+        cowHealth, cowsBought, cowsSold, cowDeaths };
+  }
+}
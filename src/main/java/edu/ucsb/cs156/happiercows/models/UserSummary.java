@@ -0,0 +1,27 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+import lombok.Builder;
+import lombok.AccessLevel;
+
+import java.time.Instant;
+
+/**
+ * One row of the admin users table (only the columns the table displays).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Builder
+public class UserSummary {
+  private long id;
+  private String email;
+  private String fullName;
+  private String givenName;
+  private String familyName;
+  private Instant lastOnline;
+  private boolean admin;
+  private boolean suspended;
+}
@@ -1,5 +1,7 @@
 package edu.ucsb.cs156.happiercows.repositories;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.repository.CrudRepository;
@@ -17,4 +19,15 @@ public interface CommonsRepository extends CrudRepository<Commons, Long> {
     @Query("SELECT COUNT(*) FROM user_commons uc WHERE uc.commons.id = :commonsId")
     Optional<Integer> getNumUsers(Long commonsId);
 
+    /** Commons whose game is running at <code>now</code> and that are not archived; these are the ones the tick jobs process. */
+    @Query("SELECT c FROM commons c WHERE c.archived = false"
+            + " AND (c.startingDate IS NULL OR c.startingDate <= :now)"
+            + " AND (c.lastDate IS NULL OR c.lastDate >= :now) ORDER BY c.id")
+    List<Commons> findActive(LocalDateTime now);
+
+    /** Commons that are not archived and whose game has not ended by <code>now</code>, including ones yet to start. */
+    @Query("SELECT c FROM commons c WHERE c.archived = false"
+            + " AND (c.lastDate IS NULL OR c.lastDate >= :now) ORDER BY c.id")
+    List<Commons> findUnfinished(LocalDateTime now);
+
 }
@@ -1,6 +1,10 @@
 package edu.ucsb.cs156.happiercows.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import edu.ucsb.cs156.happiercows.entities.Course;
@@ -8,4 +12,21 @@ import edu.ucsb.cs156.happiercows.entities.Course;
 @Repository
 public interface CourseRepository extends CrudRepository<Course, Long> {
 
+  // Slices fetch one extra row to know if there is a next page instead of counting every course
+  @Query("SELECT c FROM courses c")
+  Slice<Course> findSlice(Pageable pageable);
+
+  @Query("SELECT c FROM courses c WHERE c.term = ?1")
+  Slice<Course> findSliceByTerm(String term, Pageable pageable);
+
+  // prefix matches only; within a term the (term, code) index applies
+  @Query("SELECT c FROM courses c"
+      + " WHERE c.code LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}"
+      + " OR c.name LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}")
+  Slice<Course> searchSlice(String prefix, Pageable pageable);
+
+  @Query("SELECT c FROM courses c WHERE c.term = :term"
+      + " AND (c.code LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()}"
+      + " OR c.name LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()})")
+  Slice<Course> searchSliceByTerm(@Param("prefix") String prefix, @Param("term") String term, Pageable pageable);
 }
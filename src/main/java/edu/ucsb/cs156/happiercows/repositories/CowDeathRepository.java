@@ -1,11 +1,24 @@
 package edu.ucsb.cs156.happiercows.repositories;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import edu.ucsb.cs156.happiercows.entities.CowDeath;
 
 @Repository
 public interface CowDeathRepository extends CrudRepository<CowDeath, Long> {
-    
-}
\ No newline at end of file
+
+    /** Deaths in the commons from <code>from</code> (inclusive) to <code>to</code> (exclusive), oldest first. */
+    @Query("SELECT d FROM cowdeath d WHERE d.commonsId = :commonsId AND d.zonedDateTime >= :from AND d.zonedDateTime < :to ORDER BY d.zonedDateTime, d.id")
+    List<CowDeath> findByCommonsIdBetween(@Param("commonsId") long commonsId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /** Deaths of one farmer's cows from <code>from</code> (inclusive) to <code>to</code> (exclusive), oldest first. */
+    @Query("SELECT d FROM cowdeath d WHERE d.commonsId = :commonsId AND d.userId = :userId AND d.zonedDateTime >= :from AND d.zonedDateTime < :to ORDER BY d.zonedDateTime, d.id")
+    List<CowDeath> findByCommonsIdAndUserIdBetween(@Param("commonsId") long commonsId, @Param("userId") long userId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
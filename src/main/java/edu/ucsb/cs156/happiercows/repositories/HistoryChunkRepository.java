@@ -0,0 +1,21 @@
+package edu.ucsb.cs156.happiercows.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import edu.ucsb.cs156.happiercows.entities.HistoryChunk;
+
+@Repository
+public interface HistoryChunkRepository extends CrudRepository<HistoryChunk, Long> {
+
+    /** The farmer's chunks with a point from <code>from</code> (inclusive) to <code>to</code> (exclusive), oldest first. */
+    @Query("SELECT c FROM history_chunks c WHERE c.commonsId = :commonsId AND c.userId = :userId"
+            + " AND c.endTime >= :from AND c.startTime < :to ORDER BY c.startTime, c.id")
+    List<HistoryChunk> findOverlapping(@Param("commonsId") long commonsId, @Param("userId") long userId,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
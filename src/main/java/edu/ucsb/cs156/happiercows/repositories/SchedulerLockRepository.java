@@ -0,0 +1,16 @@
+package edu.ucsb.cs156.happiercows.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.ucsb.cs156.happiercows.entities.SchedulerLock;
+
+@Repository
+public interface SchedulerLockRepository extends CrudRepository<SchedulerLock, String> {
+    public List<SchedulerLock> findByNameStartingWithAndLockedUntilAfterOrderByName(String prefix, Instant now);
+
+    public List<SchedulerLock> findAllByOrderByName();
+}
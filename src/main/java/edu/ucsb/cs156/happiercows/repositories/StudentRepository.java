@@ -1,7 +1,10 @@
 package edu.ucsb.cs156.happiercows.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import edu.ucsb.cs156.happiercows.entities.Student;
@@ -20,4 +23,16 @@ public interface StudentRepository extends CrudRepository<Student, Long> {
   @Query(value = "SELECT stu FROM student stu WHERE stu.courseId = :courseId AND stu.perm = :perm")
   Iterable<Student> findByCourseIdAndPerm(Long courseId, String perm);
 
+  long countByCourseId(Long courseId);
+
+  @Query(value = "SELECT stu FROM student stu WHERE stu.courseId = ?1")
+  Slice<Student> findSliceByCourseId(Long courseId, Pageable pageable);
+
+  // prefix matches within the course, which the (courseId, perm) index narrows to
+  @Query(value = "SELECT stu FROM student stu WHERE stu.courseId = :courseId"
+      + " AND (stu.perm LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()}"
+      + " OR stu.email LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()}"
+      + " OR stu.lastName LIKE :#{escape(#prefix)}% ESCAPE :#{escapeCharacter()})")
+  Slice<Student> searchSliceByCourseId(@Param("courseId") Long courseId, @Param("prefix") String prefix, Pageable pageable);
+
 }
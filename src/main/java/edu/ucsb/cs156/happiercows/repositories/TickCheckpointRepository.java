@@ -0,0 +1,22 @@
+package edu.ucsb.cs156.happiercows.repositories;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.ucsb.cs156.happiercows.entities.TickCheckpoint;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.models.TickLedgerEntry;
+
+@Repository
+public interface TickCheckpointRepository extends CrudRepository<TickCheckpoint, Long> {
+    boolean existsByTickTypeAndCommonsIdAndScheduledTime(TickType tickType, long commonsId, ZonedDateTime scheduledTime);
+
+    /** The last tick of each type applied to each commons. */
+    @Query("SELECT new edu.ucsb.cs156.happiercows.models.TickLedgerEntry(c.tickType, c.commonsId, MAX(c.scheduledTime)) "
+            + "FROM tick_checkpoints c GROUP BY c.tickType, c.commonsId ORDER BY c.commonsId, c.tickType")
+    List<TickLedgerEntry> findLedger();
+}
@@ -2,10 +2,16 @@ package edu.ucsb.cs156.happiercows.repositories;
 
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
 import edu.ucsb.cs156.happiercows.entities.UserCommonsKey;
+import edu.ucsb.cs156.happiercows.models.LeaderboardEntry;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,4 +20,43 @@ public interface UserCommonsRepository extends CrudRepository<UserCommons, UserC
     Optional<UserCommons> findByCommonsIdAndUserId(Long commonsId, Long userId);
     @Query("SELECT uc FROM user_commons uc WHERE uc.commons.id = :commonsId")
     Iterable<UserCommons> findByCommonsId(Long commonsId);
+    @Query("SELECT new edu.ucsb.cs156.happiercows.models.LeaderboardEntry(uc.id.userId, uc.username, uc.totalWealth, uc.numOfCows, uc.cowHealth) FROM user_commons uc WHERE uc.id.commonsId = :commonsId")
+    List<LeaderboardEntry> findLeaderboardEntries(Long commonsId);
+    @Query("SELECT new edu.ucsb.cs156.happiercows.models.UserCommonsSummary(uc.id.userId, uc.id.commonsId, uc.username, uc.totalWealth, uc.numOfCows, uc.cowHealth, uc.cowsBought, uc.cowsSold, uc.cowDeaths) FROM user_commons uc WHERE uc.id.commonsId = :commonsId")
+    List<UserCommonsSummary> findSummariesByCommonsId(Long commonsId);
+
+    /**
+     * Join every student of the course who has logged in (a user with the
+     * student's email) to the commons, with the same starting values as
+     * joining through the app. Students who are already members are skipped,
+     * so this can be run again as more students log in.
+     *
+     * @return the number of students joined
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_commons (user_id, commons_id, username, total_wealth, num_of_cows, cow_health, cows_bought, cows_sold, cow_deaths)"
+        + " SELECT u.id, c.id, u.full_name, c.starting_balance, 0, 100, 0, 0, 0 FROM users u, commons c"
+        + " WHERE c.id = :commonsId"
+        + " AND u.email IN (SELECT s.email FROM student s WHERE s.course_id = :courseId)"
+        + " AND NOT EXISTS (SELECT 1 FROM user_commons uc WHERE uc.user_id = u.id AND uc.commons_id = c.id)",
+        nativeQuery = true)
+    int enrollCourse(@Param("courseId") long courseId, @Param("commonsId") long commonsId);
+
+    // Admin edits applied to every farmer of a commons with one UPDATE; each returns the number of farmers changed
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE user_commons uc SET uc.cowHealth = :cowHealth WHERE uc.id.commonsId = :commonsId")
+    int setCowHealth(@Param("commonsId") long commonsId, @Param("cowHealth") double cowHealth);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE user_commons uc SET uc.totalWealth = :totalWealth WHERE uc.id.commonsId = :commonsId")
+    int setTotalWealth(@Param("commonsId") long commonsId, @Param("totalWealth") double totalWealth);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE user_commons uc SET uc.numOfCows = uc.numOfCows + :cows WHERE uc.id.commonsId = :commonsId")
+    int grantCows(@Param("commonsId") long commonsId, @Param("cows") int cows);
 }
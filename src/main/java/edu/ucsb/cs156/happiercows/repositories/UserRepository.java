@@ -1,12 +1,54 @@
 package edu.ucsb.cs156.happiercows.repositories;
 
 import edu.ucsb.cs156.happiercows.entities.User;
+import edu.ucsb.cs156.happiercows.models.UserAuthInfo;
+import edu.ucsb.cs156.happiercows.models.UserSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends CrudRepository<User, Long> {
   Optional<User> findByEmail(String email);
+
+  @EntityGraph(attributePaths = {"commons"})
+  Optional<User> findWithCommonsById(long id);
+
+  @Query("SELECT new edu.ucsb.cs156.happiercows.models.UserAuthInfo(u.id, u.email, u.admin, u.suspended) FROM users u WHERE u.email = :email")
+  Optional<UserAuthInfo> findAuthInfoByEmail(@Param("email") String email);
+
+  @Query("SELECT new edu.ucsb.cs156.happiercows.models.UserSummary(u.id, u.email, u.fullName, u.givenName, u.familyName, u.lastOnline, u.admin, u.suspended) FROM users u")
+  Iterable<UserSummary> findAllSummaries();
+
+  @Query(value = "SELECT new edu.ucsb.cs156.happiercows.models.UserSummary(u.id, u.email, u.fullName, u.givenName, u.familyName, u.lastOnline, u.admin, u.suspended) FROM users u",
+      countQuery = "SELECT count(u) FROM users u")
+  Page<UserSummary> findSummaries(Pageable pageable);
+
+  // prefix matches only, so that the email and name indexes can be used
+  @Query(value = "SELECT new edu.ucsb.cs156.happiercows.models.UserSummary(u.id, u.email, u.fullName, u.givenName, u.familyName, u.lastOnline, u.admin, u.suspended) FROM users u"
+      + " WHERE u.email LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}"
+      + " OR u.fullName LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}"
+      + " OR u.familyName LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}",
+      countQuery = "SELECT count(u) FROM users u"
+      + " WHERE u.email LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}"
+      + " OR u.fullName LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}"
+      + " OR u.familyName LIKE ?#{escape([0])}% ESCAPE ?#{escapeCharacter()}")
+  Page<UserSummary> searchSummaries(String prefix, Pageable pageable);
+
+  @Query("SELECT new edu.ucsb.cs156.happiercows.models.UserSummary(u.id, u.email, u.fullName, u.givenName, u.familyName, u.lastOnline, u.admin, u.suspended) FROM users u WHERE u.id > :afterId ORDER BY u.id")
+  List<UserSummary> findSummariesAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE users u SET u.admin = true WHERE u.id = :id")
+  int promoteToAdmin(@Param("id") long id);
 }
@@ -1,14 +1,45 @@
 package edu.ucsb.cs156.happiercows.repositories.jobs;
 
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.models.JobSummary;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+
 
 @Repository
 public interface JobsRepository extends CrudRepository<Job, Long> {
     public Page<Job> findAll(Pageable pageable);
+
+    @Query(value = "SELECT new edu.ucsb.cs156.happiercows.models.JobSummary(j.id, j.createdAt, j.updatedAt, j.status) FROM jobs j",
+        countQuery = "SELECT count(j) FROM jobs j")
+    public Page<JobSummary> findSummaries(Pageable pageable);
+
+    public List<Job> findByStatus(String status);
+
+    /** Ids of finished jobs, newest first; used to find the cut-off for "keep the last N jobs". */
+    @Query("SELECT j.id FROM jobs j WHERE j.status <> 'running' ORDER BY j.id DESC")
+    public List<Long> findFinishedIds(Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM jobs j WHERE j.id <= :id AND j.status <> 'running'")
+    public int deleteFinishedUpToId(@Param("id") long id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM jobs j WHERE j.createdAt < :cutoff AND j.status <> 'running'")
+    public int deleteFinishedCreatedBefore(@Param("cutoff") ZonedDateTime cutoff);
+
+    @Query("SELECT j FROM jobs j WHERE j.createdAt < :cutoff AND j.status <> 'running' AND j.log IS NOT NULL ORDER BY j.id")
+    public List<Job> findUncompressedCreatedBefore(@Param("cutoff") ZonedDateTime cutoff, Pageable pageable);
 }
@@ -0,0 +1,112 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.entities.Announcement;
+import edu.ucsb.cs156.happiercows.repositories.AnnouncementRepository;
+
+/**
+ * Keeps the announcements of each commons in memory.
+ *
+ * A commons' announcements that have not ended are loaded with one query the
+ * first time they are asked for, newest start first, and thrown away when an
+ * announcement of the commons is posted, edited or deleted. Which of them are
+ * showing is worked out again only once the time passes the next start or
+ * end date among them, so reads in between cost no query and no filtering.
+ *
+ * Only the instance that handled a change throws its copy away, so every
+ * copy is also reloaded app.announcements.cacheSeconds after it was loaded.
+ */
+@Service
+public class AnnouncementService {
+
+    public static final Sort SORT = Sort.by("startDate").descending();
+
+    @Autowired
+    AnnouncementRepository announcementRepository;
+
+    @Value("${app.announcements.cacheSeconds}")
+    long cacheSeconds;
+
+    /**
+     * @param notEnded   announcements that had not ended at <code>asOf</code>,
+     *                   newest start first
+     * @param active     those of them that had started by <code>asOf</code>
+     * @param validUntil when the next of them starts or ends, in epoch millis
+     * @param reloadAt   when they are read from the database again, in epoch
+     *                   millis
+     */
+    record Window(List<Announcement> notEnded, List<Announcement> active, long validUntil, long reloadAt) {
+
+        static Window of(List<Announcement> announcements, long asOf, long reloadAt) {
+            List<Announcement> notEnded = announcements.stream()
+                    .filter(a -> a.getEndDate() == null || a.getEndDate().getTime() > asOf)
+                    .toList();
+            List<Announcement> active = notEnded.stream()
+                    .filter(a -> a.getStartDate().getTime() <= asOf)
+                    .toList();
+            long validUntil = Long.MAX_VALUE;
+            for (Announcement a : notEnded) {
+                if (a.getStartDate().getTime() > asOf) {
+                    validUntil = Math.min(validUntil, a.getStartDate().getTime());
+                }
+                if (a.getEndDate() != null) {
+                    validUntil = Math.min(validUntil, a.getEndDate().getTime());
+                }
+            }
+            return new Window(notEnded, active, validUntil, reloadAt);
+        }
+    }
+
+    private final Map<Long, Window> windows = new ConcurrentHashMap<>();
+
+    /** The announcements that have not ended, including those not yet started, newest start first. */
+    public Page<Announcement> notEnded(long commonsId, int page, int size) {
+        return notEnded(commonsId, page, size, new Date());
+    }
+
+    /** The announcements showing now, newest start first. */
+    public Page<Announcement> active(long commonsId, int page, int size) {
+        return active(commonsId, page, size, new Date());
+    }
+
+    Page<Announcement> notEnded(long commonsId, int page, int size, Date now) {
+        return page(window(commonsId, now.getTime()).notEnded(), page, size);
+    }
+
+    Page<Announcement> active(long commonsId, int page, int size, Date now) {
+        return page(window(commonsId, now.getTime()).active(), page, size);
+    }
+
+    public void invalidate(long commonsId) {
+        windows.remove(commonsId);
+    }
+
+    Window window(long commonsId, long now) {
+        return windows.compute(commonsId, (id, window) -> {
+            if (window == null || now >= window.reloadAt()) {
+                return Window.of(announcementRepository.findNotEndedByCommonsId(id, new Date(now)), now,
+                        now + cacheSeconds * 1000);
+            }
+            return now < window.validUntil() ? window : Window.of(window.notEnded(), now, window.reloadAt());
+        });
+    }
+
+    static Page<Announcement> page(List<Announcement> announcements, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size, SORT);
+        int from = (int) Math.min(pageable.getOffset(), announcements.size());
+        int to = Math.min(from + size, announcements.size());
+        return new PageImpl<>(announcements.subList(from, to), pageable, announcements.size());
+    }
+}
@@ -0,0 +1,73 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes a commons and every row that belongs to it with one DELETE per
+ * table, children before parents, in a single transaction. Loading each
+ * UserCommons to delete it (and letting the JPA cascades run per row) is slow
+ * for a large commons, and left its profits, stats, reports, chat and
+ * announcements behind.
+ */
+@Service
+public class CommonsDeletionService {
+
+    /** Table name and DELETE, in the order they run. */
+    static final List<Map.Entry<String, String>> DELETES = List.of(
+            Map.entry("profits", "DELETE FROM profits WHERE commons_id = ?"),
+            Map.entry("report_lines", "DELETE FROM report_lines WHERE report_id IN (SELECT r.id FROM reports r WHERE r.commons_id = ?)"),
+            Map.entry("reports", "DELETE FROM reports WHERE commons_id = ?"),
+            Map.entry("commonstats", "DELETE FROM commonstats WHERE commons_id = ?"),
+            Map.entry("cowdeath", "DELETE FROM cowdeath WHERE commons_id = ?"),
+            Map.entry("chat_message", "DELETE FROM chat_message WHERE commons_id = ?"),
+            Map.entry("announcement", "DELETE FROM announcement WHERE commons_id = ?"),
+            Map.entry("tick_checkpoints", "DELETE FROM tick_checkpoints WHERE commons_id = ?"),
+            Map.entry("history_chunks", "DELETE FROM history_chunks WHERE commons_id = ?"),
+            Map.entry("user_commons", "DELETE FROM user_commons WHERE commons_id = ?"),
+            Map.entry("commons", "DELETE FROM commons WHERE id = ?"));
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    GameStateEngine gameStateEngine;
+
+    @Autowired
+    LeaderboardService leaderboardService;
+
+    @Autowired
+    AnnouncementService announcementService;
+
+    /**
+     * Delete the commons and everything in it. No trades are applied to the
+     * commons while the deletes run (see GameStateEngine).
+     *
+     * @return the number of rows deleted from each table, in the order the
+     *         tables were cleared; a commons that does not exist deletes 0
+     *         rows from "commons"
+     */
+    public Map<String, Integer> delete(long commonsId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Map<String, Integer> deleted = gameStateEngine.exclusive(commonsId, () -> transactionTemplate.execute(status -> {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Map.Entry<String, String> delete : DELETES) {
+                counts.put(delete.getKey(), jdbcTemplate.update(delete.getValue(), commonsId));
+            }
+            return counts;
+        }));
+        leaderboardService.invalidate(commonsId);
+        announcementService.invalidate(commonsId);
+        return deleted;
+    }
+}
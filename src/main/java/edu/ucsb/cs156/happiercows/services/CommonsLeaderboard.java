@@ -0,0 +1,84 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ucsb.cs156.happiercows.models.LeaderboardEntry;
+import edu.ucsb.cs156.happiercows.models.LeaderboardMetric;
+
+/**
+ * The rankings of a single commons: one list per {@link LeaderboardMetric},
+ * each kept sorted by that metric's ranking, plus an index by user id.
+ *
+ * Ranks are found by binary search, so rank lookups are O(log n) and a
+ * slice of k entries is O(log n + k). Updates re-position a single entry in
+ * each list.
+ */
+public class CommonsLeaderboard {
+
+    private final Map<Long, LeaderboardEntry> byUser = new HashMap<>();
+    private final Map<LeaderboardMetric, List<LeaderboardEntry>> sorted = new EnumMap<>(LeaderboardMetric.class);
+
+    public CommonsLeaderboard(Iterable<LeaderboardEntry> entries) {
+        entries.forEach(entry -> byUser.put(entry.getUserId(), entry));
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            List<LeaderboardEntry> list = new ArrayList<>(byUser.values());
+            list.sort(metric.ranking());
+            sorted.put(metric, list);
+        }
+    }
+
+    public synchronized int size() {
+        return byUser.size();
+    }
+
+    public synchronized void put(LeaderboardEntry entry) {
+        LeaderboardEntry previous = byUser.put(entry.getUserId(), entry);
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            List<LeaderboardEntry> list = sorted.get(metric);
+            if (previous != null) {
+                list.remove(Collections.binarySearch(list, previous, metric.ranking()));
+            }
+            int insertAt = -(Collections.binarySearch(list, entry, metric.ranking()) + 1);
+            list.add(insertAt, entry);
+        }
+    }
+
+    public synchronized void remove(long userId) {
+        LeaderboardEntry previous = byUser.remove(userId);
+        if (previous == null) {
+            return;
+        }
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            List<LeaderboardEntry> list = sorted.get(metric);
+            list.remove(Collections.binarySearch(list, previous, metric.ranking()));
+        }
+    }
+
+    /**
+     * @return the zero-based position of the user in the given ranking, or -1
+     *         if the user has no entry
+     */
+    public synchronized int indexOf(long userId, LeaderboardMetric metric) {
+        LeaderboardEntry entry = byUser.get(userId);
+        if (entry == null) {
+            return -1;
+        }
+        return Collections.binarySearch(sorted.get(metric), entry, metric.ranking());
+    }
+
+    /**
+     * @return a copy of positions [from, to) of the given ranking, clamped to
+     *         the size of the leaderboard
+     */
+    public synchronized List<LeaderboardEntry> slice(LeaderboardMetric metric, int from, int to) {
+        List<LeaderboardEntry> list = sorted.get(metric);
+        int start = Math.max(0, Math.min(from, list.size()));
+        int end = Math.max(start, Math.min(to, list.size()));
+        return new ArrayList<>(list.subList(start, end));
+    }
+}
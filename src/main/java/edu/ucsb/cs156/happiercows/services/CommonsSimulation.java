@@ -0,0 +1,123 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import edu.ucsb.cs156.happiercows.jobs.MilkTheCowsJob;
+import edu.ucsb.cs156.happiercows.jobs.UpdateCowHealthJob;
+import edu.ucsb.cs156.happiercows.models.SimulationParams;
+import edu.ucsb.cs156.happiercows.models.SimulationResult;
+import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategies;
+import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategy;
+
+/**
+ * Runs one commons forward in memory, without touching the database. The farmers
+ * are held in parallel arrays and each tick applies the same rules as the live
+ * jobs: a cow health update (UpdateCowHealthJob, including cow deaths) and, after
+ * every <code>milkEvery</code>-th tick, a milking (MilkTheCowsJob).
+ *
+ * Not thread safe; run each simulation on its own instance.
+ */
+public class CommonsSimulation {
+
+  private final double[] cowHealth;
+  private final int[] numCows;
+  private final double[] wealth;
+  private int totalCows;
+  private int cowDeaths;
+
+  private final SimulationParams params;
+  private final int effectiveCapacity;
+  private final CowHealthUpdateStrategy aboveCapacity;
+  private final CowHealthUpdateStrategy belowCapacity;
+
+  /**
+   * @param cowHealth starting cow health of each farmer (copied)
+   * @param numCows   starting number of cows of each farmer (copied)
+   * @param wealth    starting wealth of each farmer (copied)
+   * @param params    fully resolved settings; no field may be null
+   */
+  public CommonsSimulation(double[] cowHealth, int[] numCows, double[] wealth, SimulationParams params) {
+    this.cowHealth = cowHealth.clone();
+    this.numCows = numCows.clone();
+    this.wealth = wealth.clone();
+    this.params = params;
+    this.effectiveCapacity = Math.max(params.getCapacityPerUser() * numCows.length, params.getCarryingCapacity());
+    this.aboveCapacity = CowHealthUpdateStrategies.valueOf(params.getAboveCapacityHealthUpdateStrategy());
+    this.belowCapacity = CowHealthUpdateStrategies.valueOf(params.getBelowCapacityHealthUpdateStrategy());
+    for (int cows : numCows) {
+      totalCows += cows;
+    }
+  }
+
+  public SimulationResult run() {
+    long start = System.nanoTime();
+    int ticks = params.getTicks();
+    int sampleEvery = params.getSampleEvery();
+    int milkEvery = params.getMilkEvery();
+    int samples = sampleCount(ticks, sampleEvery);
+
+    SimulationResult result = SimulationResult.builder()
+        .params(params)
+        .numUsers(cowHealth.length)
+        .effectiveCapacity(effectiveCapacity)
+        .ticks(new int[samples])
+        .totalCows(new int[samples])
+        .averageCowHealth(new double[samples])
+        .totalWealth(new double[samples])
+        .cowDeaths(new int[samples])
+        .build();
+
+    int sample = 0;
+    record(result, sample++, 0);
+    for (int tick = 1; tick <= ticks; tick++) {
+      updateCowHealth();
+      if (tick % milkEvery == 0) {
+        milk();
+      }
+      if (tick % sampleEvery == 0 || tick == ticks) {
+        record(result, sample++, tick);
+      }
+    }
+    result.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+    return result;
+  }
+
+  /** Number of samples {@link #run()} records: the start, every sampleEvery-th tick, and the last tick. */
+  public static int sampleCount(int ticks, int sampleEvery) {
+    return 1 + ticks / sampleEvery + (ticks % sampleEvery == 0 ? 0 : 1);
+  }
+
+  private void updateCowHealth() {
+    CowHealthUpdateStrategy strategy = totalCows > effectiveCapacity ? aboveCapacity : belowCapacity;
+    strategy.calculateNewCowHealth(cowHealth, numCows, totalCows, effectiveCapacity, params.getDegradationRate());
+    for (int i = 0; i < cowHealth.length; i++) {
+      double health = UpdateCowHealthJob.clampCowHealth(cowHealth[i]);
+      if (health == 0.0) {
+        cowDeaths += numCows[i];
+        totalCows -= numCows[i];
+        numCows[i] = 0;
+        health = 100.0;
+      }
+      cowHealth[i] = health;
+    }
+  }
+
+  private void milk() {
+    double milkPrice = params.getMilkPrice();
+    for (int i = 0; i < wealth.length; i++) {
+      wealth[i] += MilkTheCowsJob.calculateMilkingProfit(milkPrice, numCows[i], cowHealth[i]);
+    }
+  }
+
+  private void record(SimulationResult result, int sample, int tick) {
+    double healthSum = 0;
+    double wealthSum = 0;
+    for (int i = 0; i < cowHealth.length; i++) {
+      healthSum += cowHealth[i];
+      wealthSum += wealth[i];
+    }
+    result.getTicks()[sample] = tick;
+    result.getTotalCows()[sample] = totalCows;
+    result.getAverageCowHealth()[sample] = cowHealth.length == 0 ? 0 : healthSum / cowHealth.length;
+    result.getTotalWealth()[sample] = wealthSum;
+    result.getCowDeaths()[sample] = cowDeaths;
+  }
+}
@@ -0,0 +1,131 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ucsb.cs156.happiercows.errors.NoCowsException;
+import edu.ucsb.cs156.happiercows.errors.NotEnoughMoneyException;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+
+/**
+ * The farmers of one commons held in memory by {@link GameStateEngine}: one
+ * array per column, one slot per farmer, plus the set of slots changed since
+ * they were last written to the database.
+ *
+ * Not thread safe; GameStateEngine only touches a commons' state while
+ * holding that commons' lock.
+ */
+public class CommonsState {
+
+    private final long commonsId;
+    private final double cowPrice;
+
+    private final long[] userIds;
+    private final String[] usernames;
+    private final double[] wealth;
+    private final int[] numCows;
+    private final double[] cowHealth;
+    private final int[] cowsBought;
+    private final int[] cowsSold;
+    private final int[] cowDeaths;
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final BitSet dirty = new BitSet();
+
+    public CommonsState(long commonsId, double cowPrice, List<UserCommonsSummary> rows) {
+        this.commonsId = commonsId;
+        this.cowPrice = cowPrice;
+        int n = rows.size();
+        userIds = new long[n];
+        usernames = new String[n];
+        wealth = new double[n];
+        numCows = new int[n];
+        cowHealth = new double[n];
+        cowsBought = new int[n];
+        cowsSold = new int[n];
+        cowDeaths = new int[n];
+        for (int i = 0; i < n; i++) {
+            UserCommonsSummary row = rows.get(i);
+            userIds[i] = row.getUserId();
+            usernames[i] = row.getUsername();
+            wealth[i] = row.getTotalWealth();
+            numCows[i] = row.getNumOfCows();
+            cowHealth[i] = row.getCowHealth();
+            cowsBought[i] = row.getCowsBought();
+            cowsSold[i] = row.getCowsSold();
+            cowDeaths[i] = row.getCowDeaths();
+            slots.put(row.getUserId(), i);
+        }
+    }
+
+    public long getCommonsId() {
+        return commonsId;
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+
+    public int dirtyCount() {
+        return dirty.cardinality();
+    }
+
+    /** @return the farmer's slot, or -1 if the user is not in this commons */
+    public int slotOf(long userId) {
+        return slots.getOrDefault(userId, -1);
+    }
+
+    /** Same rule as UserCommonsController: the farmer must be able to pay for every cow. */
+    public void buy(int slot, int cows) throws NotEnoughMoneyException {
+        double cost = cowPrice * cows;
+        if (wealth[slot] < cost) {
+            throw new NotEnoughMoneyException("You need more money!");
+        }
+        wealth[slot] -= cost;
+        numCows[slot] += cows;
+        cowsBought[slot] += cows;
+        dirty.set(slot);
+    }
+
+    /** Same rule as UserCommonsController: cows sell for their price scaled by their health. */
+    public void sell(int slot, int cows) throws NoCowsException {
+        if (numCows[slot] < cows) {
+            throw new NoCowsException("You do not have enough cows to sell!");
+        }
+        double cowValue = cowPrice * cowHealth[slot] / 100;
+        wealth[slot] += cowValue * cows;
+        numCows[slot] -= cows;
+        cowsSold[slot] += cows;
+        dirty.set(slot);
+    }
+
+    public UserCommonsSummary row(int slot) {
+        return new UserCommonsSummary(userIds[slot], commonsId, usernames[slot], wealth[slot], numCows[slot],
+                cowHealth[slot], cowsBought[slot], cowsSold[slot], cowDeaths[slot]);
+    }
+
+    public List<UserCommonsSummary> rows() {
+        List<UserCommonsSummary> rows = new ArrayList<>(size());
+        for (int slot = 0; slot < size(); slot++) {
+            rows.add(row(slot));
+        }
+        return rows;
+    }
+
+    /** The rows changed since they were last written; see {@link #clearDirty()}. */
+    public List<UserCommonsSummary> dirtyRows() {
+        List<UserCommonsSummary> rows = new ArrayList<>(dirty.cardinality());
+        for (int slot = dirty.nextSetBit(0); slot >= 0; slot = dirty.nextSetBit(slot + 1)) {
+            rows.add(row(slot));
+        }
+        return rows;
+    }
+
+    /** Mark every row written, once {@link #dirtyRows()} are in the database. */
+    public void clearDirty() {
+        dirty.clear();
+    }
+}
@@ -0,0 +1,36 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.entities.CowDeath;
+
+/**
+ * Records cow deaths in the cowdeath table. A cow health tick collects the
+ * deaths of a commons and writes them here in one JDBC batch, inside the
+ * tick's transaction, so the tick does not make a round trip per farmer
+ * (the IDENTITY ids would stop Hibernate from batching saveAll).
+ */
+@Service
+public class CowDeathService {
+
+    static final String INSERT_SQL = "INSERT INTO cowdeath (commons_id, user_id, zoned_date_time, cows_killed, avg_health) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    public void recordAll(List<CowDeath> deaths) {
+        if (deaths.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = deaths.stream()
+                .map(death -> new Object[] { death.getCommonsId(), death.getUserId(),
+                        Timestamp.valueOf(death.getZonedDateTime()), death.getCowsKilled(), death.getAvgHealth() })
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
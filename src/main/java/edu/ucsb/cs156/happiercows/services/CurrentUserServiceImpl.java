@@ -65,8 +65,8 @@ public class CurrentUserServiceImpl extends CurrentUserService {
     if (ou.isPresent()) {
       User u = ou.get();
       if (adminEmails.contains(email) && !u.isAdmin()) {
+        userRepository.promoteToAdmin(u.getId());
         u.setAdmin(true);
-        userRepository.save(u);
       }
       return u;
     }
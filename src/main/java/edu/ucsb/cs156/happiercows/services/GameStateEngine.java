@@ -0,0 +1,338 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.UserCommons;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.errors.NoCowsException;
+import edu.ucsb.cs156.happiercows.errors.NotEnoughMoneyException;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobStatusEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional in-memory game state (app.engine.inMemory). Each commons that is
+ * traded in is loaded into a {@link CommonsState}; buys and sells are applied
+ * there under the commons' lock and appended to the {@link TradeLog} before
+ * they return, and the changed farmers are written to user_commons in one
+ * batch every app.engine.flushMs. On startup, trades logged but not yet
+ * written are replayed into the database.
+ *
+ * Ticks still run against the database: {@link #exclusive} writes a commons'
+ * pending trades, holds its lock while the tick runs, and drops its state so
+ * the next trade reloads it. Commons that change outside of a tick are
+ * dropped with {@link #evict}.
+ *
+ * The state lives in one process, so this mode is only for a single instance
+ * of the app; it refuses to start with app.scheduler.shards > 1.
+ */
+@Slf4j
+@Service
+public class GameStateEngine {
+
+    static final String UPDATE_SQL = "UPDATE user_commons SET total_wealth = ?, num_of_cows = ?, cows_bought = ?, cows_sold = ? "
+            + "WHERE commons_id = ? AND user_id = ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    UserCommonsRepository userCommonsRepository;
+
+    @Autowired
+    CommonsRepository commonsRepository;
+
+    @Autowired
+    UserHistoryService userHistoryService;
+
+    @Value("${app.engine.inMemory}")
+    boolean enabled;
+
+    @Value("${app.engine.walDir}")
+    private String walDir;
+
+    @Value("${app.engine.walSync}")
+    private boolean walSync;
+
+    @Value("${app.scheduler.shards}")
+    int shards;
+
+    private final Map<Long, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    private final Map<Long, CommonsState> states = new ConcurrentHashMap<>();
+
+    private TradeLog tradeLog;
+
+    // closed trade log segments whose trades are not all written yet
+    private final List<Path> unwritten = new ArrayList<>();
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        if (shards > 1) {
+            throw new IllegalStateException("app.engine.inMemory is only for a single instance, but app.scheduler.shards is " + shards);
+        }
+        tradeLog = new TradeLog(Path.of(walDir), walSync);
+        List<Path> recovered = tradeLog.getRecovered();
+        if (!recovered.isEmpty()) {
+            List<UserCommonsSummary> rows = TradeLog.replay(recovered);
+            write(rows);
+            log.info("Replayed {} farmers from {} trade log segments", rows.size(), recovered.size());
+            for (Path segment : recovered) {
+                Files.delete(segment);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<UserCommonsSummary> find(long commonsId, long userId) {
+        return withState(commonsId, userId, (state, slot) -> state.row(slot));
+    }
+
+    /** Every farmer of the commons, from memory if the commons is loaded, otherwise from the database. */
+    public List<UserCommonsSummary> summaries(long commonsId) {
+        ReentrantLock lock = lock(commonsId);
+        lock.lock();
+        try {
+            CommonsState state = states.get(commonsId);
+            return state != null ? state.rows() : userCommonsRepository.findSummariesByCommonsId(commonsId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public UserCommonsSummary buy(long commonsId, long userId, int numCows) throws NotEnoughMoneyException {
+        return trade(commonsId, userId, (state, slot) -> {
+            try {
+                state.buy(slot, numCows);
+            } catch (NotEnoughMoneyException e) {
+                throw new TradeRejected(e);
+            }
+        }, NotEnoughMoneyException.class);
+    }
+
+    public UserCommonsSummary sell(long commonsId, long userId, int numCows) throws NoCowsException {
+        return trade(commonsId, userId, (state, slot) -> {
+            try {
+                state.sell(slot, numCows);
+            } catch (NoCowsException e) {
+                throw new TradeRejected(e);
+            }
+        }, NoCowsException.class);
+    }
+
+    private interface SlotAction<T> {
+        T apply(CommonsState state, int slot);
+    }
+
+    private interface SlotUpdate {
+        void apply(CommonsState state, int slot);
+    }
+
+    // carries the checked exception of a rejected trade out of the lambda
+    private static class TradeRejected extends RuntimeException {
+        TradeRejected(Exception cause) {
+            super(cause);
+        }
+    }
+
+    private <E extends Exception> UserCommonsSummary trade(long commonsId, long userId, SlotUpdate update,
+            Class<E> rejection) throws E {
+        try {
+            return withState(commonsId, userId, (state, slot) -> {
+                update.apply(state, slot);
+                UserCommonsSummary row = state.row(slot);
+                try {
+                    tradeLog.append(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return row;
+            }).orElseThrow(() -> new EntityNotFoundException(UserCommons.class, "commonsId", commonsId, "userId", userId));
+        } catch (TradeRejected e) {
+            throw rejection.cast(e.getCause());
+        }
+    }
+
+    private <T> Optional<T> withState(long commonsId, long userId, SlotAction<T> action) {
+        ReentrantLock lock = lock(commonsId);
+        lock.lock();
+        try {
+            CommonsState state = states.get(commonsId);
+            if (state == null || state.slotOf(userId) < 0) {
+                // first use, or a farmer who joined since the commons was loaded
+                flushCommons(state);
+                state = load(commonsId);
+            }
+            int slot = state.slotOf(userId);
+            return slot < 0 ? Optional.empty() : Optional.of(action.apply(state, slot));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CommonsState load(long commonsId) {
+        Commons commons = commonsRepository.findById(commonsId)
+                .orElseThrow(() -> new EntityNotFoundException(Commons.class, commonsId));
+        CommonsState state = new CommonsState(commonsId, commons.getCowPrice(),
+                userCommonsRepository.findSummariesByCommonsId(commonsId));
+        states.put(commonsId, state);
+        return state;
+    }
+
+    private ReentrantLock lock(long commonsId) {
+        return locks.computeIfAbsent(commonsId, id -> new ReentrantLock());
+    }
+
+    /**
+     * Run <code>work</code>, which changes the commons in the database, with
+     * no trades in between: pending trades are written first and the
+     * in-memory state is dropped afterwards. When the engine is off the work
+     * just runs.
+     */
+    public <T> T exclusive(long commonsId, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        ReentrantLock lock = lock(commonsId);
+        lock.lock();
+        try {
+            // dropped only once its trades are written, so a failed write keeps them
+            flushCommons(states.get(commonsId));
+            states.remove(commonsId);
+            tradeLog.appendFlushed(commonsId);
+            return work.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Write the commons' pending trades and drop its state, so it is reloaded from the database. */
+    public void evict(long commonsId) {
+        exclusive(commonsId, () -> null);
+    }
+
+    /** A finished job may have changed any commons (for example SetCowHealthJob). */
+    @EventListener
+    public void onJobStatus(JobStatusEvent event) {
+        if (enabled && event.isFinished()) {
+            for (Long commonsId : List.copyOf(states.keySet())) {
+                evict(commonsId);
+            }
+        }
+    }
+
+    /**
+     * Write behind: start a new trade log segment, write every commons'
+     * pending trades in one batch, then delete the old segment. If a write
+     * fails the trades stay pending, and the old segment is kept until a
+     * later flush has written them.
+     */
+    @Scheduled(fixedDelayString = "${app.engine.flushMs}")
+    public synchronized void flush() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        unwritten.add(tradeLog.rotate());
+        int written = 0;
+        for (Long commonsId : List.copyOf(states.keySet())) {
+            ReentrantLock lock = lock(commonsId);
+            lock.lock();
+            try {
+                written += flushCommons(states.get(commonsId));
+            } finally {
+                lock.unlock();
+            }
+        }
+        for (Path closed : unwritten) {
+            Files.delete(closed);
+        }
+        unwritten.clear();
+        if (written > 0) {
+            log.debug("Wrote {} farmers behind", written);
+        }
+    }
+
+    // caller holds the commons' lock
+    private int flushCommons(CommonsState state) {
+        if (state == null || state.dirtyCount() == 0) {
+            return 0;
+        }
+        List<UserCommonsSummary> rows = state.dirtyRows();
+        write(rows);
+        state.clearDirty();
+        // the farmers' history gets their state as of the write, not of each trade
+        userHistoryService.record(state.getCommonsId(), rows, LocalDateTime.now());
+        return rows.size();
+    }
+
+    private void write(List<UserCommonsSummary> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setDouble(1, row.getTotalWealth());
+            ps.setInt(2, row.getNumOfCows());
+            ps.setInt(3, row.getCowsBought());
+            ps.setInt(4, row.getCowsSold());
+            ps.setLong(5, row.getCommonsId());
+            ps.setLong(6, row.getUserId());
+        });
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        tradeLog.close();
+        Files.deleteIfExists(tradeLog.getCurrent());
+    }
+
+    /** The columns of a UserCommons, for the endpoints that return one. */
+    public static UserCommons toUserCommons(UserCommonsSummary row) {
+        return UserCommons.builder()
+                .user(edu.ucsb.cs156.happiercows.entities.User.builder().id(row.getUserId()).build())
+                .commons(Commons.builder().id(row.getCommonsId()).build())
+                .username(row.getUsername())
+                .totalWealth(row.getTotalWealth())
+                .numOfCows(row.getNumOfCows())
+                .cowHealth(row.getCowHealth())
+                .cowsBought(row.getCowsBought())
+                .cowsSold(row.getCowsSold())
+                .cowDeaths(row.getCowDeaths())
+                .build();
+    }
+}
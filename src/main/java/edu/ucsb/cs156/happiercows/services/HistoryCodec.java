@@ -0,0 +1,98 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.ucsb.cs156.happiercows.models.HistoryPoint;
+
+/**
+ * The byte format of a history chunk: one entry per point, each the
+ * difference from the point before (the first from zero) of its time in
+ * seconds, wealth in cents, number of cows and cow health in hundredths,
+ * written as zigzag varints. A tick that changes little costs a few bytes per
+ * farmer.
+ */
+public final class HistoryCodec {
+
+    private HistoryCodec() {
+    }
+
+    /** A point rounded to the stored precision. */
+    record Sample(long seconds, long wealthCents, long cows, long healthHundredths) {
+
+        static final Sample ZERO = new Sample(0, 0, 0, 0);
+
+        static Sample of(HistoryPoint point) {
+            return new Sample(point.getTime().toEpochSecond(ZoneOffset.UTC),
+                    Math.round(point.getTotalWealth() * 100),
+                    point.getNumOfCows(),
+                    Math.round(point.getCowHealth() * 100));
+        }
+
+        HistoryPoint toPoint() {
+            return new HistoryPoint(LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC),
+                    wealthCents / 100.0, (int) cows, healthHundredths / 100.0);
+        }
+    }
+
+    /** Write <code>next</code> as the difference from <code>previous</code>. */
+    static void write(ByteArrayOutputStream out, Sample previous, Sample next) {
+        writeVarLong(out, next.seconds() - previous.seconds());
+        writeVarLong(out, next.wealthCents() - previous.wealthCents());
+        writeVarLong(out, next.cows() - previous.cows());
+        writeVarLong(out, next.healthHundredths() - previous.healthHundredths());
+    }
+
+    static List<Sample> decode(byte[] data) {
+        List<Sample> samples = new ArrayList<>();
+        int[] position = { 0 };
+        Sample previous = Sample.ZERO;
+        while (position[0] < data.length) {
+            previous = new Sample(
+                    previous.seconds() + readVarLong(data, position),
+                    previous.wealthCents() + readVarLong(data, position),
+                    previous.cows() + readVarLong(data, position),
+                    previous.healthHundredths() + readVarLong(data, position));
+            samples.add(previous);
+        }
+        return samples;
+    }
+
+    /** @return <code>data</code> with <code>point</code> appended */
+    public static byte[] append(byte[] data, HistoryPoint point) {
+        List<Sample> samples = decode(data);
+        Sample previous = samples.isEmpty() ? Sample.ZERO : samples.get(samples.size() - 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + 16);
+        out.writeBytes(data);
+        write(out, previous, Sample.of(point));
+        return out.toByteArray();
+    }
+
+    public static List<HistoryPoint> points(byte[] data) {
+        return decode(data).stream().map(Sample::toPoint).toList();
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    private static long readVarLong(byte[] data, int[] position) {
+        long zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position[0]++];
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
@@ -0,0 +1,95 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.models.UserSummary;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects "last online" heartbeats in memory and writes them to
+ * users.last_online in one batched UPDATE every few seconds, so that a
+ * heartbeat from an open tab never costs a database write of its own.
+ *
+ * Values that have not been flushed yet are merged into the admin views via
+ * {@link #applyPending(UserSummary)}.
+ */
+@Slf4j
+@Service
+public class LastOnlineService {
+
+    static final String UPDATE_SQL = "UPDATE users SET last_online = ? WHERE id = ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, Instant> pending = new ConcurrentHashMap<>();
+
+    public void recordHeartbeat(long userId, Instant lastOnline) {
+        pending.merge(userId, lastOnline, (older, newer) -> newer.isAfter(older) ? newer : older);
+    }
+
+    public Instant getPending(long userId) {
+        return pending.get(userId);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public UserSummary applyPending(UserSummary user) {
+        Instant lastOnline = pending.get(user.getId());
+        if (lastOnline != null && (user.getLastOnline() == null || lastOnline.isAfter(user.getLastOnline()))) {
+            user.setLastOnline(lastOnline);
+        }
+        return user;
+    }
+
+    public <T extends Iterable<UserSummary>> T applyPending(T users) {
+        if (!pending.isEmpty()) {
+            users.forEach(this::applyPending);
+        }
+        return users;
+    }
+
+    /**
+     * Writes every pending heartbeat in one JDBC batch. An entry is only
+     * dropped from the map if it was not overwritten by a newer heartbeat
+     * while the batch was running.
+     *
+     * @return the number of heartbeats written
+     */
+    @Scheduled(fixedDelayString = "${app.lastOnline.flushIntervalMs}")
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Long, Instant>> snapshot = new ArrayList<>(Map.copyOf(pending).entrySet());
+        List<Object[]> batch = new ArrayList<>(snapshot.size());
+        for (Map.Entry<Long, Instant> entry : snapshot) {
+            batch.add(new Object[] { Timestamp.from(entry.getValue()), entry.getKey() });
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        for (Map.Entry<Long, Instant> entry : snapshot) {
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+        log.debug("flushed {} lastOnline heartbeats", snapshot.size());
+        return snapshot.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
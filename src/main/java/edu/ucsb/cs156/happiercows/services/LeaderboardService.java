@@ -0,0 +1,141 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.entities.UserCommons;
+import edu.ucsb.cs156.happiercows.models.LeaderboardEntry;
+import edu.ucsb.cs156.happiercows.models.LeaderboardMetric;
+import edu.ucsb.cs156.happiercows.models.LeaderboardView;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobStatusEvent;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a ranked view of each commons in memory.
+ *
+ * A commons' rankings are loaded with one projection query the first time
+ * they are asked for, then kept current by the controllers that change a
+ * single player (buy, sell, join) and thrown away when anything changes many
+ * players at once (deleting a commons or a player, and any job finishing,
+ * since ticks and admin jobs update whole commons).
+ *
+ * Only the instance that handled a change keeps its copy current, so every
+ * copy is also reloaded app.leaderboard.cacheSeconds after it was loaded.
+ */
+@Slf4j
+@Service
+public class LeaderboardService {
+
+    @Autowired
+    UserCommonsRepository userCommonsRepository;
+
+    @Value("${app.leaderboard.cacheSeconds}")
+    long cacheSeconds;
+
+    /**
+     * @param leaderboard the rankings of the commons
+     * @param reloadAt    when they are read from the database again, in epoch
+     *                    millis
+     */
+    record Cached(CommonsLeaderboard leaderboard, long reloadAt) {
+    }
+
+    private final Map<Long, Cached> leaderboards = new ConcurrentHashMap<>();
+
+    public LeaderboardView top(long commonsId, LeaderboardMetric metric, int k) {
+        CommonsLeaderboard leaderboard = leaderboard(commonsId);
+        return LeaderboardView.builder()
+                .metric(metric)
+                .totalPlayers(leaderboard.size())
+                .firstRank(1)
+                .entries(leaderboard.slice(metric, 0, k))
+                .build();
+    }
+
+    /**
+     * @return the user's rank with up to {@code neighbours} players on either
+     *         side, or empty if the user is not in the commons
+     */
+    public Optional<LeaderboardView> around(long commonsId, long userId, LeaderboardMetric metric, int neighbours) {
+        CommonsLeaderboard leaderboard = leaderboard(commonsId);
+        int index = leaderboard.indexOf(userId, metric);
+        if (index < 0) {
+            return Optional.empty();
+        }
+        int from = Math.max(0, index - neighbours);
+        List<LeaderboardEntry> entries = leaderboard.slice(metric, from, index + neighbours + 1);
+        return Optional.of(LeaderboardView.builder()
+                .metric(metric)
+                .totalPlayers(leaderboard.size())
+                .firstRank(from + 1)
+                .myRank(index + 1)
+                .entries(entries)
+                .build());
+    }
+
+    public boolean isPlayer(long commonsId, long userId) {
+        return leaderboard(commonsId).indexOf(userId, LeaderboardMetric.totalWealth) >= 0;
+    }
+
+    public void update(UserCommons userCommons) {
+        Cached cached = leaderboards.get(userCommons.getCommonsId());
+        if (cached != null) {
+            cached.leaderboard().put(toEntry(userCommons));
+        }
+    }
+
+    public void remove(long commonsId, long userId) {
+        Cached cached = leaderboards.get(commonsId);
+        if (cached != null) {
+            cached.leaderboard().remove(userId);
+        }
+    }
+
+    public void invalidate(long commonsId) {
+        leaderboards.remove(commonsId);
+    }
+
+    public void invalidateAll() {
+        leaderboards.clear();
+    }
+
+    @EventListener
+    public void onJobStatus(JobStatusEvent event) {
+        if (event.isFinished()) {
+            log.info("job {} finished, dropping cached leaderboards", event.getJob().getId());
+            invalidateAll();
+        }
+    }
+
+    CommonsLeaderboard leaderboard(long commonsId) {
+        return leaderboard(commonsId, System.currentTimeMillis());
+    }
+
+    CommonsLeaderboard leaderboard(long commonsId, long now) {
+        return leaderboards.compute(commonsId, (id, cached) -> {
+            if (cached == null || now >= cached.reloadAt()) {
+                return new Cached(new CommonsLeaderboard(userCommonsRepository.findLeaderboardEntries(id)),
+                        now + cacheSeconds * 1000);
+            }
+            return cached;
+        }).leaderboard();
+    }
+
+    static LeaderboardEntry toEntry(UserCommons userCommons) {
+        return LeaderboardEntry.builder()
+                .userId(userCommons.getUserId())
+                .username(userCommons.getUsername())
+                .totalWealth(userCommons.getTotalWealth())
+                .numOfCows(userCommons.getNumOfCows())
+                .cowHealth(userCommons.getCowHealth())
+                .build();
+    }
+}
@@ -0,0 +1,221 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.entities.SchedulerLock;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
+import edu.ucsb.cs156.happiercows.models.LeaseStats;
+import edu.ucsb.cs156.happiercows.models.SchedulerStatus;
+import edu.ucsb.cs156.happiercows.repositories.SchedulerLockRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Leases in the scheduler_locks table, so that several instances of the app
+ * can share one database without each of them running every scheduled job.
+ *
+ * A lease is taken with a single conditional UPDATE (or an INSERT the first
+ * time a name is used), so it works the same on Postgres and H2. Each
+ * instance also renews an <code>instance:&lt;id&gt;</code> lease as a
+ * heartbeat; the live instances, sorted by id, divide the tick shards between
+ * them, and each shard is then leased so that it runs on one instance only.
+ * Every instance also tries the other instances' shards after its own, so a
+ * shard still runs when its owner has died.
+ */
+@Slf4j
+@Service
+public class SchedulerLockService {
+
+    static final String INSTANCE_PREFIX = "instance:";
+
+    static final String TAKE_SQL = "UPDATE scheduler_locks SET locked_by = ?, locked_at = ?, locked_until = ? "
+            + "WHERE name = ? AND (locked_until <= ? OR locked_by = ?)";
+
+    static final String INSERT_SQL = "INSERT INTO scheduler_locks (name, locked_by, locked_at, locked_until) VALUES (?, ?, ?, ?)";
+
+    static final String RELEASE_SQL = "UPDATE scheduler_locks SET locked_until = ? WHERE name = ? AND locked_by = ?";
+
+    static final String DELETE_DEAD_INSTANCES_SQL = "DELETE FROM scheduler_locks WHERE name LIKE '" + INSTANCE_PREFIX + "%' AND locked_until < ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    SchedulerLockRepository schedulerLockRepository;
+
+    @Value("${app.scheduler.instanceId}")
+    private String configuredInstanceId;
+
+    @Value("${app.scheduler.heartbeatMs}")
+    private long heartbeatMs;
+
+    @Value("${app.scheduler.tickLeaseSeconds}")
+    private long tickLeaseSeconds;
+
+    @Getter
+    @Value("${app.scheduler.shards}")
+    private int shards;
+
+    @Getter
+    private String instanceId;
+
+    private final Map<String, LeaseStats> leaseStats = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        instanceId = configuredInstanceId.isBlank() ? defaultInstanceId() : configuredInstanceId;
+        log.info("Scheduler instance id is {}", instanceId);
+    }
+
+    static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Take or renew the lease <code>name</code> for <code>duration</code>.
+     *
+     * @return true if this instance now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        Instant now = Instant.now();
+        Timestamp nowTs = Timestamp.from(now);
+        Timestamp until = Timestamp.from(now.plus(duration));
+        boolean acquired = jdbcTemplate.update(TAKE_SQL, instanceId, nowTs, until, name, nowTs, instanceId) > 0;
+        if (!acquired) {
+            try {
+                acquired = jdbcTemplate.update(INSERT_SQL, name, instanceId, nowTs, until) > 0;
+            } catch (DataIntegrityViolationException e) {
+                // the lease exists and is held by another instance
+            }
+        }
+        record(name, acquired, now);
+        return acquired;
+    }
+
+    /** Give up a lease this instance holds, so another instance can take it right away. */
+    public void release(String name) {
+        jdbcTemplate.update(RELEASE_SQL, Timestamp.from(Instant.now()), name, instanceId);
+    }
+
+    @Scheduled(fixedRateString = "${app.scheduler.heartbeatMs}")
+    public void heartbeat() {
+        tryAcquire(INSTANCE_PREFIX + instanceId, Duration.ofMillis(3 * heartbeatMs));
+        jdbcTemplate.update(DELETE_DEAD_INSTANCES_SQL, Timestamp.from(Instant.now().minus(Duration.ofDays(1))));
+    }
+
+    @PreDestroy
+    void leave() {
+        release(INSTANCE_PREFIX + instanceId);
+    }
+
+    /** Ids of the instances whose heartbeat lease has not expired, sorted. */
+    public List<String> liveInstances() {
+        List<String> live = new ArrayList<>();
+        for (SchedulerLock lock : schedulerLockRepository.findByNameStartingWithAndLockedUntilAfterOrderByName(INSTANCE_PREFIX, Instant.now())) {
+            live.add(lock.getName().substring(INSTANCE_PREFIX.length()));
+        }
+        return live;
+    }
+
+    /**
+     * The shards of a tick that this instance should run. Shard i belongs to
+     * the live instance at position i mod (number of live instances), and
+     * each instance tries its own shards first. It then tries the others as
+     * well, in case their owner has died but its heartbeat has not expired
+     * yet. A shard is only returned if its lease could be taken, so no shard
+     * runs twice.
+     */
+    public List<CommonsShard> claimTickShards(TickType tickType) {
+        heartbeat();
+        List<String> live = liveInstances();
+        int rank = live.indexOf(instanceId);
+        int members = Math.max(live.size(), 1);
+        if (rank < 0) {
+            rank = 0;
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int index = 0; index < shards; index++) {
+            if (index % members == rank) {
+                order.add(index);
+            }
+        }
+        for (int index = 0; index < shards; index++) {
+            if (index % members != rank) {
+                order.add(index);
+            }
+        }
+        List<CommonsShard> claimed = new ArrayList<>();
+        for (int index : order) {
+            if (tryAcquire(tickType + "/" + index, tickLease())) {
+                claimed.add(new CommonsShard(index, shards));
+            }
+        }
+        return claimed;
+    }
+
+    /** Take the lease for a job that should run on only one instance at a time. */
+    public boolean claimSingleton(String name) {
+        return tryAcquire(name, tickLease());
+    }
+
+    Duration tickLease() {
+        return Duration.ofSeconds(tickLeaseSeconds);
+    }
+
+    private void record(String name, boolean acquired, Instant now) {
+        leaseStats.compute(name, (key, stats) -> {
+            LeaseStats updated = stats == null ? LeaseStats.builder().build() : stats;
+            if (acquired) {
+                updated.setAcquired(updated.getAcquired() + 1);
+                updated.setLastAcquiredAt(now);
+            } else {
+                updated.setDenied(updated.getDenied() + 1);
+            }
+            return updated;
+        });
+    }
+
+    public Map<String, LeaseStats> getLeaseStats() {
+        Map<String, LeaseStats> copy = new TreeMap<>();
+        leaseStats.forEach((name, stats) -> copy.put(name,
+                new LeaseStats(stats.getAcquired(), stats.getDenied(), stats.getLastAcquiredAt())));
+        return copy;
+    }
+
+    public SchedulerStatus getStatus() {
+        return SchedulerStatus.builder()
+                .instanceId(instanceId)
+                .liveInstances(liveInstances())
+                .shards(shards)
+                .locks(schedulerLockRepository.findAllByOrderByName())
+                .leaseStats(getLeaseStats())
+                .build();
+    }
+}
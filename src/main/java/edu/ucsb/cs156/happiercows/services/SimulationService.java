@@ -0,0 +1,154 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.models.SimulationParams;
+import edu.ucsb.cs156.happiercows.models.SimulationResult;
+import edu.ucsb.cs156.happiercows.models.SimulationRunSummary;
+import edu.ucsb.cs156.happiercows.models.SimulationSweep;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategies;
+
+/**
+ * Runs "what if" simulations of a commons: its current farmers are loaded once
+ * and then played forward in memory by {@link CommonsSimulation}. Nothing is
+ * written back to the database.
+ */
+@Service
+public class SimulationService {
+
+  public static final int MAX_TICKS = 100_000;
+  public static final int MAX_SAMPLES = 10_000;
+  public static final int MAX_RUNS = 1_000;
+
+  @Autowired
+  CommonsRepository commonsRepository;
+
+  @Autowired
+  UserCommonsRepository userCommonsRepository;
+
+  /** The farmers of a commons, in the array form the simulation uses. */
+  record Snapshot(Commons commons, double[] cowHealth, int[] numCows, double[] wealth) {
+  }
+
+  public SimulationResult simulate(Long commonsId, SimulationParams params) {
+    Snapshot snapshot = load(commonsId);
+    SimulationParams resolved = resolve(snapshot.commons(), params);
+    return run(snapshot, resolved);
+  }
+
+  /**
+   * Run a Monte-Carlo sweep. The parameter sets are drawn from the sweep's seed
+   * up front, so a sweep is reproducible; the runs themselves are spread over
+   * the fork/join common pool.
+   */
+  public List<SimulationRunSummary> sweep(Long commonsId, SimulationSweep sweep) {
+    if (sweep.getRuns() < 1 || sweep.getRuns() > MAX_RUNS) {
+      throw new IllegalArgumentException("runs must be between 1 and " + MAX_RUNS);
+    }
+    if (sweep.getSpread() < 0 || sweep.getSpread() > 1) {
+      throw new IllegalArgumentException("spread must be between 0 and 1");
+    }
+    Snapshot snapshot = load(commonsId);
+    SimulationParams base = resolve(snapshot.commons(), sweep.getParams());
+
+    // Only the final state of each run is returned, so there is no need to sample along the way
+    base = base.toBuilder().sampleEvery(base.getTicks() == 0 ? 1 : base.getTicks()).build();
+
+    Random random = new Random(sweep.getSeed());
+    SimulationParams[] runs = new SimulationParams[sweep.getRuns()];
+    for (int i = 0; i < runs.length; i++) {
+      runs[i] = vary(base, sweep.getSpread(), random);
+    }
+
+    return IntStream.range(0, runs.length)
+        .parallel()
+        .mapToObj(i -> SimulationRunSummary.from(run(snapshot, runs[i])))
+        .toList();
+  }
+
+  Snapshot load(Long commonsId) {
+    Commons commons = commonsRepository.findById(commonsId)
+        .orElseThrow(() -> new EntityNotFoundException(Commons.class, commonsId));
+    List<UserCommonsSummary> farmers = userCommonsRepository.findSummariesByCommonsId(commonsId);
+    double[] cowHealth = new double[farmers.size()];
+    int[] numCows = new int[farmers.size()];
+    double[] wealth = new double[farmers.size()];
+    for (int i = 0; i < cowHealth.length; i++) {
+      UserCommonsSummary farmer = farmers.get(i);
+      cowHealth[i] = farmer.getCowHealth();
+      numCows[i] = farmer.getNumOfCows();
+      wealth[i] = farmer.getTotalWealth();
+    }
+    return new Snapshot(commons, cowHealth, numCows, wealth);
+  }
+
+  /**
+   * Fill in the parameters left null with the commons' own values, and check
+   * them. Null params (e.g. <code>"params": null</code> in a sweep) means all
+   * of the defaults.
+   */
+  static SimulationParams resolve(Commons commons, SimulationParams params) {
+    SimulationParams defaults = SimulationParams.builder().build();
+    if (params == null) {
+      params = defaults;
+    }
+    SimulationParams resolved = SimulationParams.builder()
+        .ticks(firstNonNull(params.getTicks(), defaults.getTicks()))
+        .milkEvery(firstNonNull(params.getMilkEvery(), defaults.getMilkEvery()))
+        .sampleEvery(firstNonNull(params.getSampleEvery(), defaults.getSampleEvery()))
+        .degradationRate(firstNonNull(params.getDegradationRate(), commons.getDegradationRate()))
+        .carryingCapacity(firstNonNull(params.getCarryingCapacity(), commons.getCarryingCapacity()))
+        .capacityPerUser(firstNonNull(params.getCapacityPerUser(), commons.getCapacityPerUser()))
+        .milkPrice(firstNonNull(params.getMilkPrice(), commons.getMilkPrice()))
+        .aboveCapacityHealthUpdateStrategy(firstNonNull(params.getAboveCapacityHealthUpdateStrategy(),
+            commons.getAboveCapacityHealthUpdateStrategy().name()))
+        .belowCapacityHealthUpdateStrategy(firstNonNull(params.getBelowCapacityHealthUpdateStrategy(),
+            commons.getBelowCapacityHealthUpdateStrategy().name()))
+        .build();
+
+    if (resolved.getTicks() < 0 || resolved.getTicks() > MAX_TICKS) {
+      throw new IllegalArgumentException("ticks must be between 0 and " + MAX_TICKS);
+    }
+    if (resolved.getMilkEvery() < 1 || resolved.getSampleEvery() < 1) {
+      throw new IllegalArgumentException("milkEvery and sampleEvery must be at least 1");
+    }
+    if (CommonsSimulation.sampleCount(resolved.getTicks(), resolved.getSampleEvery()) > MAX_SAMPLES) {
+      throw new IllegalArgumentException("ticks / sampleEvery must be at most " + MAX_SAMPLES);
+    }
+    // valueOf throws IllegalArgumentException for unknown names
+    CowHealthUpdateStrategies.valueOf(resolved.getAboveCapacityHealthUpdateStrategy());
+    CowHealthUpdateStrategies.valueOf(resolved.getBelowCapacityHealthUpdateStrategy());
+    return resolved;
+  }
+
+  static SimulationParams vary(SimulationParams base, double spread, Random random) {
+    return base.toBuilder()
+        .degradationRate(base.getDegradationRate() * factor(spread, random))
+        .carryingCapacity((int) Math.round(base.getCarryingCapacity() * factor(spread, random)))
+        .capacityPerUser((int) Math.round(base.getCapacityPerUser() * factor(spread, random)))
+        .milkPrice(base.getMilkPrice() * factor(spread, random))
+        .build();
+  }
+
+  private static double factor(double spread, Random random) {
+    return 1.0 + spread * (2.0 * random.nextDouble() - 1.0);
+  }
+
+  private static <T> T firstNonNull(T value, T fallback) {
+    return value != null ? value : fallback;
+  }
+
+  private static SimulationResult run(Snapshot snapshot, SimulationParams params) {
+    return new CommonsSimulation(snapshot.cowHealth(), snapshot.numCows(), snapshot.wealth(), params).run();
+  }
+}
@@ -0,0 +1,181 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.ucsb.cs156.happiercows.entities.Course;
+import edu.ucsb.cs156.happiercows.entities.Student;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.models.RosterImportResult;
+import edu.ucsb.cs156.happiercows.models.RosterRowResult;
+import edu.ucsb.cs156.happiercows.repositories.CourseRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports a course roster from CSV. The file is parsed one record at a time;
+ * each row is matched by perm against the course's students (read once into
+ * a map) and against the rows before it, and the new and changed students are
+ * written with batched INSERTs and UPDATEs in a single transaction.
+ *
+ * The header names the columns: perm and email are required, lastName and
+ * firstMiddleName are optional. The column names of the registrar's roster
+ * export ("Perm #", "Student Last", "Student First Middle", "Email") also work.
+ */
+@Slf4j
+@Service
+public class StudentRosterService {
+
+    static final String SELECT_SQL = "SELECT id, perm, last_name, first_middle_name, email FROM student WHERE course_id = ?";
+
+    static final String INSERT_SQL = "INSERT INTO student (course_id, perm, last_name, first_middle_name, email) VALUES (?, ?, ?, ?, ?)";
+
+    static final String UPDATE_SQL = "UPDATE student SET last_name = ?, first_middle_name = ?, email = ? WHERE id = ?";
+
+    // header names with case and punctuation removed
+    private static final Map<String, String> COLUMNS = Map.of(
+            "perm", "perm",
+            "permnumber", "perm",
+            "lastname", "lastName",
+            "studentlast", "lastName",
+            "firstmiddlename", "firstMiddleName",
+            "studentfirstmiddle", "firstMiddleName",
+            "email", "email");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CourseRepository courseRepository;
+
+    @Value("${app.students.import.batchSize}")
+    private int batchSize;
+
+    @Transactional
+    public RosterImportResult importRoster(long courseId, Reader csv) throws IOException {
+        if (!courseRepository.existsById(courseId)) {
+            throw new EntityNotFoundException(Course.class, courseId);
+        }
+
+        // read without the persistence context, which would track every student for the rest of the transaction
+        Map<String, Student> existing = new HashMap<>();
+        for (Student student : jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> Student.builder()
+                .id(rs.getLong("id"))
+                .perm(rs.getString("perm"))
+                .lastName(rs.getString("last_name"))
+                .firstMiddleName(rs.getString("first_middle_name"))
+                .email(rs.getString("email"))
+                .build(), courseId)) {
+            existing.putIfAbsent(student.getPerm(), student);
+        }
+
+        RosterImportResult result = RosterImportResult.builder().courseId(courseId).rows(new ArrayList<>()).build();
+        Map<String, Long> seen = new HashMap<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+
+        try (CSVParser parser = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true).setTrim(true).build().parse(csv)) {
+            Map<String, String> headers = headers(parser.getHeaderNames());
+
+            for (CSVRecord record : parser) {
+                long line = record.getRecordNumber() + 1;
+                String perm = field(record, headers, "perm");
+                String email = field(record, headers, "email");
+                String lastName = field(record, headers, "lastName");
+                String firstMiddleName = field(record, headers, "firstMiddleName");
+
+                String problem = perm == null ? "perm is required"
+                        : email == null ? "email is required"
+                        : !email.contains("@") ? "email is not valid"
+                        : null;
+                if (problem != null) {
+                    result.setInvalid(result.getInvalid() + 1);
+                    result.getRows().add(new RosterRowResult(line, perm, "invalid", problem));
+                    continue;
+                }
+
+                Long firstLine = seen.putIfAbsent(perm, line);
+                if (firstLine != null) {
+                    result.setDuplicates(result.getDuplicates() + 1);
+                    result.getRows().add(new RosterRowResult(line, perm, "duplicate", "perm already on line " + firstLine));
+                    continue;
+                }
+
+                Student student = existing.get(perm);
+                if (student == null) {
+                    inserts.add(new Object[] { courseId, perm, lastName, firstMiddleName, email });
+                    result.setInserted(result.getInserted() + 1);
+                    result.getRows().add(new RosterRowResult(line, perm, "inserted", null));
+                } else if (Objects.equals(student.getLastName(), lastName)
+                        && Objects.equals(student.getFirstMiddleName(), firstMiddleName)
+                        && Objects.equals(student.getEmail(), email)) {
+                    result.setUnchanged(result.getUnchanged() + 1);
+                    result.getRows().add(new RosterRowResult(line, perm, "unchanged", null));
+                } else {
+                    updates.add(new Object[] { lastName, firstMiddleName, email, student.getId() });
+                    result.setUpdated(result.getUpdated() + 1);
+                    result.getRows().add(new RosterRowResult(line, perm, "updated", null));
+                }
+
+                if (inserts.size() >= batchSize) {
+                    write(INSERT_SQL, inserts);
+                }
+                if (updates.size() >= batchSize) {
+                    write(UPDATE_SQL, updates);
+                }
+            }
+        }
+        write(INSERT_SQL, inserts);
+        write(UPDATE_SQL, updates);
+
+        log.info("Roster import for course {}: {} inserted, {} updated, {} unchanged, {} duplicates, {} invalid",
+                courseId, result.getInserted(), result.getUpdated(), result.getUnchanged(), result.getDuplicates(),
+                result.getInvalid());
+        return result;
+    }
+
+    private void write(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, List.copyOf(batch));
+            batch.clear();
+        }
+    }
+
+    /** Maps each known column to the header it is under in this file. */
+    private static Map<String, String> headers(List<String> names) {
+        Map<String, String> headers = new HashMap<>();
+        for (String name : names) {
+            String column = COLUMNS.get(name.toLowerCase().replace("#", "number").replaceAll("[^a-z0-9]", ""));
+            if (column != null) {
+                headers.putIfAbsent(column, name);
+            }
+        }
+        if (!headers.containsKey("perm") || !headers.containsKey("email")) {
+            throw new IllegalArgumentException("roster must have perm and email columns");
+        }
+        return headers;
+    }
+
+    private static String field(CSVRecord record, Map<String, String> headers, String column) {
+        String header = headers.get(column);
+        if (header == null || !record.isSet(header)) {
+            return null;
+        }
+        String value = record.get(header);
+        return value.isEmpty() ? null : value;
+    }
+}
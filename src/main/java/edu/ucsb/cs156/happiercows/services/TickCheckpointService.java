@@ -0,0 +1,71 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.ucsb.cs156.happiercows.entities.TickCheckpoint;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.repositories.TickCheckpointRepository;
+
+/**
+ * Applies a tick to a commons at most once. A tick is identified by its type,
+ * the commons, and the time it was scheduled for; the work and the checkpoint
+ * that records it commit together or not at all, so an interrupted tick can be
+ * re-run and only the commons it had not finished are processed. Ticks that
+ * change the farmers also append their new state to the farmers' history in
+ * the same transaction.
+ */
+@Service
+public class TickCheckpointService {
+
+    @Autowired
+    TickCheckpointRepository tickCheckpointRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    GameStateEngine gameStateEngine;
+
+    @Autowired
+    UserHistoryService userHistoryService;
+
+    /**
+     * Run <code>work</code> for one commons in a transaction that also records
+     * the checkpoint for (tickType, commonsId, scheduledTime). No trades are
+     * applied to the commons while the work runs (see GameStateEngine).
+     *
+     * @return true if the work was applied, false if the tick had already been
+     *         applied to this commons (by an earlier run or a concurrent one)
+     */
+    public boolean runOnce(TickType tickType, long commonsId, ZonedDateTime scheduledTime, Runnable work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            return gameStateEngine.exclusive(commonsId, () -> transactionTemplate.execute(status -> {
+                if (tickCheckpointRepository.existsByTickTypeAndCommonsIdAndScheduledTime(tickType, commonsId, scheduledTime)) {
+                    return false;
+                }
+                // Claim the tick first: a concurrent run inserting the same key waits here and then fails
+                tickCheckpointRepository.save(TickCheckpoint.builder()
+                        .tickType(tickType)
+                        .commonsId(commonsId)
+                        .scheduledTime(scheduledTime)
+                        .completedAt(ZonedDateTime.now())
+                        .build());
+                work.run();
+                if (tickType != TickType.recordCommonStats) {
+                    userHistoryService.recordCommons(commonsId, scheduledTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+                }
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+}
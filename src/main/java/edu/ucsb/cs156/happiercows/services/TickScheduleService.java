@@ -0,0 +1,116 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+
+/**
+ * When each tick is due: on the commons' own cron if it has one, otherwise on
+ * the app.*.cron default. Used to schedule ticks per commons and to work out
+ * which ticks were missed while the app was down.
+ */
+@Service
+public class TickScheduleService {
+
+    @Value("${app.milkTheCows.cron}")
+    private String milkTheCowsCron;
+
+    @Value("${app.updateCowHealth.cron}")
+    private String updateCowHealthCron;
+
+    @Value("${app.recordCommonStats.cron}")
+    private String recordCommonStatsCron;
+
+    @Value("${spring.jackson.time-zone}")
+    private String timeZone;
+
+    @Value("${app.ticks.spreadSeconds}")
+    private long spreadSeconds;
+
+    /** The times a tick fell due, oldest first, and how many older ones were left out. */
+    public record DueTicks(List<ZonedDateTime> times, int dropped) {
+    }
+
+    public CronExpression cronFor(TickType tickType, Commons commons) {
+        String commonsCron = switch (tickType) {
+            case milkTheCows -> commons.getMilkTheCowsCron();
+            case updateCowHealth -> commons.getUpdateCowHealthCron();
+            case recordCommonStats -> commons.getRecordCommonStatsCron();
+        };
+        if (commonsCron != null && !commonsCron.isBlank()) {
+            return CronExpression.parse(commonsCron);
+        }
+        return CronExpression.parse(switch (tickType) {
+            case milkTheCows -> milkTheCowsCron;
+            case updateCowHealth -> updateCowHealthCron;
+            case recordCommonStats -> recordCommonStatsCron;
+        });
+    }
+
+    /**
+     * How long after its scheduled time a commons' ticks run, so that the
+     * commons don't all tick at the same instant. The offset is derived from
+     * the commons id, so it stays the same across restarts and instances.
+     */
+    public Duration offsetFor(Commons commons) {
+        if (spreadSeconds <= 0) {
+            return Duration.ZERO;
+        }
+        long mixed = commons.getId() * 0x9E3779B97F4A7C15L;
+        return Duration.ofSeconds(Math.floorMod(mixed ^ (mixed >>> 32), spreadSeconds));
+    }
+
+    public ZoneId getZone() {
+        return ZoneId.of(timeZone);
+    }
+
+    /**
+     * The times the tick fell due for the commons after <code>after</code>, up
+     * to and including <code>until</code>, while its game was running. Only the
+     * latest <code>max</code> are returned.
+     */
+    public DueTicks dueTicks(TickType tickType, Commons commons, ZonedDateTime after, ZonedDateTime until, int max) {
+        CronExpression cron = cronFor(tickType, commons);
+        Deque<ZonedDateTime> kept = new ArrayDeque<>();
+        int dropped = 0;
+        ZonedDateTime time = cron.next(after.withZoneSameInstant(getZone()));
+        while (time != null && !time.isAfter(until)) {
+            if (duringGame(commons, time)) {
+                kept.addLast(time);
+                if (kept.size() > max) {
+                    kept.removeFirst();
+                    dropped++;
+                }
+            }
+            time = cron.next(time);
+        }
+        return new DueTicks(new ArrayList<>(kept), dropped);
+    }
+
+    public static boolean duringGame(Commons commons, ZonedDateTime time) {
+        LocalDateTime local = serverTime(time);
+        return (commons.getStartingDate() == null || !local.isBefore(commons.getStartingDate()))
+                && !gameOver(commons, time);
+    }
+
+    /** Whether the commons' last date has passed by <code>time</code>. */
+    public static boolean gameOver(Commons commons, ZonedDateTime time) {
+        return commons.getLastDate() != null && serverTime(time).isAfter(commons.getLastDate());
+    }
+
+    private static LocalDateTime serverTime(ZonedDateTime time) {
+        return time.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
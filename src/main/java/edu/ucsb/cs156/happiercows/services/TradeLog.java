@@ -0,0 +1,157 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+
+/**
+ * The write-ahead log of {@link GameStateEngine}: every trade applied in
+ * memory is appended here, as the farmer's columns after the trade, before
+ * the trade is acknowledged. The log is a series of numbered segment files;
+ * the engine starts a new segment before each write-behind and deletes the
+ * old one once its trades are in the database.
+ *
+ * A "flushed" record for a commons means its trades so far are in the
+ * database and the database may since have moved on (a tick ran), so replay
+ * drops the commons' earlier trades instead of writing them over the tick.
+ */
+public class TradeLog implements Closeable {
+
+    private static final String PREFIX = "trades-";
+    private static final String SUFFIX = ".log";
+
+    private final Path dir;
+    private final boolean sync;
+    private final List<Path> recovered;
+
+    private long segment;
+    private Path current;
+    private FileChannel channel;
+
+    /**
+     * Open a new segment in <code>dir</code>. Segments already there are left
+     * for the caller to replay (see {@link #getRecovered()}).
+     *
+     * @param sync whether each append is forced to disk before returning
+     */
+    public TradeLog(Path dir, boolean sync) throws IOException {
+        this.dir = dir;
+        this.sync = sync;
+        Files.createDirectories(dir);
+        recovered = segments(dir);
+        segment = recovered.isEmpty() ? 0 : number(recovered.get(recovered.size() - 1)) + 1;
+        open();
+    }
+
+    /** The segments that were in the directory when the log was opened, oldest first. */
+    public List<Path> getRecovered() {
+        return recovered;
+    }
+
+    public synchronized Path getCurrent() {
+        return current;
+    }
+
+    public synchronized void append(UserCommonsSummary row) throws IOException {
+        write(String.format("T\t%d\t%d\t%s\t%d\t%d\t%d%n", row.getCommonsId(), row.getUserId(),
+                Double.toString(row.getTotalWealth()), row.getNumOfCows(), row.getCowsBought(), row.getCowsSold()));
+    }
+
+    public synchronized void appendFlushed(long commonsId) throws IOException {
+        write(String.format("F\t%d%n", commonsId));
+    }
+
+    private void write(String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Close the current segment and start the next one.
+     *
+     * @return the segment that was closed
+     */
+    public synchronized Path rotate() throws IOException {
+        Path closed = current;
+        channel.close();
+        segment++;
+        open();
+        return closed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void open() throws IOException {
+        current = dir.resolve(String.format("%s%012d%s", PREFIX, segment, SUFFIX));
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static List<Path> segments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    static long number(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * The latest logged columns of each farmer whose trades are not known to
+     * be in the database, reading the segments in order. Only totalWealth,
+     * numOfCows, cowsBought and cowsSold are set. A torn last line (from a
+     * crash in the middle of an append) is ignored.
+     */
+    public static List<UserCommonsSummary> replay(List<Path> segments) throws IOException {
+        Map<String, UserCommonsSummary> latest = new LinkedHashMap<>();
+        for (Path segment : segments) {
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                try {
+                    if (fields[0].equals("F") && fields.length == 2) {
+                        String prefix = Long.parseLong(fields[1]) + "/";
+                        latest.keySet().removeIf(key -> key.startsWith(prefix));
+                    } else if (fields[0].equals("T") && fields.length == 7) {
+                        UserCommonsSummary row = UserCommonsSummary.builder()
+                                .commonsId(Long.parseLong(fields[1]))
+                                .userId(Long.parseLong(fields[2]))
+                                .totalWealth(Double.parseDouble(fields[3]))
+                                .numOfCows(Integer.parseInt(fields[4]))
+                                .cowsBought(Integer.parseInt(fields[5]))
+                                .cowsSold(Integer.parseInt(fields[6]))
+                                .build();
+                        latest.remove(row.getCommonsId() + "/" + row.getUserId());
+                        latest.put(row.getCommonsId() + "/" + row.getUserId(), row);
+                    }
+                } catch (NumberFormatException e) {
+                    // torn write
+                }
+            }
+        }
+        return new ArrayList<>(latest.values());
+    }
+}
@@ -0,0 +1,170 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.ucsb.cs156.happiercows.entities.HistoryChunk;
+import edu.ucsb.cs156.happiercows.models.HistoryPoint;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+import edu.ucsb.cs156.happiercows.repositories.HistoryChunkRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+
+/**
+ * The wealth and herd history of each farmer, kept in history_chunks (see
+ * HistoryChunk and HistoryCodec). Ticks append a point for every farmer of
+ * the commons and trades one for the trader; either way the farmers' newest
+ * chunks are read with one query and written back in one batch. Charts read
+ * a downsampled series, so their cost follows the points shown rather than
+ * the length of the game.
+ *
+ * Appending is a read-modify-write of the open chunks, so it locks the
+ * farmers' user_commons rows first: two appends for the same farmer (two
+ * trades, or a trade and a tick) take turns instead of losing a point or
+ * starting two open chunks.
+ */
+@Service
+public class UserHistoryService {
+
+    static final String LOCK_SQL = "SELECT user_id FROM user_commons WHERE commons_id = ? ORDER BY user_id FOR UPDATE";
+
+    static final String LOCK_USER_SQL = "SELECT user_id FROM user_commons WHERE commons_id = ? AND user_id = ? FOR UPDATE";
+
+    static final String SELECT_OPEN_SQL = "SELECT id, user_id, data FROM history_chunks WHERE commons_id = ? AND points < ? ORDER BY start_time, id";
+
+    static final String SELECT_OPEN_USER_SQL = "SELECT id, user_id, data FROM history_chunks WHERE commons_id = ? AND points < ? AND user_id = ? ORDER BY start_time, id";
+
+    static final String UPDATE_SQL = "UPDATE history_chunks SET start_time = ?, end_time = ?, points = ?, data = ? WHERE id = ?";
+
+    static final String INSERT_SQL = "INSERT INTO history_chunks (commons_id, user_id, start_time, end_time, points, data) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    HistoryChunkRepository historyChunkRepository;
+
+    @Autowired
+    UserCommonsRepository userCommonsRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${app.history.chunkPoints}")
+    int chunkPoints;
+
+    private record OpenChunk(long id, long userId, byte[] data) {
+    }
+
+    /** Append a point for every farmer of the commons, as they are in the database now. */
+    public void recordCommons(long commonsId, LocalDateTime time) {
+        record(commonsId, userCommonsRepository.findSummariesByCommonsId(commonsId), time);
+    }
+
+    /** Append a point at <code>time</code> for each of the rows, which all belong to the commons. */
+    public void record(long commonsId, List<UserCommonsSummary> rows, LocalDateTime time) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // joins the tick's transaction, which already holds these locks
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> append(commonsId, rows, time));
+    }
+
+    private void append(long commonsId, List<UserCommonsSummary> rows, LocalDateTime time) {
+        if (rows.size() == 1) {
+            jdbcTemplate.queryForList(LOCK_USER_SQL, Long.class, commonsId, rows.get(0).getUserId());
+        } else {
+            jdbcTemplate.queryForList(LOCK_SQL, Long.class, commonsId);
+        }
+        Map<Long, OpenChunk> open = new HashMap<>();
+        List<OpenChunk> chunks = rows.size() == 1
+                ? jdbcTemplate.query(SELECT_OPEN_USER_SQL, (rs, rowNum) -> new OpenChunk(rs.getLong("id"), rs.getLong("user_id"), rs.getBytes("data")),
+                        commonsId, chunkPoints, rows.get(0).getUserId())
+                : jdbcTemplate.query(SELECT_OPEN_SQL, (rs, rowNum) -> new OpenChunk(rs.getLong("id"), rs.getLong("user_id"), rs.getBytes("data")),
+                        commonsId, chunkPoints);
+        // oldest first, so each farmer ends up with their newest open chunk
+        for (OpenChunk chunk : chunks) {
+            open.put(chunk.userId(), chunk);
+        }
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (UserCommonsSummary row : rows) {
+            HistoryPoint point = new HistoryPoint(time, row.getTotalWealth(), row.getNumOfCows(), row.getCowHealth());
+            OpenChunk chunk = open.get(row.getUserId());
+            if (chunk == null) {
+                byte[] data = HistoryCodec.append(new byte[0], point);
+                inserts.add(new Object[] { commonsId, row.getUserId(), Timestamp.valueOf(time), Timestamp.valueOf(time), 1, data });
+            } else {
+                byte[] data = HistoryCodec.append(chunk.data(), point);
+                List<HistoryPoint> points = HistoryCodec.points(data);
+                // catch-up ticks can append points older than the last trade
+                LocalDateTime start = points.stream().map(HistoryPoint::getTime).min(Comparator.naturalOrder()).orElseThrow();
+                LocalDateTime end = points.stream().map(HistoryPoint::getTime).max(Comparator.naturalOrder()).orElseThrow();
+                updates.add(new Object[] { Timestamp.valueOf(start), Timestamp.valueOf(end), points.size(), data, chunk.id() });
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+    }
+
+    /**
+     * The farmer's points from <code>from</code> (inclusive) to
+     * <code>to</code> (exclusive) in time order, downsampled to at most
+     * <code>maxPoints</code>.
+     */
+    public List<HistoryPoint> series(long commonsId, long userId, LocalDateTime from, LocalDateTime to, int maxPoints) {
+        List<HistoryPoint> points = new ArrayList<>();
+        for (HistoryChunk chunk : historyChunkRepository.findOverlapping(commonsId, userId, from, to)) {
+            for (HistoryPoint point : HistoryCodec.points(chunk.getData())) {
+                if (!point.getTime().isBefore(from) && point.getTime().isBefore(to)) {
+                    points.add(point);
+                }
+            }
+        }
+        points.sort(Comparator.comparing(HistoryPoint::getTime));
+        return downsample(points, maxPoints);
+    }
+
+    /**
+     * Split the time covered by <code>points</code> into
+     * <code>maxPoints</code> equal buckets and keep the last point of each
+     * bucket, which is where the farmer stood at the end of it.
+     */
+    static List<HistoryPoint> downsample(List<HistoryPoint> points, int maxPoints) {
+        int n = points.size();
+        if (n <= maxPoints) {
+            return points;
+        }
+        long first = seconds(points.get(0));
+        double width = (double) (seconds(points.get(n - 1)) - first + 1) / maxPoints;
+        List<HistoryPoint> sampled = new ArrayList<>(maxPoints);
+        for (int i = 0; i < n; i++) {
+            long bucket = (long) ((seconds(points.get(i)) - first) / width);
+            if (i == n - 1 || (long) ((seconds(points.get(i + 1)) - first) / width) != bucket) {
+                sampled.add(points.get(i));
+            }
+        }
+        return sampled;
+    }
+
+    private static long seconds(HistoryPoint point) {
+        return point.getTime().toEpochSecond(ZoneOffset.UTC);
+    }
+}
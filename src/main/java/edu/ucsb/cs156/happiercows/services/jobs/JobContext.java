@@ -2,21 +2,52 @@ package edu.ucsb.cs156.happiercows.services.jobs;
 
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
 import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 
-@AllArgsConstructor
 @Slf4j
 public class JobContext {
   private JobsRepository jobsRepository;
   private Job job;
+  private ApplicationEventPublisher eventPublisher;
+  private int maxLogChars;
+
+  public JobContext(JobsRepository jobsRepository, Job job) {
+    this(jobsRepository, job, null, 0);
+  }
+
+  public JobContext(JobsRepository jobsRepository, Job job, ApplicationEventPublisher eventPublisher) {
+    this(jobsRepository, job, eventPublisher, 0);
+  }
+
+  /**
+   * @param maxLogChars the longest the stored log may grow; longer logs keep
+   *                    their head and tail (see {@link JobLogs#truncate}).
+   *                    Zero or less means no limit.
+   */
+  public JobContext(JobsRepository jobsRepository, Job job, ApplicationEventPublisher eventPublisher, int maxLogChars) {
+    this.jobsRepository = jobsRepository;
+    this.job = job;
+    this.eventPublisher = eventPublisher;
+    this.maxLogChars = maxLogChars;
+  }
 
   public void log(String message) {
     log.info("Job %s: %s".formatted(job.getId(), message));
-    String previousLog = job.getLog() == null ? "" : (job.getLog() + "\n");
-    job.setLog(previousLog + message);
+    String previousLog = job.getLog() == null ? "" : job.getLog();
+    String line = job.getLog() == null ? message : ("\n" + message);
+    String appendedLog = previousLog + line;
+    String updatedLog = JobLogs.truncate(appendedLog, maxLogChars);
+    job.setLog(updatedLog);
     if (jobsRepository != null) {
       jobsRepository.save(job);
     }
+    if (eventPublisher != null) {
+      // the separator goes with the line, so the delta continues the previous log exactly;
+      // once the log is truncated its middle moves, and the delta replaces everything after
+      // the part that did not change
+      int offset = updatedLog.length() == appendedLog.length() ? previousLog.length() : JobLogs.commonPrefix(previousLog, updatedLog);
+      eventPublisher.publishEvent(new JobLogEvent(job.getId(), offset, updatedLog.substring(offset)));
+    }
   }
 }
@@ -0,0 +1,68 @@
+package edu.ucsb.cs156.happiercows.services.jobs;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import edu.ucsb.cs156.happiercows.models.JobLogDelta;
+import edu.ucsb.cs156.happiercows.models.JobSummary;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes job status changes and log lines to subscribed admin pages as
+ * server-sent events, so that they do not have to poll for them.
+ *
+ * Two event names are sent: "status" with a {@link JobSummary}, and "log"
+ * with a {@link JobLogDelta}.
+ */
+@Slf4j
+@Service
+public class JobEventService {
+
+  static final long TIMEOUT_MS = 30 * 60 * 1000L;
+
+  private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+  public SseEmitter subscribe() {
+    return register(new SseEmitter(TIMEOUT_MS));
+  }
+
+  SseEmitter register(SseEmitter emitter) {
+    emitter.onCompletion(() -> emitters.remove(emitter));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(e -> emitters.remove(emitter));
+    emitters.add(emitter);
+    return emitter;
+  }
+
+  public int getSubscriberCount() {
+    return emitters.size();
+  }
+
+  @EventListener
+  public void onJobStatus(JobStatusEvent event) {
+    send("status", JobSummary.from(event.getJob()));
+  }
+
+  @EventListener
+  public void onJobLog(JobLogEvent event) {
+    send("log", new JobLogDelta(event.getJobId(), event.getOffset(), event.getMessage()));
+  }
+
+  void send(String name, Object data) {
+    for (SseEmitter emitter : emitters) {
+      try {
+        emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+      } catch (IOException | IllegalStateException e) {
+        // the client went away; stop sending to it
+        log.debug("dropping job event subscriber: {}", e.getMessage());
+        emitters.remove(emitter);
+      }
+    }
+  }
+}
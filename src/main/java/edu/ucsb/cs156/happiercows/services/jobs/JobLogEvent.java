@@ -0,0 +1,24 @@
+package edu.ucsb.cs156.happiercows.services.jobs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link JobContext} for every line a job logs. The line,
+ * preceded by its newline unless it is the first, starts at character
+ * {@code offset} of the job's log, so a client that already has the first
+ * {@code offset} characters can append it.
+ *
+ * Once the log is longer than app.jobs.log.maxChars its middle is cut out
+ * (see {@link JobLogs#truncate}), and the text after the cut changes with
+ * every line. The event then starts where the log stopped matching the
+ * previous one and holds the rest of the log: a client keeps its first
+ * {@code offset} characters and replaces everything after them.
+ */
+@Getter
+@AllArgsConstructor
+public class JobLogEvent {
+  private final long jobId;
+  private final int offset;
+  private final String message;
+}
@@ -0,0 +1,83 @@
+package edu.ucsb.cs156.happiercows.services.jobs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Helpers for keeping job logs small: truncating a log to a maximum length
+ * while preserving its beginning and end, and gzipping the logs of old jobs.
+ */
+
+public class JobLogs {
+
+  public static final String TRUNCATION_MARKER = "\n... (log truncated) ...\n";
+
+  private JobLogs() {}
+
+  /**
+   * Shorten a log to at most <code>maxChars</code> characters by replacing its
+   * middle with {@link #TRUNCATION_MARKER}. The first half of the budget is kept
+   * from the start of the log (which says what the job was doing) and the rest
+   * from the end (which says how it finished).
+   *
+   * @param log      the log to shorten
+   * @param maxChars the maximum length; zero or less means no limit
+   * @return the log, unchanged if it already fits
+   */
+  public static String truncate(String log, int maxChars) {
+    if (log == null || maxChars <= 0 || log.length() <= maxChars) {
+      return log;
+    }
+    int budget = maxChars - TRUNCATION_MARKER.length();
+    if (budget <= 0) {
+      return log.substring(log.length() - maxChars);
+    }
+    int head = budget / 2;
+    int tail = budget - head;
+    return log.substring(0, head) + TRUNCATION_MARKER + log.substring(log.length() - tail);
+  }
+
+  /**
+   * The number of leading characters of a log that later truncation leaves
+   * as they are: all of a log that has not been truncated, or the head and
+   * {@link #TRUNCATION_MARKER} of one that has. Past this point a reader's
+   * copy of the log may be stale.
+   */
+  public static int stableLength(String log) {
+    int marker = log.indexOf(TRUNCATION_MARKER);
+    return marker < 0 ? log.length() : marker + TRUNCATION_MARKER.length();
+  }
+
+  /** The length of the longest common prefix of two logs. */
+  static int commonPrefix(String a, String b) {
+    int n = Math.min(a.length(), b.length());
+    int i = 0;
+    while (i < n && a.charAt(i) == b.charAt(i)) {
+      i++;
+    }
+    return i;
+  }
+
+  public static byte[] compress(String log) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(log.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public static String decompress(byte[] compressed) {
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+      return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
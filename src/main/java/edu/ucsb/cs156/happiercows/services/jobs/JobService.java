@@ -3,7 +3,10 @@ package edu.ucsb.cs156.happiercows.services.jobs;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
 import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
 import edu.ucsb.cs156.happiercows.services.CurrentUserService;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,15 @@ public class JobService {
   @Autowired
   private CurrentUserService currentUserService;
 
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private SchedulerLockService schedulerLockService;
+
+  @Value("${app.jobs.log.maxChars}")
+  private int maxLogChars;
+
   @Lazy
   @Autowired
   private JobService self;
@@ -24,16 +36,23 @@ public class JobService {
     Job job = Job.builder()
       .createdBy(currentUserService.getUser())
       .status("running")
+      .instanceId(schedulerLockService.getInstanceId())
       .build();
+    if (jobFunction instanceof TickJob tickJob) {
+      job.setTickType(tickJob.getTickType());
+      job.setCommonsId(tickJob.getTickCommonsId());
+      job.setScheduledTime(tickJob.getScheduledTime());
+    }
 
     jobsRepository.save(job);
+    eventPublisher.publishEvent(new JobStatusEvent(job, job.getStatus()));
     self.runJobAsync(job, jobFunction);
     return job;
   }
 
   @Async
   public void runJobAsync(Job job, JobContextConsumer jobFunction) {
-    JobContext context = new JobContext(jobsRepository, job);
+    JobContext context = new JobContext(jobsRepository, job, eventPublisher, maxLogChars);
 
     try {
       jobFunction.accept(context);
@@ -41,10 +60,12 @@ public class JobService {
       e.printStackTrace();
       job.setStatus("error");
       context.log(e.getMessage());
+      eventPublisher.publishEvent(new JobStatusEvent(job, job.getStatus()));
       return;
     }
 
     job.setStatus("complete");
     jobsRepository.save(job);
+    eventPublisher.publishEvent(new JobStatusEvent(job, job.getStatus()));
   }
 }
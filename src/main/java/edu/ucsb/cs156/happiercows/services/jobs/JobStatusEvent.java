@@ -0,0 +1,20 @@
+package edu.ucsb.cs156.happiercows.services.jobs;
+
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link JobService} whenever a job changes status
+ * ("running", then "complete" or "error").
+ */
+@Getter
+@AllArgsConstructor
+public class JobStatusEvent {
+  private final Job job;
+  private final String status;
+
+  public boolean isFinished() {
+    return !"running".equals(status);
+  }
+}
@@ -0,0 +1,30 @@
+package edu.ucsb.cs156.happiercows.services.jobs;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import edu.ucsb.cs156.happiercows.entities.TickType;
+
+/**
+ * A job that applies a tick, either to every commons or to one. JobService
+ * records the tick on the Job so an interrupted run can be resumed.
+ */
+public interface TickJob extends JobContextConsumer {
+    public TickType getTickType();
+
+    /** the commons this job is limited to, or null for every commons */
+    public default Long getTickCommonsId() {
+        return null;
+    }
+
+    public ZonedDateTime getScheduledTime();
+
+    /** the server time the tick is for: its scheduled time, or now if it has none */
+    public default LocalDateTime getTickTime() {
+        ZonedDateTime scheduledTime = getScheduledTime();
+        return scheduledTime == null
+                ? LocalDateTime.now()
+                : scheduledTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+}
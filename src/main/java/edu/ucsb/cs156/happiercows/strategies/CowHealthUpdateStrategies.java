@@ -9,6 +9,10 @@ import lombok.Getter;
 /**
  * The CowHealthUpdateStrategies enum provides a variety of strategies for updating cow health.
  *
+ * Each strategy has a per-farmer form, used when a single value is needed, and an array form
+ * that updates every farmer of a commons at once, used by the cow health update jobs. The two
+ * forms must give the same results.
+ *
  * For information on Java enum's, see the Oracle Java Tutorial on <a href="https://docs.oracle.com/javase/tutorial/java/javaOO/enum.html">Enum Types</a>,
  * which are far more powerful in Java than enums in most other languages.
  */
@@ -22,6 +26,14 @@ public enum CowHealthUpdateStrategies implements CowHealthUpdateStrategy {
         public double calculateNewCowHealth(CommonsPlus commonsPlus, UserCommons uC, int totalCows) {
             return uC.getCowHealth() - (totalCows - commonsPlus.getEffectiveCapacity()) * commonsPlus.getCommons().getDegradationRate();
         }
+
+        @Override
+        public void calculateNewCowHealth(double[] cowHealth, int[] numCows, int totalCows, int effectiveCapacity, double degradationRate) {
+            double change = (totalCows - effectiveCapacity) * degradationRate;
+            for (int i = 0; i < cowHealth.length; i++) {
+                cowHealth[i] -= change;
+            }
+        }
     },
     Constant("Constant", "Cow health changes increases/decreases by the degradation rate, depending on if the number of cows exceeds the carrying capacity.") {
         @Override
@@ -32,12 +44,87 @@ public enum CowHealthUpdateStrategies implements CowHealthUpdateStrategy {
                 return uC.getCowHealth() - commonsPlus.getCommons().getDegradationRate();
             }
         }
+
+        @Override
+        public void calculateNewCowHealth(double[] cowHealth, int[] numCows, int totalCows, int effectiveCapacity, double degradationRate) {
+            double change = totalCows <= effectiveCapacity ? degradationRate : -degradationRate;
+            for (int i = 0; i < cowHealth.length; i++) {
+                cowHealth[i] += change;
+            }
+        }
     },
     Noop("Do nothing", "Cow health does not change.") {
         @Override
         public double calculateNewCowHealth(CommonsPlus commonsPlus, UserCommons uC, int totalCows) {
             return uC.getCowHealth();
         }
+
+        @Override
+        public void calculateNewCowHealth(double[] cowHealth, int[] numCows, int totalCows, int effectiveCapacity, double degradationRate) {
+        }
+    },
+    ExponentialDecay("Exponential decay", "Cow health is multiplied by a factor that shrinks exponentially with the number of cows over the carrying capacity (and grows when under it).") {
+        @Override
+        public double calculateNewCowHealth(CommonsPlus commonsPlus, UserCommons uC, int totalCows) {
+            return uC.getCowHealth() * decayFactor(totalCows, commonsPlus.getEffectiveCapacity(), commonsPlus.getCommons().getDegradationRate());
+        }
+
+        @Override
+        public void calculateNewCowHealth(double[] cowHealth, int[] numCows, int totalCows, int effectiveCapacity, double degradationRate) {
+            double factor = decayFactor(totalCows, effectiveCapacity, degradationRate);
+            for (int i = 0; i < cowHealth.length; i++) {
+                cowHealth[i] *= factor;
+            }
+        }
+    },
+    LogisticRecovery("Logistic recovery", "Under the carrying capacity, cow health recovers fastest at 50 and slowest near 0 and 100, never faster than the degradation rate; over it, cow health decreases by the degradation rate.") {
+        @Override
+        public double calculateNewCowHealth(CommonsPlus commonsPlus, UserCommons uC, int totalCows) {
+            double rate = commonsPlus.getCommons().getDegradationRate();
+            if (totalCows > commonsPlus.getEffectiveCapacity()) {
+                return uC.getCowHealth() - rate;
+            }
+            return uC.getCowHealth() + logisticGrowth(uC.getCowHealth(), rate);
+        }
+
+        @Override
+        public void calculateNewCowHealth(double[] cowHealth, int[] numCows, int totalCows, int effectiveCapacity, double degradationRate) {
+            if (totalCows > effectiveCapacity) {
+                for (int i = 0; i < cowHealth.length; i++) {
+                    cowHealth[i] -= degradationRate;
+                }
+                return;
+            }
+            for (int i = 0; i < cowHealth.length; i++) {
+                cowHealth[i] += logisticGrowth(cowHealth[i], degradationRate);
+            }
+        }
+    },
+    Crowding("Crowding", "Over the carrying capacity, each farmer's cow health decreases in proportion to how many more cows that farmer has than an equal share of the capacity; under it, cow health increases by the degradation rate.") {
+        @Override
+        public double calculateNewCowHealth(CommonsPlus commonsPlus, UserCommons uC, int totalCows) {
+            double rate = commonsPlus.getCommons().getDegradationRate();
+            int capacity = commonsPlus.getEffectiveCapacity();
+            if (totalCows <= capacity) {
+                return uC.getCowHealth() + rate;
+            }
+            double fairShare = (double) capacity / Math.max(1, commonsPlus.getTotalUsers());
+            return uC.getCowHealth() - Math.max(0.0, uC.getNumOfCows() - fairShare) * rate;
+        }
+
+        @Override
+        public void calculateNewCowHealth(double[] cowHealth, int[] numCows, int totalCows, int effectiveCapacity, double degradationRate) {
+            if (totalCows <= effectiveCapacity) {
+                for (int i = 0; i < cowHealth.length; i++) {
+                    cowHealth[i] += degradationRate;
+                }
+                return;
+            }
+            double fairShare = (double) effectiveCapacity / Math.max(1, cowHealth.length);
+            for (int i = 0; i < cowHealth.length; i++) {
+                cowHealth[i] -= Math.max(0.0, numCows[i] - fairShare) * degradationRate;
+            }
+        }
     };
 
     private final String displayName;
@@ -45,4 +132,16 @@ public enum CowHealthUpdateStrategies implements CowHealthUpdateStrategy {
 
     public final static CowHealthUpdateStrategies DEFAULT_ABOVE_CAPACITY = Linear;
     public final static CowHealthUpdateStrategies DEFAULT_BELOW_CAPACITY = Constant;
+
+    /** exp(-rate * overload), where overload is the fraction of capacity by which the commons is over (negative when under). */
+    static double decayFactor(int totalCows, int effectiveCapacity, double degradationRate) {
+        double overload = (double) (totalCows - effectiveCapacity) / Math.max(1, effectiveCapacity);
+        return Math.exp(-degradationRate * overload);
+    }
+
+    /** Growth of 4 * rate * h * (1 - h), with h the health as a fraction of 100; at most <code>rate</code>, reached at health 50. */
+    static double logisticGrowth(double cowHealth, double degradationRate) {
+        double h = cowHealth / 100.0;
+        return 4.0 * degradationRate * h * (1.0 - h);
+    }
 }
@@ -1,5 +1,6 @@
 package edu.ucsb.cs156.happiercows.strategies;
 
+import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.entities.CommonsPlus;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
 
@@ -11,6 +12,45 @@ public interface CowHealthUpdateStrategy {
             int totalCows
     );
 
+    /**
+     * Compute the new cow health of every farmer in a commons in one call.
+     * <code>cowHealth[i]</code> and <code>numCows[i]</code> describe farmer i;
+     * <code>cowHealth</code> is overwritten with the new values (not yet clamped
+     * to 0..100). Implementations should be a plain loop over the arrays so the
+     * JIT can compile it tightly.
+     *
+     * The default implementation calls {@link #calculateNewCowHealth} once per
+     * farmer, so strategies only have to provide the per-farmer version.
+     *
+     * @param cowHealth         current cow health of each farmer, updated in place
+     * @param numCows           number of cows of each farmer
+     * @param totalCows         total cows in the commons
+     * @param effectiveCapacity carrying capacity of the commons (see {@link CommonsPlus#getEffectiveCapacity()})
+     * @param degradationRate   degradation rate of the commons
+     */
+    public default void calculateNewCowHealth(
+            double[] cowHealth,
+            int[] numCows,
+            int totalCows,
+            int effectiveCapacity,
+            double degradationRate
+    ) {
+        Commons commons = Commons.builder()
+                .carryingCapacity(effectiveCapacity)
+                .capacityPerUser(0)
+                .degradationRate(degradationRate)
+                .build();
+        CommonsPlus commonsPlus = CommonsPlus.builder()
+                .commons(commons)
+                .totalCows(totalCows)
+                .totalUsers(cowHealth.length)
+                .build();
+        for (int i = 0; i < cowHealth.length; i++) {
+            UserCommons uC = UserCommons.builder().cowHealth(cowHealth[i]).numOfCows(numCows[i]).build();
+            cowHealth[i] = calculateNewCowHealth(commonsPlus, uC, totalCows);
+        }
+    }
+
     public String getDisplayName();
     public String getDescription();
 }
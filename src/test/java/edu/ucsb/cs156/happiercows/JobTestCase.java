@@ -1,9 +1,14 @@
 package edu.ucsb.cs156.happiercows;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.wiremock.WiremockService;
 import edu.ucsb.cs156.happiercows.testconfig.TestConfig;
 
@@ -13,4 +18,11 @@ public abstract class JobTestCase {
   @MockBean
   WiremockService mockWiremockService;
 
+  /** Stub the mock to apply every tick it is given, as a tick's first run does. */
+  protected static void applyEveryTick(TickCheckpointService tickCheckpointService) {
+    when(tickCheckpointService.runOnce(any(), anyLong(), any(), any())).thenAnswer(invocation -> {
+      invocation.getArgument(3, Runnable.class).run();
+      return true;
+    });
+  }
 }
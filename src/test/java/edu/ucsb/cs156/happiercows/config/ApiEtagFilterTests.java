@@ -0,0 +1,120 @@
+package edu.ucsb.cs156.happiercows.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.servlet.FilterChain;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+public class ApiEtagFilterTests {
+
+    private final ApiEtagFilter filter = new ApiEtagFilter();
+
+    private final FilterChain chain = (request, response) -> {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8));
+    };
+
+    private MockHttpServletResponse get(String uri, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void test_get_has_weak_etag_and_revalidates() throws Exception {
+        // act
+        MockHttpServletResponse response = get("/api/usercommons/commons/all", null);
+
+        // assert
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+        assertEquals(ApiEtagFilter.CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("[{\"id\":1}]", response.getContentAsString());
+    }
+
+    @Test
+    void test_matching_etag_gets_304_without_body() throws Exception {
+        // arrange
+        String etag = get("/api/usercommons/commons/all", null).getHeader(HttpHeaders.ETAG);
+
+        // act
+        MockHttpServletResponse response = get("/api/usercommons/commons/all", etag);
+
+        // assert
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void test_every_cacheable_get_is_filtered() throws Exception {
+        for (String uri : ApiEtagFilter.CACHEABLE) {
+            // act
+            MockHttpServletResponse response = get(uri, null);
+
+            // assert
+            assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""), uri);
+            assertEquals(ApiEtagFilter.CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL), uri);
+        }
+    }
+
+    @Test
+    void test_other_gets_are_not_filtered() throws Exception {
+        for (String uri : List.of("/api/currentUser", "/api/admin/users", "/api/jobs/events", "/api/systemInfo")) {
+            // act
+            MockHttpServletResponse response = get(uri, null);
+
+            // assert
+            assertNull(response.getHeader(HttpHeaders.ETAG), uri);
+            assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL), uri);
+        }
+    }
+
+    @Test
+    void test_user_export_is_streamed_not_buffered() throws Exception {
+        // arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users/export");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // act
+        filter.doFilter(request, response, (req, res) -> {
+            assertFalse(res instanceof ContentCachingResponseWrapper);
+            res.getOutputStream().write("[".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+            assertTrue(response.isCommitted());
+        });
+
+        // assert
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void test_other_methods_are_not_filtered() throws Exception {
+        // arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/usercommons/commons/all");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // act
+        filter.doFilter(request, response, chain);
+
+        // assert
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+}
@@ -0,0 +1,72 @@
+package edu.ucsb.cs156.happiercows.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.annotation.PostConstruct;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import edu.ucsb.cs156.happiercows.controllers.CommonsController;
+import edu.ucsb.cs156.happiercows.jobs.CommonsTickScheduler;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.LastOnlineService;
+import edu.ucsb.cs156.happiercows.services.LeaderboardService;
+
+public class EagerBeansFilterTests {
+
+    private final EagerBeansFilter filter = new EagerBeansFilter();
+
+    static class Scheduler {
+        @Scheduled(fixedDelay = 1000)
+        public void poll() {
+        }
+    }
+
+    static class SchedulerSubclass extends Scheduler {
+    }
+
+    static class Starter {
+        @PostConstruct
+        void start() {
+        }
+    }
+
+    static class Listener {
+        @EventListener
+        public void on(Object event) {
+        }
+    }
+
+    static class Plain {
+        public void work() {
+        }
+    }
+
+    @Test
+    void test_beans_that_work_on_their_own_are_eager() {
+        assertTrue(filter.isExcluded("scheduler", null, Scheduler.class));
+        assertTrue(filter.isExcluded("schedulerSubclass", null, SchedulerSubclass.class));
+        assertTrue(filter.isExcluded("starter", null, Starter.class));
+        assertTrue(filter.isExcluded("listener", null, Listener.class));
+        assertTrue(filter.isExcluded("runner", null, ApplicationRunner.class));
+    }
+
+    @Test
+    void test_other_beans_are_lazy() {
+        assertFalse(filter.isExcluded("plain", null, Plain.class));
+        assertFalse(filter.isExcluded("unknown", null, null));
+    }
+
+    @Test
+    void test_app_beans() {
+        assertTrue(filter.isExcluded("commonsTickScheduler", null, CommonsTickScheduler.class));
+        assertTrue(filter.isExcluded("gameStateEngine", null, GameStateEngine.class));
+        assertTrue(filter.isExcluded("lastOnlineService", null, LastOnlineService.class));
+        assertTrue(filter.isExcluded("leaderboardService", null, LeaderboardService.class));
+        assertFalse(filter.isExcluded("commonsController", null, CommonsController.class));
+    }
+}
@@ -0,0 +1,52 @@
+package edu.ucsb.cs156.happiercows.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+public class StartupReportTests {
+
+    private static void instantiate(BufferingApplicationStartup startup, String beanName, long millis) throws InterruptedException {
+        StartupStep step = startup.start(StartupReport.INSTANTIATE_STEP).tag("beanName", beanName);
+        Thread.sleep(millis);
+        step.end();
+    }
+
+    @Test
+    void test_slowest_beans_first() throws Exception {
+        // arrange
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        instantiate(startup, "fast", 1);
+        instantiate(startup, "slow", 60);
+        instantiate(startup, "middle", 30);
+        startup.start("spring.context.refresh").end();
+
+        // act
+        List<String> slowest = StartupReport.slowestBeans(startup.getBufferedTimeline(), 2);
+
+        // assert
+        assertEquals(2, slowest.size());
+        assertTrue(slowest.get(0).startsWith("slow: "), slowest.get(0));
+        assertTrue(slowest.get(1).startsWith("middle: "), slowest.get(1));
+        assertTrue(slowest.get(0).endsWith(" ms"));
+    }
+
+    @Test
+    void test_untagged_step() {
+        // arrange
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+        startup.start(StartupReport.INSTANTIATE_STEP).end();
+
+        // act
+        List<String> slowest = StartupReport.slowestBeans(startup.getBufferedTimeline(), 5);
+
+        // assert
+        assertEquals(1, slowest.size());
+        assertTrue(slowest.get(0).startsWith("?: "));
+    }
+}
@@ -7,6 +7,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 
 import java.util.Arrays;
 import java.util.List;
@@ -44,6 +46,7 @@ import edu.ucsb.cs156.happiercows.entities.Announcement;
 
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
+import edu.ucsb.cs156.happiercows.services.AnnouncementService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -59,6 +62,9 @@ public class AnnouncementsControllerTests extends ControllerTestCase {
     @MockBean
     UserCommonsRepository userCommonsRepository;
 
+    @MockBean
+    AnnouncementService announcementService;
+
     @Autowired
     ObjectMapper mapper;
 
@@ -92,6 +98,7 @@ public class AnnouncementsControllerTests extends ControllerTestCase {
 
         // assert
         verify(announcementRepository, atLeastOnce()).save(any(Announcement.class));
+        verify(announcementService).invalidate(commonsId);
         String announcementString = response.getResponse().getContentAsString();
         String expectedResponseString = mapper.writeValueAsString(announcementObj);
         log.info("Got back from API: {}",announcementString);
@@ -182,6 +189,7 @@ public class AnnouncementsControllerTests extends ControllerTestCase {
 
         // assert
         verify(announcementRepository, times(0)).save(any(Announcement.class));
+        verify(announcementService, times(0)).invalidate(anyLong());
     }
 
     @WithMockUser(roles = {"USER"})
@@ -283,6 +291,7 @@ public class AnnouncementsControllerTests extends ControllerTestCase {
         // assert
         verify(announcementRepository, atLeastOnce()).findByAnnouncementId(id);
         verify(announcementRepository, atLeastOnce()).delete(any(Announcement.class));
+        verify(announcementService).invalidate(commonsId);
         String responseString = response.getResponse().getContentAsString();
         String expectedResponseString = mapper.writeValueAsString(announcementObj);
         log.info("Got back from API: {}",responseString);
@@ -312,49 +321,70 @@ public class AnnouncementsControllerTests extends ControllerTestCase {
         Pageable pageable = PageRequest.of(0, 1000, Sort.by("startDate").descending());
         Page<Announcement> announcementPage = new PageImpl<Announcement>(announcementList, pageable, 2);
 
-        when(announcementRepository.findByCommonsId(commonsId, pageable)).thenReturn(announcementPage);
-
-        UserCommons userCommons = UserCommons.builder().build();
-        when(userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)).thenReturn(Optional.of(userCommons));
+        when(announcementService.notEnded(commonsId, 0, 1000)).thenReturn(announcementPage);
+        when(userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)).thenReturn(Optional.of(UserCommons.builder().build()));
 
         //act 
         MvcResult response = mockMvc.perform(get("/api/announcements/getbycommonsid?commonsId={commonsId}", commonsId))
             .andExpect(status().isOk()).andReturn();
 
         // assert
-        verify(announcementRepository, atLeastOnce()).findByCommonsId(commonsId, pageable);
+        verify(announcementService, atLeastOnce()).notEnded(commonsId, 0, 1000);
+        verify(userCommonsRepository, times(1)).findByCommonsIdAndUserId(commonsId, userId);
         String responseString = response.getResponse().getContentAsString();
         String expectedResponseString = mapper.writeValueAsString(announcementPage);
         assertEquals(expectedResponseString, responseString);
     }
 
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void userCanGetAPageOfAnnouncements() throws Exception {
+
+        // arrange
+        Long commonsId = 1L;
+        Long userId = 1L;
+        Page<Announcement> announcementPage = new PageImpl<Announcement>(List.of(), PageRequest.of(2, 10, Sort.by("startDate").descending()), 5);
+
+        when(announcementService.notEnded(commonsId, 2, 10)).thenReturn(announcementPage);
+        when(userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)).thenReturn(Optional.of(UserCommons.builder().build()));
+
+        //act 
+        MvcResult response = mockMvc.perform(get("/api/announcements/getbycommonsid?commonsId={commonsId}&page=2&size=10", commonsId))
+            .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(mapper.writeValueAsString(announcementPage), response.getResponse().getContentAsString());
+    }
 
     @WithMockUser(roles = {"USER"})
     @Test
-    public void userCannotGetAllAnnouncementsIfNotInCommons() throws Exception {
+    public void userCannotGetTooLargeAPage() throws Exception {
 
         // arrange
-        Long id1 = 0L;
-        Long id2 = 1L;
         Long commonsId = 1L;
         Long userId = 1L;
-        String announcement1 = "Hello world!";
-        String announcement2 = "Hello world2!";
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
-        sdf.setTimeZone(TimeZone.getTimeZone("GMT-8:00"));
-        Date start = sdf.parse("2024-03-03T17:39:43.000-08:00");
+        when(userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)).thenReturn(Optional.of(UserCommons.builder().build()));
 
-        Announcement announcementObj1 = Announcement.builder().id(id1).commonsId(commonsId).startDate(start).announcementText(announcement1).build();
-        Announcement announcementObj2 = Announcement.builder().id(id2).commonsId(commonsId).startDate(start).announcementText(announcement2).build();
-        List<Announcement> announcementList = new ArrayList<> ();
-        announcementList.add(announcementObj1);
-        announcementList.add(announcementObj2);
-        Pageable pageable = PageRequest.of(0, 1000, Sort.by("startDate").descending());
-        Page<Announcement> announcementPage = new PageImpl<Announcement>(announcementList, pageable, 2);
+        //act 
+        mockMvc.perform(get("/api/announcements/getbycommonsid?commonsId={commonsId}&size=1001", commonsId))
+            .andExpect(status().isBadRequest()).andReturn();
+        mockMvc.perform(get("/api/announcements/active?commonsId={commonsId}&page=-1", commonsId))
+            .andExpect(status().isBadRequest()).andReturn();
 
-        when(announcementRepository.findByCommonsId(commonsId, pageable)).thenReturn(announcementPage);
+        // assert
+        verify(announcementService, times(0)).notEnded(anyLong(), anyInt(), anyInt());
+        verify(announcementService, times(0)).active(anyLong(), anyInt(), anyInt());
+    }
+
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void userCannotGetAllAnnouncementsIfNotInCommons() throws Exception {
+
+        // arrange
+        Long commonsId = 1L;
+        Long userId = 1L;
 
-        UserCommons userCommons = UserCommons.builder().build();
         when(userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)).thenReturn(Optional.empty());
 
         //act 
@@ -362,7 +392,7 @@ public class AnnouncementsControllerTests extends ControllerTestCase {
             .andExpect(status().isBadRequest()).andReturn();
 
         // assert
-        verify(announcementRepository, times(0)).findByCommonsId(commonsId, pageable);
+        verify(announcementService, times(0)).notEnded(anyLong(), anyInt(), anyInt());
     }
 
     @WithMockUser(roles = {"ADMIN"})
@@ -387,19 +417,62 @@ public class AnnouncementsControllerTests extends ControllerTestCase {
         Pageable pageable = PageRequest.of(0, 1000, Sort.by("startDate").descending());
         Page<Announcement> announcementPage = new PageImpl<Announcement>(announcementList, pageable, 2);
 
-        when(announcementRepository.findByCommonsId(commonsId, pageable)).thenReturn(announcementPage);
+        when(announcementService.notEnded(commonsId, 0, 1000)).thenReturn(announcementPage);
 
         //act 
         MvcResult response = mockMvc.perform(get("/api/announcements/getbycommonsid?commonsId={commonsId}", commonsId))
             .andExpect(status().isOk()).andReturn();
 
         // assert
-        verify(announcementRepository, atLeastOnce()).findByCommonsId(commonsId, pageable);
+        verify(announcementService, atLeastOnce()).notEnded(commonsId, 0, 1000);
+        verify(userCommonsRepository, times(0)).findByCommonsIdAndUserId(any(), any());
         String responseString = response.getResponse().getContentAsString();
         String expectedResponseString = mapper.writeValueAsString(announcementPage);
         assertEquals(expectedResponseString, responseString);
     }
 
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void userCanGetActiveAnnouncements() throws Exception {
+
+        // arrange
+        Long commonsId = 1L;
+        Long userId = 1L;
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+        sdf.setTimeZone(TimeZone.getTimeZone("GMT-8:00"));
+        Date start = sdf.parse("2024-03-03T17:39:43.000-08:00");
+
+        Announcement announcementObj = Announcement.builder().id(0L).commonsId(commonsId).startDate(start).announcementText("Hello world!").build();
+        Page<Announcement> announcementPage = new PageImpl<Announcement>(List.of(announcementObj), PageRequest.of(0, 20, Sort.by("startDate").descending()), 1);
+
+        when(announcementService.active(commonsId, 0, 20)).thenReturn(announcementPage);
+        when(userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)).thenReturn(Optional.of(UserCommons.builder().build()));
+
+        //act 
+        MvcResult response = mockMvc.perform(get("/api/announcements/active?commonsId={commonsId}", commonsId))
+            .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(mapper.writeValueAsString(announcementPage), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void userCannotGetActiveAnnouncementsIfNotInCommons() throws Exception {
+
+        // arrange
+        Long commonsId = 1L;
+        Long userId = 1L;
+        when(userCommonsRepository.findByCommonsIdAndUserId(commonsId, userId)).thenReturn(Optional.empty());
+
+        //act 
+        mockMvc.perform(get("/api/announcements/active?commonsId={commonsId}", commonsId))
+            .andExpect(status().isBadRequest()).andReturn();
+
+        // assert
+        verify(announcementService, times(0)).active(anyLong(), anyInt(), anyInt());
+    }
+
 
     @WithMockUser(roles = {"USER"})
     @Test
@@ -484,6 +557,7 @@ public class AnnouncementsControllerTests extends ControllerTestCase {
         // assert
         verify(announcementRepository, atLeastOnce()).findByAnnouncementId(id);
         verify(announcementRepository, atLeastOnce()).save(any(Announcement.class));
+        verify(announcementService).invalidate(commonsId);
         String editedResponseString = editedResponse.getResponse().getContentAsString();
         String editedExpectedResponseString = mapper.writeValueAsString(editedAnnouncementObj);
         assertEquals(editedExpectedResponseString, editedResponseString);
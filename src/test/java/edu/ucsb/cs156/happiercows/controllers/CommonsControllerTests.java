@@ -14,6 +14,9 @@ import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategies;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.services.CommonsDeletionService;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.LeaderboardService;
 import lombok.With;
 
 import org.junit.jupiter.api.Test;
@@ -56,6 +59,15 @@ public class CommonsControllerTests extends ControllerTestCase {
     @MockBean
     CommonsPlusBuilderService commonsPlusBuilderService;
 
+    @MockBean
+    LeaderboardService leaderboardService;
+
+    @MockBean
+    GameStateEngine gameStateEngine;
+
+    @MockBean
+    CommonsDeletionService commonsDeletionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -401,6 +413,7 @@ public class CommonsControllerTests extends ControllerTestCase {
                 .andExpect(status().isNoContent());
 
         verify(commonsRepository, times(1)).save(commons);
+        verify(gameStateEngine, times(2)).evict(0L);
     }
 
     @WithMockUser(roles = {"ADMIN"})
@@ -724,6 +737,7 @@ public class CommonsControllerTests extends ControllerTestCase {
 
         verify(userCommonsRepository, times(1)).findByCommonsIdAndUserId(2L, 1L);
         verify(userCommonsRepository, times(1)).save(uc);
+        verify(leaderboardService, times(1)).update(uc);
 
         
         String responseString = response.getResponse().getContentAsString();
@@ -807,29 +821,8 @@ public class CommonsControllerTests extends ControllerTestCase {
                 .carryingCapacity(100)
                 .build();
 
-        UserCommons uc1 = UserCommons.builder()
-                .user(currentUserService.getUser())
-                .commons(c)
-                .username("1L")
-                .totalWealth(0)
-                .numOfCows(1)
-                .build();
-
-        UserCommons uc2 = UserCommons.builder()
-                .user(currentUserService.getUser())
-                .commons(c)
-                .username("3L")
-                .totalWealth(0)
-                .numOfCows(1)
-                .build();
-
-        List<UserCommons> userCommons = new ArrayList<>();
-        userCommons.add(uc1);
-        userCommons.add(uc2);
-
         when(commonsRepository.findById(eq(2L))).thenReturn(Optional.of(c));
-        when(userCommonsRepository.findByCommonsId(2L)).thenReturn(userCommons);
-        doNothing().when(commonsRepository).deleteById(2L);
+        when(commonsDeletionService.delete(2L)).thenReturn(Map.of("user_commons", 2, "commons", 1));
 
         MvcResult response = mockMvc.perform(
                         delete("/api/commons?id=2")
@@ -837,11 +830,9 @@ public class CommonsControllerTests extends ControllerTestCase {
                 .andExpect(status().is(200)).andReturn();
 
         verify(commonsRepository, times(1)).findById(2L);
-        verify(commonsRepository, times(1)).deleteById(2L);
-
-        verify(userCommonsRepository, times(1)).findByCommonsId(2L);
-        verify(userCommonsRepository, times(1)).delete(uc1);
-        verify(userCommonsRepository, times(1)).delete(uc2);
+        verify(commonsDeletionService, times(1)).delete(2L);
+        verify(userCommonsRepository, never()).findByCommonsId(2L);
+        verify(userCommonsRepository, never()).delete(any());
 
         String responseString = response.getResponse().getContentAsString();
 
@@ -861,6 +852,7 @@ public class CommonsControllerTests extends ControllerTestCase {
                                 .with(csrf()))
                 .andExpect(status().is(404)).andReturn();
         verify(commonsRepository, times(1)).findById(2L);
+        verify(commonsDeletionService, never()).delete(anyLong());
 
 
         String expectedString = "{\"message\":\"Commons with id 2 not found\",\"type\":\"EntityNotFoundException\"}";
@@ -901,6 +893,8 @@ public class CommonsControllerTests extends ControllerTestCase {
 
         verify(userCommonsRepository, times(1)).findByCommonsIdAndUserId(2L, 1L);
         verify(userCommonsRepository, times(1)).delete(uc);
+        verify(leaderboardService, times(1)).remove(2L, 1L);
+        verify(gameStateEngine, times(1)).evict(2L);
 
         String responseString = response.getResponse().getContentAsString();
         String expectedString = "{\"message\":\"user with id 1 deleted from commons with id 2, 0 users remain\"}";
@@ -951,6 +945,178 @@ public class CommonsControllerTests extends ControllerTestCase {
         assertEquals(actualCommonsPlus, expectedCommonsPlus);
     }
 
+    @WithMockUser(roles = {"ADMIN"})
+    @Test
+    public void createCommonsTest_withTickSchedules() throws Exception {
+        Commons commons = Commons.builder()
+                .name("Jackson's Commons")
+                .cowPrice(500.99)
+                .milkPrice(8.99)
+                .startingBalance(1020.10)
+                .degradationRate(50.0)
+                .carryingCapacity(100)
+                .milkTheCowsCron("0 15 5 * * *")
+                .build();
+
+        CreateCommonsParams parameters = CreateCommonsParams.builder()
+                .name("Jackson's Commons")
+                .cowPrice(500.99)
+                .milkPrice(8.99)
+                .startingBalance(1020.10)
+                .degradationRate(50.0)
+                .carryingCapacity(100)
+                .milkTheCowsCron(" 0 15 5 * * * ")
+                .updateCowHealthCron("")
+                .build();
+
+        String requestBody = objectMapper.writeValueAsString(parameters);
+
+        when(commonsRepository.save(commons))
+                .thenReturn(commons);
+
+        mockMvc
+                .perform(post("/api/commons/new").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("utf-8")
+                        .content(requestBody))
+                .andExpect(status().isOk());
+
+        verify(commonsRepository, times(1)).save(commons);
+    }
+
+    @WithMockUser(roles = {"ADMIN"})
+    @Test
+    public void createCommonsTest_withInvalidTickSchedule() throws Exception {
+        CreateCommonsParams parameters = CreateCommonsParams.builder()
+                .name("Jackson's Commons")
+                .cowPrice(500.99)
+                .milkPrice(8.99)
+                .startingBalance(1020.10)
+                .degradationRate(50.0)
+                .carryingCapacity(100)
+                .recordCommonStatsCron("every six hours")
+                .build();
+
+        String requestBody = objectMapper.writeValueAsString(parameters);
+
+        MvcResult response = mockMvc
+                .perform(post("/api/commons/new").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("utf-8")
+                        .content(requestBody))
+                .andExpect(status().isBadRequest()).andReturn();
+
+        assertInstanceOf(IllegalArgumentException.class, response.getResolvedException());
+        assertEquals("Record Common Stats Cron is not a valid cron expression", response.getResolvedException().getMessage());
+        verify(commonsRepository, times(0)).save(any());
+    }
+
+    @WithMockUser(roles = {"ADMIN"})
+    @Test
+    public void updateCommonsTest_withTickSchedules() throws Exception {
+        Commons existing = Commons.builder()
+                .id(17L)
+                .name("Jackson's Commons")
+                .cowPrice(500.99)
+                .milkPrice(8.99)
+                .startingBalance(1020.10)
+                .degradationRate(50.0)
+                .carryingCapacity(100)
+                .milkTheCowsCron("0 15 5 * * *")
+                .updateCowHealthCron("0 0 1,13 * * *")
+                .build();
+
+        // a blank cron goes back to the default, a missing one is left alone
+        CreateCommonsParams parameters = CreateCommonsParams.builder()
+                .name("Jackson's Commons")
+                .cowPrice(500.99)
+                .milkPrice(8.99)
+                .startingBalance(1020.10)
+                .degradationRate(50.0)
+                .carryingCapacity(100)
+                .milkTheCowsCron("")
+                .recordCommonStatsCron("0 0 3,9,15,21 * * *")
+                .build();
+
+        Commons expected = Commons.builder()
+                .id(17L)
+                .name("Jackson's Commons")
+                .cowPrice(500.99)
+                .milkPrice(8.99)
+                .startingBalance(1020.10)
+                .degradationRate(50.0)
+                .carryingCapacity(100)
+                .updateCowHealthCron("0 0 1,13 * * *")
+                .recordCommonStatsCron("0 0 3,9,15,21 * * *")
+                .build();
+
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(existing));
+
+        mockMvc
+                .perform(put("/api/commons/update?id=17").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding("utf-8")
+                        .content(objectMapper.writeValueAsString(parameters)))
+                .andExpect(status().isNoContent());
+
+        verify(commonsRepository, times(1)).save(expected);
+    }
+
+    @WithMockUser(roles = {"ADMIN"})
+    @Test
+    public void archiveCommonsTest() throws Exception {
+        Commons commons = Commons.builder().id(17L).name("Jackson's Commons").build();
+        Commons archived = Commons.builder().id(17L).name("Jackson's Commons").archived(true).build();
+
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        when(commonsRepository.save(archived)).thenReturn(archived);
+
+        MvcResult response = mockMvc
+                .perform(put("/api/commons/archive?id=17").with(csrf()))
+                .andExpect(status().isOk()).andReturn();
+
+        verify(commonsRepository, times(1)).save(archived);
+        assertEquals(objectMapper.writeValueAsString(archived), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = {"ADMIN"})
+    @Test
+    public void unarchiveCommonsTest() throws Exception {
+        Commons commons = Commons.builder().id(17L).name("Jackson's Commons").archived(true).build();
+        Commons unarchived = Commons.builder().id(17L).name("Jackson's Commons").build();
+
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        when(commonsRepository.save(unarchived)).thenReturn(unarchived);
+
+        mockMvc
+                .perform(put("/api/commons/archive?id=17&archived=false").with(csrf()))
+                .andExpect(status().isOk());
+
+        verify(commonsRepository, times(1)).save(unarchived);
+    }
+
+    @WithMockUser(roles = {"ADMIN"})
+    @Test
+    public void archiveCommonsTest_nonexistent() throws Exception {
+        when(commonsRepository.findById(17L)).thenReturn(Optional.empty());
+
+        MvcResult response = mockMvc
+                .perform(put("/api/commons/archive?id=17").with(csrf()))
+                .andExpect(status().isNotFound()).andReturn();
+
+        Map<String, Object> json = responseToJson(response);
+        assertEquals("Commons with id 17 not found", json.get("message"));
+        verify(commonsRepository, times(0)).save(any());
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void archiveCommonsTest_nonAdmin() throws Exception {
+        mockMvc
+                .perform(put("/api/commons/archive?id=17").with(csrf()))
+                .andExpect(status().isForbidden());
+    }
+
     @WithMockUser(roles = {"ADMIN"})
     @Test
     public void createCommonsTest_withIllegalParameters() throws Exception {
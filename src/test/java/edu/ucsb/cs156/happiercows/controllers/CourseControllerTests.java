@@ -14,7 +14,18 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
+import java.util.List;
+
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -72,4 +83,89 @@ public class CourseControllerTests extends ControllerTestCase {
         String responseString = response.getResponse().getContentAsString();
         assertEquals(expectedJson, responseString);
     }
+
+    @Test
+    public void logged_out_users_cannot_get_paged() throws Exception {
+        mockMvc.perform(get("/api/course/paged"))
+                .andExpect(status().is(403));
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void courses_paged_defaults_to_code_ascending() throws Exception {
+        // arrange
+        Course advapp = Course.builder().id(1L).code("CMPSC 156").name("Advanced App Programming").term("F24").build();
+        Slice<Course> expectedSlice = new SliceImpl<>(List.of(advapp), PageRequest.of(0, 50), true);
+        when(courseRepository.findSlice(any(Pageable.class))).thenReturn(expectedSlice);
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/course/paged"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(courseRepository).findSlice(pageableCaptor.capture());
+        assertEquals(50, pageableCaptor.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Direction.ASC, "code").and(Sort.by("id")), pageableCaptor.getValue().getSort());
+        assertEquals(mapper.writeValueAsString(expectedSlice), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void courses_paged_by_term() throws Exception {
+        // arrange
+        when(courseRepository.findSliceByTerm(eq("F24"), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // act
+        mockMvc.perform(get("/api/course/paged").param("term", "F24").param("sort", "name").param("direction", "DESC"))
+                .andExpect(status().isOk());
+
+        // assert
+        verify(courseRepository).findSliceByTerm(eq("F24"), pageableCaptor.capture());
+        assertEquals(Sort.by(Sort.Direction.DESC, "name").and(Sort.by("id")), pageableCaptor.getValue().getSort());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void courses_paged_search() throws Exception {
+        // arrange
+        when(courseRepository.searchSlice(eq("CMPSC"), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // act
+        mockMvc.perform(get("/api/course/paged").param("search", " CMPSC ").param("sort", "term").param("page", "2").param("size", "10"))
+                .andExpect(status().isOk());
+
+        // assert
+        verify(courseRepository).searchSlice(eq("CMPSC"), pageableCaptor.capture());
+        assertEquals(2, pageableCaptor.getValue().getPageNumber());
+        assertEquals(Sort.by(Sort.Direction.ASC, "term", "code").and(Sort.by("id")), pageableCaptor.getValue().getSort());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void courses_paged_search_in_term() throws Exception {
+        // arrange
+        when(courseRepository.searchSliceByTerm(eq("CMPSC"), eq("W25"), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+
+        // act
+        mockMvc.perform(get("/api/course/paged").param("search", "CMPSC").param("term", "W25"))
+                .andExpect(status().isOk());
+
+        // assert
+        verify(courseRepository).searchSliceByTerm(eq("CMPSC"), eq("W25"), any(Pageable.class));
+        verify(courseRepository, never()).findSlice(any(Pageable.class));
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void courses_paged_rejects_unknown_sort_and_bad_size() throws Exception {
+        mockMvc.perform(get("/api/course/paged").param("sort", "id"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/course/paged").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/course/paged").param("size", "501"))
+                .andExpect(status().isBadRequest());
+    }
 }
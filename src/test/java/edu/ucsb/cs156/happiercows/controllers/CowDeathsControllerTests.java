@@ -0,0 +1,96 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import edu.ucsb.cs156.happiercows.ControllerTestCase;
+import edu.ucsb.cs156.happiercows.entities.CowDeath;
+import edu.ucsb.cs156.happiercows.repositories.CowDeathRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+
+@WebMvcTest(controllers = CowDeathsController.class)
+@AutoConfigureDataJpa
+public class CowDeathsControllerTests extends ControllerTestCase {
+
+    @MockBean
+    CowDeathRepository cowDeathRepository;
+
+    @MockBean
+    UserRepository userRepository;
+
+    private final LocalDateTime from = LocalDateTime.parse("2024-11-01T00:00:00");
+    private final LocalDateTime to = LocalDateTime.parse("2024-11-08T00:00:00");
+
+    private final CowDeath death = CowDeath.builder()
+            .id(1L)
+            .commonsId(17L)
+            .userId(2L)
+            .zonedDateTime(LocalDateTime.parse("2024-11-02T04:00:00"))
+            .cowsKilled(5)
+            .avgHealth(0.5)
+            .build();
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_can_get_deaths_for_commons() throws Exception {
+        // arrange
+        when(cowDeathRepository.findByCommonsIdBetween(17L, from, to)).thenReturn(List.of(death));
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/cowdeaths/commons?commonsId=17&from=2024-11-01T00:00:00&to=2024-11-08T00:00:00"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(mapper.writeValueAsString(List.of(death)), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_can_get_deaths_for_user() throws Exception {
+        // arrange
+        when(cowDeathRepository.findByCommonsIdAndUserIdBetween(17L, 2L, from, to)).thenReturn(List.of(death));
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/cowdeaths/commons/user?commonsId=17&userId=2&from=2024-11-01T00:00:00&to=2024-11-08T00:00:00"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(mapper.writeValueAsString(List.of(death)), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void empty_range_is_rejected() throws Exception {
+        // act
+        MvcResult response = mockMvc.perform(get("/api/cowdeaths/commons?commonsId=17&from=2024-11-08T00:00:00&to=2024-11-01T00:00:00"))
+                .andExpect(status().isBadRequest()).andReturn();
+
+        // assert
+        assertInstanceOf(IllegalArgumentException.class, response.getResolvedException());
+        verify(cowDeathRepository, never()).findByCommonsIdBetween(anyLong(), any(), any());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void users_cannot_get_deaths() throws Exception {
+        mockMvc.perform(get("/api/cowdeaths/commons?commonsId=17&from=2024-11-01T00:00:00&to=2024-11-08T00:00:00"))
+                .andExpect(status().is(403));
+    }
+}
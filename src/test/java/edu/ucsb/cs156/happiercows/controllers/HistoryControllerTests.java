@@ -0,0 +1,115 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import edu.ucsb.cs156.happiercows.ControllerTestCase;
+import edu.ucsb.cs156.happiercows.models.HistoryPoint;
+import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.UserHistoryService;
+
+@WebMvcTest(controllers = HistoryController.class)
+@AutoConfigureDataJpa
+public class HistoryControllerTests extends ControllerTestCase {
+
+    @MockBean
+    UserHistoryService userHistoryService;
+
+    @MockBean
+    UserRepository userRepository;
+
+    private final LocalDateTime from = LocalDateTime.parse("2024-11-01T00:00:00");
+    private final LocalDateTime to = LocalDateTime.parse("2024-11-08T00:00:00");
+
+    private final List<HistoryPoint> points = List.of(
+            new HistoryPoint(LocalDateTime.parse("2024-11-01T04:00:00"), 300, 0, 100),
+            new HistoryPoint(LocalDateTime.parse("2024-11-02T04:00:00"), 100, 2, 98.5));
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void user_gets_own_history() throws Exception {
+        // arrange
+        Long userId = currentUserService.getUser().getId();
+        when(userHistoryService.series(17L, userId, from, to, 50)).thenReturn(points);
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/history/commonsid?commonsId=17&from=2024-11-01T00:00:00&to=2024-11-08T00:00:00&points=50"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(mapper.writeValueAsString(points), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void open_range_covers_the_whole_game() throws Exception {
+        // arrange
+        Long userId = currentUserService.getUser().getId();
+        when(userHistoryService.series(17L, userId, HistoryController.EARLIEST, HistoryController.LATEST, 200)).thenReturn(points);
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/history/commonsid?commonsId=17"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(mapper.writeValueAsString(points), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_gets_history_of_any_user() throws Exception {
+        // arrange
+        when(userHistoryService.series(17L, 2L, from, to, 200)).thenReturn(points);
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/history?commonsId=17&userId=2&from=2024-11-01T00:00:00&to=2024-11-08T00:00:00"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(mapper.writeValueAsString(points), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void too_many_points_are_rejected() throws Exception {
+        // act
+        MvcResult response = mockMvc.perform(get("/api/history/commonsid?commonsId=17&points=2001"))
+                .andExpect(status().isBadRequest()).andReturn();
+
+        // assert
+        assertInstanceOf(IllegalArgumentException.class, response.getResolvedException());
+        verify(userHistoryService, never()).series(anyLong(), anyLong(), any(), any(), anyInt());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void zero_points_are_rejected() throws Exception {
+        mockMvc.perform(get("/api/history/commonsid?commonsId=17&points=0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void users_cannot_get_history_of_others() throws Exception {
+        mockMvc.perform(get("/api/history?commonsId=17&userId=2"))
+                .andExpect(status().is(403));
+    }
+}
@@ -4,19 +4,26 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 
 import static org.awaitility.Awaitility.await;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -30,6 +37,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -43,8 +51,17 @@ import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobEventService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobLogs;
 import edu.ucsb.cs156.happiercows.services.jobs.JobService;
+import edu.ucsb.cs156.happiercows.models.JobLogDelta;
+import edu.ucsb.cs156.happiercows.models.JobSummary;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.jobs.BulkEnrollJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.CatchUpTicksJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.DeleteCommonsJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.GrantCowsJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.ResetWealthJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.InstructorReportJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.InstructorReportJobSingleCommonsFactory;
 import edu.ucsb.cs156.happiercows.jobs.MilkTheCowsJobFactory;
@@ -52,15 +69,22 @@ import edu.ucsb.cs156.happiercows.jobs.MilkTheCowsJobFactoryInd;
 import edu.ucsb.cs156.happiercows.jobs.SetCowHealthJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.UpdateCowHealthJobFactory;
 import edu.ucsb.cs156.happiercows.jobs.UpdateCowHealthJobFactoryInd;
+import edu.ucsb.cs156.happiercows.jobs.MilkTheCowsJobInd;
 import edu.ucsb.cs156.happiercows.jobs.RecordCommonStatsJob;
 import edu.ucsb.cs156.happiercows.jobs.RecordCommonStatsJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.JobRetentionJobFactory;
+import edu.ucsb.cs156.happiercows.jobs.SimulateCommonsJobFactory;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.models.TickLedgerEntry;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.TickCheckpointRepository;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @WebMvcTest(controllers = JobsController.class)
-@Import(JobService.class)
+@Import({JobService.class, JobEventService.class})
 @AutoConfigureDataJpa
 public class JobsControllerTests extends ControllerTestCase {
 
@@ -73,6 +97,9 @@ public class JobsControllerTests extends ControllerTestCase {
         @Autowired
         JobService jobService;
 
+        @Autowired
+        JobEventService jobEventService;
+
         @Autowired
         ObjectMapper objectMapper;
 
@@ -106,9 +133,36 @@ public class JobsControllerTests extends ControllerTestCase {
         @MockBean
         RecordCommonStatsJobFactory recordCommonStatsJobFactory;
 
+        @MockBean
+        JobRetentionJobFactory jobRetentionJobFactory;
+
+        @MockBean
+        SimulateCommonsJobFactory simulateCommonsJobFactory;
+
         @MockBean
         CommonsPlusBuilderService commonsPlusBuilderService;
 
+        @MockBean
+        SchedulerLockService schedulerLockService;
+
+        @MockBean
+        CatchUpTicksJobFactory catchUpTicksJobFactory;
+
+        @MockBean
+        BulkEnrollJobFactory bulkEnrollJobFactory;
+
+        @MockBean
+        DeleteCommonsJobFactory deleteCommonsJobFactory;
+
+        @MockBean
+        ResetWealthJobFactory resetWealthJobFactory;
+
+        @MockBean
+        GrantCowsJobFactory grantCowsJobFactory;
+
+        @MockBean
+        TickCheckpointRepository tickCheckpointRepository;
+
         @WithMockUser(roles = { "ADMIN" })
         @Test
         public void admin_can_get_all_jobs() throws Exception {
@@ -121,7 +175,8 @@ public class JobsControllerTests extends ControllerTestCase {
                 ArrayList<Job> expectedJobs = new ArrayList<>();
                 expectedJobs.addAll(Arrays.asList(job1, job2));
 
-                when(jobsRepository.findAll()).thenReturn(expectedJobs);
+                PageRequest newest = PageRequest.of(0, 100, Sort.by("id").descending());
+                when(jobsRepository.findAll(eq(newest))).thenReturn(new PageImpl<>(expectedJobs, newest, 2));
 
                 // act
                 MvcResult response = mockMvc.perform(get("/api/jobs/all"))
@@ -129,7 +184,7 @@ public class JobsControllerTests extends ControllerTestCase {
 
                 // assert
 
-                verify(jobsRepository, atLeastOnce()).findAll();
+                verify(jobsRepository, atLeastOnce()).findAll(eq(newest));
                 String expectedJson = mapper.writeValueAsString(expectedJobs);
                 String responseString = response.getResponse().getContentAsString();
                 assertEquals(expectedJson, responseString);
@@ -287,6 +342,26 @@ public class JobsControllerTests extends ControllerTestCase {
                 assertNotNull(jobReturned.getStatus());
         }
 
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void launching_a_tick_job_records_the_tick_on_the_job() throws Exception {
+                // arrange
+                ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+                when(schedulerLockService.getInstanceId()).thenReturn("web-1");
+                when(milkTheCowsJobFactoryInd.create(1L)).thenReturn(new MilkTheCowsJobInd(commonsRepository,
+                                userCommonsRepository, userRepository, null, 1L, null, scheduledTime));
+
+                // act
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/milkthecowjobsinglecommons?commonsId=1").with(csrf())).andExpect(status().isOk()).andReturn();
+
+                // assert
+                Job jobReturned = objectMapper.readValue(response.getResponse().getContentAsString(), Job.class);
+                assertEquals(TickType.milkTheCows, jobReturned.getTickType());
+                assertEquals(Long.valueOf(1L), jobReturned.getCommonsId());
+                assertEquals(scheduledTime.toInstant(), jobReturned.getScheduledTime().toInstant());
+                assertEquals("web-1", jobReturned.getInstanceId());
+        }
+
         @WithMockUser(roles = { "ADMIN" })
         @Test
         public void admin_can_launch_instructor_report_job() throws Exception {
@@ -433,4 +508,263 @@ public class JobsControllerTests extends ControllerTestCase {
                 assertNotNull(jobReturned.getStatus());
         }
 
-}
\ No newline at end of file
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_launch_job_retention_job() throws Exception {
+                // act
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/jobretention").with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                String responseString = response.getResponse().getContentAsString();
+                Job jobReturned = objectMapper.readValue(responseString, Job.class);
+
+                assertNotNull(jobReturned.getStatus());
+                verify(jobRetentionJobFactory, times(1)).create();
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_launch_catch_up_ticks_job() throws Exception {
+                // act
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/catchupticks").with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                String responseString = response.getResponse().getContentAsString();
+                Job jobReturned = objectMapper.readValue(responseString, Job.class);
+
+                assertNotNull(jobReturned.getStatus());
+                verify(catchUpTicksJobFactory, times(1)).create();
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_launch_bulk_enroll_job() throws Exception {
+                // act
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/bulkenroll?courseId=3&commonsId=17").with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                String responseString = response.getResponse().getContentAsString();
+                Job jobReturned = objectMapper.readValue(responseString, Job.class);
+
+                assertNotNull(jobReturned.getStatus());
+                verify(bulkEnrollJobFactory, times(1)).create(3L, 17L);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void user_cannot_launch_bulk_enroll_job() throws Exception {
+                mockMvc.perform(post("/api/jobs/launch/bulkenroll?courseId=3&commonsId=17").with(csrf()))
+                                .andExpect(status().is(403));
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_launch_reset_wealth_job() throws Exception {
+                // act
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/resetwealth?commonsId=17&wealth=250").with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                Job jobReturned = objectMapper.readValue(response.getResponse().getContentAsString(), Job.class);
+                assertNotNull(jobReturned.getStatus());
+                verify(resetWealthJobFactory, times(1)).create(17L, 250.0);
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_cannot_reset_wealth_to_negative() throws Exception {
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/resetwealth?commonsId=17&wealth=-1").with(csrf()))
+                                .andExpect(status().isBadRequest()).andReturn();
+                assertInstanceOf(IllegalArgumentException.class, response.getResolvedException());
+                verify(resetWealthJobFactory, never()).create(anyLong(), anyDouble());
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_launch_grant_cows_job() throws Exception {
+                // act
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/grantcows?commonsId=17&cows=2").with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                Job jobReturned = objectMapper.readValue(response.getResponse().getContentAsString(), Job.class);
+                assertNotNull(jobReturned.getStatus());
+                verify(grantCowsJobFactory, times(1)).create(17L, 2);
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_cannot_grant_no_cows() throws Exception {
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/grantcows?commonsId=17&cows=0").with(csrf()))
+                                .andExpect(status().isBadRequest()).andReturn();
+                assertInstanceOf(IllegalArgumentException.class, response.getResolvedException());
+                verify(grantCowsJobFactory, never()).create(anyLong(), anyInt());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void user_cannot_launch_bulk_update_jobs() throws Exception {
+                mockMvc.perform(post("/api/jobs/launch/resetwealth?commonsId=17&wealth=250").with(csrf()))
+                                .andExpect(status().is(403));
+                mockMvc.perform(post("/api/jobs/launch/grantcows?commonsId=17&cows=2").with(csrf()))
+                                .andExpect(status().is(403));
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_launch_delete_commons_job() throws Exception {
+                // act
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/deletecommons?commonsId=17").with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                String responseString = response.getResponse().getContentAsString();
+                Job jobReturned = objectMapper.readValue(responseString, Job.class);
+
+                assertNotNull(jobReturned.getStatus());
+                verify(deleteCommonsJobFactory, times(1)).create(17L, false);
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_launch_archive_commons_job() throws Exception {
+                // act
+                mockMvc.perform(post("/api/jobs/launch/deletecommons?commonsId=17&archive=true").with(csrf()))
+                                .andExpect(status().isOk());
+
+                // assert
+                verify(deleteCommonsJobFactory, times(1)).create(17L, true);
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void user_cannot_launch_delete_commons_job() throws Exception {
+                mockMvc.perform(post("/api/jobs/launch/deletecommons?commonsId=17").with(csrf()))
+                                .andExpect(status().is(403));
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_get_tick_ledger() throws Exception {
+                // arrange
+                List<TickLedgerEntry> ledger = List.of(
+                                new TickLedgerEntry(TickType.milkTheCows, 17L, ZonedDateTime.parse("2024-11-01T04:00:00-07:00")));
+                when(tickCheckpointRepository.findLedger()).thenReturn(ledger);
+
+                // act
+                MvcResult response = mockMvc.perform(get("/api/jobs/ticks/ledger"))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                verify(tickCheckpointRepository, times(1)).findLedger();
+                String expectedJson = mapper.writeValueAsString(ledger);
+                assertEquals(expectedJson, response.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void non_admin_cannot_get_tick_ledger() throws Exception {
+                mockMvc.perform(get("/api/jobs/ticks/ledger"))
+                                .andExpect(status().is(403));
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_launch_simulate_commons_job() throws Exception {
+                // act
+                MvcResult response = mockMvc.perform(post("/api/jobs/launch/simulatecommons?commonsId=17&ticks=300").with(csrf()))
+                                .andExpect(status().isOk()).andReturn();
+
+                // assert
+                String responseString = response.getResponse().getContentAsString();
+                Job jobReturned = objectMapper.readValue(responseString, Job.class);
+
+                assertNotNull(jobReturned.getStatus());
+                verify(simulateCommonsJobFactory, times(1)).create(17L, 300);
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void simulate_commons_job_rejects_bad_tick_counts() throws Exception {
+                mockMvc.perform(post("/api/jobs/launch/simulatecommons?commonsId=17&ticks=-1").with(csrf()))
+                                .andExpect(status().isBadRequest());
+                mockMvc.perform(post("/api/jobs/launch/simulatecommons?commonsId=17&ticks=100001").with(csrf()))
+                                .andExpect(status().isBadRequest());
+        }
+
+
+        @WithMockUser(roles = { "USER" })
+        @Test
+        public void non_admin_cannot_get_summaries_log_or_events() throws Exception {
+                mockMvc.perform(get("/api/jobs/all/summary?page=0&size=10")).andExpect(status().is(403));
+                mockMvc.perform(get("/api/jobs/log?id=1")).andExpect(status().is(403));
+                mockMvc.perform(get("/api/jobs/events")).andExpect(status().is(403));
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_get_job_summaries() throws Exception {
+                JobSummary summary = JobSummary.builder().id(7L).status("complete").build();
+                Page<JobSummary> page = new PageImpl<>(Arrays.asList(summary), PageRequest.of(0, 10), 1);
+                when(jobsRepository.findSummaries(eq(PageRequest.of(0, 10, Sort.by("id").descending())))).thenReturn(page);
+
+                MvcResult response = mockMvc.perform(get("/api/jobs/all/summary?page=0&size=10"))
+                                .andExpect(status().isOk()).andReturn();
+
+                assertEquals(mapper.writeValueAsString(page), response.getResponse().getContentAsString());
+                assertEquals(false, response.getResponse().getContentAsString().contains("\"log\""));
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_get_job_log_from_offset() throws Exception {
+                Job job = Job.builder().id(7L).log("line one\nline two").build();
+                when(jobsRepository.findById(eq(7L))).thenReturn(Optional.of(job));
+                when(jobsRepository.findById(eq(8L))).thenReturn(Optional.of(Job.builder().id(8L).build()));
+
+                MvcResult fromStart = mockMvc.perform(get("/api/jobs/log?id=7")).andExpect(status().isOk()).andReturn();
+                MvcResult tail = mockMvc.perform(get("/api/jobs/log?id=7&offset=9")).andExpect(status().isOk()).andReturn();
+                MvcResult pastEnd = mockMvc.perform(get("/api/jobs/log?id=7&offset=100")).andExpect(status().isOk()).andReturn();
+                MvcResult noLog = mockMvc.perform(get("/api/jobs/log?id=8&offset=3")).andExpect(status().isOk()).andReturn();
+
+                assertEquals(mapper.writeValueAsString(new JobLogDelta(7L, 0, "line one\nline two")), fromStart.getResponse().getContentAsString());
+                assertEquals(mapper.writeValueAsString(new JobLogDelta(7L, 9, "line two")), tail.getResponse().getContentAsString());
+                assertEquals(mapper.writeValueAsString(new JobLogDelta(7L, 17, "")), pastEnd.getResponse().getContentAsString());
+                assertEquals(mapper.writeValueAsString(new JobLogDelta(8L, 0, "")), noLog.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void truncated_job_log_is_resent_from_the_truncation_marker() throws Exception {
+                String log = "head" + JobLogs.TRUNCATION_MARKER + "tail";
+                when(jobsRepository.findById(eq(7L))).thenReturn(Optional.of(Job.builder().id(7L).log(log).build()));
+                int stable = 4 + JobLogs.TRUNCATION_MARKER.length();
+
+                MvcResult inHead = mockMvc.perform(get("/api/jobs/log?id=7&offset=2")).andExpect(status().isOk()).andReturn();
+                MvcResult pastMarker = mockMvc.perform(get("/api/jobs/log?id=7&offset=" + log.length())).andExpect(status().isOk()).andReturn();
+
+                assertEquals(mapper.writeValueAsString(new JobLogDelta(7L, 2, log.substring(2))), inHead.getResponse().getContentAsString());
+                assertEquals(mapper.writeValueAsString(new JobLogDelta(7L, stable, "tail")), pastMarker.getResponse().getContentAsString());
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_gets_404_for_log_of_unknown_job() throws Exception {
+                when(jobsRepository.findById(eq(9L))).thenReturn(Optional.empty());
+                mockMvc.perform(get("/api/jobs/log?id=9")).andExpect(status().isNotFound());
+        }
+
+        @WithMockUser(roles = { "ADMIN" })
+        @Test
+        public void admin_can_subscribe_to_job_events() throws Exception {
+                int before = jobEventService.getSubscriberCount();
+
+                mockMvc.perform(get("/api/jobs/events"))
+                                .andExpect(request().asyncStarted());
+
+                assertEquals(before + 1, jobEventService.getSubscriberCount());
+        }
+}
@@ -0,0 +1,155 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import edu.ucsb.cs156.happiercows.ControllerTestCase;
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.models.LeaderboardEntry;
+import edu.ucsb.cs156.happiercows.models.LeaderboardMetric;
+import edu.ucsb.cs156.happiercows.models.LeaderboardView;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.LeaderboardService;
+import edu.ucsb.cs156.happiercows.testconfig.TestConfig;
+
+@WebMvcTest(controllers = LeaderboardController.class)
+@Import(TestConfig.class)
+@AutoConfigureDataJpa
+public class LeaderboardControllerTests extends ControllerTestCase {
+
+    @MockBean
+    LeaderboardService leaderboardService;
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    UserRepository userRepository;
+
+    Commons shown = Commons.builder().id(5L).name("shown").showLeaderboard(true).build();
+    Commons hidden = Commons.builder().id(6L).name("hidden").showLeaderboard(false).build();
+
+    LeaderboardView topView = LeaderboardView.builder()
+            .metric(LeaderboardMetric.numOfCows)
+            .totalPlayers(2)
+            .firstRank(1)
+            .entries(List.of(
+                    LeaderboardEntry.builder().userId(1L).username("Fake User").numOfCows(3).build(),
+                    LeaderboardEntry.builder().userId(2L).username("other").numOfCows(1).build()))
+            .build();
+
+    @Test
+    public void logged_out_users_cannot_get_leaderboard() throws Exception {
+        mockMvc.perform(get("/api/leaderboard/top?commonsId=5")).andExpect(status().is(403));
+        mockMvc.perform(get("/api/leaderboard/me?commonsId=5")).andExpect(status().is(403));
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void player_gets_top_k_when_leaderboard_is_shown() throws Exception {
+        when(commonsRepository.findById(5L)).thenReturn(Optional.of(shown));
+        when(leaderboardService.isPlayer(5L, 1L)).thenReturn(true);
+        when(leaderboardService.top(5L, LeaderboardMetric.numOfCows, 2)).thenReturn(topView);
+
+        MvcResult response = mockMvc.perform(get("/api/leaderboard/top?commonsId=5&metric=numOfCows&k=2"))
+                .andExpect(status().isOk()).andReturn();
+
+        assertEquals(mapper.writeValueAsString(topView), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void player_cannot_get_hidden_leaderboard() throws Exception {
+        when(commonsRepository.findById(6L)).thenReturn(Optional.of(hidden));
+        when(leaderboardService.isPlayer(6L, 1L)).thenReturn(true);
+
+        mockMvc.perform(get("/api/leaderboard/top?commonsId=6")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/leaderboard/me?commonsId=6")).andExpect(status().isForbidden());
+        verify(leaderboardService, never()).top(anyLong(), any(), anyInt());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void non_player_cannot_get_leaderboard() throws Exception {
+        when(commonsRepository.findById(5L)).thenReturn(Optional.of(shown));
+        when(leaderboardService.isPlayer(5L, 1L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/leaderboard/top?commonsId=5")).andExpect(status().isForbidden());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_gets_hidden_leaderboard_with_defaults() throws Exception {
+        when(commonsRepository.findById(6L)).thenReturn(Optional.of(hidden));
+        when(leaderboardService.top(6L, LeaderboardMetric.totalWealth, 10)).thenReturn(topView);
+
+        mockMvc.perform(get("/api/leaderboard/top?commonsId=6")).andExpect(status().isOk());
+
+        verify(leaderboardService).top(6L, LeaderboardMetric.totalWealth, 10);
+        verify(leaderboardService, never()).isPlayer(anyLong(), anyLong());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void player_gets_own_rank() throws Exception {
+        LeaderboardView myView = LeaderboardView.builder()
+                .metric(LeaderboardMetric.totalWealth)
+                .totalPlayers(2)
+                .firstRank(1)
+                .myRank(1)
+                .entries(topView.getEntries())
+                .build();
+        when(commonsRepository.findById(5L)).thenReturn(Optional.of(shown));
+        when(leaderboardService.isPlayer(5L, 1L)).thenReturn(true);
+        when(leaderboardService.around(5L, 1L, LeaderboardMetric.totalWealth, 1)).thenReturn(Optional.of(myView));
+
+        MvcResult response = mockMvc.perform(get("/api/leaderboard/me?commonsId=5&neighbours=1"))
+                .andExpect(status().isOk()).andReturn();
+
+        assertEquals(mapper.writeValueAsString(myView), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_not_in_commons_has_no_rank() throws Exception {
+        when(commonsRepository.findById(5L)).thenReturn(Optional.of(shown));
+        when(leaderboardService.around(5L, 1L, LeaderboardMetric.totalWealth, 2)).thenReturn(Optional.empty());
+
+        MvcResult response = mockMvc.perform(get("/api/leaderboard/me?commonsId=5"))
+                .andExpect(status().isNotFound()).andReturn();
+
+        Map<String, Object> json = responseToJson(response);
+        assertEquals("UserCommons with commonsId 5 and userId 1 not found", json.get("message"));
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void unknown_commons_and_bad_parameters() throws Exception {
+        when(commonsRepository.findById(7L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/leaderboard/top?commonsId=7")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/leaderboard/top?commonsId=5&k=101")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/leaderboard/me?commonsId=5&neighbours=-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/leaderboard/top?commonsId=5&metric=cowsSold")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,73 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import edu.ucsb.cs156.happiercows.ControllerTestCase;
+import edu.ucsb.cs156.happiercows.entities.SchedulerLock;
+import edu.ucsb.cs156.happiercows.models.LeaseStats;
+import edu.ucsb.cs156.happiercows.models.SchedulerStatus;
+import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
+
+@WebMvcTest(controllers = SchedulerController.class)
+@AutoConfigureDataJpa
+public class SchedulerControllerTests extends ControllerTestCase {
+
+  @MockBean
+  UserRepository userRepository;
+
+  @MockBean
+  SchedulerLockService schedulerLockService;
+
+  @Test
+  public void logged_out_users_cannot_get_status() throws Exception {
+    mockMvc.perform(get("/api/scheduler/status"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void regular_users_cannot_get_status() throws Exception {
+    mockMvc.perform(get("/api/scheduler/status"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN", "USER" })
+  @Test
+  public void admin_can_get_status() throws Exception {
+
+    // arrange
+
+    Instant until = Instant.parse("2024-11-01T11:00:30Z");
+    SchedulerStatus schedulerStatus = SchedulerStatus.builder()
+        .instanceId("web-1")
+        .liveInstances(List.of("web-1", "web-2"))
+        .shards(2)
+        .locks(List.of(SchedulerLock.builder().name("milkTheCows/0").lockedBy("web-1").lockedUntil(until).build()))
+        .leaseStats(Map.of("milkTheCows/0", LeaseStats.builder().acquired(3).denied(1).lastAcquiredAt(until).build()))
+        .build();
+    when(schedulerLockService.getStatus()).thenReturn(schedulerStatus);
+    String expectedJson = mapper.writeValueAsString(schedulerStatus);
+
+    // act
+    MvcResult response = mockMvc.perform(get("/api/scheduler/status"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+    assertEquals(expectedJson, response.getResponse().getContentAsString());
+  }
+}
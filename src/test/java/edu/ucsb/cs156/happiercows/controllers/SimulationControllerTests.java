@@ -0,0 +1,102 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import edu.ucsb.cs156.happiercows.ControllerTestCase;
+import edu.ucsb.cs156.happiercows.models.SimulationParams;
+import edu.ucsb.cs156.happiercows.models.SimulationResult;
+import edu.ucsb.cs156.happiercows.models.SimulationRunSummary;
+import edu.ucsb.cs156.happiercows.models.SimulationSweep;
+import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.SimulationService;
+import edu.ucsb.cs156.happiercows.testconfig.TestConfig;
+
+@WebMvcTest(controllers = SimulationController.class)
+@Import(TestConfig.class)
+@AutoConfigureDataJpa
+public class SimulationControllerTests extends ControllerTestCase {
+
+    @MockBean
+    SimulationService simulationService;
+
+    @MockBean
+    UserRepository userRepository;
+
+    SimulationParams params = SimulationParams.builder().ticks(2).milkPrice(5.0).build();
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void non_admin_cannot_run_simulations() throws Exception {
+        mockMvc.perform(post("/api/simulation/run?commonsId=5").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(params)))
+                .andExpect(status().is(403));
+        mockMvc.perform(post("/api/simulation/sweep?commonsId=5").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().is(403));
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_can_run_a_simulation() throws Exception {
+        SimulationResult result = SimulationResult.builder()
+                .params(params)
+                .numUsers(1)
+                .effectiveCapacity(10)
+                .ticks(new int[] { 0, 1, 2 })
+                .totalCows(new int[] { 3, 3, 3 })
+                .averageCowHealth(new double[] { 50, 51, 52 })
+                .totalWealth(new double[] { 0, 0, 7.8 })
+                .cowDeaths(new int[] { 0, 0, 0 })
+                .build();
+        when(simulationService.simulate(eq(5L), eq(params))).thenReturn(result);
+
+        MvcResult response = mockMvc.perform(post("/api/simulation/run?commonsId=5").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(params)))
+                .andExpect(status().isOk()).andReturn();
+
+        assertEquals(mapper.writeValueAsString(result), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_can_run_a_sweep() throws Exception {
+        SimulationSweep sweep = SimulationSweep.builder().params(params).runs(2).spread(0.1).seed(7).build();
+        List<SimulationRunSummary> runs = List.of(
+                SimulationRunSummary.builder().params(params).totalCows(3).averageCowHealth(52).totalWealth(7.8).build(),
+                SimulationRunSummary.builder().params(params).totalCows(3).averageCowHealth(52).totalWealth(8.1).build());
+        when(simulationService.sweep(eq(5L), eq(sweep))).thenReturn(runs);
+
+        MvcResult response = mockMvc.perform(post("/api/simulation/sweep?commonsId=5").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(sweep)))
+                .andExpect(status().isOk()).andReturn();
+
+        assertEquals(mapper.writeValueAsString(runs), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void bad_params_are_a_bad_request() throws Exception {
+        when(simulationService.simulate(eq(5L), any())).thenThrow(new IllegalArgumentException("ticks must be between 0 and 100000"));
+
+        mockMvc.perform(post("/api/simulation/run?commonsId=5").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON).content("{\"ticks\": 1000000}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,179 @@
+package edu.ucsb.cs156.happiercows.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import edu.ucsb.cs156.happiercows.ControllerTestCase;
+import edu.ucsb.cs156.happiercows.entities.Student;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.entities.Course;
+import edu.ucsb.cs156.happiercows.models.RosterImportResult;
+import edu.ucsb.cs156.happiercows.models.RosterRowResult;
+import edu.ucsb.cs156.happiercows.repositories.StudentRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.StudentRosterService;
+
+@WebMvcTest(controllers = StudentsController.class)
+@AutoConfigureDataJpa
+public class StudentsControllerTests extends ControllerTestCase {
+
+    @MockBean
+    StudentRepository studentRepository;
+
+    @MockBean
+    UserRepository userRepository;
+
+    @MockBean
+    StudentRosterService studentRosterService;
+
+    private final MockMultipartFile roster = new MockMultipartFile("file", "roster.csv", "text/csv",
+            "perm,email\n7654321,dstorke@ucsb.edu\n".getBytes());
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_can_get_students_in_a_course() throws Exception {
+        // arrange
+        List<Student> students = List.of(Student.builder().id(1L).courseId(2L).perm("7654321").build());
+        when(studentRepository.findByCourseId(2L)).thenReturn(students);
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/students?courseId=2"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        assertEquals(mapper.writeValueAsString(students), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void students_paged_defaults_to_last_name() throws Exception {
+        // arrange
+        Slice<Student> expectedSlice = new SliceImpl<>(List.of(Student.builder().id(1L).courseId(2L).perm("7654321").build()),
+                PageRequest.of(0, 50), false);
+        when(studentRepository.findSliceByCourseId(eq(2L), any(Pageable.class))).thenReturn(expectedSlice);
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/students/paged?courseId=2"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(studentRepository).findSliceByCourseId(eq(2L), pageableCaptor.capture());
+        assertEquals(Sort.by(Sort.Direction.ASC, "lastName", "firstMiddleName").and(Sort.by("id")), pageableCaptor.getValue().getSort());
+        assertEquals(mapper.writeValueAsString(expectedSlice), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void students_paged_search_by_perm() throws Exception {
+        // arrange
+        when(studentRepository.searchSliceByCourseId(eq(2L), eq("765"), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // act
+        mockMvc.perform(get("/api/students/paged?courseId=2").param("search", " 765 ").param("sort", "perm").param("direction", "DESC"))
+                .andExpect(status().isOk());
+
+        // assert
+        verify(studentRepository).searchSliceByCourseId(eq(2L), eq("765"), pageableCaptor.capture());
+        assertEquals(Sort.by(Sort.Direction.DESC, "perm").and(Sort.by("id")), pageableCaptor.getValue().getSort());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void students_paged_sort_by_email() throws Exception {
+        // arrange
+        when(studentRepository.findSliceByCourseId(eq(2L), any(Pageable.class))).thenReturn(new SliceImpl<>(List.of()));
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+
+        // act
+        mockMvc.perform(get("/api/students/paged?courseId=2").param("sort", "email").param("search", ""))
+                .andExpect(status().isOk());
+
+        // assert
+        verify(studentRepository).findSliceByCourseId(eq(2L), pageableCaptor.capture());
+        assertEquals(Sort.by(Sort.Direction.ASC, "email").and(Sort.by("id")), pageableCaptor.getValue().getSort());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void students_paged_rejects_unknown_sort_and_bad_size() throws Exception {
+        mockMvc.perform(get("/api/students/paged?courseId=2").param("sort", "id"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/students/paged?courseId=2").param("size", "501"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void users_cannot_get_students_paged() throws Exception {
+        mockMvc.perform(get("/api/students/paged?courseId=2"))
+                .andExpect(status().isForbidden());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void admin_can_upload_a_roster() throws Exception {
+        // arrange
+        RosterImportResult result = RosterImportResult.builder().courseId(2L).inserted(1)
+                .rows(List.of(new RosterRowResult(2, "7654321", "inserted", null))).build();
+        when(studentRosterService.importRoster(eq(2L), any(Reader.class))).thenReturn(result);
+
+        // act
+        MvcResult response = mockMvc.perform(multipart("/api/students/upload/csv?courseId=2").file(roster).with(csrf()))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(studentRosterService).importRoster(eq(2L), any(Reader.class));
+        assertEquals(mapper.writeValueAsString(result), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = { "ADMIN" })
+    @Test
+    public void upload_to_missing_course_is_not_found() throws Exception {
+        // arrange
+        when(studentRosterService.importRoster(eq(3L), any(Reader.class)))
+                .thenThrow(new EntityNotFoundException(Course.class, 3L));
+
+        // act
+        MvcResult response = mockMvc.perform(multipart("/api/students/upload/csv?courseId=3").file(roster).with(csrf()))
+                .andExpect(status().isNotFound()).andReturn();
+
+        // assert
+        assertEquals("Course with id 3 not found", responseToJson(response).get("message"));
+    }
+
+    @WithMockUser(roles = { "USER" })
+    @Test
+    public void users_cannot_upload_a_roster() throws Exception {
+        mockMvc.perform(multipart("/api/students/upload/csv?courseId=2").file(roster).with(csrf()))
+                .andExpect(status().isForbidden());
+        verify(studentRosterService, never()).importRoster(anyLong(), any());
+    }
+}
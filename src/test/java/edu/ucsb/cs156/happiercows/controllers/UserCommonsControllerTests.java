@@ -6,10 +6,16 @@ import edu.ucsb.cs156.happiercows.entities.UserCommons;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.errors.NoCowsException;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.LeaderboardService;
+import edu.ucsb.cs156.happiercows.services.UserHistoryService;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -39,6 +45,15 @@ public class UserCommonsControllerTests extends ControllerTestCase {
     @MockBean
     CommonsRepository commonsRepository;
 
+    @MockBean
+    LeaderboardService leaderboardService;
+
+    @MockBean
+    GameStateEngine gameStateEngine;
+
+    @MockBean
+    UserHistoryService userHistoryService;
+
     Commons testCommons = Commons
             .builder()
             .name("test commons")
@@ -157,6 +172,9 @@ public class UserCommonsControllerTests extends ControllerTestCase {
         // assert
         verify(userCommonsRepository, times(1)).findByCommonsIdAndUserId(eq(1L), eq(1L));
         verify(userCommonsRepository, times(1)).save(updateUserCommons);
+        verify(leaderboardService, times(1)).update(updateUserCommons);
+        verify(userHistoryService, times(1)).record(eq(1L), eq(List.of(UserCommonsSummary.builder()
+                .userId(1L).commonsId(1L).totalWealth(280).numOfCows(3).cowHealth(100).build())), any());
         String responseString = response.getResponse().getContentAsString();
         assertEquals(expectedReturn, responseString);
     }
@@ -225,6 +243,42 @@ public class UserCommonsControllerTests extends ControllerTestCase {
         // assert
         verify(userCommonsRepository, times(1)).findByCommonsIdAndUserId(eq(1L), eq(1L));
         verify(userCommonsRepository, times(1)).save(updatedUserCommons);
+        verify(leaderboardService, times(1)).update(updatedUserCommons);
+        verify(userHistoryService, times(1)).record(eq(1L), eq(List.of(UserCommonsSummary.builder()
+                .userId(1L).commonsId(1L).totalWealth(310).numOfCows(0).cowHealth(50).build())), any());
+        String responseString = response.getResponse().getContentAsString();
+        assertEquals(expectedReturn, responseString);
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_BuyCow_succeeds_when_history_cannot_be_recorded() throws Exception {
+
+        // arrange
+
+        UserCommons origUserCommons = getTestUserCommons();
+        origUserCommons.setCowsBought(1);
+
+        UserCommons updateUserCommons = getTestUserCommons();
+        updateUserCommons.setNumOfCows(3);
+        updateUserCommons.setTotalWealth(300 - (testCommons.getCowPrice() * 2));
+        updateUserCommons.setCowsBought(3);
+
+        String expectedReturn = mapper.writeValueAsString(updateUserCommons);
+
+        when(userCommonsRepository.findByCommonsIdAndUserId(eq(1L), eq(1L))).thenReturn(Optional.of(origUserCommons));
+        when(commonsRepository.findById(eq(1L))).thenReturn(Optional.of(testCommons));
+        doThrow(new QueryTimeoutException("lock wait timeout")).when(userHistoryService).record(anyLong(), any(), any());
+
+        // act
+        MvcResult response = mockMvc.perform(put("/api/usercommons/buy?commonsId=1&numCows=2")
+                        .with(csrf()))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(userCommonsRepository, times(1)).save(updateUserCommons);
+        verify(leaderboardService, times(1)).update(updateUserCommons);
+        verify(userHistoryService, times(1)).record(anyLong(), any(), any());
         String responseString = response.getResponse().getContentAsString();
         assertEquals(expectedReturn, responseString);
     }
@@ -375,41 +429,187 @@ public class UserCommonsControllerTests extends ControllerTestCase {
     }
 
 
+    private UserCommonsSummary summaryOf(UserCommons uc) {
+        return UserCommonsSummary.builder()
+                .userId(uc.getUserId())
+                .commonsId(uc.getCommonsId())
+                .username(uc.getUsername())
+                .totalWealth(uc.getTotalWealth())
+                .numOfCows(uc.getNumOfCows())
+                .cowHealth(uc.getCowHealth())
+                .cowsBought(uc.getCowsBought())
+                .cowsSold(uc.getCowsSold())
+                .cowDeaths(uc.getCowDeaths())
+                .build();
+    }
+
     @WithMockUser(roles = {"USER"})
     @Test
     public void test_getAllUserCommonsById_exists() throws Exception {
-        List<UserCommons> expectedUserCommons = new ArrayList<>();
-        UserCommons testexpectedUserCommons = getTestUserCommons();
-        expectedUserCommons.add(testexpectedUserCommons);
-        when(userCommonsRepository.findByCommonsId(eq(1L))).thenReturn(expectedUserCommons);
+        UserCommons userCommons = getTestUserCommons();
+        List<UserCommonsSummary> summaries = List.of(summaryOf(userCommons));
+        when(userCommonsRepository.findSummariesByCommonsId(eq(1L))).thenReturn(summaries);
 
         MvcResult response = mockMvc.perform(get("/api/usercommons/commons/all?commonsId=1"))
                 .andExpect(status().isOk()).andReturn();
 
-        verify(userCommonsRepository, times(1)).findByCommonsId(eq(1L));
+        verify(userCommonsRepository, times(1)).findSummariesByCommonsId(eq(1L));
+        verify(userCommonsRepository, times(0)).findByCommonsId(anyLong());
 
-        String expectedJson = mapper.writeValueAsString(expectedUserCommons);
         String responseString = response.getResponse().getContentAsString();
-
-        assertEquals(expectedJson, responseString);
+        assertEquals(mapper.writeValueAsString(summaries), responseString);
+        // same properties and values as the full entity used to produce
+        assertEquals(mapper.readTree(mapper.writeValueAsString(List.of(userCommons))), mapper.readTree(responseString));
     }
 
     @WithMockUser(roles = {"ADMIN"})
     @Test
     public void test_Admin_getAllUserCommonsById_exists() throws Exception {
-        List<UserCommons> expectedUserCommons = new ArrayList<>();
-        UserCommons testexpectedUserCommons = getTestUserCommons();
-        expectedUserCommons.add(testexpectedUserCommons);
-        when(userCommonsRepository.findByCommonsId(eq(1L))).thenReturn(expectedUserCommons);
+        List<UserCommonsSummary> summaries = List.of(summaryOf(getTestUserCommons()));
+        when(userCommonsRepository.findSummariesByCommonsId(eq(1L))).thenReturn(summaries);
 
         MvcResult response = mockMvc.perform(get("/api/usercommons/commons/all?commonsId=1").with(csrf()))
                 .andExpect(status().isOk()).andReturn();
 
-        verify(userCommonsRepository, times(1)).findByCommonsId(eq(1L));
+        verify(userCommonsRepository, times(1)).findSummariesByCommonsId(eq(1L));
+        assertEquals(mapper.writeValueAsString(summaries), response.getResponse().getContentAsString());
+    }
 
-        String expectedJson = mapper.writeValueAsString(expectedUserCommons);
-        String responseString = response.getResponse().getContentAsString();
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_getAllUserCommonsById_compact() throws Exception {
+        UserCommonsSummary summary = summaryOf(getTestUserCommons());
+        when(userCommonsRepository.findSummariesByCommonsId(eq(1L))).thenReturn(List.of(summary, summary));
 
-        assertEquals(expectedJson, responseString);
+        MvcResult response = mockMvc.perform(get("/api/usercommons/commons/all?commonsId=1&format=compact"))
+                .andExpect(status().isOk()).andReturn();
+
+        String expectedJson = "{\"columns\":[\"userId\",\"commonsId\",\"username\",\"totalWealth\",\"numOfCows\",\"cowHealth\",\"cowsBought\",\"cowsSold\",\"cowDeaths\"],"
+                + "\"rows\":[[1,0,null,300.0,1,100.0,0,0,0],[1,0,null,300.0,1,100.0,0,0,0]]}";
+        assertEquals(expectedJson, response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_getAllUserCommonsById_unknown_format() throws Exception {
+        mockMvc.perform(get("/api/usercommons/commons/all?commonsId=1&format=xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_BuyCow_in_memory() throws Exception {
+
+        // arrange
+        UserCommonsSummary bought = summaryOf(getTestUserCommons());
+        bought.setNumOfCows(3);
+        bought.setCowsBought(2);
+        when(gameStateEngine.isEnabled()).thenReturn(true);
+        when(gameStateEngine.buy(1L, 1L, 2)).thenReturn(bought);
+
+        // act
+        MvcResult response = mockMvc.perform(put("/api/usercommons/buy?commonsId=1&numCows=2")
+                        .with(csrf()))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(userCommonsRepository, never()).save(any());
+        verify(leaderboardService, times(1)).update(any());
+        verify(userHistoryService, never()).record(anyLong(), any(), any());
+        assertEquals(mapper.readTree(mapper.writeValueAsString(bought)),
+                mapper.readTree(response.getResponse().getContentAsString()));
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_SellCow_in_memory_no_cow_to_sell() throws Exception {
+
+        // arrange
+        when(gameStateEngine.isEnabled()).thenReturn(true);
+        when(gameStateEngine.sell(1L, 1L, 1)).thenThrow(new NoCowsException("You do not have enough cows to sell!"));
+
+        // act
+        MvcResult response = mockMvc.perform(put("/api/usercommons/sell?commonsId=1&numCows=1")
+                .with(csrf())).andExpect(status().is(400)).andReturn();
+
+        // assert
+        verify(leaderboardService, never()).update(any());
+        String expectedString = "{\"message\":\"You do not have enough cows to sell!\",\"type\":\"NoCowsException\"}";
+        Map<String, Object> expectedJson = mapper.readValue(expectedString, Map.class);
+        assertEquals(expectedJson, responseToJson(response));
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_SellCow_in_memory() throws Exception {
+
+        // arrange
+        UserCommonsSummary sold = summaryOf(getTestUserCommons());
+        sold.setNumOfCows(0);
+        sold.setCowsSold(1);
+        when(gameStateEngine.isEnabled()).thenReturn(true);
+        when(gameStateEngine.sell(1L, 1L, 1)).thenReturn(sold);
+
+        // act
+        MvcResult response = mockMvc.perform(put("/api/usercommons/sell?commonsId=1&numCows=1")
+                        .with(csrf()))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(userCommonsRepository, never()).save(any());
+        assertEquals(mapper.readTree(mapper.writeValueAsString(sold)),
+                mapper.readTree(response.getResponse().getContentAsString()));
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_getUserCommonsById_in_memory() throws Exception {
+
+        // arrange
+        UserCommons userCommons = getTestUserCommons();
+        when(gameStateEngine.isEnabled()).thenReturn(true);
+        when(gameStateEngine.find(1L, 1L)).thenReturn(Optional.of(summaryOf(userCommons)));
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/usercommons/forcurrentuser?commonsId=1"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(userCommonsRepository, never()).findByCommonsIdAndUserId(anyLong(), anyLong());
+        assertEquals(mapper.writeValueAsString(userCommons), response.getResponse().getContentAsString());
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_getUserCommonsById_in_memory_nonexists() throws Exception {
+
+        // arrange
+        when(gameStateEngine.isEnabled()).thenReturn(true);
+        when(gameStateEngine.find(1L, 1L)).thenReturn(Optional.empty());
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/usercommons/forcurrentuser?commonsId=1"))
+                .andExpect(status().is(404)).andReturn();
+
+        // assert
+        assertEquals("UserCommons with commonsId 1 and userId 1 not found", responseToJson(response).get("message"));
+    }
+
+    @WithMockUser(roles = {"USER"})
+    @Test
+    public void test_getAllUserCommonsById_in_memory() throws Exception {
+
+        // arrange
+        List<UserCommonsSummary> summaries = List.of(summaryOf(getTestUserCommons()));
+        when(gameStateEngine.isEnabled()).thenReturn(true);
+        when(gameStateEngine.summaries(1L)).thenReturn(summaries);
+
+        // act
+        MvcResult response = mockMvc.perform(get("/api/usercommons/commons/all?commonsId=1"))
+                .andExpect(status().isOk()).andReturn();
+
+        // assert
+        verify(userCommonsRepository, never()).findSummariesByCommonsId(anyLong());
+        assertEquals(mapper.writeValueAsString(summaries), response.getResponse().getContentAsString());
     }
 }
@@ -1,6 +1,8 @@
 package edu.ucsb.cs156.happiercows.controllers;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
@@ -8,17 +10,20 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MvcResult;
 
 import edu.ucsb.cs156.happiercows.ControllerTestCase;
+import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.models.CurrentUser;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.LastOnlineService;
 import edu.ucsb.cs156.happiercows.testconfig.TestConfig;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
+import static org.mockito.Mockito.when;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -27,17 +32,24 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 @WebMvcTest(controllers = UserInfoController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, LastOnlineService.class})
 @AutoConfigureDataJpa
 public class UserInfoControllerTests extends ControllerTestCase {
-  @Captor
-  ArgumentCaptor<User> userCaptor;
-
   @MockBean
   UserRepository userRepository;
 
+  @Autowired
+  LastOnlineService lastOnlineService;
+
+  @AfterEach
+  public void flushHeartbeats() {
+    lastOnlineService.flush();
+  }
+
   @Test
   public void currentUser__logged_out() throws Exception {
     mockMvc.perform(get("/api/currentUser"))
@@ -67,6 +79,31 @@ public class UserInfoControllerTests extends ControllerTestCase {
     assertEquals(expectedJson, responseString);
   }
 
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void currentUser__logged_in_includes_commons() throws Exception {
+
+    // arrange
+
+    CurrentUser currentUser = currentUserService.getCurrentUser();
+    User userWithCommons = currentUser.getUser();
+    userWithCommons.setCommons(List.of(Commons.builder().id(7L).name("Seven").build()));
+    when(userRepository.findWithCommonsById(userWithCommons.getId())).thenReturn(Optional.of(userWithCommons));
+    currentUser.setUser(userWithCommons);
+    String expectedJson = mapper.writeValueAsString(currentUser);
+
+    // act
+
+    MvcResult response = mockMvc.perform(get("/api/currentUser"))
+        .andExpect(status().isOk()).andReturn();
+
+    // assert
+    verify(userRepository).findWithCommonsById(userWithCommons.getId());
+    String responseString = response.getResponse().getContentAsString();
+    assertEquals(expectedJson, responseString);
+    assertTrue(responseString.contains("\"name\":\"Seven\""));
+  }
+
   @WithMockUser(roles = { "USER" })
   @Test
   public void currentUser__update_last_online() throws Exception {
@@ -78,8 +115,14 @@ public class UserInfoControllerTests extends ControllerTestCase {
 
     assertFalse(response.getResponse().getContentAsString().isEmpty());
 
-    verify(userRepository).save(userCaptor.capture());
-    User savedUser = userCaptor.getValue();
-    assertTrue(savedUser.getLastOnline().isAfter(beforeUpdate));
+    verify(userRepository, never()).save(any(User.class));
+    Instant pending = lastOnlineService.getPending(currentUser.getUser().getId());
+    assertTrue(pending.isAfter(beforeUpdate));
+    assertEquals("\"" + pending + "\"", response.getResponse().getContentAsString());
+
+    // the unflushed heartbeat is visible through /api/currentUser
+    MvcResult current = mockMvc.perform(get("/api/currentUser"))
+        .andExpect(status().isOk()).andReturn();
+    assertTrue(current.getResponse().getContentAsString().contains(pending.toString()));
   }
 }
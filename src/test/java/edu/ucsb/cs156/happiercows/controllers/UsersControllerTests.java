@@ -1,6 +1,8 @@
 package edu.ucsb.cs156.happiercows.controllers;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
@@ -9,13 +11,23 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import edu.ucsb.cs156.happiercows.ControllerTestCase;
 import edu.ucsb.cs156.happiercows.entities.User;
+import edu.ucsb.cs156.happiercows.models.UserSummary;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.LastOnlineService;
 import edu.ucsb.cs156.happiercows.testconfig.TestConfig;
 
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -24,19 +36,32 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 @WebMvcTest(controllers = UsersController.class)
-@Import(TestConfig.class)
+@Import({TestConfig.class, LastOnlineService.class})
 @AutoConfigureDataJpa
 public class UsersControllerTests extends ControllerTestCase {
 
   @MockBean
   UserRepository userRepository;
 
+  @Captor
+  ArgumentCaptor<Pageable> pageableCaptor;
+
+  @Autowired
+  LastOnlineService lastOnlineService;
+
+  @AfterEach
+  public void flushHeartbeats() {
+    lastOnlineService.flush();
+  }
+
   @Test
   public void users__logged_out() throws Exception {
     mockMvc.perform(get("/api/admin/users"))
@@ -57,14 +82,13 @@ public class UsersControllerTests extends ControllerTestCase {
     
     // arrange
 
-    User u1 = User.builder().id(1L).build();
-    User u2 = User.builder().id(2L).build();
-    User u = currentUserService.getCurrentUser().getUser();
+    UserSummary u1 = UserSummary.builder().id(1L).email("u1@ucsb.edu").build();
+    UserSummary u2 = UserSummary.builder().id(2L).email("u2@ucsb.edu").admin(true).build();
 
-    ArrayList<User> expectedUsers = new ArrayList<>();
-    expectedUsers.addAll(Arrays.asList(u1, u2, u));
+    ArrayList<UserSummary> expectedUsers = new ArrayList<>();
+    expectedUsers.addAll(Arrays.asList(u1, u2));
 
-    when(userRepository.findAll()).thenReturn(expectedUsers);
+    when(userRepository.findAllSummaries()).thenReturn(expectedUsers);
     String expectedJson = mapper.writeValueAsString(expectedUsers);
 
     // act
@@ -74,7 +98,8 @@ public class UsersControllerTests extends ControllerTestCase {
 
     // assert
 
-    verify(userRepository, times(1)).findAll();
+    verify(userRepository, times(1)).findAllSummaries();
+    verify(userRepository, times(0)).findAll();
     String responseString = response.getResponse().getContentAsString();
     assertEquals(expectedJson, responseString);
 
@@ -147,4 +172,118 @@ public class UsersControllerTests extends ControllerTestCase {
 
     mockMvc.perform(post("/api/admin/users/restore").param("userId", "1").with(csrf())).andExpect(status().isNotFound());
   }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void users_paged__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/admin/users/paged"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN" })
+  @Test
+  public void users_paged__defaults_to_last_online_descending() throws Exception {
+    UserSummary u1 = UserSummary.builder().id(1L).email("u1@ucsb.edu").build();
+    Page<UserSummary> expectedPage = new PageImpl<>(List.of(u1), PageRequest.of(0, 50), 1);
+    when(userRepository.findSummaries(any(Pageable.class))).thenReturn(expectedPage);
+
+    MvcResult response = mockMvc.perform(get("/api/admin/users/paged"))
+        .andExpect(status().isOk()).andReturn();
+
+    verify(userRepository).findSummaries(pageableCaptor.capture());
+    Pageable pageable = pageableCaptor.getValue();
+    assertEquals(0, pageable.getPageNumber());
+    assertEquals(50, pageable.getPageSize());
+    assertEquals(Sort.by(Sort.Direction.DESC, "lastOnline").and(Sort.by("id")), pageable.getSort());
+    assertEquals(mapper.writeValueAsString(expectedPage), response.getResponse().getContentAsString());
+  }
+
+  @WithMockUser(roles = { "ADMIN" })
+  @Test
+  public void users_paged__search_by_name_ascending() throws Exception {
+    Page<UserSummary> expectedPage = new PageImpl<>(List.of(), PageRequest.of(2, 10), 0);
+    when(userRepository.searchSummaries(eq("Gaucho"), any(Pageable.class))).thenReturn(expectedPage);
+
+    mockMvc.perform(get("/api/admin/users/paged")
+        .param("page", "2").param("size", "10")
+        .param("sort", "name").param("direction", "ASC")
+        .param("search", " Gaucho "))
+        .andExpect(status().isOk());
+
+    verify(userRepository).searchSummaries(eq("Gaucho"), pageableCaptor.capture());
+    verify(userRepository, times(0)).findSummaries(any(Pageable.class));
+    assertEquals(Sort.by(Sort.Direction.ASC, "familyName", "givenName").and(Sort.by("id")), pageableCaptor.getValue().getSort());
+  }
+
+  @WithMockUser(roles = { "ADMIN" })
+  @Test
+  public void users_paged__sort_by_email() throws Exception {
+    when(userRepository.findSummaries(any(Pageable.class))).thenReturn(Page.empty());
+
+    mockMvc.perform(get("/api/admin/users/paged").param("sort", "email").param("search", ""))
+        .andExpect(status().isOk());
+
+    verify(userRepository).findSummaries(pageableCaptor.capture());
+    assertEquals(Sort.by(Sort.Direction.DESC, "email").and(Sort.by("id")), pageableCaptor.getValue().getSort());
+  }
+
+  @WithMockUser(roles = { "ADMIN" })
+  @Test
+  public void users_paged__rejects_unknown_sort_and_bad_size() throws Exception {
+    mockMvc.perform(get("/api/admin/users/paged").param("sort", "googleSub"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/admin/users/paged").param("size", "0"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/admin/users/paged").param("size", "501"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/admin/users/paged").param("direction", "sideways"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @WithMockUser(roles = { "USER" })
+  @Test
+  public void users_export__user_logged_in() throws Exception {
+    mockMvc.perform(get("/api/admin/users/export"))
+        .andExpect(status().is(403));
+  }
+
+  @WithMockUser(roles = { "ADMIN" })
+  @Test
+  public void users_export__streams_all_batches() throws Exception {
+    List<UserSummary> firstBatch = new ArrayList<>();
+    for (long id = 1; id <= UsersController.EXPORT_BATCH_SIZE; id++) {
+      firstBatch.add(UserSummary.builder().id(id).email("u" + id + "@ucsb.edu").build());
+    }
+    UserSummary last = UserSummary.builder().id(1000L).email("last@ucsb.edu").build();
+    when(userRepository.findSummariesAfterId(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+    when(userRepository.findSummariesAfterId(eq((long) UsersController.EXPORT_BATCH_SIZE), any(Pageable.class))).thenReturn(List.of(last));
+
+    MvcResult started = mockMvc.perform(get("/api/admin/users/export"))
+        .andExpect(request().asyncStarted()).andReturn();
+    MvcResult response = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Disposition", "attachment; filename=users.json"))
+        .andReturn();
+
+    List<UserSummary> expected = new ArrayList<>(firstBatch);
+    expected.add(last);
+    assertEquals(mapper.writeValueAsString(expected), response.getResponse().getContentAsString());
+    verify(userRepository, times(2)).findSummariesAfterId(any(Long.class), any(Pageable.class));
+  }
+
+  @WithMockUser(roles = { "ADMIN" })
+  @Test
+  public void users__admin_sees_unflushed_heartbeats() throws Exception {
+    Instant persisted = Instant.parse("2024-10-01T10:00:00Z");
+    Instant heartbeat = Instant.parse("2024-10-01T10:05:00Z");
+    UserSummary u1 = UserSummary.builder().id(1L).email("u1@ucsb.edu").lastOnline(persisted).build();
+    when(userRepository.findAllSummaries()).thenReturn(new ArrayList<>(List.of(u1)));
+    lastOnlineService.recordHeartbeat(1L, heartbeat);
+
+    MvcResult response = mockMvc.perform(get("/api/admin/users"))
+        .andExpect(status().isOk()).andReturn();
+
+    UserSummary expected = UserSummary.builder().id(1L).email("u1@ucsb.edu").lastOnline(heartbeat).build();
+    assertEquals(mapper.writeValueAsString(List.of(expected)), response.getResponse().getContentAsString());
+  }
 }
@@ -0,0 +1,68 @@
+package edu.ucsb.cs156.happiercows.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bytes on the wire through the real server: the OpenAPI document stands in
+ * for a large JSON response.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("integration")
+public class HttpCachingIT {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private HttpResponse<byte[]> get(String path, String... headers) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (headers.length > 0) {
+            request.headers(headers);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    public void large_json_is_gzipped() throws Exception {
+        // act
+        HttpResponse<byte[]> plain = get("/v3/api-docs");
+        HttpResponse<byte[]> gzipped = get("/v3/api-docs", "Accept-Encoding", "gzip");
+
+        // assert
+        log.info("/v3/api-docs: {} bytes plain, {} bytes gzipped", plain.body().length, gzipped.body().length);
+        assertFalse(plain.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(""));
+        assertTrue(gzipped.body().length * 4 < plain.body().length);
+        byte[] unzipped = new GZIPInputStream(new ByteArrayInputStream(gzipped.body())).readAllBytes();
+        assertEquals(plain.body().length, unzipped.length);
+    }
+
+    @Test
+    public void other_api_responses_are_not_stored() throws Exception {
+        // act
+        HttpResponse<byte[]> response = get("/api/systemInfo", "Accept-Encoding", "gzip");
+
+        // assert
+        assertEquals(200, response.statusCode());
+        assertFalse(response.headers().firstValue("ETag").isPresent());
+        assertTrue(response.headers().firstValue("Cache-Control").orElse("").contains("no-store"));
+    }
+}
@@ -35,7 +35,7 @@ import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
-import edu.ucsb.cs156.happiercows.entities.User;
+import edu.ucsb.cs156.happiercows.models.UserAuthInfo;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import wiremock.javax.servlet.http.HttpServletResponse;
 
@@ -74,7 +74,7 @@ public class RoleUserInterceptorTests {
 
   @Test
   public void user_not_present_in_db_and_no_role_update_by_interceptor() throws Exception {
-    when(userRepository.findByEmail("gauchoMock@ucsb.edu")).thenReturn(Optional.empty());
+    when(userRepository.findAuthInfoByEmail("gauchoMock@ucsb.edu")).thenReturn(Optional.empty());
 
     MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/currentUser");
     HandlerExecutionChain chain = mapping.getHandler(request);
@@ -90,7 +90,7 @@ public class RoleUserInterceptorTests {
     roleRuleInterceptor.get().preHandle(request, response, chain.getHandler());
 
     Collection<? extends GrantedAuthority> updatedAuthorities = SecurityContextHolder.getContext().getAuthentication().getAuthorities();
-    verify(userRepository, times(1)).findByEmail("gauchoMock@ucsb.edu");
+    verify(userRepository, times(1)).findAuthInfoByEmail("gauchoMock@ucsb.edu");
     boolean hasAdminRole = updatedAuthorities.stream().anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
     boolean hasUserRole = updatedAuthorities.stream().anyMatch(authority -> authority.getAuthority().equals("ROLE_USER"));
     assertTrue(hasAdminRole, "ROLE_ADMIN should exist authorities");
@@ -99,19 +99,12 @@ public class RoleUserInterceptorTests {
 
   @Test
   public void interceptor_removes_admin_role_when_admin_field_in_db_is_false() throws Exception {
-    User mockUser = User.builder()
+    UserAuthInfo mockUser = UserAuthInfo.builder()
       .id(1)
       .email("gauchoMock@ucsb.edu")
-      .googleSub("mockGoogleSub")
-      .fullName("Mock Mock")
-      .givenName("Mock Mock")
-      .familyName("Mock Mock")
-      .emailVerified(true)
-      .locale("mockLocale")
-      .hostedDomain("mockHostedDomain")
       .admin(false)
       .build();
-    when(userRepository.findByEmail("gauchoMock@ucsb.edu")).thenReturn(Optional.of(mockUser));
+    when(userRepository.findAuthInfoByEmail("gauchoMock@ucsb.edu")).thenReturn(Optional.of(mockUser));
 
     MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/currentUser");
     HandlerExecutionChain chain = mapping.getHandler(request);
@@ -127,7 +120,7 @@ public class RoleUserInterceptorTests {
     boolean result = roleRuleInterceptor.get().preHandle(request, response, chain.getHandler());
 
     Collection<? extends GrantedAuthority> updatedAuthorities = SecurityContextHolder.getContext().getAuthentication().getAuthorities();
-    verify(userRepository, times(1)).findByEmail("gauchoMock@ucsb.edu");
+    verify(userRepository, times(1)).findAuthInfoByEmail("gauchoMock@ucsb.edu");
     boolean hasAdminRole = updatedAuthorities.stream().anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
     boolean hasUserRole = updatedAuthorities.stream().anyMatch(authority -> authority.getAuthority().equals("ROLE_USER"));
 
@@ -138,21 +131,14 @@ public class RoleUserInterceptorTests {
 
   @Test
   public void interceptor_adds_admin_role_when_user_is_admin() throws Exception {
-    User adminUser = User.builder()
+    UserAuthInfo adminUser = UserAuthInfo.builder()
       .id(1)
       .email("gauchoMock@ucsb.edu")
-      .googleSub("mockGoogleSub")
-      .fullName("Mock Mock")
-      .givenName("Mock Mock")
-      .familyName("Mock Mock")
-      .emailVerified(true)
-      .locale("mockLocale")
-      .hostedDomain("mockHostedDomain")
       .admin(true)  // User is an admin
       .suspended(false)
       .build();
 
-    when(userRepository.findByEmail("gauchoMock@ucsb.edu")).thenReturn(Optional.of(adminUser));
+    when(userRepository.findAuthInfoByEmail("gauchoMock@ucsb.edu")).thenReturn(Optional.of(adminUser));
     MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/currentUser");
     HandlerExecutionChain chain = mapping.getHandler(request);
     MockHttpServletResponse response = new MockHttpServletResponse();
@@ -167,7 +153,7 @@ public class RoleUserInterceptorTests {
     boolean result = roleRuleInterceptor.get().preHandle(request, response, chain.getHandler());
 
     Collection<? extends GrantedAuthority> updatedAuthorities = SecurityContextHolder.getContext().getAuthentication().getAuthorities();
-    verify(userRepository, times(1)).findByEmail("gauchoMock@ucsb.edu");
+    verify(userRepository, times(1)).findAuthInfoByEmail("gauchoMock@ucsb.edu");
     assertTrue(updatedAuthorities.stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN")),
                "ROLE_ADMIN should be added for admin users");
     assertTrue(result);
@@ -176,20 +162,13 @@ public class RoleUserInterceptorTests {
 
   @Test
   public void interceptor_logs_out_user_when_suspended_field_in_db_is_true() throws Exception {
-    User mockUser = User.builder()
+    UserAuthInfo mockUser = UserAuthInfo.builder()
       .id(1)
       .email("gauchoMock@ucsb.edu")
-      .googleSub("mockGoogleSub")
-      .fullName("Mock Mock")
-      .givenName("Mock Mock")
-      .familyName("Mock Mock")
-      .emailVerified(true)
-      .locale("mockLocale")
-      .hostedDomain("mockHostedDomain")
       .admin(true)
       .suspended(true)
       .build();
-    when(userRepository.findByEmail("gauchoMock@ucsb.edu")).thenReturn(Optional.of(mockUser));
+    when(userRepository.findAuthInfoByEmail("gauchoMock@ucsb.edu")).thenReturn(Optional.of(mockUser));
 
 
     MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/currentUser");
@@ -205,7 +184,7 @@ public class RoleUserInterceptorTests {
     assertTrue(roleRuleInterceptor.isPresent());
     boolean result = roleRuleInterceptor.get().preHandle(request, response, chain.getHandler());
     
-    verify(userRepository, times(1)).findByEmail("gauchoMock@ucsb.edu");
+    verify(userRepository, times(1)).findAuthInfoByEmail("gauchoMock@ucsb.edu");
     assertFalse(result);
     assertEquals(response.getStatus(), HttpServletResponse.SC_FORBIDDEN);
     assertNull(SecurityContextHolder.getContext().getAuthentication());
@@ -0,0 +1,48 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.CourseRepository;
+import edu.ucsb.cs156.happiercows.repositories.StudentRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+
+@RestClientTest(BulkEnrollJobFactory.class)
+@AutoConfigureDataJpa
+public class BulkEnrollJobFactoryTests extends JobTestCase {
+
+    @MockBean
+    CourseRepository courseRepository;
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    StudentRepository studentRepository;
+
+    @MockBean
+    UserCommonsRepository userCommonsRepository;
+
+    @Autowired
+    BulkEnrollJobFactory bulkEnrollJobFactory;
+
+    @Test
+    void test_create() throws Exception {
+
+        // Act
+        BulkEnrollJob bulkEnrollJob = (BulkEnrollJob) bulkEnrollJobFactory.create(3L, 17L);
+
+        // Assert
+        assertEquals(courseRepository, bulkEnrollJob.getCourseRepository());
+        assertEquals(commonsRepository, bulkEnrollJob.getCommonsRepository());
+        assertEquals(studentRepository, bulkEnrollJob.getStudentRepository());
+        assertEquals(userCommonsRepository, bulkEnrollJob.getUserCommonsRepository());
+    }
+}
@@ -0,0 +1,138 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.Course;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.CourseRepository;
+import edu.ucsb.cs156.happiercows.repositories.StudentRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+public class BulkEnrollJobTests extends JobTestCase {
+
+    @Mock
+    CourseRepository courseRepository;
+
+    @Mock
+    CommonsRepository commonsRepository;
+
+    @Mock
+    StudentRepository studentRepository;
+
+    @Mock
+    UserCommonsRepository userCommonsRepository;
+
+    private final Course course = Course.builder().id(3L).code("CMPSC 156").name("Advanced App Programming").term("F24").build();
+
+    private final Commons commons = Commons.builder().id(17L).name("CS156 F24").build();
+
+    private BulkEnrollJob job() {
+        return new BulkEnrollJob(3L, 17L, courseRepository, commonsRepository, studentRepository, userCommonsRepository);
+    }
+
+    @Test
+    void test_enrolls_course_in_one_insert() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(courseRepository.findById(3L)).thenReturn(Optional.of(course));
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        when(studentRepository.countByCourseId(3L)).thenReturn(250L);
+        when(userCommonsRepository.enrollCourse(3L, 17L)).thenReturn(240);
+
+        // Act
+        job().accept(ctx);
+
+        // Assert
+        String expected = """
+                Enrolling course students in commons...
+                Course CMPSC 156 has 250 students
+                Enrolled 240 students in commons CS156 F24
+                10 students were already members or have not logged in yet""";
+        assertEquals(expected, jobStarted.getLog());
+        verify(userCommonsRepository, times(1)).enrollCourse(3L, 17L);
+    }
+
+    @Test
+    void test_retries_when_a_student_joins_during_the_insert() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(courseRepository.findById(3L)).thenReturn(Optional.of(course));
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        when(studentRepository.countByCourseId(3L)).thenReturn(2L);
+        when(userCommonsRepository.enrollCourse(3L, 17L))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(1);
+
+        // Act
+        job().accept(ctx);
+
+        // Assert
+        String expected = """
+                Enrolling course students in commons...
+                Course CMPSC 156 has 2 students
+                A student joined during the enrolment; trying again
+                Enrolled 1 students in commons CS156 F24
+                1 students were already members or have not logged in yet""";
+        assertEquals(expected, jobStarted.getLog());
+        verify(userCommonsRepository, times(2)).enrollCourse(3L, 17L);
+    }
+
+    @Test
+    void test_course_not_found() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(courseRepository.findById(3L)).thenReturn(Optional.empty());
+
+        // Act
+        job().accept(ctx);
+
+        // Assert
+        String expected = """
+                Enrolling course students in commons...
+                No course found for id 3""";
+        assertEquals(expected, jobStarted.getLog());
+        verify(userCommonsRepository, never()).enrollCourse(anyLong(), anyLong());
+    }
+
+    @Test
+    void test_commons_not_found() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(courseRepository.findById(3L)).thenReturn(Optional.of(course));
+        when(commonsRepository.findById(17L)).thenReturn(Optional.empty());
+
+        // Act
+        job().accept(ctx);
+
+        // Assert
+        String expected = """
+                Enrolling course students in commons...
+                No commons found for id 17""";
+        assertEquals(expected, jobStarted.getLog());
+        verify(userCommonsRepository, never()).enrollCourse(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,50 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.TickCheckpointRepository;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService;
+
+@RestClientTest(CatchUpTicksJobFactory.class)
+@AutoConfigureDataJpa
+public class CatchUpTicksJobFactoryTests extends JobTestCase {
+
+    @MockBean
+    TickCheckpointRepository tickCheckpointRepository;
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    TickScheduleService tickScheduleService;
+
+    @MockBean
+    TickJobFactory tickJobFactory;
+
+    @Autowired
+    CatchUpTicksJobFactory catchUpTicksJobFactory;
+
+    @Test
+    void test_create() throws Exception {
+
+        // Act
+        CatchUpTicksJob job = (CatchUpTicksJob) catchUpTicksJobFactory.create();
+
+        // Assert
+        assertEquals(tickCheckpointRepository, job.getTickCheckpointRepository());
+        assertEquals(commonsRepository, job.getCommonsRepository());
+        assertEquals(tickScheduleService, job.getTickScheduleService());
+        assertEquals(tickJobFactory, job.getTickJobFactory());
+        assertEquals(10, job.getMaxTicks());
+        assertNotNull(job.getNow());
+    }
+}
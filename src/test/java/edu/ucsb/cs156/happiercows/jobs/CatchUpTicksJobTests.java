@@ -0,0 +1,172 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.models.TickLedgerEntry;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.TickCheckpointRepository;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService.DueTicks;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+public class CatchUpTicksJobTests extends JobTestCase {
+
+    @Mock
+    TickCheckpointRepository tickCheckpointRepository;
+
+    @Mock
+    CommonsRepository commonsRepository;
+
+    @Mock
+    TickScheduleService tickScheduleService;
+
+    @Mock
+    TickJobFactory tickJobFactory;
+
+    private final ZonedDateTime now = ZonedDateTime.parse("2024-11-03T05:00:00-08:00");
+    private final ZonedDateTime nov1at4 = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+    private final ZonedDateTime nov2at0 = ZonedDateTime.parse("2024-11-02T00:00:00-07:00");
+    private final ZonedDateTime nov2at4 = ZonedDateTime.parse("2024-11-02T04:00:00-07:00");
+    private final ZonedDateTime nov2at12 = ZonedDateTime.parse("2024-11-02T12:00:00-07:00");
+
+    private final Commons commons1 = Commons.builder().id(1L).name("CS156").build();
+    private final Commons commons2 = Commons.builder().id(2L).name("CS148").build();
+
+    private void stubTick(TickType tickType, long commonsId, ZonedDateTime scheduledTime) {
+        when(tickJobFactory.create(tickType, commonsId, scheduledTime))
+                .thenReturn(ctx -> ctx.log(tickType + " " + commonsId + " " + scheduledTime));
+    }
+
+    @Test
+    void test_missed_ticks_are_applied_in_order() throws Exception {
+        // arrange
+        Job job = Job.builder().build();
+        JobContext ctx = new JobContext(null, job);
+
+        when(commonsRepository.findAll()).thenReturn(List.of(commons1, commons2));
+        when(tickCheckpointRepository.findLedger()).thenReturn(List.of(
+                new TickLedgerEntry(TickType.milkTheCows, 1L, nov1at4),
+                new TickLedgerEntry(TickType.updateCowHealth, 1L, nov1at4),
+                new TickLedgerEntry(TickType.milkTheCows, 2L, nov1at4),
+                new TickLedgerEntry(TickType.milkTheCows, 3L, nov1at4)));
+        when(tickScheduleService.dueTicks(TickType.milkTheCows, commons1, nov1at4, now, 10))
+                .thenReturn(new DueTicks(List.of(nov2at4), 0));
+        when(tickScheduleService.dueTicks(TickType.updateCowHealth, commons1, nov1at4, now, 10))
+                .thenReturn(new DueTicks(List.of(nov2at0, nov2at12), 0));
+        when(tickScheduleService.dueTicks(TickType.milkTheCows, commons2, nov1at4, now, 10))
+                .thenReturn(new DueTicks(List.of(nov2at4), 0));
+        stubTick(TickType.milkTheCows, 1L, nov2at4);
+        stubTick(TickType.milkTheCows, 2L, nov2at4);
+        stubTick(TickType.updateCowHealth, 1L, nov2at0);
+        stubTick(TickType.updateCowHealth, 1L, nov2at12);
+
+        // act
+        CatchUpTicksJob catchUpTicksJob = new CatchUpTicksJob(tickCheckpointRepository, commonsRepository,
+                tickScheduleService, tickJobFactory, 10, now);
+        catchUpTicksJob.accept(ctx);
+
+        // assert
+        String expected = """
+                Looking for missed ticks...
+                Catching up updateCowHealth for 2024-11-02T00:00-07:00 in 1 commons
+                updateCowHealth 1 2024-11-02T00:00-07:00
+                Catching up milkTheCows for 2024-11-02T04:00-07:00 in 2 commons
+                milkTheCows 1 2024-11-02T04:00-07:00
+                milkTheCows 2 2024-11-02T04:00-07:00
+                Catching up updateCowHealth for 2024-11-02T12:00-07:00 in 1 commons
+                updateCowHealth 1 2024-11-02T12:00-07:00
+                Caught up 4 missed ticks""";
+        assertEquals(expected, job.getLog());
+    }
+
+    @Test
+    void test_ticks_beyond_the_limit_are_reported() throws Exception {
+        // arrange
+        Job job = Job.builder().build();
+        JobContext ctx = new JobContext(null, job);
+
+        when(commonsRepository.findAll()).thenReturn(List.of(commons1));
+        when(tickCheckpointRepository.findLedger()).thenReturn(List.of(
+                new TickLedgerEntry(TickType.recordCommonStats, 1L, nov1at4)));
+        when(tickScheduleService.dueTicks(TickType.recordCommonStats, commons1, nov1at4, now, 1))
+                .thenReturn(new DueTicks(List.of(nov2at12), 5));
+        stubTick(TickType.recordCommonStats, 1L, nov2at12);
+
+        // act
+        new CatchUpTicksJob(tickCheckpointRepository, commonsRepository, tickScheduleService, tickJobFactory, 1, now)
+                .accept(ctx);
+
+        // assert
+        String expected = """
+                Looking for missed ticks...
+                Commons CS156 missed 5 more recordCommonStats ticks; only the latest 1 are applied
+                Catching up recordCommonStats for 2024-11-02T12:00-07:00 in 1 commons
+                recordCommonStats 1 2024-11-02T12:00-07:00
+                Caught up 1 missed ticks""";
+        assertEquals(expected, job.getLog());
+    }
+
+    @Test
+    void test_archived_commons_are_not_caught_up() throws Exception {
+        // arrange
+        Job job = Job.builder().build();
+        JobContext ctx = new JobContext(null, job);
+        Commons archived = Commons.builder().id(4L).name("CS8").archived(true).build();
+
+        when(commonsRepository.findAll()).thenReturn(List.of(archived));
+        when(tickCheckpointRepository.findLedger()).thenReturn(List.of(
+                new TickLedgerEntry(TickType.milkTheCows, 4L, nov1at4)));
+
+        // act
+        new CatchUpTicksJob(tickCheckpointRepository, commonsRepository, tickScheduleService, tickJobFactory, 10, now)
+                .accept(ctx);
+
+        // assert
+        verify(tickScheduleService, never()).dueTicks(any(), any(), any(), any(), anyInt());
+        String expected = """
+                Looking for missed ticks...
+                Caught up 0 missed ticks""";
+        assertEquals(expected, job.getLog());
+    }
+
+    @Test
+    void test_nothing_missed() throws Exception {
+        // arrange
+        Job job = Job.builder().build();
+        JobContext ctx = new JobContext(null, job);
+        when(commonsRepository.findAll()).thenReturn(List.of(commons1));
+        when(tickCheckpointRepository.findLedger()).thenReturn(List.of());
+
+        // act
+        new CatchUpTicksJob(tickCheckpointRepository, commonsRepository, tickScheduleService, tickJobFactory, 10, now)
+                .accept(ctx);
+
+        // assert
+        String expected = """
+                Looking for missed ticks...
+                Caught up 0 missed ticks""";
+        assertEquals(expected, job.getLog());
+        verify(tickJobFactory, never()).create(any(), anyLong(), any());
+    }
+}
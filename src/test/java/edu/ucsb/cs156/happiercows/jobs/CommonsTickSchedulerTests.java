@@ -0,0 +1,236 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.services.jobs.JobService;
+
+@ExtendWith(SpringExtension.class)
+@Import({ CommonsTickScheduler.class, TickScheduleService.class })
+@ContextConfiguration
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+@TestPropertySource(properties = {
+        "app.milkTheCows.cron=0 0 4 * * *",
+        "app.updateCowHealth.cron=0 0 0,12 * * *",
+        "app.recordCommonStats.cron=0 0 0,6,12,18 * * *",
+        "spring.jackson.time-zone=America/Los_Angeles",
+        "app.ticks.perCommons=true",
+        "app.ticks.spreadSeconds=600",
+        "app.ticks.refreshMs=60000"
+})
+public class CommonsTickSchedulerTests {
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    TickJobFactory tickJobFactory;
+
+    @MockBean
+    JobService jobService;
+
+    @MockBean
+    SchedulerLockService schedulerLockService;
+
+    @Autowired
+    TickScheduleService tickScheduleService;
+
+    @Autowired
+    CommonsTickScheduler commonsTickScheduler;
+
+    private final JobContextConsumer tickJob = ctx -> {
+    };
+
+    private final ZonedDateTime start = ZonedDateTime.parse("2024-11-01T03:00:00-07:00");
+
+    private final ZonedDateTime fourAm = ZonedDateTime.parse("2024-11-01T04:00:00-07:00[America/Los_Angeles]");
+
+    private final Commons commons = Commons.builder().id(1L).name("CS156").build();
+
+    private static LocalDateTime serverTime(String zoned) {
+        return ZonedDateTime.parse(zoned).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(tickJobFactory.create(any(), anyLong(), any())).thenReturn(tickJob);
+        when(schedulerLockService.claimSingleton(any())).thenReturn(true);
+    }
+
+    @Test
+    void test_tick_runs_after_the_commons_offset() {
+        // arrange
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of(commons));
+        Duration offset = tickScheduleService.offsetFor(commons);
+
+        // act
+        commonsTickScheduler.poll(start);
+        commonsTickScheduler.poll(fourAm.plus(offset).minusSeconds(1));
+
+        // assert
+        assertEquals(3, commonsTickScheduler.plannedTicks());
+        verify(jobService, never()).runAsJob(any());
+
+        // act
+        commonsTickScheduler.poll(fourAm.plus(offset));
+
+        // assert
+        verify(schedulerLockService).claimSingleton("milkTheCows/commons-1");
+        verify(tickJobFactory).create(TickType.milkTheCows, 1L, fourAm);
+        verify(jobService, times(1)).runAsJob(tickJob);
+        assertEquals(3, commonsTickScheduler.plannedTicks());
+    }
+
+    @Test
+    void test_tick_follows_the_commons_schedule() {
+        // arrange
+        Commons own = Commons.builder().id(2L).name("CS148").milkTheCowsCron("0 0 5 * * *").build();
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of(own));
+        ZonedDateTime fiveAm = ZonedDateTime.parse("2024-11-01T05:00:00-07:00[America/Los_Angeles]");
+
+        // act
+        commonsTickScheduler.poll(start);
+        commonsTickScheduler.poll(fourAm.plusMinutes(30));
+        commonsTickScheduler.poll(fiveAm.plus(tickScheduleService.offsetFor(own)));
+
+        // assert
+        verify(tickJobFactory, times(1)).create(any(), anyLong(), any());
+        verify(tickJobFactory).create(TickType.milkTheCows, 2L, fiveAm);
+    }
+
+    @Test
+    void test_only_unfinished_commons_are_scheduled() {
+        // arrange
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of());
+
+        // act
+        commonsTickScheduler.poll(start);
+        commonsTickScheduler.poll(start.plusDays(1));
+
+        // assert
+        verify(commonsRepository).findUnfinished(start.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+        assertEquals(0, commonsTickScheduler.plannedTicks());
+        verify(jobService, never()).runAsJob(any());
+    }
+
+    @Test
+    void test_ticks_after_the_last_date_are_not_scheduled() {
+        // arrange: the game ends before the next milking
+        Commons ending = Commons.builder().id(3L).lastDate(serverTime("2024-11-01T03:30:00-07:00")).build();
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of(ending));
+
+        // act
+        commonsTickScheduler.poll(start);
+
+        // assert
+        assertEquals(0, commonsTickScheduler.plannedTicks());
+    }
+
+    @Test
+    void test_ticks_before_the_game_starts_are_skipped() {
+        // arrange
+        Commons notStarted = Commons.builder().id(4L).startingDate(serverTime("2024-11-02T00:00:00-07:00")).build();
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of(notStarted));
+
+        // act
+        commonsTickScheduler.poll(start);
+        commonsTickScheduler.poll(fourAm.plusMinutes(30));
+
+        // assert
+        verify(jobService, never()).runAsJob(any());
+        assertEquals(3, commonsTickScheduler.plannedTicks());
+    }
+
+    @Test
+    void test_tick_is_not_launched_without_its_lease() {
+        // arrange
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of(commons));
+        when(schedulerLockService.claimSingleton("milkTheCows/commons-1")).thenReturn(false);
+
+        // act
+        commonsTickScheduler.poll(start);
+        commonsTickScheduler.poll(fourAm.plusMinutes(30));
+
+        // assert
+        verify(tickJobFactory, never()).create(any(), anyLong(), any());
+        verify(jobService, never()).runAsJob(any());
+        assertEquals(3, commonsTickScheduler.plannedTicks());
+    }
+
+    @Test
+    void test_changed_schedule_is_picked_up_on_refresh() {
+        // arrange
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of(commons));
+        Commons changed = Commons.builder().id(1L).name("CS156").milkTheCowsCron("0 30 3 * * *").build();
+        ZonedDateTime halfPastThree = ZonedDateTime.parse("2024-11-01T03:30:00-07:00[America/Los_Angeles]");
+
+        // act
+        commonsTickScheduler.poll(start);
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of(changed));
+        commonsTickScheduler.poll(start.plusSeconds(30));
+        commonsTickScheduler.poll(start.plusSeconds(60));
+        commonsTickScheduler.poll(fourAm.plusMinutes(30));
+
+        // assert
+        verify(commonsRepository, times(3)).findUnfinished(any());
+        verify(tickJobFactory).create(TickType.milkTheCows, 1L, halfPastThree);
+        verify(tickJobFactory, never()).create(TickType.milkTheCows, 1L, fourAm);
+    }
+
+    @Test
+    void test_deleted_commons_is_dropped_on_refresh() {
+        // arrange
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of(commons));
+
+        // act
+        commonsTickScheduler.poll(start);
+        when(commonsRepository.findUnfinished(any())).thenReturn(List.of());
+        commonsTickScheduler.poll(start.plusMinutes(1));
+        commonsTickScheduler.poll(fourAm.plusMinutes(30));
+
+        // assert
+        assertEquals(0, commonsTickScheduler.plannedTicks());
+        verify(jobService, never()).runAsJob(any());
+    }
+
+    @Test
+    void test_does_nothing_when_disabled() {
+        // arrange
+        commonsTickScheduler.enabled = false;
+
+        // act
+        commonsTickScheduler.poll();
+
+        // assert
+        verify(commonsRepository, never()).findUnfinished(any());
+    }
+}
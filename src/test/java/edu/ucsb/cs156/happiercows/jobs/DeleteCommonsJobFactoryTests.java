@@ -0,0 +1,38 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.CommonsDeletionService;
+
+@RestClientTest(DeleteCommonsJobFactory.class)
+@AutoConfigureDataJpa
+public class DeleteCommonsJobFactoryTests extends JobTestCase {
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    CommonsDeletionService commonsDeletionService;
+
+    @Autowired
+    DeleteCommonsJobFactory deleteCommonsJobFactory;
+
+    @Test
+    void test_create() throws Exception {
+
+        // Act
+        DeleteCommonsJob deleteCommonsJob = (DeleteCommonsJob) deleteCommonsJobFactory.create(17L, false);
+
+        // Assert
+        assertEquals(commonsRepository, deleteCommonsJob.getCommonsRepository());
+        assertEquals(commonsDeletionService, deleteCommonsJob.getCommonsDeletionService());
+    }
+}
@@ -0,0 +1,102 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.CommonsDeletionService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+public class DeleteCommonsJobTests extends JobTestCase {
+
+    @Mock
+    CommonsRepository commonsRepository;
+
+    @Mock
+    CommonsDeletionService commonsDeletionService;
+
+    private final Commons commons = Commons.builder().id(17L).name("CS156 F24").build();
+
+    @Test
+    void test_deletes_commons_and_logs_row_counts() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        Map<String, Integer> deleted = new LinkedHashMap<>();
+        deleted.put("profits", 1200);
+        deleted.put("user_commons", 100);
+        deleted.put("commons", 1);
+        when(commonsDeletionService.delete(17L)).thenReturn(deleted);
+
+        // Act
+        new DeleteCommonsJob(17L, false, commonsRepository, commonsDeletionService).accept(ctx);
+
+        // Assert
+        String expected = """
+                Deleting commons CS156 F24...
+                profits: 1200 rows deleted
+                user_commons: 100 rows deleted
+                commons: 1 rows deleted
+                Commons CS156 F24 deleted (1301 rows)""";
+        assertEquals(expected, jobStarted.getLog());
+        verify(commonsRepository, never()).save(any());
+    }
+
+    @Test
+    void test_archives_commons() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+
+        // Act
+        new DeleteCommonsJob(17L, true, commonsRepository, commonsDeletionService).accept(ctx);
+
+        // Assert
+        String expected = """
+                Archiving commons CS156 F24...
+                Commons CS156 F24 archived""";
+        assertEquals(expected, jobStarted.getLog());
+        ArgumentCaptor<Commons> captor = ArgumentCaptor.forClass(Commons.class);
+        verify(commonsRepository).save(captor.capture());
+        assertTrue(captor.getValue().isArchived());
+        verify(commonsDeletionService, never()).delete(anyLong());
+    }
+
+    @Test
+    void test_missing_commons() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(commonsRepository.findById(17L)).thenReturn(Optional.empty());
+
+        // Act
+        new DeleteCommonsJob(17L, false, commonsRepository, commonsDeletionService).accept(ctx);
+
+        // Assert
+        assertEquals("No commons found for id 17", jobStarted.getLog());
+        verify(commonsDeletionService, never()).delete(anyLong());
+    }
+}
@@ -0,0 +1,145 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+import edu.ucsb.cs156.happiercows.services.jobs.JobService;
+
+@ExtendWith(SpringExtension.class)
+@Import(InterruptedJobRecovery.class)
+@ContextConfiguration
+public class InterruptedJobRecoveryTests {
+
+    @MockBean
+    JobsRepository jobsRepository;
+
+    @MockBean
+    JobService jobService;
+
+    @MockBean
+    TickJobFactory tickJobFactory;
+
+    @MockBean
+    SchedulerLockService schedulerLockService;
+
+    @BeforeEach
+    void setUp() {
+        when(schedulerLockService.getInstanceId()).thenReturn("web-1");
+        when(schedulerLockService.liveInstances()).thenReturn(List.of("web-1", "web-2"));
+        when(schedulerLockService.claimSingleton("jobRecovery")).thenReturn(true);
+    }
+
+    @Autowired
+    InterruptedJobRecovery interruptedJobRecovery;
+
+    @Test
+    void test_no_interrupted_jobs() {
+        when(jobsRepository.findByStatus("running")).thenReturn(List.of());
+
+        List<Job> resumed = interruptedJobRecovery.recoverInterruptedJobs();
+
+        assertEquals(List.of(), resumed);
+        verify(jobService, never()).runAsJob(any());
+    }
+
+    @Test
+    void test_interrupted_tick_job_is_marked_error_and_resumed() {
+        // arrange
+        ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+        Job interrupted = Job.builder()
+                .id(7L)
+                .status("running")
+                .instanceId("web-3")
+                .log("Starting to milk the cows")
+                .tickType(TickType.milkTheCows)
+                .scheduledTime(scheduledTime)
+                .build();
+        Job resumedJob = Job.builder().id(8L).status("running").build();
+        JobContextConsumer milkTheCows = ctx -> {};
+
+        when(jobsRepository.findByStatus("running")).thenReturn(List.of(interrupted));
+        when(tickJobFactory.create(TickType.milkTheCows, null, scheduledTime)).thenReturn(milkTheCows);
+        when(jobService.runAsJob(milkTheCows)).thenReturn(resumedJob);
+
+        // act
+        List<Job> resumed = interruptedJobRecovery.recoverInterruptedJobs();
+
+        // assert
+        assertEquals(List.of(resumedJob), resumed);
+        assertEquals("error", interrupted.getStatus());
+        String expected = """
+                Starting to milk the cows
+                Interrupted by a restart
+                Resumed as job 8""";
+        assertEquals(expected, interrupted.getLog());
+    }
+
+    @Test
+    void test_interrupted_job_that_is_not_a_tick_is_only_marked_error() {
+        // arrange
+        Job interrupted = Job.builder().id(7L).status("running").build();
+        when(jobsRepository.findByStatus("running")).thenReturn(List.of(interrupted));
+
+        // act
+        List<Job> resumed = interruptedJobRecovery.recoverInterruptedJobs();
+
+        // assert
+        assertEquals(List.of(), resumed);
+        assertEquals("error", interrupted.getStatus());
+        assertEquals("Interrupted by a restart", interrupted.getLog());
+        verify(jobsRepository).save(interrupted);
+        verify(jobService, never()).runAsJob(any());
+    }
+
+    @Test
+    void test_jobs_of_live_instances_are_left_alone() {
+        // arrange
+        Job mine = Job.builder().id(7L).status("running").instanceId("web-1").build();
+        Job theirs = Job.builder().id(8L).status("running").instanceId("web-2").build();
+        when(jobsRepository.findByStatus("running")).thenReturn(List.of(mine, theirs));
+
+        // act
+        List<Job> resumed = interruptedJobRecovery.recoverInterruptedJobs();
+
+        // assert
+        assertEquals(List.of(), resumed);
+        assertEquals("running", mine.getStatus());
+        assertEquals("running", theirs.getStatus());
+        verify(schedulerLockService, never()).claimSingleton(any());
+    }
+
+    @Test
+    void test_only_the_instance_holding_the_recovery_lease_recovers() {
+        // arrange
+        Job interrupted = Job.builder().id(7L).status("running").instanceId("web-3").build();
+        when(jobsRepository.findByStatus("running")).thenReturn(List.of(interrupted));
+        when(schedulerLockService.claimSingleton("jobRecovery")).thenReturn(false);
+
+        // act
+        List<Job> resumed = interruptedJobRecovery.recoverInterruptedJobs();
+
+        // assert
+        assertEquals(List.of(), resumed);
+        assertEquals("running", interrupted.getStatus());
+    }
+}
@@ -0,0 +1,37 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
+
+@RestClientTest(JobRetentionJobFactory.class)
+@AutoConfigureDataJpa
+public class JobRetentionJobFactoryTests extends JobTestCase {
+
+    @MockBean
+    JobsRepository jobsRepository;
+
+    @Autowired
+    JobRetentionJobFactory jobRetentionJobFactory;
+
+    @Test
+    void test_create() throws Exception {
+
+        // Act
+        JobRetentionJob jobRetentionJob = (JobRetentionJob) jobRetentionJobFactory.create();
+
+        // Assert
+        assertEquals(jobsRepository, jobRetentionJob.getJobsRepository());
+        assertEquals(1000, jobRetentionJob.getKeepLast());
+        assertEquals(90, jobRetentionJob.getMaxAgeDays());
+        assertEquals(7, jobRetentionJob.getCompressAfterDays());
+    }
+}
@@ -0,0 +1,121 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.jobs.JobsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobLogs;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+public class JobRetentionJobTests extends JobTestCase {
+
+    @MockBean
+    JobsRepository jobsRepository;
+
+    @Test
+    void test_deletes_and_compresses() throws Exception {
+
+        // Arrange
+        Job oldJob = Job.builder().id(3L).status("complete").log("milked the cows\nall done").build();
+
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        when(jobsRepository.findFinishedIds(eq(PageRequest.of(10, 1)))).thenReturn(Arrays.asList(42L));
+        when(jobsRepository.deleteFinishedUpToId(42L)).thenReturn(5);
+        when(jobsRepository.deleteFinishedCreatedBefore(any())).thenReturn(2);
+        when(jobsRepository.findUncompressedCreatedBefore(any(), eq(PageRequest.of(0, JobRetentionJob.COMPRESS_BATCH_SIZE))))
+                .thenReturn(Arrays.asList(oldJob));
+
+        // Act
+        JobRetentionJob jobRetentionJob = new JobRetentionJob(jobsRepository, 10, 30, 7);
+        jobRetentionJob.accept(ctx);
+
+        // Assert
+        verify(jobsRepository).deleteFinishedUpToId(42L);
+        verify(jobsRepository).saveAll(Arrays.asList(oldJob));
+        byte[] compressedLog = oldJob.getCompressedLog();
+        assertEquals("milked the cows\nall done", JobLogs.decompress(compressedLog));
+        assertEquals("milked the cows\nall done", oldJob.getLog());
+
+        String expected = """
+            Starting job retention job...
+            Deleted 5 finished jobs beyond the newest 10
+            Deleted 2 finished jobs older than 30 days
+            Compressed the logs of 1 jobs older than 7 days (24 characters to %d bytes)
+            Job retention job done!""".formatted(compressedLog.length);
+        assertEquals(expected, jobStarted.getLog());
+    }
+
+    @Test
+    void test_compresses_in_batches() throws Exception {
+
+        // Arrange
+        List<Job> fullBatch = new ArrayList<>();
+        for (int i = 0; i < JobRetentionJob.COMPRESS_BATCH_SIZE; i++) {
+            fullBatch.add(Job.builder().id(i).status("complete").log("x").build());
+        }
+        Job last = Job.builder().id(500L).status("error").log("y").build();
+
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        when(jobsRepository.findUncompressedCreatedBefore(any(), any()))
+                .thenReturn(fullBatch).thenReturn(Arrays.asList(last));
+
+        // Act
+        JobRetentionJob jobRetentionJob = new JobRetentionJob(jobsRepository, 0, 0, 1);
+        jobRetentionJob.accept(ctx);
+
+        // Assert
+        verify(jobsRepository, times(2)).findUncompressedCreatedBefore(any(), any());
+        verify(jobsRepository, never()).findFinishedIds(any());
+        verify(jobsRepository, never()).deleteFinishedCreatedBefore(any());
+        verify(jobsRepository, times(2)).saveAll(any());
+        assertEquals("y", last.getLog());
+        assertEquals(true, jobStarted.getLog().contains("Compressed the logs of 101 jobs older than 1 days"));
+    }
+
+    @Test
+    void test_nothing_to_delete() throws Exception {
+
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        when(jobsRepository.findFinishedIds(any())).thenReturn(new ArrayList<>());
+
+        // Act
+        JobRetentionJob jobRetentionJob = new JobRetentionJob(jobsRepository, 10, 0, 0);
+        jobRetentionJob.accept(ctx);
+
+        // Assert
+        verify(jobsRepository, never()).deleteFinishedUpToId(any(Long.class));
+
+        String expected = """
+            Starting job retention job...
+            Deleted 0 finished jobs beyond the newest 10
+            Job retention job done!""";
+        assertEquals(expected, jobStarted.getLog());
+    }
+}
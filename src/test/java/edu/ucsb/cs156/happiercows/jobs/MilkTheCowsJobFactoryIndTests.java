@@ -2,6 +2,8 @@ package edu.ucsb.cs156.happiercows.jobs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.ZonedDateTime;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,7 @@ import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.ProfitRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
@@ -19,6 +22,9 @@ import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 @AutoConfigureDataJpa
 public class MilkTheCowsJobFactoryIndTests extends JobTestCase {
 
+    @MockBean
+    TickCheckpointService tickCheckpointService;
+
     @MockBean
     CommonsRepository commonsRepository;
 
@@ -47,5 +53,18 @@ public class MilkTheCowsJobFactoryIndTests extends JobTestCase {
         assertEquals(profitRepository,milkTheCowsJobInd.getProfitRepository());
 
     }
-}
 
+    @Test
+    void test_create_for_scheduled_time() throws Exception {
+
+        // Arrange
+        ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+        // Act
+        MilkTheCowsJobInd job = (MilkTheCowsJobInd) MilkTheCowsJobFactoryInd.create(1L, scheduledTime);
+
+        // Assert
+        assertEquals(tickCheckpointService, job.getTickCheckpointService());
+        assertEquals(scheduledTime, job.getScheduledTime());
+    }
+}
@@ -2,6 +2,7 @@ package edu.ucsb.cs156.happiercows.jobs;
 
 import edu.ucsb.cs156.happiercows.JobTestCase;
 import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
@@ -9,7 +10,9 @@ import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.ProfitRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -17,11 +20,16 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -39,6 +47,9 @@ public class MilkTheCowsJobIndTests extends JobTestCase {
     @Mock
     ProfitRepository profitRepository;
 
+    @Mock
+    TickCheckpointService tickCheckpointService;
+
     private User user = User
             .builder()
             .id(1L)
@@ -57,6 +68,13 @@ public class MilkTheCowsJobIndTests extends JobTestCase {
             .degradationRate(0.01)
             .build();
 
+    private final ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+    @BeforeEach
+    void setUp() {
+        applyEveryTick(tickCheckpointService);
+    }
+
     @Test
     void error_msg_when_no_commons_found() throws Exception {
 
@@ -68,7 +86,7 @@ public class MilkTheCowsJobIndTests extends JobTestCase {
 
         // Act
         MilkTheCowsJobInd MilkTheCowsJobInd = new MilkTheCowsJobInd(commonsRepository, userCommonsRepository,
-                userRepository, profitRepository, 1L);
+                userRepository, profitRepository, 1L, tickCheckpointService, scheduledTime);
         MilkTheCowsJobInd.accept(ctx);
 
         // Assert
@@ -103,7 +121,7 @@ public class MilkTheCowsJobIndTests extends JobTestCase {
 
         // Act
         MilkTheCowsJobInd milkTheCowsJobInd = new MilkTheCowsJobInd(commonsRepository, userCommonsRepository,
-                userRepository, profitRepository, 1L);
+                userRepository, profitRepository, 1L, tickCheckpointService, scheduledTime);
         milkTheCowsJobInd.accept(ctx);
         
 
@@ -119,4 +137,34 @@ public class MilkTheCowsJobIndTests extends JobTestCase {
         assertEquals(expected, jobStarted.getLog());
     }
 
+    @Test
+    void test_skips_commons_already_milked_for_scheduled_time() throws Exception {
+
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        when(commonsRepository.findById(eq(1L))).thenReturn(Optional.of(testCommons));
+        doReturn(false).when(tickCheckpointService)
+                .runOnce(eq(TickType.milkTheCows), eq(testCommons.getId()), eq(scheduledTime), any());
+
+        // Act
+        MilkTheCowsJobInd job = new MilkTheCowsJobInd(commonsRepository, userCommonsRepository,
+                userRepository, profitRepository, 1L, tickCheckpointService, scheduledTime);
+        job.accept(ctx);
+
+        // Assert
+
+        verify(userCommonsRepository, never()).findByCommonsId(testCommons.getId());
+        assertEquals(TickType.milkTheCows, job.getTickType());
+        assertEquals(Long.valueOf(1L), job.getTickCommonsId());
+
+        String expected = """
+                Starting to milk the cows
+                Commons test commons has already been milked for 2024-11-01T04:00-07:00, skipping
+                Cows have been milked!""";
+
+        assertEquals(expected, jobStarted.getLog());
+    }
+
 }
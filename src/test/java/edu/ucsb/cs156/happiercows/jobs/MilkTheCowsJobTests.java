@@ -2,25 +2,37 @@ package edu.ucsb.cs156.happiercows.jobs;
 
 import edu.ucsb.cs156.happiercows.JobTestCase;
 import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.Profit;
+import edu.ucsb.cs156.happiercows.entities.TickType;
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.ProfitRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +51,9 @@ public class MilkTheCowsJobTests extends JobTestCase {
     @Mock
     ProfitRepository profitRepository;
 
+    @Mock
+    TickCheckpointService tickCheckpointService;
+
     private User user = User
             .builder()
             .id(1L)
@@ -57,6 +72,13 @@ public class MilkTheCowsJobTests extends JobTestCase {
             .degradationRate(0.01)
             .build();
 
+    private final ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+    @BeforeEach
+    void setUp() {
+        applyEveryTick(tickCheckpointService);
+    }
+
 
     @Test
     void test_log_output_no_commons() throws Exception {
@@ -68,7 +90,7 @@ public class MilkTheCowsJobTests extends JobTestCase {
 
         // Act
         MilkTheCowsJob milkTheCowsJob = new MilkTheCowsJob(commonsRepository, userCommonsRepository,
-                userRepository, profitRepository);
+                userRepository, profitRepository, tickCheckpointService, scheduledTime);
 
         milkTheCowsJob.accept(ctx);
 
@@ -97,7 +119,7 @@ public class MilkTheCowsJobTests extends JobTestCase {
                 .cowHealth(10)
                 .build();
 
-        when(commonsRepository.findAll()).thenReturn(Arrays.asList(testCommons));
+        when(commonsRepository.findActive(any())).thenReturn(Arrays.asList(testCommons));
         when(userCommonsRepository.findByCommonsId(testCommons.getId()))
                 .thenReturn(Arrays.asList(origUserCommons));
         when(commonsRepository.getNumCows(testCommons.getId())).thenReturn(Optional.of(Integer.valueOf(1)));
@@ -105,7 +127,7 @@ public class MilkTheCowsJobTests extends JobTestCase {
 
         // Act
         MilkTheCowsJob MilkTheCowsJob = new MilkTheCowsJob(commonsRepository, userCommonsRepository,
-                userRepository, profitRepository);
+                userRepository, profitRepository, tickCheckpointService, scheduledTime);
         MilkTheCowsJob.accept(ctx);
 
         // Assert
@@ -147,7 +169,7 @@ public class MilkTheCowsJobTests extends JobTestCase {
 
         Commons commonsTemp[] = {testCommons};
         UserCommons userCommonsTemp[] = {origUserCommons};
-        when(commonsRepository.findAll()).thenReturn(Arrays.asList(commonsTemp));
+        when(commonsRepository.findActive(any())).thenReturn(Arrays.asList(commonsTemp));
         when(userCommonsRepository.findByCommonsId(testCommons.getId()))
                 .thenReturn(Arrays.asList(userCommonsTemp));
         when(commonsRepository.getNumCows(testCommons.getId())).thenReturn(Optional.of(Integer.valueOf(1)));
@@ -156,7 +178,7 @@ public class MilkTheCowsJobTests extends JobTestCase {
 
 
         // Act
-        MilkTheCowsJob.milkCows(ctx, testCommons, origUserCommons, profitRepository, userCommonsRepository);
+        MilkTheCowsJob.milkCows(ctx, testCommons, origUserCommons, profitRepository, userCommonsRepository, LocalDateTime.now());
 
         // Assert
 
@@ -167,4 +189,115 @@ public class MilkTheCowsJobTests extends JobTestCase {
         verify(userCommonsRepository).save(updatedUserCommons);
         assertEquals(expected, jobStarted.getLog());
     }
+
+    @Test
+    void test_profits_are_recorded_at_the_tick_time() throws Exception {
+
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        UserCommons userCommons = UserCommons.builder().user(user).commons(testCommons).totalWealth(300).numOfCows(1).cowHealth(10).build();
+        LocalDateTime serverTime = scheduledTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+
+        when(commonsRepository.findActive(serverTime)).thenReturn(Arrays.asList(testCommons));
+        when(userCommonsRepository.findByCommonsId(testCommons.getId())).thenReturn(Arrays.asList(userCommons));
+
+        // Act: a catch-up run long after the tick was scheduled
+        MilkTheCowsJob job = new MilkTheCowsJob(commonsRepository, userCommonsRepository,
+                userRepository, profitRepository, tickCheckpointService, scheduledTime);
+        job.accept(ctx);
+
+        // Assert
+
+        ArgumentCaptor<Profit> profit = ArgumentCaptor.forClass(Profit.class);
+        verify(profitRepository).save(profit.capture());
+        assertEquals(serverTime, profit.getValue().getTimestamp());
+    }
+
+    @Test
+    void test_calculateMilkingProfit_from_primitives_matches_entities() throws Exception {
+        Commons commons = Commons.builder().milkPrice(2.5).build();
+        UserCommons userCommons = UserCommons.builder().numOfCows(4).cowHealth(80).build();
+
+        assertEquals(8.0, MilkTheCowsJob.calculateMilkingProfit(2.5, 4, 80));
+        assertEquals(MilkTheCowsJob.calculateMilkingProfit(commons, userCommons), MilkTheCowsJob.calculateMilkingProfit(2.5, 4, 80));
+    }
+
+    @Test
+    void test_skips_commons_already_milked_for_scheduled_time() throws Exception {
+
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        when(commonsRepository.findActive(any())).thenReturn(Arrays.asList(testCommons));
+        doReturn(false).when(tickCheckpointService)
+                .runOnce(eq(TickType.milkTheCows), eq(testCommons.getId()), eq(scheduledTime), any());
+
+        // Act
+        MilkTheCowsJob job = new MilkTheCowsJob(commonsRepository, userCommonsRepository,
+                userRepository, profitRepository, tickCheckpointService, scheduledTime);
+        job.accept(ctx);
+
+        // Assert
+
+        verify(userCommonsRepository, never()).findByCommonsId(testCommons.getId());
+        assertEquals(TickType.milkTheCows, job.getTickType());
+
+        String expected = """
+                Starting to milk the cows
+                Commons test commons has already been milked for 2024-11-01T04:00-07:00, skipping
+                Cows have been milked!""";
+
+        assertEquals(expected, jobStarted.getLog());
+    }
+
+    @Test
+    void test_only_milks_commons_in_shard() throws Exception {
+
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        Commons otherCommons = Commons.builder().id(1L).name("other commons").milkPrice(2).build();
+
+        when(commonsRepository.findActive(any())).thenReturn(Arrays.asList(testCommons, otherCommons));
+
+        // Act
+        MilkTheCowsJob milkTheCowsJob = new MilkTheCowsJob(commonsRepository, userCommonsRepository,
+                userRepository, profitRepository, tickCheckpointService, scheduledTime, new CommonsShard(1, 2));
+        milkTheCowsJob.accept(ctx);
+
+        // Assert
+
+        verify(userCommonsRepository, never()).findByCommonsId(testCommons.getId());
+        String expected = """
+                Starting to milk the cows
+                Milking commons in shard 1 of 2
+                Milking cows for Commons: other commons, Milk Price: $2.00
+                Cows have been milked!""";
+
+        assertEquals(expected, jobStarted.getLog());
+    }
+
+    @Test
+    void test_milks_commons_active_at_the_scheduled_time() throws Exception {
+
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        LocalDateTime serverTime = scheduledTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+
+        when(commonsRepository.findActive(serverTime)).thenReturn(Arrays.asList());
+
+        // Act
+        MilkTheCowsJob job = new MilkTheCowsJob(commonsRepository, userCommonsRepository,
+                userRepository, profitRepository, tickCheckpointService, scheduledTime);
+        job.accept(ctx);
+
+        // Assert
+
+        verify(commonsRepository).findActive(serverTime);
+        verify(commonsRepository, never()).findAll();
+        assertEquals(serverTime, job.getTickTime());
+    }
 }
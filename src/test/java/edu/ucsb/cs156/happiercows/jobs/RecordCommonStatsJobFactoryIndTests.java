@@ -0,0 +1,51 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.CommonStatsService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+
+@RestClientTest(RecordCommonStatsJobFactoryInd.class)
+@AutoConfigureDataJpa
+public class RecordCommonStatsJobFactoryIndTests extends JobTestCase {
+
+    @MockBean
+    TickCheckpointService tickCheckpointService;
+
+    @MockBean
+    CommonStatsService commonStatsService;
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @Autowired
+    RecordCommonStatsJobFactoryInd recordCommonStatsJobFactoryInd;
+
+    @Test
+    void test_create() throws Exception {
+
+        // Arrange
+        ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+        // Act
+        RecordCommonStatsJobInd job = (RecordCommonStatsJobInd) recordCommonStatsJobFactoryInd.create(17L, scheduledTime);
+
+        // Assert
+        assertEquals(commonsRepository, job.getCommonsRepository());
+        assertEquals(commonStatsService, job.getCommonStatsService());
+        assertEquals(tickCheckpointService, job.getTickCheckpointService());
+        assertEquals(17L, job.getCommonsID());
+        assertEquals(scheduledTime, job.getScheduledTime());
+    }
+}
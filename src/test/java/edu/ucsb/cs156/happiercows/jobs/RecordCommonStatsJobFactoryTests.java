@@ -2,6 +2,8 @@ package edu.ucsb.cs156.happiercows.jobs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.ZonedDateTime;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,8 @@ import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.services.CommonStatsService;
 
@@ -17,6 +21,9 @@ import edu.ucsb.cs156.happiercows.services.CommonStatsService;
 @AutoConfigureDataJpa
 public class RecordCommonStatsJobFactoryTests extends JobTestCase {
 
+    @MockBean
+    TickCheckpointService tickCheckpointService;
+
     @MockBean
     CommonStatsService commonStatsService;
 
@@ -37,4 +44,34 @@ public class RecordCommonStatsJobFactoryTests extends JobTestCase {
         assertEquals(commonStatsService,recordCommonStatsJob.getCommonStatsService());
 
     }
+
+    @Test
+    void test_create_for_scheduled_time() throws Exception {
+
+        // Arrange
+        ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+        // Act
+        RecordCommonStatsJob job = (RecordCommonStatsJob) RecordCommonStatsJobFactory.create(scheduledTime);
+
+        // Assert
+        assertEquals(tickCheckpointService, job.getTickCheckpointService());
+        assertEquals(scheduledTime, job.getScheduledTime());
+        assertEquals(CommonsShard.ALL, job.getShard());
+    }
+
+    @Test
+    void test_create_for_shard() throws Exception {
+
+        // Arrange
+        ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+        CommonsShard shard = new CommonsShard(1, 3);
+
+        // Act
+        RecordCommonStatsJob job = (RecordCommonStatsJob) RecordCommonStatsJobFactory.create(scheduledTime, shard);
+
+        // Assert
+        assertEquals(scheduledTime, job.getScheduledTime());
+        assertEquals(shard, job.getShard());
+    }
 }
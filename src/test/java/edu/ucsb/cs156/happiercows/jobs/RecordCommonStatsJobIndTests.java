@@ -0,0 +1,131 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.CommonStats;
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.services.CommonStatsService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+public class RecordCommonStatsJobIndTests extends JobTestCase {
+
+    @MockBean
+    CommonStatsService commonStatsService;
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    TickCheckpointService tickCheckpointService;
+
+    private final ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+    @BeforeEach
+    void setUp() {
+        applyEveryTick(tickCheckpointService);
+    }
+
+    @Test
+    void test_log_output() throws Exception {
+
+        // Arrange
+        Commons commons = Commons.builder().id(17L).name("CS156").build();
+        CommonStats commonStats = CommonStats.builder().id(42L).build();
+
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        when(commonStatsService.createAndSaveCommonStats(17L)).thenReturn(commonStats);
+
+        // Act
+        RecordCommonStatsJobInd recordCommonStatsJobInd =
+                new RecordCommonStatsJobInd(commonStatsService, commonsRepository, 17L, tickCheckpointService, scheduledTime);
+        recordCommonStatsJobInd.accept(ctx);
+
+        // Assert
+        verify(commonStatsService).createAndSaveCommonStats(17L);
+        assertEquals(TickType.recordCommonStats, recordCommonStatsJobInd.getTickType());
+        assertEquals(Long.valueOf(17L), recordCommonStatsJobInd.getTickCommonsId());
+
+        String expected = """
+            Starting record common stats job...
+            CommonStats 42 for commons id=17 (CS156) finished.
+            Record common stats job done!""";
+        assertEquals(expected, jobStarted.getLog());
+    }
+
+    @Test
+    void test_no_commons() throws Exception {
+
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(commonsRepository.findById(17L)).thenReturn(Optional.empty());
+
+        // Act
+        RecordCommonStatsJobInd recordCommonStatsJobInd =
+                new RecordCommonStatsJobInd(commonStatsService, commonsRepository, 17L, tickCheckpointService, scheduledTime);
+        recordCommonStatsJobInd.accept(ctx);
+
+        // Assert
+        verify(commonStatsService, never()).createAndSaveCommonStats(anyLong());
+
+        String expected = """
+            Starting record common stats job...
+            No commons found for id 17""";
+        assertEquals(expected, jobStarted.getLog());
+    }
+
+    @Test
+    void test_skips_commons_already_recorded_for_scheduled_time() throws Exception {
+
+        // Arrange
+        Commons commons = Commons.builder().id(17L).name("CS156").build();
+
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        doReturn(false).when(tickCheckpointService)
+                .runOnce(eq(TickType.recordCommonStats), eq(17L), eq(scheduledTime), any());
+
+        // Act
+        RecordCommonStatsJobInd recordCommonStatsJobInd =
+                new RecordCommonStatsJobInd(commonStatsService, commonsRepository, 17L, tickCheckpointService, scheduledTime);
+        recordCommonStatsJobInd.accept(ctx);
+
+        // Assert
+        verify(commonStatsService, never()).createAndSaveCommonStats(anyLong());
+
+        String expected = """
+            Starting record common stats job...
+            Stats for commons id=17 (CS156) were already recorded for 2024-11-01T04:00-07:00, skipping
+            Record common stats job done!""";
+        assertEquals(expected, jobStarted.getLog());
+    }
+}
@@ -1,12 +1,18 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -16,10 +22,12 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.JobTestCase;
 import edu.ucsb.cs156.happiercows.entities.CommonStats;
+import edu.ucsb.cs156.happiercows.entities.TickType;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.services.AverageCowHealthService;
 import edu.ucsb.cs156.happiercows.services.CommonStatsService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
 
 @ExtendWith(SpringExtension.class)
@@ -35,6 +43,16 @@ public class RecordCommonStatsJobTests extends JobTestCase {
     @MockBean
     CommonsRepository commonsRepository;
 
+    @MockBean
+    TickCheckpointService tickCheckpointService;
+
+    private final ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+    @BeforeEach
+    void setUp() {
+        applyEveryTick(tickCheckpointService);
+    }
+
     @Test
     void test_log_output() throws Exception {
 
@@ -46,17 +64,17 @@ public class RecordCommonStatsJobTests extends JobTestCase {
         Job jobStarted = Job.builder().build();
         JobContext ctx = new JobContext(null, jobStarted);
       
-        when(commonsRepository.findAll()).thenReturn(Arrays.asList(commons));      
+        when(commonsRepository.findActive(any())).thenReturn(Arrays.asList(commons));      
         when(commonStatsService.createAndSaveCommonStats(17L)).thenReturn(commonStats);
 
         // Act
         RecordCommonStatsJob recordCommonStatsJob = 
-                new RecordCommonStatsJob(commonStatsService, commonsRepository);
+                new RecordCommonStatsJob(commonStatsService, commonsRepository, tickCheckpointService, scheduledTime);
         recordCommonStatsJob.accept(ctx);
 
         // Assert
 
-        verify(commonsRepository).findAll();
+        verify(commonsRepository).findActive(any());
         verify(commonStatsService).createAndSaveCommonStats(17L);
         
         String expected = """
@@ -73,16 +91,16 @@ public class RecordCommonStatsJobTests extends JobTestCase {
         // Arrange
         Job jobStarted = Job.builder().build();
         JobContext ctx = new JobContext(null, jobStarted);
-        when(commonsRepository.findAll()).thenReturn(new ArrayList<>());
+        when(commonsRepository.findActive(any())).thenReturn(new ArrayList<>());
 
         // Act
         RecordCommonStatsJob recordCommonStatsJob = 
-                new RecordCommonStatsJob(commonStatsService, commonsRepository);
+                new RecordCommonStatsJob(commonStatsService, commonsRepository, tickCheckpointService, scheduledTime);
         recordCommonStatsJob.accept(ctx);
 
         // Assert
 
-        verify(commonsRepository).findAll();
+        verify(commonsRepository).findActive(any());
         
         String expected = """
             Starting record common stats job...
@@ -90,4 +108,41 @@ public class RecordCommonStatsJobTests extends JobTestCase {
         assertEquals(expected, jobStarted.getLog());
     }
     
+    @Test
+    void test_skips_commons_already_recorded_for_scheduled_time() throws Exception {
+
+        // Arrange
+        Commons commons1 = Commons.builder().id(17L).name("CS156").build();
+        Commons commons2 = Commons.builder().id(18L).name("CS148").build();
+        CommonStats commonStats = CommonStats.builder().id(42L).build();
+
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        when(commonsRepository.findActive(any())).thenReturn(Arrays.asList(commons1, commons2));
+        when(commonStatsService.createAndSaveCommonStats(18L)).thenReturn(commonStats);
+        doReturn(false).when(tickCheckpointService)
+                .runOnce(eq(TickType.recordCommonStats), eq(17L), eq(scheduledTime), any());
+
+        // Act
+        RecordCommonStatsJob recordCommonStatsJob =
+                new RecordCommonStatsJob(commonStatsService, commonsRepository, tickCheckpointService, scheduledTime);
+        recordCommonStatsJob.accept(ctx);
+
+        // Assert
+
+        verify(commonStatsService, never()).createAndSaveCommonStats(17L);
+        verify(commonStatsService).createAndSaveCommonStats(18L);
+        assertEquals(TickType.recordCommonStats, recordCommonStatsJob.getTickType());
+
+        String expected = """
+            Starting record common stats job...
+            Starting Commons id=17 (CS156)...
+            Stats for commons id=17 (CS156) were already recorded for 2024-11-01T04:00-07:00, skipping
+            Starting Commons id=18 (CS148)...
+            CommonStats 42 for commons id=18 (CS148) finished.
+            Record common stats job done!""";
+        assertEquals(expected, jobStarted.getLog());
+    }
+
 }
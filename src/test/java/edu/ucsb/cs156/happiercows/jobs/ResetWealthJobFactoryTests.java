@@ -0,0 +1,45 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+
+@RestClientTest(ResetWealthJobFactory.class)
+@AutoConfigureDataJpa
+public class ResetWealthJobFactoryTests extends JobTestCase {
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    UserCommonsRepository userCommonsRepository;
+
+    @MockBean
+    GameStateEngine gameStateEngine;
+
+    @Autowired
+    ResetWealthJobFactory resetWealthJobFactory;
+
+    @Test
+    void test_create() throws Exception {
+
+        // Act
+        ResetWealthJob job = (ResetWealthJob) resetWealthJobFactory.create(117L, 250.0);
+
+        // Assert
+        assertEquals(commonsRepository, job.getCommonsRepository());
+        assertEquals(userCommonsRepository, job.getUserCommonsRepository());
+        assertEquals(gameStateEngine, job.getGameStateEngine());
+    }
+}
+
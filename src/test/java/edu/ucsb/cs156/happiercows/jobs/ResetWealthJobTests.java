@@ -0,0 +1,57 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+public class ResetWealthJobTests extends JobTestCase {
+
+    @Mock
+    CommonsRepository commonsRepository;
+
+    @Mock
+    UserCommonsRepository userCommonsRepository;
+
+    // the in-memory engine is off, so the update just runs
+    private final GameStateEngine gameStateEngine = new GameStateEngine();
+
+    private final Commons commons = Commons.builder().id(17L).name("CS156 F24").build();
+
+    @Test
+    void test_resets_wealth_of_every_farmer() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        when(userCommonsRepository.setTotalWealth(17L, 250.0)).thenReturn(40);
+
+        // Act
+        new ResetWealthJob(17L, 250.0, commonsRepository, userCommonsRepository, gameStateEngine).accept(ctx);
+
+        // Assert
+        verify(userCommonsRepository).setTotalWealth(17L, 250.0);
+        String expected = """
+                Resetting wealth...
+                Commons CS156 F24
+                Wealth set to 250.0 for 40 farmers""";
+        assertEquals(expected, jobStarted.getLog());
+    }
+}
@@ -1,12 +1,20 @@
 package edu.ucsb.cs156.happiercows.jobs;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.TickType;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
+import edu.ucsb.cs156.happiercows.services.SchedulerLockService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
 import edu.ucsb.cs156.happiercows.services.jobs.JobService;
@@ -35,12 +43,23 @@ public class ScheduledJobsTests extends JobTestCase {
     @MockBean
     RecordCommonStatsJobFactory recordCommonStatsJobFactory;
 
+    @MockBean
+    JobRetentionJobFactory jobRetentionJobFactory;
+
+    @MockBean
+    CatchUpTicksJobFactory catchUpTicksJobFactory;
+
     @Autowired
     private ScheduledJobs scheduledJobs;
 
     @MockBean
     private JobService jobService;
 
+    @MockBean
+    SchedulerLockService schedulerLockService;
+
+    private final CommonsShard shard = new CommonsShard(1, 2);
+
     @Test
     void test_runUpdateCowHealthJobBasedOnCron() throws Exception {
 
@@ -49,7 +68,8 @@ public class ScheduledJobsTests extends JobTestCase {
         Job job = Job.builder().build();
         MockJobContextConsumer mockJob = new MockJobContextConsumer();
 
-       when(updateCowHealthJobFactory.create()).thenReturn(mockJob);
+       when(schedulerLockService.claimTickShards(TickType.updateCowHealth)).thenReturn(List.of(shard));
+       when(updateCowHealthJobFactory.create(any(), eq(shard))).thenReturn(mockJob);
        when(jobService.runAsJob(any())).thenReturn(job);
 
         // Act
@@ -59,7 +79,7 @@ public class ScheduledJobsTests extends JobTestCase {
         // Assert
 
         verify(jobService, times(1)).runAsJob(mockJob);
-        verify(updateCowHealthJobFactory, times(1)).create();
+        verify(updateCowHealthJobFactory, times(1)).create(argThat(t -> t.getSecond() == 0 && t.getNano() == 0), eq(shard));
 
     }
 
@@ -71,7 +91,8 @@ public class ScheduledJobsTests extends JobTestCase {
         Job job = Job.builder().build();
         MockJobContextConsumer mockJob = new MockJobContextConsumer();
 
-       when(milkTheCowsJobFactory.create()).thenReturn(mockJob);
+       when(schedulerLockService.claimTickShards(TickType.milkTheCows)).thenReturn(List.of(shard));
+       when(milkTheCowsJobFactory.create(any(), eq(shard))).thenReturn(mockJob);
        when(jobService.runAsJob(any())).thenReturn(job);
 
         // Act
@@ -81,7 +102,7 @@ public class ScheduledJobsTests extends JobTestCase {
         // Assert
 
         verify(jobService, times(1)).runAsJob(mockJob);
-        verify(milkTheCowsJobFactory, times(1)).create();
+        verify(milkTheCowsJobFactory, times(1)).create(argThat(t -> t.getSecond() == 0 && t.getNano() == 0), eq(shard));
 
     }
 
@@ -93,7 +114,8 @@ public class ScheduledJobsTests extends JobTestCase {
         Job job = Job.builder().build();
         MockJobContextConsumer mockJob = new MockJobContextConsumer();
 
-       when(recordCommonStatsJobFactory.create()).thenReturn(mockJob);
+       when(schedulerLockService.claimTickShards(TickType.recordCommonStats)).thenReturn(List.of(shard));
+       when(recordCommonStatsJobFactory.create(any(), eq(shard))).thenReturn(mockJob);
        when(jobService.runAsJob(any())).thenReturn(job);
 
         // Act
@@ -103,9 +125,142 @@ public class ScheduledJobsTests extends JobTestCase {
         // Assert
 
         verify(jobService, times(1)).runAsJob(mockJob);
-        verify(recordCommonStatsJobFactory, times(1)).create();
+        verify(recordCommonStatsJobFactory, times(1)).create(argThat(t -> t.getSecond() == 0 && t.getNano() == 0), eq(shard));
+
+    }
+
+    @Test
+    void test_runJobRetentionJobBasedOnCron() throws Exception {
+
+        // Arrange
+
+        Job job = Job.builder().build();
+        MockJobContextConsumer mockJob = new MockJobContextConsumer();
+
+        when(schedulerLockService.claimSingleton("jobRetention")).thenReturn(true);
+        when(jobRetentionJobFactory.create()).thenReturn(mockJob);
+        when(jobService.runAsJob(any())).thenReturn(job);
+
+        // Act
+
+        scheduledJobs.runJobRetentionJobBasedOnCron();
+
+        // Assert
+
+        verify(jobService, times(1)).runAsJob(mockJob);
+        verify(jobRetentionJobFactory, times(1)).create();
+
+    }
+
+    @Test
+    void test_tick_is_not_launched_without_a_shard_lease() throws Exception {
+
+        // Arrange
+
+        when(schedulerLockService.claimTickShards(TickType.milkTheCows)).thenReturn(List.of());
+
+        // Act
+
+        scheduledJobs.runMilkTheCowsJobBasedOnCron();
+
+        // Assert
+
+        verify(milkTheCowsJobFactory, never()).create(any(), any());
+        verify(jobService, never()).runAsJob(any());
+    }
+
+    @Test
+    void test_tick_is_launched_once_per_claimed_shard() throws Exception {
+
+        // Arrange
+
+        CommonsShard other = new CommonsShard(0, 2);
+        when(schedulerLockService.claimTickShards(TickType.updateCowHealth)).thenReturn(List.of(other, shard));
+        when(updateCowHealthJobFactory.create(any(), any())).thenReturn(new MockJobContextConsumer());
+
+        // Act
+
+        scheduledJobs.runUpdateCowHealthJobBasedOnCron();
+
+        // Assert
+
+        verify(updateCowHealthJobFactory).create(any(), eq(other));
+        verify(updateCowHealthJobFactory).create(any(), eq(shard));
+        verify(jobService, times(2)).runAsJob(any());
+    }
+
+    @Test
+    void test_job_retention_runs_on_one_instance_only() throws Exception {
+
+        // Arrange
+
+        when(schedulerLockService.claimSingleton("jobRetention")).thenReturn(false);
+
+        // Act
+
+        scheduledJobs.runJobRetentionJobBasedOnCron();
+
+        // Assert
+
+        verify(jobRetentionJobFactory, never()).create();
+        verify(jobService, never()).runAsJob(any());
+    }
+
+    @Test
+    void test_catch_up_ticks_runs_on_startup() throws Exception {
+
+        // Arrange
+
+        MockJobContextConsumer mockJob = new MockJobContextConsumer();
+        when(schedulerLockService.claimSingleton("tickCatchUp")).thenReturn(true);
+        when(catchUpTicksJobFactory.create()).thenReturn(mockJob);
+
+        // Act
+
+        scheduledJobs.runCatchUpTicksJobOnStartup();
+
+        // Assert
+
+        verify(jobService, times(1)).runAsJob(mockJob);
+    }
 
+    @Test
+    void test_catch_up_ticks_runs_on_one_instance_only() throws Exception {
+
+        // Arrange
+
+        when(schedulerLockService.claimSingleton("tickCatchUp")).thenReturn(false);
+
+        // Act
+
+        scheduledJobs.runCatchUpTicksJobOnStartup();
+
+        // Assert
+
+        verify(catchUpTicksJobFactory, never()).create();
+        verify(jobService, never()).runAsJob(any());
     }
 
-  
-}
\ No newline at end of file
+    @Test
+    void test_global_ticks_do_nothing_when_ticks_are_per_commons() throws Exception {
+
+        // Arrange
+
+        scheduledJobs.perCommons = true;
+
+        // Act
+
+        try {
+            scheduledJobs.runMilkTheCowsJobBasedOnCron();
+            scheduledJobs.runUpdateCowHealthJobBasedOnCron();
+            scheduledJobs.runRecordCommonStatsJobBasedOnCron();
+        } finally {
+            scheduledJobs.perCommons = false;
+        }
+
+        // Assert
+
+        verify(schedulerLockService, never()).claimTickShards(any());
+        verify(jobService, never()).runAsJob(any());
+    }
+}
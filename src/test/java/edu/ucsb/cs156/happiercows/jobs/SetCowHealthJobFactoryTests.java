@@ -12,7 +12,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import edu.ucsb.cs156.happiercows.JobTestCase;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
-import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
 
 @RestClientTest(SetCowHealthJobFactory.class)
 @AutoConfigureDataJpa
@@ -25,7 +25,7 @@ public class SetCowHealthJobFactoryTests extends JobTestCase {
     UserCommonsRepository userCommonsRepository;
 
     @MockBean
-    UserRepository userRepository;
+    GameStateEngine gameStateEngine;
 
     @Autowired
     SetCowHealthJobFactory setCowHealthJobFactory;
@@ -39,7 +39,7 @@ public class SetCowHealthJobFactoryTests extends JobTestCase {
         // Assert
         assertEquals(commonsRepository,setCowHealthJob.getCommonsRepository());
         assertEquals(userCommonsRepository,setCowHealthJob.getUserCommonsRepository());
-        assertEquals(userRepository,setCowHealthJob.getUserRepository());
+        assertEquals(gameStateEngine, setCowHealthJob.getGameStateEngine());
 
     }
 }
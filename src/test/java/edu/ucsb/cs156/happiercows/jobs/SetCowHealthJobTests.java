@@ -2,12 +2,10 @@ package edu.ucsb.cs156.happiercows.jobs;
 
 import edu.ucsb.cs156.happiercows.JobTestCase;
 import edu.ucsb.cs156.happiercows.entities.Commons;
-import edu.ucsb.cs156.happiercows.entities.User;
-import edu.ucsb.cs156.happiercows.entities.UserCommons;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
-import edu.ucsb.cs156.happiercows.repositories.UserRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,11 +14,13 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -32,15 +32,8 @@ public class SetCowHealthJobTests extends JobTestCase {
     @Mock
     UserCommonsRepository userCommonsRepository;
 
-    @Mock
-    UserRepository userRepository;
-
-    private User user = User
-            .builder()
-            .id(1L)
-            .fullName("Chris Gaucho")
-            .email("cgaucho@example.org")
-            .build();
+    // the in-memory engine is off, so the update just runs
+    private final GameStateEngine gameStateEngine = new GameStateEngine();
 
     private Commons testCommons = Commons
             .builder()
@@ -56,71 +49,17 @@ public class SetCowHealthJobTests extends JobTestCase {
 
 
     @Test
-    void error_msg_when_no_commons_found() throws Exception {
-
-        // Arrange
-
-        Job jobStarted = Job.builder().build();
-        JobContext ctx = new JobContext(null, jobStarted);
-
-        when(commonsRepository.findById(any())).thenReturn(Optional.empty());
-
-        // Act
-        SetCowHealthJob setCowHealthJob = new SetCowHealthJob(117L, 2.0, commonsRepository, userCommonsRepository,
-                userRepository);
-        setCowHealthJob.accept(ctx);
-
-        // Assert
-        String expected = """
-                Setting cow health...
-                No commons found for id 117""";
-
-        assertEquals(expected, jobStarted.getLog());
-
-    }
-
-
-    UserCommons getUserCommons() {
-        return UserCommons
-                .builder()
-                .user(user)
-                .commons(testCommons)
-                .totalWealth(300)
-                .numOfCows(5)
-                .cowHealth(50)
-                .build();
-    }
-
-    @Test
-    void test_updating_to_new_values_for_multiple() throws Exception {
+    void test_updating_every_farmer_in_one_update() throws Exception {
 
         // Arrange
         Job jobStarted = Job.builder().build();
         JobContext ctx = new JobContext(null, jobStarted);
 
-        var userCommonsList = Arrays.asList(
-                getUserCommons(),
-                getUserCommons(),
-                getUserCommons()
-        );
-
-        UserCommons newUserCommons = UserCommons
-                .builder()
-                .user(user)
-                .commons(testCommons)
-                .totalWealth(300 - testCommons.getCowPrice())
-                .numOfCows(5)
-                .cowHealth(2.0)
-                .build();
-
         when(commonsRepository.findById(117L)).thenReturn(Optional.of(testCommons));
-        when(userCommonsRepository.findByCommonsId(testCommons.getId()))
-                .thenReturn(userCommonsList);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userCommonsRepository.setCowHealth(117L, 2.0)).thenReturn(3);
 
         // Act
-        SetCowHealthJob setCowHealthJob = new SetCowHealthJob(117, 2, commonsRepository, userCommonsRepository,
-                userRepository);
+        SetCowHealthJob setCowHealthJob = new SetCowHealthJob(117, 2, commonsRepository, userCommonsRepository, gameStateEngine);
         setCowHealthJob.accept(ctx);
 
         // Assert
@@ -128,15 +67,11 @@ public class SetCowHealthJobTests extends JobTestCase {
         String expected = """
                 Setting cow health...
                 Commons test commons
-                User: Chris Gaucho, numCows: 5, cowHealth: 50.0
-                 old cow health: 50.0, new cow health: 2.0
-                User: Chris Gaucho, numCows: 5, cowHealth: 50.0
-                 old cow health: 50.0, new cow health: 2.0
-                User: Chris Gaucho, numCows: 5, cowHealth: 50.0
-                 old cow health: 50.0, new cow health: 2.0
-                Cow health has been set!""";
+                Cow health set to 2.0 for 3 farmers""";
 
         assertEquals(expected, jobStarted.getLog());
-        userCommonsList.forEach(userCommons -> assertEquals(newUserCommons.getCowHealth(), userCommons.getCowHealth()));
+        verify(userCommonsRepository, times(1)).setCowHealth(117L, 2.0);
+        verify(userCommonsRepository, never()).findByCommonsId(any());
+        verify(userCommonsRepository, never()).save(any());
     }
 }
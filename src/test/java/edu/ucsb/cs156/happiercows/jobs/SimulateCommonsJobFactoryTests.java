@@ -0,0 +1,36 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.services.SimulationService;
+
+@RestClientTest(SimulateCommonsJobFactory.class)
+@AutoConfigureDataJpa
+public class SimulateCommonsJobFactoryTests extends JobTestCase {
+
+    @MockBean
+    SimulationService simulationService;
+
+    @Autowired
+    SimulateCommonsJobFactory simulateCommonsJobFactory;
+
+    @Test
+    void test_create() throws Exception {
+
+        // Act
+        SimulateCommonsJob simulateCommonsJob = (SimulateCommonsJob) simulateCommonsJobFactory.create(17L, 300);
+
+        // Assert
+        assertEquals(simulationService, simulateCommonsJob.getSimulationService());
+        assertEquals(17L, simulateCommonsJob.getCommonsId());
+        assertEquals(300, simulateCommonsJob.getTicks());
+    }
+}
@@ -0,0 +1,60 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.models.SimulationParams;
+import edu.ucsb.cs156.happiercows.models.SimulationResult;
+import edu.ucsb.cs156.happiercows.services.SimulationService;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+public class SimulateCommonsJobTests extends JobTestCase {
+
+    @MockBean
+    SimulationService simulationService;
+
+    @Test
+    void test_log_output() throws Exception {
+
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+
+        SimulationParams params = SimulationParams.builder().ticks(40).sampleEvery(4).build();
+        SimulationResult result = SimulationResult.builder()
+                .params(params)
+                .numUsers(2)
+                .effectiveCapacity(100)
+                .ticks(new int[] { 0, 40 })
+                .totalCows(new int[] { 12, 4 })
+                .averageCowHealth(new double[] { 75.5, 62.25 })
+                .totalWealth(new double[] { 100, 250.5 })
+                .cowDeaths(new int[] { 0, 8 })
+                .build();
+        when(simulationService.simulate(eq(17L), eq(params))).thenReturn(result);
+
+        // Act
+        SimulateCommonsJob simulateCommonsJob = new SimulateCommonsJob(simulationService, 17L, 40);
+        simulateCommonsJob.accept(ctx);
+
+        // Assert
+        String expected = """
+            Simulating commons id=17 for 40 ticks...
+            Users: 2, effective capacity: 100
+            Tick 0: cows: 12, average cow health: 75.50, total wealth: $100.00, cow deaths: 0
+            Tick 40: cows: 4, average cow health: 62.25, total wealth: $250.50, cow deaths: 8
+            Simulation done!""";
+        assertEquals(expected, jobStarted.getLog());
+    }
+}
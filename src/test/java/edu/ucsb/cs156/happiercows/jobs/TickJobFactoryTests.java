@@ -0,0 +1,78 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContextConsumer;
+
+@RestClientTest(TickJobFactory.class)
+@AutoConfigureDataJpa
+public class TickJobFactoryTests extends JobTestCase {
+
+    @MockBean
+    MilkTheCowsJobFactory milkTheCowsJobFactory;
+
+    @MockBean
+    MilkTheCowsJobFactoryInd milkTheCowsJobFactoryInd;
+
+    @MockBean
+    UpdateCowHealthJobFactory updateCowHealthJobFactory;
+
+    @MockBean
+    UpdateCowHealthJobFactoryInd updateCowHealthJobFactoryInd;
+
+    @MockBean
+    RecordCommonStatsJobFactory recordCommonStatsJobFactory;
+
+    @MockBean
+    RecordCommonStatsJobFactoryInd recordCommonStatsJobFactoryInd;
+
+    @Autowired
+    TickJobFactory tickJobFactory;
+
+    private final ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+    @Test
+    void test_create_milkTheCows() {
+        JobContextConsumer all = mock(JobContextConsumer.class);
+        JobContextConsumer one = mock(JobContextConsumer.class);
+        when(milkTheCowsJobFactory.create(scheduledTime)).thenReturn(all);
+        when(milkTheCowsJobFactoryInd.create(17L, scheduledTime)).thenReturn(one);
+
+        assertSame(all, tickJobFactory.create(TickType.milkTheCows, null, scheduledTime));
+        assertSame(one, tickJobFactory.create(TickType.milkTheCows, 17L, scheduledTime));
+    }
+
+    @Test
+    void test_create_updateCowHealth() {
+        JobContextConsumer all = mock(JobContextConsumer.class);
+        JobContextConsumer one = mock(JobContextConsumer.class);
+        when(updateCowHealthJobFactory.create(scheduledTime)).thenReturn(all);
+        when(updateCowHealthJobFactoryInd.create(17L, scheduledTime)).thenReturn(one);
+
+        assertSame(all, tickJobFactory.create(TickType.updateCowHealth, null, scheduledTime));
+        assertSame(one, tickJobFactory.create(TickType.updateCowHealth, 17L, scheduledTime));
+    }
+
+    @Test
+    void test_create_recordCommonStats() {
+        JobContextConsumer all = mock(JobContextConsumer.class);
+        JobContextConsumer one = mock(JobContextConsumer.class);
+        when(recordCommonStatsJobFactory.create(scheduledTime)).thenReturn(all);
+        when(recordCommonStatsJobFactoryInd.create(17L, scheduledTime)).thenReturn(one);
+
+        assertSame(all, tickJobFactory.create(TickType.recordCommonStats, null, scheduledTime));
+        assertSame(one, tickJobFactory.create(TickType.recordCommonStats, 17L, scheduledTime));
+    }
+}
@@ -2,6 +2,8 @@ package edu.ucsb.cs156.happiercows.jobs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.ZonedDateTime;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,8 @@ import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.services.CowDeathService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
@@ -19,6 +23,12 @@ import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
 @AutoConfigureDataJpa
 public class UpdateCowHealthJobFactoryIndTests extends JobTestCase {
 
+    @MockBean
+    TickCheckpointService tickCheckpointService;
+
+    @MockBean
+    CowDeathService cowDeathService;
+
     @MockBean
     CommonsRepository commonsRepository;
 
@@ -47,5 +57,19 @@ public class UpdateCowHealthJobFactoryIndTests extends JobTestCase {
         assertEquals(commonsPlusBuilderService,updateCowHealthJobInd.getCommonsPlusBuilderService());
 
     }
-}
 
+    @Test
+    void test_create_for_scheduled_time() throws Exception {
+
+        // Arrange
+        ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+        // Act
+        UpdateCowHealthJobInd job = (UpdateCowHealthJobInd) updateCowHealthJobFactoryInd.create(1L, scheduledTime);
+
+        // Assert
+        assertEquals(tickCheckpointService, job.getTickCheckpointService());
+        assertEquals(cowDeathService, job.getCowDeathService());
+        assertEquals(scheduledTime, job.getScheduledTime());
+    }
+}
@@ -2,6 +2,8 @@ package edu.ucsb.cs156.happiercows.jobs;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.ZonedDateTime;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +12,9 @@ import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
+import edu.ucsb.cs156.happiercows.services.CowDeathService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
@@ -19,6 +24,12 @@ import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
 @AutoConfigureDataJpa
 public class UpdateCowHealthJobFactoryTests extends JobTestCase {
 
+    @MockBean
+    TickCheckpointService tickCheckpointService;
+
+    @MockBean
+    CowDeathService cowDeathService;
+
     @MockBean
     CommonsRepository commonsRepository;
 
@@ -46,5 +57,35 @@ public class UpdateCowHealthJobFactoryTests extends JobTestCase {
         assertEquals(userRepository,updateCowHealthJob.getUserRepository());
 
     }
-}
 
+    @Test
+    void test_create_for_scheduled_time() throws Exception {
+
+        // Arrange
+        ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+        // Act
+        UpdateCowHealthJob job = (UpdateCowHealthJob) updateCowHealthJobFactory.create(scheduledTime);
+
+        // Assert
+        assertEquals(tickCheckpointService, job.getTickCheckpointService());
+        assertEquals(cowDeathService, job.getCowDeathService());
+        assertEquals(scheduledTime, job.getScheduledTime());
+        assertEquals(CommonsShard.ALL, job.getShard());
+    }
+
+    @Test
+    void test_create_for_shard() throws Exception {
+
+        // Arrange
+        ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+        CommonsShard shard = new CommonsShard(1, 3);
+
+        // Act
+        UpdateCowHealthJob job = (UpdateCowHealthJob) updateCowHealthJobFactory.create(scheduledTime, shard);
+
+        // Assert
+        assertEquals(scheduledTime, job.getScheduledTime());
+        assertEquals(shard, job.getShard());
+    }
+}
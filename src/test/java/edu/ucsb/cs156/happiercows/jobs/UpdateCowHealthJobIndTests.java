@@ -3,6 +3,7 @@ package edu.ucsb.cs156.happiercows.jobs;
 import edu.ucsb.cs156.happiercows.JobTestCase;
 import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.entities.CommonsPlus;
+import edu.ucsb.cs156.happiercows.entities.TickType;
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
@@ -10,9 +11,12 @@ import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.services.CowDeathService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
 import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategies;
 import edu.ucsb.cs156.happiercows.jobs.UpdateCowHealthJob;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -24,11 +28,16 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -49,6 +58,12 @@ public class UpdateCowHealthJobIndTests extends JobTestCase {
         @Mock
         UpdateCowHealthJob updateCowHealthJob;
 
+        @Mock
+        TickCheckpointService tickCheckpointService;
+
+        @Mock
+        CowDeathService cowDeathService;
+
         private final User user = User
                         .builder()
                         .id(1L)
@@ -86,12 +101,19 @@ public class UpdateCowHealthJobIndTests extends JobTestCase {
                         .cowHealth(10.0)
                         .build();
 
+        private final ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
         private final Job job = Job.builder().build();
         private final JobContext ctx = new JobContext(null, job);
 
+        @BeforeEach
+        void setUp() {
+                applyEveryTick(tickCheckpointService);
+        }
+
         private void runUpdateCowHealthJob() throws Exception {
                 var updateCowHealthJobInd = new UpdateCowHealthJobInd(commonsRepository, userCommonsRepository,
-                                userRepository, commonsPlusBuilderService, 1L);
+                                userRepository, commonsPlusBuilderService, 1L, tickCheckpointService, scheduledTime, cowDeathService);
                 updateCowHealthJobInd.accept(ctx);
         }
 
@@ -138,4 +160,25 @@ public class UpdateCowHealthJobIndTests extends JobTestCase {
         assertEquals(expected, job.getLog());
     }
 
+    @Test
+    void test_skips_commons_already_updated_for_scheduled_time() throws Exception {
+        when(commonsRepository.findById(eq(1L))).thenReturn(Optional.of(commons));
+        when(commonsPlusBuilderService.toCommonsPlus(eq(commons))).thenReturn(commonsPlus);
+        doReturn(false).when(tickCheckpointService)
+                .runOnce(eq(TickType.updateCowHealth), eq(commons.getId()), eq(scheduledTime), any());
+
+        var updateCowHealthJobInd = new UpdateCowHealthJobInd(commonsRepository, userCommonsRepository,
+                userRepository, commonsPlusBuilderService, 1L, tickCheckpointService, scheduledTime, cowDeathService);
+        updateCowHealthJobInd.accept(ctx);
+
+        verify(userCommonsRepository, never()).findByCommonsId(commons.getId());
+        assertEquals(Long.valueOf(1L), updateCowHealthJobInd.getTickCommonsId());
+        assertEquals(TickType.updateCowHealth, updateCowHealthJobInd.getTickType());
+
+        String expected = """
+                Updating cow health...
+                Commons test commons has already had its cow health updated for 2024-11-01T04:00-07:00, skipping
+                Cow health has been updated!""";
+        assertEquals(expected, job.getLog());
+    }
 }
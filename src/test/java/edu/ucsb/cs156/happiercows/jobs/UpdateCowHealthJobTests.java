@@ -3,6 +3,8 @@ package edu.ucsb.cs156.happiercows.jobs;
 import edu.ucsb.cs156.happiercows.JobTestCase;
 import edu.ucsb.cs156.happiercows.entities.Commons;
 import edu.ucsb.cs156.happiercows.entities.CommonsPlus;
+import edu.ucsb.cs156.happiercows.entities.CowDeath;
+import edu.ucsb.cs156.happiercows.entities.TickType;
 import edu.ucsb.cs156.happiercows.entities.User;
 import edu.ucsb.cs156.happiercows.entities.UserCommons;
 import edu.ucsb.cs156.happiercows.entities.jobs.Job;
@@ -10,10 +12,14 @@ import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
 import edu.ucsb.cs156.happiercows.repositories.UserRepository;
 import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
 import edu.ucsb.cs156.happiercows.services.CommonsPlusBuilderService;
+import edu.ucsb.cs156.happiercows.services.CowDeathService;
+import edu.ucsb.cs156.happiercows.services.TickCheckpointService;
 import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategies;
 import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategy;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -21,6 +27,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +36,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(SpringExtension.class)
@@ -46,6 +57,12 @@ public class UpdateCowHealthJobTests extends JobTestCase {
         @Mock
         CommonsPlusBuilderService commonsPlusBuilderService;
 
+        @Mock
+        TickCheckpointService tickCheckpointService;
+
+        @Mock
+        CowDeathService cowDeathService;
+
         private final User user = User
                         .builder()
                         .id(1L)
@@ -80,12 +97,19 @@ public class UpdateCowHealthJobTests extends JobTestCase {
 
 
 
+        private final ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
         private final Job job = Job.builder().build();
         private final JobContext ctx = new JobContext(null, job);
 
+        @BeforeEach
+        void setUp() {
+                applyEveryTick(tickCheckpointService);
+        }
+
         private void runUpdateCowHealthJob() throws Exception {
                 var updateCowHealthJob = new UpdateCowHealthJob(commonsRepository, userCommonsRepository,
-                                userRepository, commonsPlusBuilderService);
+                                userRepository, commonsPlusBuilderService, tickCheckpointService, scheduledTime, CommonsShard.ALL, cowDeathService);
                 updateCowHealthJob.accept(ctx);
         }
 
@@ -105,7 +129,7 @@ public class UpdateCowHealthJobTests extends JobTestCase {
 
         List<CommonsPlus> listOfCommonsPlus = List.of(commonsPlus);
         
-        when(commonsRepository.findAll()).thenReturn(listOfCommons);
+        when(commonsRepository.findActive(any())).thenReturn(listOfCommons);
         when(userCommonsRepository.findByCommonsId(commons.getId())).thenReturn(List.of(userCommons));
         when(commonsRepository.getNumCows(commons.getId())).thenReturn(Optional.of(totalCows));
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
@@ -212,7 +236,7 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                 List<CommonsPlus> commonsPlusList = List.of(commonsPlus);
                 List<Commons> commonsList = List.of(commons);
 
-                when(commonsRepository.findAll()).thenReturn(commonsList);
+                when(commonsRepository.findActive(any())).thenReturn(commonsList);
                 when(commonsPlusBuilderService.convertToCommonsPlus(eq(commonsList))).thenReturn(commonsPlusList);
                 when(commonsPlusBuilderService.toCommonsPlus(eq(commons))).thenReturn(commonsPlus);
                 when(userCommonsRepository.findByCommonsId(commons.getId()))
@@ -236,6 +260,7 @@ public class UpdateCowHealthJobTests extends JobTestCase {
 
                 assertEquals(11.0, userCommons1.getCowHealth());
                 assertEquals(21.0, userCommons2.getCowHealth());
+                verify(userCommonsRepository).saveAll(List.of(userCommons1, userCommons2));
         }
 
         @Test
@@ -252,9 +277,10 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                                 .build();
 
                 // act
-                UpdateCowHealthJob.calculateCowDeaths(userCommons, ctx);
+                int cowsKilled = UpdateCowHealthJob.calculateCowDeaths(userCommons, ctx);
 
                 // assert
+                assertEquals(5, cowsKilled);
                 assertEquals(0, userCommons.getNumOfCows());
                 assertEquals(5, userCommons.getCowDeaths());
                 assertEquals(100.0, userCommons.getCowHealth());
@@ -274,9 +300,10 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                                 .build();
 
                 // act
-                UpdateCowHealthJob.calculateCowDeaths(userCommons, ctx);
+                int cowsKilled = UpdateCowHealthJob.calculateCowDeaths(userCommons, ctx);
 
                 // assert
+                assertEquals(0, cowsKilled);
                 assertEquals(5, userCommons.getNumOfCows());
                 assertEquals(42, userCommons.getCowDeaths());
                 assertEquals(1.0, userCommons.getCowHealth());
@@ -303,7 +330,7 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                 when(commonsPlusBuilderService.convertToCommonsPlus(eq(commonsList))).thenReturn(commonsPlusList);
                 when(commonsPlusBuilderService.toCommonsPlus(eq(commons))).thenReturn(commonsPlus);
 
-                when(commonsRepository.findAll()).thenReturn(List.of(commons));
+                when(commonsRepository.findActive(any())).thenReturn(List.of(commons));
                 when(userCommonsRepository.findByCommonsId(commons.getId())).thenReturn(List.of(userCommons));
                 when(commonsRepository.getNumCows(commons.getId())).thenReturn(Optional.of(99));
                 when(userRepository.findById(1L)).thenReturn(Optional.of(user));
@@ -326,6 +353,35 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                 assertEquals(100.0, userCommons.getCowHealth());
         }
 
+        @Test
+        void test_cow_deaths_are_recorded_in_one_batch_per_commons() throws Exception {
+                User survivor = User.builder().id(2L).fullName("Sam Survivor").build();
+                UserCommons dying = UserCommons.builder().user(user).commons(commons).numOfCows(5).cowHealth(-1.0).build();
+                UserCommons healthy = UserCommons.builder().user(survivor).commons(commons).numOfCows(3).cowHealth(50.0).build();
+                commons.setId(117);
+                CommonsPlus commonsPlus = CommonsPlus.builder().commons(commons).totalCows(8).totalUsers(2).build();
+
+                when(commonsPlusBuilderService.convertToCommonsPlus(eq(List.of(commons)))).thenReturn(List.of(commonsPlus));
+                when(commonsRepository.findActive(any())).thenReturn(List.of(commons));
+                when(userCommonsRepository.findByCommonsId(117L)).thenReturn(List.of(dying, healthy));
+                when(commonsRepository.getNumCows(117L)).thenReturn(Optional.of(8));
+                when(commonsRepository.getNumUsers(117L)).thenReturn(Optional.of(2));
+
+                var updateCowHealthJob = new UpdateCowHealthJob(commonsRepository, userCommonsRepository,
+                                userRepository, commonsPlusBuilderService, tickCheckpointService, scheduledTime, CommonsShard.ALL, cowDeathService);
+                updateCowHealthJob.accept(ctx);
+
+                CowDeath expected = CowDeath.builder()
+                                .commonsId(117L)
+                                .userId(1L)
+                                .zonedDateTime(updateCowHealthJob.getTickTime())
+                                .cowsKilled(5)
+                                .avgHealth(-1.0)
+                                .build();
+                verify(cowDeathService, times(1)).recordAll(List.of(expected));
+                assertEquals(3, healthy.getNumOfCows());
+        }
+
         @Test
         void test_skipping_job_when_commons_has_zero_users() throws Exception {
                 CommonsPlus commonsPlus = CommonsPlus.builder().commons(commons).totalCows(5).totalUsers(1).build();
@@ -337,7 +393,7 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                 when(commonsPlusBuilderService.toCommonsPlus(eq(commons))).thenReturn(commonsPlus);
                 commons.setBelowCapacityHealthUpdateStrategy(CowHealthUpdateStrategies.Linear);
 
-                when(commonsRepository.findAll()).thenReturn(List.of(commons));
+                when(commonsRepository.findActive(any())).thenReturn(List.of(commons));
                 when(commonsRepository.getNumUsers(commons.getId())).thenReturn(Optional.of(0));
 
                 runUpdateCowHealthJob();
@@ -358,9 +414,8 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                 when(commonsRepository.getNumCows(commons.getId())).thenReturn(Optional.empty());
                 when(commonsRepository.getNumUsers(commons.getId())).thenReturn(Optional.of(1));
 
-                var updateCowHealthJob = new UpdateCowHealthJob(commonsRepository,
-                                userCommonsRepository,
-                                userRepository, commonsPlusBuilderService);
+                var updateCowHealthJob = new UpdateCowHealthJob(commonsRepository, userCommonsRepository,
+                                userRepository, commonsPlusBuilderService, tickCheckpointService, scheduledTime, CommonsShard.ALL, cowDeathService);
 
                 var thrown = Assertions.assertThrows(RuntimeException.class, () -> {
                         updateCowHealthJob.accept(ctx);
@@ -376,9 +431,8 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                 commons.setId(117);
                 when(commonsRepository.getNumUsers(commons.getId())).thenReturn(Optional.empty());
 
-                var updateCowHealthJob = new UpdateCowHealthJob(commonsRepository,
-                                userCommonsRepository,
-                                userRepository, commonsPlusBuilderService);
+                var updateCowHealthJob = new UpdateCowHealthJob(commonsRepository, userCommonsRepository,
+                                userRepository, commonsPlusBuilderService, tickCheckpointService, scheduledTime, CommonsShard.ALL, cowDeathService);
 
                 var thrown = Assertions.assertThrows(RuntimeException.class, () -> {
                         updateCowHealthJob.accept(ctx);
@@ -387,4 +441,25 @@ public class UpdateCowHealthJobTests extends JobTestCase {
                 Assertions.assertEquals("Error calling getNumUsers(117)",
                                 thrown.getMessage());
         }
+
+        @Test
+        void test_skips_commons_already_updated_for_scheduled_time() throws Exception {
+                setupUpdateCowHealthTestOnCommons(101, 1);
+                doReturn(false).when(tickCheckpointService)
+                                .runOnce(eq(TickType.updateCowHealth), eq(commons.getId()), eq(scheduledTime), any());
+
+                var updateCowHealthJob = new UpdateCowHealthJob(commonsRepository, userCommonsRepository,
+                                userRepository, commonsPlusBuilderService, tickCheckpointService, scheduledTime, CommonsShard.ALL, cowDeathService);
+                updateCowHealthJob.accept(ctx);
+
+                verify(userCommonsRepository, never()).findByCommonsId(commons.getId());
+                assertEquals(10.0, userCommons.getCowHealth());
+                assertEquals(TickType.updateCowHealth, updateCowHealthJob.getTickType());
+
+                String expected = """
+                                Updating cow health...
+                                Commons test commons has already had its cow health updated for 2024-11-01T04:00-07:00, skipping
+                                Cow health has been updated!""";
+                assertEquals(expected, job.getLog());
+        }
 }
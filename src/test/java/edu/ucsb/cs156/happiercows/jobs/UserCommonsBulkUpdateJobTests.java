@@ -0,0 +1,116 @@
+package edu.ucsb.cs156.happiercows.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.JobTestCase;
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.GameStateEngine;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration
+public class UserCommonsBulkUpdateJobTests extends JobTestCase {
+
+    @Mock
+    CommonsRepository commonsRepository;
+
+    @Mock
+    UserCommonsRepository userCommonsRepository;
+
+    @Mock
+    GameStateEngine gameStateEngine;
+
+    private final Commons commons = Commons.builder().id(17L).name("CS156 F24").build();
+
+    /** Records the commons it updated and reports 40 farmers changed. */
+    private class TestBulkUpdateJob extends UserCommonsBulkUpdateJob {
+
+        final List<Long> updated = new ArrayList<>();
+
+        TestBulkUpdateJob() {
+            super(17L, commonsRepository, userCommonsRepository, gameStateEngine);
+        }
+
+        @Override
+        protected String starting() {
+            return "Updating...";
+        }
+
+        @Override
+        protected int update(long commonsId) {
+            updated.add(commonsId);
+            return 40;
+        }
+
+        @Override
+        protected String finished(int updated) {
+            return String.format("Updated %d farmers", updated);
+        }
+    }
+
+    @Test
+    void test_updates_inside_exclusive() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(commonsRepository.findById(17L)).thenReturn(Optional.of(commons));
+        TestBulkUpdateJob job = new TestBulkUpdateJob();
+        when(gameStateEngine.exclusive(eq(17L), any())).thenAnswer(invocation -> {
+            // nothing is updated before the engine hands over the commons
+            assertEquals(List.of(), job.updated);
+            return invocation.getArgument(1, Supplier.class).get();
+        });
+
+        // Act
+        job.accept(ctx);
+
+        // Assert
+        verify(gameStateEngine).exclusive(eq(17L), any());
+        assertEquals(List.of(17L), job.updated);
+        String expected = """
+                Updating...
+                Commons CS156 F24
+                Updated 40 farmers""";
+        assertEquals(expected, jobStarted.getLog());
+    }
+
+    @Test
+    void test_missing_commons() throws Exception {
+        // Arrange
+        Job jobStarted = Job.builder().build();
+        JobContext ctx = new JobContext(null, jobStarted);
+        when(commonsRepository.findById(17L)).thenReturn(Optional.empty());
+        TestBulkUpdateJob job = new TestBulkUpdateJob();
+
+        // Act
+        job.accept(ctx);
+
+        // Assert
+        String expected = """
+                Updating...
+                No commons found for id 17""";
+        assertEquals(expected, jobStarted.getLog());
+        verify(gameStateEngine, never()).exclusive(anyLong(), any());
+        assertEquals(List.of(), job.updated);
+    }
+}
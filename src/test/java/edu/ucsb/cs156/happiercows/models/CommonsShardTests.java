@@ -0,0 +1,52 @@
+package edu.ucsb.cs156.happiercows.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+
+public class CommonsShardTests {
+
+    @Test
+    void test_all_contains_every_commons() {
+        assertTrue(CommonsShard.ALL.contains(0));
+        assertTrue(CommonsShard.ALL.contains(17));
+    }
+
+    @Test
+    void test_contains_splits_commons_by_id() {
+        CommonsShard shard = new CommonsShard(1, 3);
+
+        assertTrue(shard.contains(1));
+        assertTrue(shard.contains(4));
+        assertFalse(shard.contains(3));
+        assertFalse(shard.contains(5));
+    }
+
+    @Test
+    void test_filter() {
+        Commons c1 = Commons.builder().id(1L).build();
+        Commons c2 = Commons.builder().id(2L).build();
+        Commons c3 = Commons.builder().id(3L).build();
+
+        assertEquals(List.of(c1, c3), new CommonsShard(1, 2).filter(List.of(c1, c2, c3)));
+    }
+
+    @Test
+    void test_invalid_shards_are_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new CommonsShard(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CommonsShard(2, 2));
+        assertThrows(IllegalArgumentException.class, () -> new CommonsShard(-1, 2));
+    }
+
+    @Test
+    void test_toString() {
+        assertEquals("shard 1 of 2", new CommonsShard(1, 2).toString());
+    }
+}
@@ -0,0 +1,58 @@
+package edu.ucsb.cs156.happiercows.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import edu.ucsb.cs156.happiercows.entities.HistoryChunk;
+import edu.ucsb.cs156.happiercows.services.wiremock.WiremockService;
+
+@DataJpaTest
+public class HistoryChunkRepositoryTests {
+
+    @MockBean
+    WiremockService wiremockService;
+
+    @Autowired
+    HistoryChunkRepository historyChunkRepository;
+
+    private final LocalDateTime t = LocalDateTime.parse("2024-11-01T04:00:00");
+
+    private HistoryChunk early;
+    private HistoryChunk late;
+
+    private HistoryChunk chunk(long userId, LocalDateTime start, LocalDateTime end) {
+        return historyChunkRepository.save(HistoryChunk.builder()
+                .commonsId(9L).userId(userId).startTime(start).endTime(end).points(2).data(new byte[0]).build());
+    }
+
+    @BeforeEach
+    void setUp() {
+        early = chunk(1L, t, t.plusHours(1));
+        late = chunk(1L, t.plusHours(2), t.plusHours(5));
+        chunk(2L, t, t.plusHours(5));
+    }
+
+    @Test
+    void test_findOverlapping_returns_the_farmers_chunks_in_range_oldest_first() {
+        assertEquals(List.of(early, late), historyChunkRepository.findOverlapping(9L, 1L, t.plusHours(1), t.plusHours(3)));
+    }
+
+    @Test
+    void test_findOverlapping_includes_from_and_excludes_to() {
+        assertEquals(List.of(early), historyChunkRepository.findOverlapping(9L, 1L, t.plusMinutes(30), t.plusHours(2)));
+        assertEquals(List.of(late), historyChunkRepository.findOverlapping(9L, 1L, t.plusHours(5), t.plusDays(1)));
+    }
+
+    @Test
+    void test_findOverlapping_other_commons() {
+        assertEquals(List.of(), historyChunkRepository.findOverlapping(8L, 1L, t, t.plusDays(1)));
+    }
+}
@@ -0,0 +1,135 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.Announcement;
+import edu.ucsb.cs156.happiercows.repositories.AnnouncementRepository;
+
+@ExtendWith(SpringExtension.class)
+@Import(AnnouncementService.class)
+@ContextConfiguration
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+@TestPropertySource(properties = { "app.announcements.cacheSeconds=86400" })
+public class AnnouncementServiceTests {
+
+    @MockBean
+    AnnouncementRepository announcementRepository;
+
+    @Autowired
+    AnnouncementService announcementService;
+
+    private static final long HOUR = 3600_000L;
+
+    private final Date now = new Date(1_700_000_000_000L);
+
+    private Date at(long hours) {
+        return new Date(now.getTime() + hours * HOUR);
+    }
+
+    // newest start first, as the repository returns them
+    private final Announcement scheduled = Announcement.builder().id(3L).commonsId(17L).startDate(at(2)).announcementText("tomorrow").build();
+    private final Announcement ending = Announcement.builder().id(2L).commonsId(17L).startDate(at(-1)).endDate(at(1)).announcementText("ending").build();
+    private final Announcement open = Announcement.builder().id(1L).commonsId(17L).startDate(at(-5)).announcementText("open").build();
+
+    @Test
+    void test_active_and_not_ended_come_from_one_query() {
+        // arrange
+        when(announcementRepository.findNotEndedByCommonsId(17L, now)).thenReturn(List.of(scheduled, ending, open));
+
+        // act
+        Page<Announcement> active = announcementService.active(17L, 0, 20, now);
+        Page<Announcement> notEnded = announcementService.notEnded(17L, 0, 20, now);
+
+        // assert
+        assertEquals(List.of(ending, open), active.getContent());
+        assertEquals(List.of(scheduled, ending, open), notEnded.getContent());
+        assertEquals(AnnouncementService.SORT, active.getSort());
+        verify(announcementRepository, times(1)).findNotEndedByCommonsId(anyLong(), any());
+    }
+
+    @Test
+    void test_window_changes_when_announcements_start_and_end_without_a_query() {
+        // arrange
+        when(announcementRepository.findNotEndedByCommonsId(17L, now)).thenReturn(List.of(scheduled, ending, open));
+        AnnouncementService.Window first = announcementService.window(17L, now.getTime());
+
+        // act and assert: nothing changes until "ending" ends
+        assertEquals(at(1).getTime(), first.validUntil());
+        assertEquals(first, announcementService.window(17L, at(1).getTime() - 1));
+        assertEquals(List.of(open), announcementService.active(17L, 0, 20, at(1)).getContent());
+        assertEquals(List.of(scheduled, open), announcementService.active(17L, 0, 20, at(2)).getContent());
+        assertEquals(Long.MAX_VALUE, announcementService.window(17L, at(2).getTime()).validUntil());
+        verify(announcementRepository, times(1)).findNotEndedByCommonsId(anyLong(), any());
+    }
+
+    @Test
+    void test_invalidate_reloads_the_commons() {
+        // arrange
+        when(announcementRepository.findNotEndedByCommonsId(anyLong(), any())).thenReturn(List.of(open));
+        announcementService.active(17L, 0, 20, now);
+
+        // act
+        announcementService.invalidate(17L);
+        announcementService.active(17L, 0, 20, now);
+
+        // assert
+        verify(announcementRepository, times(2)).findNotEndedByCommonsId(17L, now);
+    }
+
+    @Test
+    void test_changes_made_elsewhere_show_up_after_cacheSeconds() {
+        // arrange: no announcement ever ends, so only the reload picks up a new one
+        announcementService.cacheSeconds = 60;
+        when(announcementRepository.findNotEndedByCommonsId(anyLong(), any())).thenReturn(List.of(open));
+        announcementService.active(17L, 0, 20, now);
+        Announcement posted = Announcement.builder().id(4L).commonsId(17L).startDate(now).announcementText("new").build();
+        when(announcementRepository.findNotEndedByCommonsId(anyLong(), any())).thenReturn(List.of(posted, open));
+
+        // act
+        List<Announcement> before = announcementService.active(17L, 0, 20, new Date(now.getTime() + 59_999)).getContent();
+        List<Announcement> after = announcementService.active(17L, 0, 20, new Date(now.getTime() + 60_000)).getContent();
+
+        // assert
+        assertEquals(List.of(open), before);
+        assertEquals(List.of(posted, open), after);
+        verify(announcementRepository, times(2)).findNotEndedByCommonsId(anyLong(), any());
+    }
+
+    @Test
+    void test_page() {
+        // arrange
+        List<Announcement> announcements = List.of(scheduled, ending, open);
+
+        // act
+        Page<Announcement> second = AnnouncementService.page(announcements, 1, 2);
+        Page<Announcement> past = AnnouncementService.page(announcements, 5, 2);
+
+        // assert
+        assertEquals(List.of(open), second.getContent());
+        assertEquals(3, second.getTotalElements());
+        assertEquals(PageRequest.of(1, 2, AnnouncementService.SORT), second.getPageable());
+        assertEquals(List.of(), past.getContent());
+        assertEquals(2, past.getTotalPages());
+    }
+}
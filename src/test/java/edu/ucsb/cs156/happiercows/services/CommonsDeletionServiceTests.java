@@ -0,0 +1,85 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(SpringExtension.class)
+@Import(CommonsDeletionService.class)
+@ContextConfiguration
+public class CommonsDeletionServiceTests {
+
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @MockBean
+    GameStateEngine gameStateEngine;
+
+    @MockBean
+    LeaderboardService leaderboardService;
+
+    @MockBean
+    AnnouncementService announcementService;
+
+    @Autowired
+    CommonsDeletionService commonsDeletionService;
+
+    @BeforeEach
+    void setUp() {
+        when(gameStateEngine.exclusive(anyLong(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void test_delete_clears_children_before_parents_in_one_transaction() {
+        // arrange
+        when(jdbcTemplate.update(anyString(), eq(17L))).thenReturn(0);
+        when(jdbcTemplate.update("DELETE FROM profits WHERE commons_id = ?", 17L)).thenReturn(1200);
+        when(jdbcTemplate.update("DELETE FROM user_commons WHERE commons_id = ?", 17L)).thenReturn(100);
+        when(jdbcTemplate.update("DELETE FROM commons WHERE id = ?", 17L)).thenReturn(1);
+
+        // act
+        Map<String, Integer> deleted = commonsDeletionService.delete(17L);
+
+        // assert
+        assertEquals(List.of("profits", "report_lines", "reports", "commonstats", "cowdeath", "chat_message",
+                "announcement", "tick_checkpoints", "history_chunks", "user_commons", "commons"), List.copyOf(deleted.keySet()));
+        assertEquals(1200, deleted.get("profits"));
+        assertEquals(100, deleted.get("user_commons"));
+        assertEquals(1, deleted.get("commons"));
+        assertEquals(0, deleted.get("reports"));
+
+        InOrder order = inOrder(jdbcTemplate, transactionManager, leaderboardService);
+        order.verify(transactionManager).getTransaction(any());
+        for (Map.Entry<String, String> delete : CommonsDeletionService.DELETES) {
+            order.verify(jdbcTemplate).update(delete.getValue(), 17L);
+        }
+        order.verify(transactionManager).commit(any());
+        order.verify(leaderboardService).invalidate(17L);
+        verify(announcementService).invalidate(17L);
+        verify(gameStateEngine).exclusive(eq(17L), any());
+    }
+}
@@ -0,0 +1,72 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.happiercows.models.LeaderboardEntry;
+import edu.ucsb.cs156.happiercows.models.LeaderboardMetric;
+
+public class CommonsLeaderboardTests {
+
+    LeaderboardEntry alice = LeaderboardEntry.builder().userId(1L).username("alice").totalWealth(500).numOfCows(2).cowHealth(90).build();
+    LeaderboardEntry bob = LeaderboardEntry.builder().userId(2L).username("bob").totalWealth(800).numOfCows(1).cowHealth(40).build();
+    LeaderboardEntry carol = LeaderboardEntry.builder().userId(3L).username("carol").totalWealth(500).numOfCows(7).cowHealth(100).build();
+
+    private static List<Long> ids(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::getUserId).collect(Collectors.toList());
+    }
+
+    @Test
+    void each_metric_is_ranked_highest_first_with_ties_broken_by_user_id() {
+        CommonsLeaderboard leaderboard = new CommonsLeaderboard(List.of(alice, bob, carol));
+
+        assertEquals(3, leaderboard.size());
+        assertEquals(List.of(2L, 1L, 3L), ids(leaderboard.slice(LeaderboardMetric.totalWealth, 0, 10)));
+        assertEquals(List.of(3L, 1L, 2L), ids(leaderboard.slice(LeaderboardMetric.numOfCows, 0, 10)));
+        assertEquals(List.of(3L, 1L, 2L), ids(leaderboard.slice(LeaderboardMetric.cowHealth, 0, 10)));
+        assertEquals(1, leaderboard.indexOf(1L, LeaderboardMetric.totalWealth));
+        assertEquals(-1, leaderboard.indexOf(99L, LeaderboardMetric.totalWealth));
+    }
+
+    @Test
+    void put_repositions_an_existing_player_and_adds_new_ones() {
+        CommonsLeaderboard leaderboard = new CommonsLeaderboard(List.of(alice, bob, carol));
+
+        leaderboard.put(LeaderboardEntry.builder().userId(1L).username("alice").totalWealth(900).numOfCows(0).cowHealth(90).build());
+        leaderboard.put(LeaderboardEntry.builder().userId(4L).username("dan").totalWealth(0).numOfCows(3).cowHealth(100).build());
+
+        assertEquals(4, leaderboard.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(leaderboard.slice(LeaderboardMetric.totalWealth, 0, 10)));
+        assertEquals(List.of(3L, 4L, 2L, 1L), ids(leaderboard.slice(LeaderboardMetric.numOfCows, 0, 10)));
+        assertEquals(0, leaderboard.indexOf(1L, LeaderboardMetric.totalWealth));
+        assertEquals(3, leaderboard.indexOf(1L, LeaderboardMetric.numOfCows));
+    }
+
+    @Test
+    void remove_drops_player_from_every_ranking() {
+        CommonsLeaderboard leaderboard = new CommonsLeaderboard(List.of(alice, bob, carol));
+
+        leaderboard.remove(2L);
+        leaderboard.remove(99L);
+
+        assertEquals(2, leaderboard.size());
+        for (LeaderboardMetric metric : LeaderboardMetric.values()) {
+            assertEquals(-1, leaderboard.indexOf(2L, metric));
+            assertEquals(2, leaderboard.slice(metric, 0, 10).size());
+        }
+    }
+
+    @Test
+    void slice_is_clamped_to_the_leaderboard() {
+        CommonsLeaderboard leaderboard = new CommonsLeaderboard(List.of(alice, bob, carol));
+
+        assertEquals(List.of(1L, 3L), ids(leaderboard.slice(LeaderboardMetric.totalWealth, 1, 10)));
+        assertEquals(List.of(), ids(leaderboard.slice(LeaderboardMetric.totalWealth, 5, 10)));
+        assertEquals(List.of(2L), ids(leaderboard.slice(LeaderboardMetric.totalWealth, -3, 1)));
+        assertEquals(List.of(), ids(leaderboard.slice(LeaderboardMetric.totalWealth, 2, 1)));
+    }
+}
@@ -0,0 +1,93 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.happiercows.models.SimulationParams;
+import edu.ucsb.cs156.happiercows.models.SimulationResult;
+
+public class CommonsSimulationTests {
+
+    private SimulationParams params(String strategy, int ticks) {
+        return SimulationParams.builder()
+                .ticks(ticks)
+                .milkEvery(2)
+                .sampleEvery(1)
+                .degradationRate(1.0)
+                .carryingCapacity(10)
+                .capacityPerUser(0)
+                .milkPrice(2.0)
+                .aboveCapacityHealthUpdateStrategy(strategy)
+                .belowCapacityHealthUpdateStrategy(strategy)
+                .build();
+    }
+
+    @Test
+    void ticks_update_health_and_milk_every_other_tick() {
+        CommonsSimulation simulation = new CommonsSimulation(
+                new double[] { 50.0, 100.0 }, new int[] { 2, 3 }, new double[] { 10.0, 20.0 },
+                params("Constant", 3));
+
+        SimulationResult result = simulation.run();
+
+        assertEquals(2, result.getNumUsers());
+        assertEquals(10, result.getEffectiveCapacity());
+        assertArrayEquals(new int[] { 0, 1, 2, 3 }, result.getTicks());
+        assertArrayEquals(new int[] { 5, 5, 5, 5 }, result.getTotalCows());
+        // health goes up by 1 per tick, the healthy herd is capped at 100
+        assertArrayEquals(new double[] { 75.0, 75.5, 76.0, 76.5 }, result.getAverageCowHealth(), 1e-9);
+        // milked once, after tick 2: 2 cows at 52% and 3 cows at 100%, $2 a cow
+        assertArrayEquals(new double[] { 30.0, 30.0, 30.0 + 2.08 + 6.0, 30.0 + 2.08 + 6.0 }, result.getTotalWealth(), 1e-9);
+        assertArrayEquals(new int[] { 0, 0, 0, 0 }, result.getCowDeaths());
+    }
+
+    @Test
+    void cows_die_when_health_reaches_zero() {
+        CommonsSimulation simulation = new CommonsSimulation(
+                new double[] { 1.5, 50.0 }, new int[] { 8, 4 }, new double[] { 0.0, 0.0 },
+                params("Constant", 2));
+
+        SimulationResult result = simulation.run();
+
+        // 12 cows > capacity 10, so health falls; the first herd dies on tick 2 and its health resets
+        assertArrayEquals(new int[] { 12, 12, 4 }, result.getTotalCows());
+        assertArrayEquals(new int[] { 0, 0, 8 }, result.getCowDeaths());
+        assertArrayEquals(new double[] { 25.75, 24.75, 74.0 }, result.getAverageCowHealth(), 1e-9);
+        // milked after the deaths: only the second herd, 4 cows at 48%
+        assertEquals(4 * 0.48 * 2.0, result.getTotalWealth()[2], 1e-9);
+    }
+
+    @Test
+    void samples_every_n_ticks_and_always_the_last() {
+        SimulationParams sparse = params("Noop", 10).toBuilder().sampleEvery(4).build();
+
+        SimulationResult result = new CommonsSimulation(new double[] { 50.0 }, new int[] { 1 }, new double[] { 0.0 }, sparse).run();
+
+        assertArrayEquals(new int[] { 0, 4, 8, 10 }, result.getTicks());
+        assertEquals(4, CommonsSimulation.sampleCount(10, 4));
+        assertEquals(3, CommonsSimulation.sampleCount(8, 4));
+    }
+
+    @Test
+    void empty_commons_has_zero_average_health() {
+        SimulationResult result = new CommonsSimulation(new double[0], new int[0], new double[0], params("Linear", 5)).run();
+
+        assertArrayEquals(new double[] { 0, 0, 0, 0, 0, 0 }, result.getAverageCowHealth());
+        assertArrayEquals(new int[] { 0, 0, 0, 0, 0, 0 }, result.getTotalCows());
+    }
+
+    @Test
+    void input_arrays_are_not_modified() {
+        double[] health = { 50.0 };
+        int[] cows = { 20 };
+        double[] wealth = { 0.0 };
+
+        new CommonsSimulation(health, cows, wealth, params("Linear", 100)).run();
+
+        assertArrayEquals(new double[] { 50.0 }, health);
+        assertArrayEquals(new int[] { 20 }, cows);
+        assertArrayEquals(new double[] { 0.0 }, wealth);
+    }
+}
@@ -0,0 +1,90 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.happiercows.errors.NoCowsException;
+import edu.ucsb.cs156.happiercows.errors.NotEnoughMoneyException;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+
+public class CommonsStateTests {
+
+    private final UserCommonsSummary alice = new UserCommonsSummary(1L, 7L, "Alice", 300, 2, 50, 2, 0, 0);
+    private final UserCommonsSummary bob = new UserCommonsSummary(2L, 7L, "Bob", 100, 0, 100, 0, 0, 1);
+
+    private final CommonsState state = new CommonsState(7L, 100, List.of(alice, bob));
+
+    @Test
+    void test_rows_are_loaded_by_slot() {
+        assertEquals(2, state.size());
+        assertEquals(0, state.slotOf(1L));
+        assertEquals(1, state.slotOf(2L));
+        assertEquals(-1, state.slotOf(3L));
+        assertEquals(List.of(alice, bob), state.rows());
+        assertEquals(0, state.dirtyCount());
+    }
+
+    @Test
+    void test_buy() throws Exception {
+        // act
+        state.buy(state.slotOf(1L), 3);
+
+        // assert
+        assertEquals(new UserCommonsSummary(1L, 7L, "Alice", 0, 5, 50, 5, 0, 0), state.row(0));
+        assertEquals(1, state.dirtyCount());
+    }
+
+    @Test
+    void test_buy_without_enough_money() {
+        // act
+        NotEnoughMoneyException e = assertThrows(NotEnoughMoneyException.class, () -> state.buy(1, 2));
+
+        // assert
+        assertEquals("You need more money!", e.getMessage());
+        assertEquals(bob, state.row(1));
+        assertEquals(0, state.dirtyCount());
+    }
+
+    @Test
+    void test_sell_at_the_cows_health() throws Exception {
+        // act
+        state.sell(0, 2);
+
+        // assert
+        assertEquals(new UserCommonsSummary(1L, 7L, "Alice", 400, 0, 50, 2, 2, 0), state.row(0));
+    }
+
+    @Test
+    void test_sell_without_enough_cows() {
+        // act
+        NoCowsException e = assertThrows(NoCowsException.class, () -> state.sell(1, 1));
+
+        // assert
+        assertEquals("You do not have enough cows to sell!", e.getMessage());
+        assertEquals(0, state.dirtyCount());
+    }
+
+    @Test
+    void test_dirtyRows_stay_dirty_until_cleared() throws Exception {
+        // arrange
+        state.buy(1, 1);
+        state.buy(1, 0);
+
+        // act
+        List<UserCommonsSummary> dirty = state.dirtyRows();
+
+        // assert
+        assertEquals(List.of(new UserCommonsSummary(2L, 7L, "Bob", 0, 1, 100, 1, 0, 1)), dirty);
+        assertEquals(dirty, state.dirtyRows());
+
+        // act
+        state.clearDirty();
+
+        // assert
+        assertEquals(List.of(), state.dirtyRows());
+    }
+}
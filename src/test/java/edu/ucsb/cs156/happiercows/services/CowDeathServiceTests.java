@@ -0,0 +1,68 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.CowDeath;
+
+@ExtendWith(SpringExtension.class)
+@Import(CowDeathService.class)
+@ContextConfiguration
+public class CowDeathServiceTests {
+
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CowDeathService cowDeathService;
+
+    private final LocalDateTime tickTime = LocalDateTime.parse("2024-11-01T04:00:00");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test_recordAll_writes_one_batch() {
+        // arrange
+        List<CowDeath> deaths = List.of(
+                CowDeath.builder().commonsId(17L).userId(1L).zonedDateTime(tickTime).cowsKilled(5).avgHealth(0.5).build(),
+                CowDeath.builder().commonsId(17L).userId(2L).zonedDateTime(tickTime).cowsKilled(2).avgHealth(3.0).build());
+
+        // act
+        cowDeathService.recordAll(deaths);
+
+        // assert
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(CowDeathService.INSERT_SQL), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertArrayEquals(new Object[] { 17L, 1L, Timestamp.valueOf(tickTime), 5, 0.5 }, captor.getValue().get(0));
+        assertArrayEquals(new Object[] { 17L, 2L, Timestamp.valueOf(tickTime), 2, 3.0 }, captor.getValue().get(1));
+    }
+
+    @Test
+    void test_recordAll_skips_empty_list() {
+        // act
+        cowDeathService.recordAll(List.of());
+
+        // assert
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
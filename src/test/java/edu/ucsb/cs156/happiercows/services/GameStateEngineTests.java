@@ -0,0 +1,301 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.jobs.SetCowHealthJob;
+import edu.ucsb.cs156.happiercows.errors.NotEnoughMoneyException;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobContext;
+import edu.ucsb.cs156.happiercows.services.jobs.JobStatusEvent;
+
+@ExtendWith(SpringExtension.class)
+@Import(GameStateEngine.class)
+@ContextConfiguration
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+@TestPropertySource(properties = {
+        "app.engine.inMemory=true",
+        "app.engine.walSync=false",
+        "app.engine.flushMs=1000000",
+        "app.scheduler.shards=1"
+})
+public class GameStateEngineTests {
+
+    private static Path walDir;
+
+    @DynamicPropertySource
+    static void walDir(DynamicPropertyRegistry registry) throws IOException {
+        walDir = Files.createTempDirectory("trade-log");
+        registry.add("app.engine.walDir", () -> walDir.toString());
+    }
+
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    UserCommonsRepository userCommonsRepository;
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    UserHistoryService userHistoryService;
+
+    @Autowired
+    GameStateEngine gameStateEngine;
+
+    private final UserCommonsSummary alice = new UserCommonsSummary(1L, 7L, "Alice", 300, 0, 100, 0, 0, 0);
+
+    private final UserCommonsSummary aliceAfterBuy = new UserCommonsSummary(1L, 7L, "Alice", 100, 2, 100, 2, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        when(commonsRepository.findById(7L)).thenReturn(Optional.of(Commons.builder().id(7L).cowPrice(100).build()));
+        when(userCommonsRepository.findSummariesByCommonsId(7L)).thenReturn(List.of(alice));
+    }
+
+    @Test
+    void test_buy_is_applied_in_memory_and_logged() throws Exception {
+        // act
+        UserCommonsSummary row = gameStateEngine.buy(7L, 1L, 2);
+
+        // assert
+        assertEquals(aliceAfterBuy, row);
+        assertEquals(Optional.of(aliceAfterBuy), gameStateEngine.find(7L, 1L));
+        assertEquals(List.of(aliceAfterBuy), gameStateEngine.summaries(7L));
+        verify(userCommonsRepository, times(1)).findSummariesByCommonsId(7L);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+        assertEquals(1, TradeLog.replay(TradeLog.segments(walDir)).size());
+    }
+
+    @Test
+    void test_refuses_to_start_with_several_instances() {
+        // arrange
+        gameStateEngine.shards = 2;
+
+        // act
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> gameStateEngine.start());
+
+        // assert
+        assertEquals("app.engine.inMemory is only for a single instance, but app.scheduler.shards is 2", thrown.getMessage());
+    }
+
+    @Test
+    void test_rejected_trade_changes_nothing() throws Exception {
+        // act
+        NotEnoughMoneyException e = assertThrows(NotEnoughMoneyException.class, () -> gameStateEngine.buy(7L, 1L, 4));
+
+        // assert
+        assertEquals("You need more money!", e.getMessage());
+        assertEquals(Optional.of(alice), gameStateEngine.find(7L, 1L));
+        assertEquals(List.of(), TradeLog.replay(TradeLog.segments(walDir)));
+    }
+
+    @Test
+    void test_sell() throws Exception {
+        // arrange
+        gameStateEngine.buy(7L, 1L, 2);
+
+        // act
+        UserCommonsSummary row = gameStateEngine.sell(7L, 1L, 1);
+
+        // assert
+        assertEquals(new UserCommonsSummary(1L, 7L, "Alice", 200, 1, 100, 2, 1, 0), row);
+    }
+
+    @Test
+    void test_unknown_farmer_reloads_the_commons_once() {
+        // act
+        assertThrows(EntityNotFoundException.class, () -> gameStateEngine.buy(7L, 2L, 1));
+        assertEquals(Optional.empty(), gameStateEngine.find(7L, 2L));
+
+        // assert: loaded for the buy, and reloaded for each miss
+        verify(userCommonsRepository, times(2)).findSummariesByCommonsId(7L);
+    }
+
+    @Test
+    void test_unknown_commons() {
+        assertThrows(EntityNotFoundException.class, () -> gameStateEngine.find(8L, 1L));
+    }
+
+    @Test
+    void test_flush_writes_changed_farmers_in_one_batch() throws Exception {
+        // arrange
+        gameStateEngine.buy(7L, 1L, 2);
+
+        // act
+        gameStateEngine.flush();
+        gameStateEngine.flush();
+
+        // assert
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(GameStateEngine.UPDATE_SQL), eq(List.of(aliceAfterBuy)), eq(1), any());
+        verify(userHistoryService, times(1)).record(eq(7L), eq(List.of(aliceAfterBuy)), any());
+        assertEquals(1, TradeLog.segments(walDir).size());
+        assertEquals(List.of(), TradeLog.replay(TradeLog.segments(walDir)));
+    }
+
+    @Test
+    void test_exclusive_writes_pending_trades_and_reloads_afterwards() throws Exception {
+        // arrange
+        gameStateEngine.buy(7L, 1L, 2);
+
+        // act
+        String result = gameStateEngine.exclusive(7L, () -> {
+            verify(jdbcTemplate).batchUpdate(eq(GameStateEngine.UPDATE_SQL), eq(List.of(aliceAfterBuy)), eq(1), any());
+            return "ticked";
+        });
+        gameStateEngine.find(7L, 1L);
+
+        // assert
+        assertEquals("ticked", result);
+        verify(userCommonsRepository, times(2)).findSummariesByCommonsId(7L);
+        // the tick's result is not overwritten by replaying the earlier trade
+        assertEquals(List.of(), TradeLog.replay(TradeLog.segments(walDir)));
+    }
+
+    @Test
+    void test_exclusive_just_runs_the_work_when_disabled() {
+        // arrange
+        gameStateEngine.enabled = false;
+
+        // act
+        String result = gameStateEngine.exclusive(7L, () -> "ticked");
+
+        // assert
+        assertEquals("ticked", result);
+        verify(commonsRepository, never()).findById(any());
+        gameStateEngine.enabled = true;
+    }
+
+    @Test
+    void test_finished_job_drops_loaded_commons() throws Exception {
+        // arrange
+        gameStateEngine.find(7L, 1L);
+
+        // act
+        gameStateEngine.onJobStatus(new JobStatusEvent(Job.builder().build(), "running"));
+        gameStateEngine.find(7L, 1L);
+        gameStateEngine.onJobStatus(new JobStatusEvent(Job.builder().build(), "complete"));
+        gameStateEngine.find(7L, 1L);
+
+        // assert
+        verify(userCommonsRepository, times(2)).findSummariesByCommonsId(7L);
+    }
+
+    @Test
+    void test_bulk_job_is_not_overwritten_by_pending_trades() throws Exception {
+        // arrange: a trade not yet written behind
+        gameStateEngine.buy(7L, 1L, 2);
+        when(userCommonsRepository.setCowHealth(7L, 50.0)).thenReturn(1);
+
+        // act
+        new SetCowHealthJob(7L, 50.0, commonsRepository, userCommonsRepository, gameStateEngine)
+                .accept(new JobContext(null, Job.builder().build()));
+        gameStateEngine.flush();
+        gameStateEngine.find(7L, 1L);
+
+        // assert: the trade is written before the UPDATE and never after it
+        InOrder inOrder = inOrder(jdbcTemplate, userCommonsRepository);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(GameStateEngine.UPDATE_SQL), anyList(), eq(1), any());
+        inOrder.verify(userCommonsRepository).setCowHealth(7L, 50.0);
+        inOrder.verify(userCommonsRepository).findSummariesByCommonsId(7L);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), anyInt(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test_failed_write_behind_is_retried() throws Exception {
+        // arrange: the database is down for the first two writes
+        gameStateEngine.buy(7L, 1L, 2);
+        DataAccessResourceFailureException down = new DataAccessResourceFailureException("database is down");
+        when(jdbcTemplate.batchUpdate(eq(GameStateEngine.UPDATE_SQL), anyList(), anyInt(), any()))
+                .thenThrow(down, down)
+                .thenReturn(new int[][] { { 1 } });
+
+        // act
+        assertThrows(DataAccessResourceFailureException.class, () -> gameStateEngine.flush());
+        assertThrows(DataAccessResourceFailureException.class, () -> gameStateEngine.evict(7L));
+
+        // assert: the trade is still pending, in memory and in the log
+        assertEquals(Optional.of(aliceAfterBuy), gameStateEngine.find(7L, 1L));
+        assertEquals(List.of(aliceAfterBuy.getTotalWealth()),
+                TradeLog.replay(TradeLog.segments(walDir)).stream().map(UserCommonsSummary::getTotalWealth).toList());
+
+        // act
+        gameStateEngine.flush();
+
+        // assert: written, and the old segments are gone
+        ArgumentCaptor<List<UserCommonsSummary>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(GameStateEngine.UPDATE_SQL), rows.capture(), eq(1), any());
+        assertEquals(List.of(aliceAfterBuy), rows.getValue());
+        assertEquals(1, TradeLog.segments(walDir).size());
+        verify(userCommonsRepository, times(1)).findSummariesByCommonsId(7L);
+    }
+
+    @Test
+    void test_logged_trades_are_replayed_on_startup() throws Exception {
+        // arrange: a trade that was logged but not written before a restart
+        gameStateEngine.buy(7L, 1L, 2);
+
+        // act
+        gameStateEngine.start();
+
+        // assert
+        verify(jdbcTemplate).batchUpdate(eq(GameStateEngine.UPDATE_SQL), anyList(), eq(1), any());
+        assertEquals(1, TradeLog.segments(walDir).size());
+        assertEquals(List.of(), TradeLog.replay(TradeLog.segments(walDir)));
+    }
+
+    @Test
+    void test_toUserCommons() {
+        // act
+        var userCommons = GameStateEngine.toUserCommons(aliceAfterBuy);
+
+        // assert
+        assertEquals(1L, userCommons.getUserId());
+        assertEquals(7L, userCommons.getCommonsId());
+        assertEquals("Alice", userCommons.getUsername());
+        assertEquals(100, userCommons.getTotalWealth());
+        assertEquals(2, userCommons.getNumOfCows());
+        assertEquals(2, userCommons.getCowsBought());
+    }
+}
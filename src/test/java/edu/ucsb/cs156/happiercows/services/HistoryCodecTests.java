@@ -0,0 +1,74 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ucsb.cs156.happiercows.models.HistoryPoint;
+
+public class HistoryCodecTests {
+
+    private final LocalDateTime tickTime = LocalDateTime.parse("2024-11-01T04:00:00");
+
+    @Test
+    void test_points_round_trip() {
+        // arrange
+        List<HistoryPoint> points = List.of(
+                new HistoryPoint(tickTime, 300, 0, 100),
+                new HistoryPoint(tickTime.plusMinutes(5), 100, 2, 100),
+                new HistoryPoint(tickTime.plusHours(12), 150.5, 2, 97.25));
+
+        // act
+        byte[] data = new byte[0];
+        for (HistoryPoint point : points) {
+            data = HistoryCodec.append(data, point);
+        }
+
+        // assert
+        assertEquals(points, HistoryCodec.points(data));
+    }
+
+    @Test
+    void test_negative_differences_and_points_out_of_order() {
+        // arrange: a catch-up tick older than the trade before it, after all the cows died
+        List<HistoryPoint> points = List.of(
+                new HistoryPoint(tickTime, 1000, 40, 80),
+                new HistoryPoint(tickTime.minusHours(6), -25.75, 0, 0));
+
+        // act
+        byte[] data = HistoryCodec.append(HistoryCodec.append(new byte[0], points.get(0)), points.get(1));
+
+        // assert
+        assertEquals(points, HistoryCodec.points(data));
+    }
+
+    @Test
+    void test_values_are_rounded_to_cents_and_hundredths() {
+        // act
+        byte[] data = HistoryCodec.append(new byte[0], new HistoryPoint(tickTime, 10.006, 3, 99.994));
+
+        // assert
+        assertEquals(List.of(new HistoryPoint(tickTime, 10.01, 3, 99.99)), HistoryCodec.points(data));
+    }
+
+    @Test
+    void test_small_changes_take_few_bytes() {
+        // arrange
+        byte[] first = HistoryCodec.append(new byte[0], new HistoryPoint(tickTime, 300, 10, 100));
+
+        // act
+        byte[] second = HistoryCodec.append(first, new HistoryPoint(tickTime.plusMinutes(1), 301, 10, 100));
+
+        // assert: a minute, a dollar and two unchanged values
+        assertTrue(second.length - first.length <= 6);
+    }
+
+    @Test
+    void test_empty_chunk_has_no_points() {
+        assertEquals(List.of(), HistoryCodec.points(new byte[0]));
+    }
+}
@@ -0,0 +1,114 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.models.UserSummary;
+
+@ExtendWith(SpringExtension.class)
+@Import(LastOnlineService.class)
+@ContextConfiguration
+public class LastOnlineServiceTests {
+
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    LastOnlineService lastOnlineService;
+
+    @Captor
+    ArgumentCaptor<List<Object[]>> batchCaptor;
+
+    @AfterEach
+    void clearPending() {
+        lastOnlineService.flush();
+    }
+
+    Instant t1 = Instant.parse("2024-10-01T10:00:00Z");
+    Instant t2 = Instant.parse("2024-10-01T10:00:30Z");
+
+    @Test
+    void heartbeats_are_coalesced_to_the_latest_time() {
+        lastOnlineService.recordHeartbeat(1L, t2);
+        lastOnlineService.recordHeartbeat(1L, t1);
+        lastOnlineService.recordHeartbeat(2L, t1);
+
+        assertEquals(t2, lastOnlineService.getPending(1L));
+        assertEquals(2, lastOnlineService.getPendingCount());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void flush_writes_one_batch_and_clears_pending() {
+        lastOnlineService.recordHeartbeat(1L, t1);
+        lastOnlineService.recordHeartbeat(1L, t2);
+        lastOnlineService.recordHeartbeat(2L, t1);
+
+        assertEquals(2, lastOnlineService.flush());
+
+        verify(jdbcTemplate).batchUpdate(eq(LastOnlineService.UPDATE_SQL), batchCaptor.capture());
+        List<Object[]> batch = batchCaptor.getValue();
+        assertEquals(2, batch.size());
+        for (Object[] row : batch) {
+            Instant expected = row[1].equals(1L) ? t2 : t1;
+            assertEquals(Timestamp.from(expected), row[0]);
+        }
+        assertEquals(0, lastOnlineService.getPendingCount());
+        assertNull(lastOnlineService.getPending(1L));
+    }
+
+    @Test
+    void flush_with_nothing_pending_does_not_touch_the_database() {
+        assertEquals(0, lastOnlineService.flush());
+        lastOnlineService.flushOnShutdown();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void applyPending_overlays_newer_values_only() {
+        lastOnlineService.recordHeartbeat(1L, t2);
+        lastOnlineService.recordHeartbeat(2L, t1);
+        UserSummary stale = UserSummary.builder().id(1L).lastOnline(t1).build();
+        UserSummary newer = UserSummary.builder().id(2L).lastOnline(t2).build();
+        UserSummary neverSeen = UserSummary.builder().id(3L).build();
+        UserSummary noTime = UserSummary.builder().id(2L).build();
+
+        List<UserSummary> users = List.of(stale, newer, neverSeen, noTime);
+        assertSame(users, lastOnlineService.applyPending(users));
+
+        assertEquals(t2, stale.getLastOnline());
+        assertEquals(t2, newer.getLastOnline());
+        assertNull(neverSeen.getLastOnline());
+        assertEquals(t1, noTime.getLastOnline());
+    }
+
+    @Test
+    void applyPending_on_empty_map_returns_input() {
+        UserSummary user = UserSummary.builder().id(1L).lastOnline(t1).build();
+        List<UserSummary> users = List.of(user);
+        assertSame(users, lastOnlineService.applyPending(users));
+        assertEquals(t1, user.getLastOnline());
+    }
+}
@@ -0,0 +1,159 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.User;
+import edu.ucsb.cs156.happiercows.entities.UserCommons;
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+import edu.ucsb.cs156.happiercows.models.LeaderboardEntry;
+import edu.ucsb.cs156.happiercows.models.LeaderboardMetric;
+import edu.ucsb.cs156.happiercows.models.LeaderboardView;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.services.jobs.JobStatusEvent;
+
+@ExtendWith(SpringExtension.class)
+@Import(LeaderboardService.class)
+@ContextConfiguration
+@TestPropertySource(properties = { "app.leaderboard.cacheSeconds=86400" })
+public class LeaderboardServiceTests {
+
+    @MockBean
+    UserCommonsRepository userCommonsRepository;
+
+    @Autowired
+    LeaderboardService leaderboardService;
+
+    @AfterEach
+    void clearCache() {
+        leaderboardService.invalidateAll();
+    }
+
+    private List<LeaderboardEntry> players(int n) {
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        for (long id = 1; id <= n; id++) {
+            entries.add(LeaderboardEntry.builder().userId(id).username("user" + id).totalWealth(id * 100).numOfCows((int) id).cowHealth(100 - id).build());
+        }
+        return entries;
+    }
+
+    @Test
+    void top_loads_rankings_once_and_returns_first_k() {
+        when(userCommonsRepository.findLeaderboardEntries(5L)).thenReturn(players(20));
+
+        LeaderboardView view = leaderboardService.top(5L, LeaderboardMetric.totalWealth, 3);
+        leaderboardService.top(5L, LeaderboardMetric.cowHealth, 3);
+
+        verify(userCommonsRepository, times(1)).findLeaderboardEntries(5L);
+        assertEquals(LeaderboardMetric.totalWealth, view.getMetric());
+        assertEquals(20, view.getTotalPlayers());
+        assertEquals(1, view.getFirstRank());
+        assertNull(view.getMyRank());
+        assertEquals(List.of(20L, 19L, 18L), view.getEntries().stream().map(LeaderboardEntry::getUserId).toList());
+    }
+
+    @Test
+    void around_returns_rank_with_neighbours() {
+        when(userCommonsRepository.findLeaderboardEntries(5L)).thenReturn(players(20));
+
+        LeaderboardView middle = leaderboardService.around(5L, 10L, LeaderboardMetric.totalWealth, 2).get();
+        assertEquals(11, middle.getMyRank());
+        assertEquals(9, middle.getFirstRank());
+        assertEquals(List.of(12L, 11L, 10L, 9L, 8L), middle.getEntries().stream().map(LeaderboardEntry::getUserId).toList());
+
+        LeaderboardView first = leaderboardService.around(5L, 20L, LeaderboardMetric.totalWealth, 2).get();
+        assertEquals(1, first.getMyRank());
+        assertEquals(1, first.getFirstRank());
+        assertEquals(3, first.getEntries().size());
+
+        assertTrue(leaderboardService.around(5L, 99L, LeaderboardMetric.totalWealth, 2).isEmpty());
+    }
+
+    @Test
+    void isPlayer_checks_membership() {
+        when(userCommonsRepository.findLeaderboardEntries(5L)).thenReturn(players(2));
+        assertTrue(leaderboardService.isPlayer(5L, 2L));
+        assertFalse(leaderboardService.isPlayer(5L, 3L));
+    }
+
+    @Test
+    void update_and_remove_only_touch_cached_leaderboards() {
+        when(userCommonsRepository.findLeaderboardEntries(5L)).thenReturn(players(3));
+        UserCommons trade = UserCommons.builder()
+                .user(User.builder().id(1L).build())
+                .commons(Commons.builder().id(5L).build())
+                .username("user1")
+                .totalWealth(10000)
+                .numOfCows(1)
+                .cowHealth(99)
+                .build();
+
+        // not cached yet: nothing to do
+        leaderboardService.update(trade);
+        leaderboardService.remove(5L, 2L);
+
+        assertEquals(3L, leaderboardService.top(5L, LeaderboardMetric.totalWealth, 1).getEntries().get(0).getUserId());
+        leaderboardService.update(trade);
+        assertEquals(1L, leaderboardService.top(5L, LeaderboardMetric.totalWealth, 1).getEntries().get(0).getUserId());
+
+        leaderboardService.remove(5L, 2L);
+        assertEquals(2, leaderboardService.top(5L, LeaderboardMetric.totalWealth, 10).getTotalPlayers());
+        verify(userCommonsRepository, times(1)).findLeaderboardEntries(5L);
+    }
+
+    @Test
+    void invalidate_and_finished_jobs_force_a_reload() {
+        when(userCommonsRepository.findLeaderboardEntries(5L)).thenReturn(players(3));
+        Job job = Job.builder().id(1L).status("running").build();
+
+        leaderboardService.top(5L, LeaderboardMetric.totalWealth, 1);
+        leaderboardService.onJobStatus(new JobStatusEvent(job, "running"));
+        leaderboardService.top(5L, LeaderboardMetric.totalWealth, 1);
+        verify(userCommonsRepository, times(1)).findLeaderboardEntries(5L);
+
+        leaderboardService.onJobStatus(new JobStatusEvent(job, "complete"));
+        leaderboardService.top(5L, LeaderboardMetric.totalWealth, 1);
+        verify(userCommonsRepository, times(2)).findLeaderboardEntries(5L);
+
+        leaderboardService.invalidate(5L);
+        leaderboardService.top(5L, LeaderboardMetric.totalWealth, 1);
+        verify(userCommonsRepository, times(3)).findLeaderboardEntries(5L);
+    }
+
+    @Test
+    void trades_made_elsewhere_show_up_after_cacheSeconds() {
+        leaderboardService.cacheSeconds = 60;
+        when(userCommonsRepository.findLeaderboardEntries(5L)).thenReturn(players(3));
+        leaderboardService.leaderboard(5L, 0);
+        List<LeaderboardEntry> afterTrade = players(3);
+        afterTrade.get(0).setTotalWealth(10000);
+        when(userCommonsRepository.findLeaderboardEntries(5L)).thenReturn(afterTrade);
+
+        CommonsLeaderboard before = leaderboardService.leaderboard(5L, 59_999);
+        CommonsLeaderboard after = leaderboardService.leaderboard(5L, 60_000);
+
+        assertEquals(3L, before.slice(LeaderboardMetric.totalWealth, 0, 1).get(0).getUserId());
+        assertEquals(1L, after.slice(LeaderboardMetric.totalWealth, 0, 1).get(0).getUserId());
+        verify(userCommonsRepository, times(2)).findLeaderboardEntries(5L);
+    }
+}
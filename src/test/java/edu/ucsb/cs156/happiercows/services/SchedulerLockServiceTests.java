@@ -0,0 +1,245 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.SchedulerLock;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.models.CommonsShard;
+import edu.ucsb.cs156.happiercows.models.LeaseStats;
+import edu.ucsb.cs156.happiercows.models.SchedulerStatus;
+import edu.ucsb.cs156.happiercows.repositories.SchedulerLockRepository;
+
+@ExtendWith(SpringExtension.class)
+@Import(SchedulerLockService.class)
+@ContextConfiguration
+@TestPropertySource(properties = {
+        "app.scheduler.instanceId=web-1",
+        "app.scheduler.heartbeatMs=10000",
+        "app.scheduler.tickLeaseSeconds=30",
+        "app.scheduler.shards=4"
+})
+public class SchedulerLockServiceTests {
+
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    SchedulerLockService schedulerLockService;
+
+    private SchedulerLock heartbeat(String instanceId) {
+        return SchedulerLock.builder().name(SchedulerLockService.INSTANCE_PREFIX + instanceId).lockedBy(instanceId).build();
+    }
+
+    @Test
+    void test_tryAcquire_takes_an_expired_or_own_lease() {
+        // arrange
+        when(jdbcTemplate.update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), eq("milkTheCows/0"), any(), any()))
+                .thenReturn(1);
+
+        // act
+        boolean acquired = schedulerLockService.tryAcquire("milkTheCows/0", Duration.ofSeconds(30));
+
+        // assert
+        assertTrue(acquired);
+        verify(jdbcTemplate, never()).update(eq(SchedulerLockService.INSERT_SQL), any(), any(), any(), any());
+        LeaseStats stats = schedulerLockService.getLeaseStats().get("milkTheCows/0");
+        assertEquals(1, stats.getAcquired());
+        assertNotNull(stats.getLastAcquiredAt());
+    }
+
+    @Test
+    void test_tryAcquire_leases_for_the_given_duration() {
+        // arrange
+        ArgumentCaptor<Timestamp> lockedAt = ArgumentCaptor.forClass(Timestamp.class);
+        ArgumentCaptor<Timestamp> lockedUntil = ArgumentCaptor.forClass(Timestamp.class);
+        when(jdbcTemplate.update(eq(SchedulerLockService.TAKE_SQL), eq("web-1"), lockedAt.capture(), lockedUntil.capture(),
+                eq("jobRetention"), any(), eq("web-1"))).thenReturn(1);
+
+        // act
+        schedulerLockService.tryAcquire("jobRetention", Duration.ofSeconds(30));
+
+        // assert
+        assertEquals(Duration.ofSeconds(30),
+                Duration.between(lockedAt.getValue().toInstant(), lockedUntil.getValue().toInstant()));
+    }
+
+    @Test
+    void test_tryAcquire_inserts_a_lease_used_for_the_first_time() {
+        // arrange
+        when(jdbcTemplate.update(eq(SchedulerLockService.INSERT_SQL), eq("newLease"), eq("web-1"), any(), any()))
+                .thenReturn(1);
+
+        // act
+        boolean acquired = schedulerLockService.tryAcquire("newLease", Duration.ofSeconds(30));
+
+        // assert
+        assertTrue(acquired);
+    }
+
+    @Test
+    void test_tryAcquire_fails_when_another_instance_holds_the_lease() {
+        // arrange
+        when(jdbcTemplate.update(eq(SchedulerLockService.INSERT_SQL), eq("heldLease"), any(), any(), any()))
+                .thenThrow(new DuplicateKeyException("duplicate key"));
+
+        // act
+        boolean acquired = schedulerLockService.tryAcquire("heldLease", Duration.ofSeconds(30));
+
+        // assert
+        assertFalse(acquired);
+        LeaseStats stats = schedulerLockService.getLeaseStats().get("heldLease");
+        assertEquals(0, stats.getAcquired());
+        assertEquals(1, stats.getDenied());
+    }
+
+    @Test
+    void test_release_expires_own_lease() {
+        // act
+        schedulerLockService.release("milkTheCows/0");
+
+        // assert
+        verify(jdbcTemplate).update(eq(SchedulerLockService.RELEASE_SQL), any(), eq("milkTheCows/0"), eq("web-1"));
+    }
+
+    @Test
+    void test_heartbeat_renews_instance_lease_and_forgets_dead_instances() {
+        // act
+        schedulerLockService.heartbeat();
+
+        // assert
+        verify(jdbcTemplate).update(eq(SchedulerLockService.TAKE_SQL), eq("web-1"), any(), any(), eq("instance:web-1"), any(), eq("web-1"));
+        verify(jdbcTemplate).update(eq(SchedulerLockService.DELETE_DEAD_INSTANCES_SQL), any(Timestamp.class));
+    }
+
+    @Test
+    void test_liveInstances() {
+        // arrange
+        when(schedulerLockRepository.findByNameStartingWithAndLockedUntilAfterOrderByName(eq("instance:"), any(Instant.class)))
+                .thenReturn(List.of(heartbeat("web-0"), heartbeat("web-1")));
+
+        // act and assert
+        assertEquals(List.of("web-0", "web-1"), schedulerLockService.liveInstances());
+    }
+
+    @Test
+    void test_claimTickShards_takes_this_instances_shards_it_can_lease() {
+        // arrange: web-1 is second of two instances, so it owns shards 1 and 3;
+        // web-0 has leased its shards 0 and 2
+        when(schedulerLockRepository.findByNameStartingWithAndLockedUntilAfterOrderByName(eq("instance:"), any(Instant.class)))
+                .thenReturn(List.of(heartbeat("web-0"), heartbeat("web-1")));
+        when(jdbcTemplate.update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), eq("milkTheCows/1"), any(), any()))
+                .thenReturn(1);
+        when(jdbcTemplate.update(eq(SchedulerLockService.INSERT_SQL), any(), any(), any(), any()))
+                .thenThrow(new DuplicateKeyException("duplicate key"));
+
+        // act
+        List<CommonsShard> shards = schedulerLockService.claimTickShards(TickType.milkTheCows);
+
+        // assert: its own shards are tried first
+        assertEquals(List.of(new CommonsShard(1, 4)), shards);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), eq("milkTheCows/1"), any(), any());
+        inOrder.verify(jdbcTemplate).update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), eq("milkTheCows/3"), any(), any());
+        inOrder.verify(jdbcTemplate).update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), eq("milkTheCows/0"), any(), any());
+        inOrder.verify(jdbcTemplate).update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), eq("milkTheCows/2"), any(), any());
+    }
+
+    @Test
+    void test_claimTickShards_takes_the_shards_of_a_dead_peer() {
+        // arrange: web-0 has died but its heartbeat has not expired, so
+        // nobody has leased its shards 0 and 2
+        when(schedulerLockRepository.findByNameStartingWithAndLockedUntilAfterOrderByName(eq("instance:"), any(Instant.class)))
+                .thenReturn(List.of(heartbeat("web-0"), heartbeat("web-1")));
+        when(jdbcTemplate.update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        // act
+        List<CommonsShard> shards = schedulerLockService.claimTickShards(TickType.recordCommonStats);
+
+        // assert
+        assertEquals(List.of(new CommonsShard(1, 4), new CommonsShard(3, 4), new CommonsShard(0, 4), new CommonsShard(2, 4)),
+                shards);
+    }
+
+    @Test
+    void test_claimTickShards_takes_every_shard_when_alone() {
+        // arrange
+        when(schedulerLockRepository.findByNameStartingWithAndLockedUntilAfterOrderByName(eq("instance:"), any(Instant.class)))
+                .thenReturn(List.of(heartbeat("web-1")));
+        when(jdbcTemplate.update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        // act
+        List<CommonsShard> shards = schedulerLockService.claimTickShards(TickType.updateCowHealth);
+
+        // assert
+        assertEquals(4, shards.size());
+    }
+
+    @Test
+    void test_claimSingleton() {
+        // arrange
+        when(jdbcTemplate.update(eq(SchedulerLockService.TAKE_SQL), any(), any(), any(), eq("jobRetention"), any(), any()))
+                .thenReturn(1);
+
+        // act and assert
+        assertTrue(schedulerLockService.claimSingleton("jobRetention"));
+    }
+
+    @Test
+    void test_getStatus() {
+        // arrange
+        SchedulerLock lock = SchedulerLock.builder().name("milkTheCows/1").lockedBy("web-1").build();
+        when(schedulerLockRepository.findByNameStartingWithAndLockedUntilAfterOrderByName(eq("instance:"), any(Instant.class)))
+                .thenReturn(List.of(heartbeat("web-1")));
+        when(schedulerLockRepository.findAllByOrderByName()).thenReturn(List.of(lock));
+
+        // act
+        SchedulerStatus status = schedulerLockService.getStatus();
+
+        // assert
+        assertEquals("web-1", status.getInstanceId());
+        assertEquals(List.of("web-1"), status.getLiveInstances());
+        assertEquals(4, status.getShards());
+        assertEquals(List.of(lock), status.getLocks());
+    }
+
+    @Test
+    void test_defaultInstanceId_is_unique_per_process() {
+        String id1 = SchedulerLockService.defaultInstanceId();
+        String id2 = SchedulerLockService.defaultInstanceId();
+
+        assertFalse(id1.isBlank());
+        assertFalse(id1.equals(id2));
+    }
+}
@@ -0,0 +1,190 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.models.SimulationParams;
+import edu.ucsb.cs156.happiercows.models.SimulationResult;
+import edu.ucsb.cs156.happiercows.models.SimulationRunSummary;
+import edu.ucsb.cs156.happiercows.models.SimulationSweep;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+import edu.ucsb.cs156.happiercows.repositories.CommonsRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+import edu.ucsb.cs156.happiercows.strategies.CowHealthUpdateStrategies;
+
+@ExtendWith(SpringExtension.class)
+@Import(SimulationService.class)
+@ContextConfiguration
+public class SimulationServiceTests {
+
+    @MockBean
+    CommonsRepository commonsRepository;
+
+    @MockBean
+    UserCommonsRepository userCommonsRepository;
+
+    @Autowired
+    SimulationService simulationService;
+
+    Commons commons = Commons.builder()
+            .id(5L)
+            .degradationRate(0.5)
+            .carryingCapacity(100)
+            .capacityPerUser(10)
+            .milkPrice(3.0)
+            .aboveCapacityHealthUpdateStrategy(CowHealthUpdateStrategies.Linear)
+            .belowCapacityHealthUpdateStrategy(CowHealthUpdateStrategies.Constant)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        when(commonsRepository.findById(5L)).thenReturn(Optional.of(commons));
+        when(userCommonsRepository.findSummariesByCommonsId(5L)).thenReturn(List.of(
+                UserCommonsSummary.builder().userId(1L).commonsId(5L).numOfCows(10).cowHealth(80).totalWealth(100).build(),
+                UserCommonsSummary.builder().userId(2L).commonsId(5L).numOfCows(30).cowHealth(60).totalWealth(50).build()));
+    }
+
+    @Test
+    void simulate_uses_commons_values_for_missing_params() {
+        SimulationResult result = simulationService.simulate(5L, SimulationParams.builder().ticks(4).build());
+
+        SimulationParams used = result.getParams();
+        assertEquals(4, used.getTicks());
+        assertEquals(0.5, used.getDegradationRate());
+        assertEquals(100, used.getCarryingCapacity());
+        assertEquals(10, used.getCapacityPerUser());
+        assertEquals(3.0, used.getMilkPrice());
+        assertEquals("Linear", used.getAboveCapacityHealthUpdateStrategy());
+        assertEquals("Constant", used.getBelowCapacityHealthUpdateStrategy());
+        assertEquals(2, result.getNumUsers());
+        assertEquals(40, result.getTotalCows()[0]);
+        assertEquals(70.0, result.getAverageCowHealth()[0]);
+        assertEquals(150.0, result.getTotalWealth()[0]);
+        assertEquals(72.0, result.getAverageCowHealth()[4]);
+    }
+
+    @Test
+    void simulate_overrides_commons_values() {
+        SimulationParams params = SimulationParams.builder()
+                .ticks(1)
+                .carryingCapacity(20)
+                .aboveCapacityHealthUpdateStrategy("Noop")
+                .build();
+
+        SimulationResult result = simulationService.simulate(5L, params);
+
+        assertEquals(20, result.getParams().getCarryingCapacity());
+        assertEquals(20, result.getEffectiveCapacity());
+        assertEquals(70.0, result.getAverageCowHealth()[1]);
+    }
+
+    @Test
+    void simulate_rejects_bad_params() {
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.simulate(5L, SimulationParams.builder().ticks(SimulationService.MAX_TICKS + 1).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.simulate(5L, SimulationParams.builder().ticks(-1).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.simulate(5L, SimulationParams.builder().milkEvery(0).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.simulate(5L, SimulationParams.builder().sampleEvery(0).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.simulate(5L, SimulationParams.builder().ticks(SimulationService.MAX_SAMPLES).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.simulate(5L, SimulationParams.builder().belowCapacityHealthUpdateStrategy("Magic").build()));
+    }
+
+    @Test
+    void simulate_unknown_commons_is_not_found() {
+        when(commonsRepository.findById(6L)).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class,
+                () -> simulationService.simulate(6L, SimulationParams.builder().build()));
+    }
+
+    @Test
+    void sweep_is_reproducible_and_varies_params_within_spread() {
+        SimulationSweep sweep = SimulationSweep.builder()
+                .params(SimulationParams.builder().ticks(50).build())
+                .runs(20)
+                .spread(0.5)
+                .seed(42)
+                .build();
+
+        List<SimulationRunSummary> first = simulationService.sweep(5L, sweep);
+        List<SimulationRunSummary> second = simulationService.sweep(5L, sweep);
+
+        assertEquals(20, first.size());
+        assertEquals(first, second);
+        assertNotEquals(first.get(0).getParams(), first.get(1).getParams());
+        for (SimulationRunSummary run : first) {
+            double rate = run.getParams().getDegradationRate();
+            assertTrue(rate >= 0.25 && rate <= 0.75);
+            double milkPrice = run.getParams().getMilkPrice();
+            assertTrue(milkPrice >= 1.5 && milkPrice <= 4.5);
+            assertEquals(50, run.getParams().getTicks());
+        }
+    }
+
+    @Test
+    void sweep_with_no_spread_matches_a_single_run() {
+        SimulationParams params = SimulationParams.builder().ticks(30).build();
+        SimulationSweep sweep = SimulationSweep.builder().params(params).runs(3).spread(0).build();
+
+        List<SimulationRunSummary> runs = simulationService.sweep(5L, sweep);
+        SimulationResult single = simulationService.simulate(5L, params);
+
+        for (SimulationRunSummary run : runs) {
+            assertEquals(single.getTotalWealth()[30], run.getTotalWealth(), 1e-9);
+            assertEquals(single.getAverageCowHealth()[30], run.getAverageCowHealth(), 1e-9);
+            assertEquals(single.getTotalCows()[30], run.getTotalCows());
+            assertEquals(single.getCowDeaths()[30], run.getCowDeaths());
+        }
+    }
+
+    @Test
+    void sweep_rejects_bad_runs_and_spread() {
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.sweep(5L, SimulationSweep.builder().runs(0).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.sweep(5L, SimulationSweep.builder().runs(SimulationService.MAX_RUNS + 1).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.sweep(5L, SimulationSweep.builder().spread(-0.1).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.sweep(5L, SimulationSweep.builder().spread(1.5).build()));
+    }
+
+    @Test
+    void sweep_with_zero_ticks_returns_the_starting_state() {
+        SimulationSweep sweep = SimulationSweep.builder().params(SimulationParams.builder().ticks(0).build()).runs(1).build();
+
+        List<SimulationRunSummary> runs = simulationService.sweep(5L, sweep);
+
+        assertEquals(150.0, runs.get(0).getTotalWealth());
+    }
+
+    @Test
+    void sweep_with_null_params_uses_the_defaults() {
+        SimulationSweep sweep = SimulationSweep.builder().params(null).runs(2).seed(3).build();
+
+        List<SimulationRunSummary> runs = simulationService.sweep(5L, sweep);
+
+        assertEquals(simulationService.sweep(5L, SimulationSweep.builder().runs(2).seed(3).build()), runs);
+    }
+}
@@ -0,0 +1,189 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.Student;
+import edu.ucsb.cs156.happiercows.errors.EntityNotFoundException;
+import edu.ucsb.cs156.happiercows.models.RosterImportResult;
+import edu.ucsb.cs156.happiercows.models.RosterRowResult;
+import edu.ucsb.cs156.happiercows.repositories.CourseRepository;
+
+@ExtendWith(SpringExtension.class)
+@Import(StudentRosterService.class)
+@ContextConfiguration
+@TestPropertySource(properties = { "app.students.import.batchSize=2" })
+public class StudentRosterServiceTests {
+
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    CourseRepository courseRepository;
+
+    @Autowired
+    StudentRosterService studentRosterService;
+
+    private final Student chris = Student.builder().id(5L).courseId(1L).perm("1234567")
+            .lastName("Gaucho").firstMiddleName("Chris").email("cgaucho@ucsb.edu").build();
+
+    @BeforeEach
+    void setUp() {
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(jdbcTemplate.query(eq(StudentRosterService.SELECT_SQL), ArgumentMatchers.<RowMapper<Student>>any(), eq(1L))).thenReturn(List.of(chris));
+    }
+
+    @Test
+    void test_new_changed_and_unchanged_students() throws Exception {
+        // arrange
+        String csv = """
+                perm,lastName,firstMiddleName,email
+                1234567,Gaucho,Chris,cgaucho@ucsb.edu
+                7654321,Storke,Del,dstorke@ucsb.edu
+                1111111,Lagoon,Campus,
+                """;
+
+        // act
+        RosterImportResult result = studentRosterService.importRoster(1L, new StringReader(csv));
+
+        // assert
+        assertEquals(1, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(1, result.getInvalid());
+        assertEquals(List.of(
+                new RosterRowResult(2, "1234567", "unchanged", null),
+                new RosterRowResult(3, "7654321", "inserted", null),
+                new RosterRowResult(4, "1111111", "invalid", "email is required")), result.getRows());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(StudentRosterService.INSERT_SQL), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertEquals(List.of(1L, "7654321", "Storke", "Del", "dstorke@ucsb.edu"), List.of(batch.getValue().get(0)));
+        verify(jdbcTemplate, never()).batchUpdate(eq(StudentRosterService.UPDATE_SQL), anyList());
+    }
+
+    @Test
+    void test_existing_student_is_updated() throws Exception {
+        // arrange
+        String csv = "perm,lastName,firstMiddleName,email\n1234567,Gaucho,Christopher,cgaucho@ucsb.edu\n";
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+
+        // act
+        RosterImportResult result = studentRosterService.importRoster(1L, new StringReader(csv));
+
+        // assert
+        assertEquals(1, result.getUpdated());
+        verify(jdbcTemplate).batchUpdate(eq(StudentRosterService.UPDATE_SQL), batch.capture());
+        assertEquals(List.of("Gaucho", "Christopher", "cgaucho@ucsb.edu", 5L), List.of(batch.getValue().get(0)));
+    }
+
+    @Test
+    void test_duplicate_perms_are_reported_once_written() throws Exception {
+        // arrange
+        String csv = "perm,email\n7654321,a@ucsb.edu\n7654321,b@ucsb.edu\n";
+
+        // act
+        RosterImportResult result = studentRosterService.importRoster(1L, new StringReader(csv));
+
+        // assert
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(new RosterRowResult(3, "7654321", "duplicate", "perm already on line 2"), result.getRows().get(1));
+    }
+
+    @Test
+    void test_registrar_column_names() throws Exception {
+        // arrange
+        String csv = "Enrl Cd,Perm #,Student Last,Student First Middle,Quarter,Email\n"
+                + "08235,7654321,Storke,Del,F24,dstorke@ucsb.edu\n";
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+
+        // act
+        studentRosterService.importRoster(1L, new StringReader(csv));
+
+        // assert
+        verify(jdbcTemplate).batchUpdate(eq(StudentRosterService.INSERT_SQL), batch.capture());
+        assertEquals(List.of(1L, "7654321", "Storke", "Del", "dstorke@ucsb.edu"), List.of(batch.getValue().get(0)));
+    }
+
+    @Test
+    void test_invalid_rows() throws Exception {
+        // arrange
+        String csv = "perm,email\n,a@ucsb.edu\n7654321,not-an-email\n\n";
+
+        // act
+        RosterImportResult result = studentRosterService.importRoster(1L, new StringReader(csv));
+
+        // assert
+        assertEquals(2, result.getInvalid());
+        assertEquals(List.of(
+                new RosterRowResult(2, null, "invalid", "perm is required"),
+                new RosterRowResult(3, "7654321", "invalid", "email is not valid")), result.getRows());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void test_rows_are_written_in_batches() throws Exception {
+        // arrange
+        StringBuilder csv = new StringBuilder("perm,email\n");
+        for (int i = 0; i < 5; i++) {
+            csv.append(i).append(",s").append(i).append("@ucsb.edu\n");
+        }
+        List<Integer> sizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(StudentRosterService.INSERT_SQL), anyList())).thenAnswer(invocation -> {
+            sizes.add(invocation.<List<Object[]>>getArgument(1).size());
+            return new int[0];
+        });
+
+        // act
+        RosterImportResult result = studentRosterService.importRoster(1L, new StringReader(csv.toString()));
+
+        // assert
+        assertEquals(5, result.getInserted());
+        verify(jdbcTemplate, times(3)).batchUpdate(eq(StudentRosterService.INSERT_SQL), anyList());
+        assertEquals(List.of(2, 2, 1), sizes);
+    }
+
+    @Test
+    void test_roster_without_required_columns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> studentRosterService.importRoster(1L, new StringReader("perm,name\n1,Chris\n")));
+    }
+
+    @Test
+    void test_course_does_not_exist() {
+        when(courseRepository.existsById(2L)).thenReturn(false);
+        assertThrows(EntityNotFoundException.class,
+                () -> studentRosterService.importRoster(2L, new StringReader("perm,email\n")));
+    }
+}
@@ -0,0 +1,140 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.ucsb.cs156.happiercows.entities.TickCheckpoint;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.repositories.TickCheckpointRepository;
+
+@ExtendWith(SpringExtension.class)
+@Import(TickCheckpointService.class)
+@ContextConfiguration
+public class TickCheckpointServiceTests {
+
+    @MockBean
+    TickCheckpointRepository tickCheckpointRepository;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @MockBean
+    GameStateEngine gameStateEngine;
+
+    @MockBean
+    UserHistoryService userHistoryService;
+
+    @Autowired
+    TickCheckpointService tickCheckpointService;
+
+    private final ZonedDateTime scheduledTime = ZonedDateTime.parse("2024-11-01T04:00:00-07:00");
+
+    @BeforeEach
+    void setUp() {
+        when(gameStateEngine.exclusive(anyLong(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void test_runOnce_applies_work_and_records_checkpoint() {
+        // arrange
+        AtomicInteger runs = new AtomicInteger();
+        when(tickCheckpointRepository.existsByTickTypeAndCommonsIdAndScheduledTime(TickType.milkTheCows, 17L, scheduledTime))
+                .thenReturn(false);
+
+        // act
+        boolean applied = tickCheckpointService.runOnce(TickType.milkTheCows, 17L, scheduledTime, runs::incrementAndGet);
+
+        // assert
+        assertTrue(applied);
+        assertEquals(1, runs.get());
+        ArgumentCaptor<TickCheckpoint> captor = ArgumentCaptor.forClass(TickCheckpoint.class);
+        verify(tickCheckpointRepository).save(captor.capture());
+        assertEquals(TickType.milkTheCows, captor.getValue().getTickType());
+        assertEquals(17L, captor.getValue().getCommonsId());
+        assertEquals(scheduledTime, captor.getValue().getScheduledTime());
+        verify(transactionManager).commit(any());
+        verify(gameStateEngine).exclusive(eq(17L), any());
+        verify(userHistoryService).recordCommons(17L, scheduledTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+    }
+
+    @Test
+    void test_runOnce_skips_work_already_applied() {
+        // arrange
+        AtomicInteger runs = new AtomicInteger();
+        when(tickCheckpointRepository.existsByTickTypeAndCommonsIdAndScheduledTime(TickType.milkTheCows, 17L, scheduledTime))
+                .thenReturn(true);
+
+        // act
+        boolean applied = tickCheckpointService.runOnce(TickType.milkTheCows, 17L, scheduledTime, runs::incrementAndGet);
+
+        // assert
+        assertFalse(applied);
+        assertEquals(0, runs.get());
+        verify(tickCheckpointRepository, never()).save(any());
+        verify(userHistoryService, never()).recordCommons(anyLong(), any());
+    }
+
+    @Test
+    void test_runOnce_does_not_record_history_for_stats_tick() {
+        // act
+        boolean applied = tickCheckpointService.runOnce(TickType.recordCommonStats, 17L, scheduledTime, () -> {});
+
+        // assert
+        assertTrue(applied);
+        verify(userHistoryService, never()).recordCommons(anyLong(), any());
+    }
+
+    @Test
+    void test_runOnce_skips_work_claimed_concurrently() {
+        // arrange
+        AtomicInteger runs = new AtomicInteger();
+        when(tickCheckpointRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // act
+        boolean applied = tickCheckpointService.runOnce(TickType.updateCowHealth, 17L, scheduledTime, runs::incrementAndGet);
+
+        // assert
+        assertFalse(applied);
+        assertEquals(0, runs.get());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void test_runOnce_rolls_back_checkpoint_when_work_fails() {
+        // act
+        RuntimeException thrown = assertThrows(RuntimeException.class,
+                () -> tickCheckpointService.runOnce(TickType.recordCommonStats, 17L, scheduledTime, () -> {
+                    throw new RuntimeException("boom");
+                }));
+
+        // assert
+        assertEquals("boom", thrown.getMessage());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+}
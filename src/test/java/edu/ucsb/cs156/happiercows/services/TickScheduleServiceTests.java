@@ -0,0 +1,181 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import edu.ucsb.cs156.happiercows.entities.Commons;
+import edu.ucsb.cs156.happiercows.entities.TickType;
+import edu.ucsb.cs156.happiercows.services.TickScheduleService.DueTicks;
+
+@ExtendWith(SpringExtension.class)
+@Import(TickScheduleService.class)
+@ContextConfiguration
+@TestPropertySource(properties = {
+        "app.milkTheCows.cron=0 0 4 * * *",
+        "app.updateCowHealth.cron=0 0 0,12 * * *",
+        "app.recordCommonStats.cron=0 0 0,6,12,18 * * *",
+        "spring.jackson.time-zone=America/Los_Angeles",
+        "app.ticks.spreadSeconds=900"
+})
+public class TickScheduleServiceTests {
+
+    @Autowired
+    TickScheduleService tickScheduleService;
+
+    private final Commons commons = Commons.builder().id(1L).name("test commons").build();
+
+    private final ZonedDateTime lastMilked = ZonedDateTime.parse("2024-11-01T04:00:00-07:00[America/Los_Angeles]");
+
+    private static LocalDateTime serverTime(String zoned) {
+        return ZonedDateTime.parse(zoned).withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+    }
+
+    @Test
+    void test_dueTicks_lists_missed_ticks_oldest_first() {
+        // act
+        DueTicks due = tickScheduleService.dueTicks(TickType.milkTheCows, commons, lastMilked,
+                ZonedDateTime.parse("2024-11-04T05:00:00-08:00"), 10);
+
+        // assert: 3 November is the end of daylight saving time
+        assertEquals(List.of(
+                ZonedDateTime.parse("2024-11-02T04:00:00-07:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-03T04:00:00-08:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-04T04:00:00-08:00[America/Los_Angeles]")), due.times());
+        assertEquals(0, due.dropped());
+    }
+
+    @Test
+    void test_dueTicks_includes_a_tick_due_exactly_now() {
+        DueTicks due = tickScheduleService.dueTicks(TickType.milkTheCows, commons, lastMilked,
+                ZonedDateTime.parse("2024-11-02T04:00:00-07:00"), 10);
+
+        assertEquals(1, due.times().size());
+    }
+
+    @Test
+    void test_dueTicks_is_empty_when_nothing_was_missed() {
+        DueTicks due = tickScheduleService.dueTicks(TickType.milkTheCows, commons, lastMilked,
+                ZonedDateTime.parse("2024-11-02T03:59:00-07:00"), 10);
+
+        assertEquals(List.of(), due.times());
+    }
+
+    @Test
+    void test_dueTicks_keeps_only_the_latest() {
+        // act
+        DueTicks due = tickScheduleService.dueTicks(TickType.updateCowHealth, commons, lastMilked,
+                ZonedDateTime.parse("2024-11-03T00:00:00-07:00"), 2);
+
+        // assert: due at 11-01 12:00, 11-02 00:00, 11-02 12:00, 11-03 00:00
+        assertEquals(List.of(
+                ZonedDateTime.parse("2024-11-02T12:00:00-07:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-03T00:00:00-07:00[America/Los_Angeles]")), due.times());
+        assertEquals(2, due.dropped());
+    }
+
+    @Test
+    void test_dueTicks_skips_ticks_outside_the_game() {
+        // arrange
+        Commons finished = Commons.builder()
+                .id(2L)
+                .startingDate(serverTime("2024-11-01T00:00:00-07:00"))
+                .lastDate(serverTime("2024-11-02T12:00:00-07:00"))
+                .build();
+
+        // act
+        DueTicks due = tickScheduleService.dueTicks(TickType.recordCommonStats, finished, lastMilked,
+                ZonedDateTime.parse("2024-11-04T00:00:00-08:00"), 10);
+
+        // assert
+        assertEquals(List.of(
+                ZonedDateTime.parse("2024-11-01T06:00:00-07:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-01T12:00:00-07:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-01T18:00:00-07:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-02T00:00:00-07:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-02T06:00:00-07:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-02T12:00:00-07:00[America/Los_Angeles]")), due.times());
+    }
+
+    @Test
+    void test_dueTicks_skips_ticks_before_the_game_starts() {
+        Commons notStarted = Commons.builder()
+                .id(3L)
+                .startingDate(serverTime("2024-11-03T00:00:00-07:00"))
+                .build();
+
+        DueTicks due = tickScheduleService.dueTicks(TickType.milkTheCows, notStarted, lastMilked,
+                ZonedDateTime.parse("2024-11-04T05:00:00-08:00"), 10);
+
+        assertEquals(2, due.times().size());
+    }
+
+    @Test
+    void test_getZone() {
+        assertEquals(ZoneId.of("America/Los_Angeles"), tickScheduleService.getZone());
+    }
+
+    @Test
+    void test_cronFor_uses_the_commons_schedule_when_it_has_one() {
+        // arrange
+        Commons own = Commons.builder().id(4L).milkTheCowsCron("0 15 5 * * *").updateCowHealthCron(" ").build();
+
+        // act and assert
+        assertEquals(CronExpression.parse("0 15 5 * * *"), tickScheduleService.cronFor(TickType.milkTheCows, own));
+        assertEquals(CronExpression.parse("0 0 0,12 * * *"), tickScheduleService.cronFor(TickType.updateCowHealth, own));
+        assertEquals(CronExpression.parse("0 0 0,6,12,18 * * *"), tickScheduleService.cronFor(TickType.recordCommonStats, own));
+    }
+
+    @Test
+    void test_dueTicks_follows_the_commons_schedule() {
+        Commons own = Commons.builder().id(4L).milkTheCowsCron("0 15 5 * * *").build();
+
+        DueTicks due = tickScheduleService.dueTicks(TickType.milkTheCows, own, lastMilked,
+                ZonedDateTime.parse("2024-11-02T06:00:00-07:00"), 10);
+
+        assertEquals(List.of(
+                ZonedDateTime.parse("2024-11-01T05:15:00-07:00[America/Los_Angeles]"),
+                ZonedDateTime.parse("2024-11-02T05:15:00-07:00[America/Los_Angeles]")), due.times());
+    }
+
+    @Test
+    void test_offsetFor_spreads_commons_within_the_window() {
+        // act
+        Set<Duration> offsets = new HashSet<>();
+        for (long id = 1; id <= 100; id++) {
+            Duration offset = tickScheduleService.offsetFor(Commons.builder().id(id).build());
+            assertTrue(!offset.isNegative() && offset.getSeconds() < 900, offset.toString());
+            offsets.add(offset);
+        }
+
+        // assert: the same commons always gets the same offset, and commons are spread out
+        assertEquals(tickScheduleService.offsetFor(Commons.builder().id(7L).build()),
+                tickScheduleService.offsetFor(Commons.builder().id(7L).name("renamed").build()));
+        assertTrue(offsets.size() > 80, "only " + offsets.size() + " distinct offsets");
+    }
+
+    @Test
+    void test_gameOver() {
+        Commons commons = Commons.builder().lastDate(serverTime("2024-11-02T12:00:00-07:00")).build();
+
+        assertEquals(false, TickScheduleService.gameOver(commons, ZonedDateTime.parse("2024-11-02T12:00:00-07:00")));
+        assertEquals(true, TickScheduleService.gameOver(commons, ZonedDateTime.parse("2024-11-02T12:00:01-07:00")));
+        assertEquals(false, TickScheduleService.gameOver(Commons.builder().build(), ZonedDateTime.parse("2024-11-02T12:00:01-07:00")));
+    }
+}
@@ -0,0 +1,105 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+
+public class TradeLogTests {
+
+    @TempDir
+    Path dir;
+
+    private static UserCommonsSummary trade(long commonsId, long userId, double wealth, int cows) {
+        return UserCommonsSummary.builder()
+                .commonsId(commonsId)
+                .userId(userId)
+                .totalWealth(wealth)
+                .numOfCows(cows)
+                .cowsBought(cows)
+                .build();
+    }
+
+    @Test
+    void test_new_log_starts_at_the_first_segment() throws Exception {
+        try (TradeLog tradeLog = new TradeLog(dir.resolve("wal"), false)) {
+            assertEquals(List.of(), tradeLog.getRecovered());
+            assertEquals(dir.resolve("wal").resolve("trades-000000000000.log"), tradeLog.getCurrent());
+            assertTrue(Files.exists(tradeLog.getCurrent()));
+        }
+    }
+
+    @Test
+    void test_replay_keeps_the_latest_trade_per_farmer() throws Exception {
+        // arrange
+        try (TradeLog tradeLog = new TradeLog(dir, true)) {
+            tradeLog.append(trade(1, 10, 200, 1));
+            tradeLog.append(trade(1, 11, 150, 1));
+            tradeLog.rotate();
+            tradeLog.append(trade(1, 10, 100, 2));
+        }
+
+        // act
+        TradeLog reopened = new TradeLog(dir, false);
+        List<UserCommonsSummary> rows = TradeLog.replay(reopened.getRecovered());
+        reopened.close();
+
+        // assert
+        assertEquals(2, reopened.getRecovered().size());
+        assertEquals(dir.resolve("trades-000000000002.log"), reopened.getCurrent());
+        assertEquals(List.of(trade(1, 11, 150, 1), trade(1, 10, 100, 2)), rows);
+    }
+
+    @Test
+    void test_replay_drops_trades_before_a_flush_of_their_commons() throws Exception {
+        // arrange
+        try (TradeLog tradeLog = new TradeLog(dir, false)) {
+            tradeLog.append(trade(1, 10, 200, 1));
+            tradeLog.append(trade(2, 10, 200, 1));
+            tradeLog.appendFlushed(1);
+            tradeLog.append(trade(1, 11, 50, 3));
+        }
+
+        // act
+        List<UserCommonsSummary> rows = TradeLog.replay(TradeLog.segments(dir));
+
+        // assert
+        assertEquals(List.of(trade(2, 10, 200, 1), trade(1, 11, 50, 3)), rows);
+    }
+
+    @Test
+    void test_replay_ignores_a_torn_last_line() throws Exception {
+        // arrange
+        Path segment;
+        try (TradeLog tradeLog = new TradeLog(dir, false)) {
+            tradeLog.append(trade(1, 10, 200, 1));
+            segment = tradeLog.getCurrent();
+        }
+        Files.writeString(segment, "T\t1\t10\t100.0\t2\t", StandardOpenOption.APPEND);
+
+        // act
+        List<UserCommonsSummary> rows = TradeLog.replay(List.of(segment));
+
+        // assert
+        assertEquals(List.of(trade(1, 10, 200, 1)), rows);
+    }
+
+    @Test
+    void test_rotate_returns_the_closed_segment() throws Exception {
+        try (TradeLog tradeLog = new TradeLog(dir, false)) {
+            Path first = tradeLog.getCurrent();
+            assertEquals(first, tradeLog.rotate());
+            assertFalse(first.equals(tradeLog.getCurrent()));
+            assertEquals(1, TradeLog.number(tradeLog.getCurrent()));
+        }
+    }
+}
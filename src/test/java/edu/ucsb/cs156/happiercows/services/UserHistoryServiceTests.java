@@ -0,0 +1,196 @@
+package edu.ucsb.cs156.happiercows.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import edu.ucsb.cs156.happiercows.entities.HistoryChunk;
+import edu.ucsb.cs156.happiercows.models.HistoryPoint;
+import edu.ucsb.cs156.happiercows.models.UserCommonsSummary;
+import edu.ucsb.cs156.happiercows.repositories.HistoryChunkRepository;
+import edu.ucsb.cs156.happiercows.repositories.UserCommonsRepository;
+
+@ExtendWith(SpringExtension.class)
+@Import(UserHistoryService.class)
+@ContextConfiguration
+@TestPropertySource(properties = { "app.history.chunkPoints=256" })
+public class UserHistoryServiceTests {
+
+    @MockBean
+    JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    HistoryChunkRepository historyChunkRepository;
+
+    @MockBean
+    UserCommonsRepository userCommonsRepository;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    UserHistoryService userHistoryService;
+
+    private final LocalDateTime tickTime = LocalDateTime.parse("2024-11-01T04:00:00");
+
+    private final UserCommonsSummary alice = new UserCommonsSummary(1L, 17L, "Alice", 300, 2, 100, 2, 0, 0);
+
+    private final UserCommonsSummary bob = new UserCommonsSummary(2L, 17L, "Bob", 150, 4, 90, 4, 0, 0);
+
+    private static HistoryPoint point(LocalDateTime time, double wealth) {
+        return new HistoryPoint(time, wealth, 2, 100);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test_record_appends_to_open_chunks_and_starts_new_ones() {
+        // arrange: alice has an open chunk, bob none
+        byte[] aliceData = HistoryCodec.append(new byte[0], point(tickTime.minusHours(12), 250));
+        when(jdbcTemplate.query(eq(UserHistoryService.SELECT_OPEN_SQL), any(RowMapper.class), eq(17L), eq(256)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getLong("id")).thenReturn(5L);
+                    when(rs.getLong("user_id")).thenReturn(1L);
+                    when(rs.getBytes("data")).thenReturn(aliceData);
+                    return List.of(mapper.mapRow(rs, 0));
+                });
+
+        // act
+        userHistoryService.record(17L, List.of(alice, bob), tickTime);
+
+        // assert: the farmers are locked before their chunks are read
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).queryForList(UserHistoryService.LOCK_SQL, Long.class, 17L);
+        inOrder.verify(jdbcTemplate).query(eq(UserHistoryService.SELECT_OPEN_SQL), any(RowMapper.class), eq(17L), eq(256));
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(UserHistoryService.UPDATE_SQL), anyList());
+        inOrder.verify(transactionManager).commit(any());
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(UserHistoryService.UPDATE_SQL), updates.capture());
+        assertEquals(1, updates.getValue().size());
+        Object[] update = updates.getValue().get(0);
+        assertEquals(Timestamp.valueOf(tickTime.minusHours(12)), update[0]);
+        assertEquals(Timestamp.valueOf(tickTime), update[1]);
+        assertEquals(2, update[2]);
+        assertEquals(List.of(point(tickTime.minusHours(12), 250), point(tickTime, 300)), HistoryCodec.points((byte[]) update[3]));
+        assertEquals(5L, update[4]);
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(UserHistoryService.INSERT_SQL), inserts.capture());
+        assertEquals(1, inserts.getValue().size());
+        Object[] insert = inserts.getValue().get(0);
+        assertArrayEquals(new Object[] { 17L, 2L, Timestamp.valueOf(tickTime), Timestamp.valueOf(tickTime), 1 },
+                Arrays.copyOf(insert, 5));
+        assertEquals(List.of(new HistoryPoint(tickTime, 150, 4, 90)), HistoryCodec.points((byte[]) insert[5]));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test_record_for_one_farmer_reads_only_their_chunks() {
+        // act
+        userHistoryService.record(17L, List.of(bob), tickTime);
+
+        // assert
+        verify(jdbcTemplate).queryForList(UserHistoryService.LOCK_USER_SQL, Long.class, 17L, 2L);
+        verify(jdbcTemplate, never()).queryForList(UserHistoryService.LOCK_SQL, Long.class, 17L);
+        verify(jdbcTemplate).query(eq(UserHistoryService.SELECT_OPEN_USER_SQL), any(RowMapper.class), eq(17L), eq(256), eq(2L));
+        verify(jdbcTemplate, never()).batchUpdate(eq(UserHistoryService.UPDATE_SQL), anyList());
+        verify(jdbcTemplate).batchUpdate(eq(UserHistoryService.INSERT_SQL), anyList());
+    }
+
+    @Test
+    void test_record_nothing() {
+        // act
+        userHistoryService.record(17L, List.of(), tickTime);
+
+        // assert
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void test_recordCommons_reads_every_farmer() {
+        // arrange
+        when(userCommonsRepository.findSummariesByCommonsId(17L)).thenReturn(List.of(alice, bob));
+
+        // act
+        userHistoryService.recordCommons(17L, tickTime);
+
+        // assert
+        verify(jdbcTemplate).batchUpdate(eq(UserHistoryService.INSERT_SQL), anyList());
+    }
+
+    @Test
+    void test_series_keeps_points_in_range_in_time_order() {
+        // arrange: a chunk from before the range, and a later one with a catch-up point
+        byte[] early = HistoryCodec.append(HistoryCodec.append(new byte[0], point(tickTime.minusDays(2), 100)),
+                point(tickTime.plusHours(1), 110));
+        byte[] late = HistoryCodec.append(HistoryCodec.append(new byte[0], point(tickTime.plusHours(3), 130)),
+                point(tickTime.plusHours(2), 120));
+        when(historyChunkRepository.findOverlapping(17L, 1L, tickTime, tickTime.plusDays(1))).thenReturn(List.of(
+                HistoryChunk.builder().data(early).build(),
+                HistoryChunk.builder().data(late).build()));
+
+        // act
+        List<HistoryPoint> series = userHistoryService.series(17L, 1L, tickTime, tickTime.plusDays(1), 10);
+
+        // assert
+        assertEquals(List.of(point(tickTime.plusHours(1), 110), point(tickTime.plusHours(2), 120), point(tickTime.plusHours(3), 130)), series);
+    }
+
+    @Test
+    void test_downsample_keeps_last_point_of_each_bucket() {
+        // arrange: one point a minute for ten hours
+        List<HistoryPoint> points = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            points.add(point(tickTime.plusMinutes(i), i));
+        }
+
+        // act
+        List<HistoryPoint> sampled = UserHistoryService.downsample(points, 10);
+
+        // assert
+        assertEquals(10, sampled.size());
+        assertEquals(point(tickTime.plusMinutes(59), 59), sampled.get(0));
+        assertEquals(points.get(599), sampled.get(9));
+    }
+
+    @Test
+    void test_downsample_short_series_is_unchanged() {
+        // arrange
+        List<HistoryPoint> points = List.of(point(tickTime, 1), point(tickTime.plusHours(1), 2));
+
+        // act and assert
+        assertEquals(points, UserHistoryService.downsample(points, 10));
+    }
+}
@@ -0,0 +1,85 @@
+package edu.ucsb.cs156.happiercows.services.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+
+public class JobEventServiceTests {
+
+  JobEventService jobEventService = new JobEventService();
+
+  @Test
+  void subscribe_registers_an_emitter() {
+    SseEmitter emitter = jobEventService.subscribe();
+    assertEquals(JobEventService.TIMEOUT_MS, emitter.getTimeout());
+    assertEquals(1, jobEventService.getSubscriberCount());
+  }
+
+  @Test
+  void status_and_log_events_are_sent_to_every_subscriber() throws Exception {
+    SseEmitter first = mock(SseEmitter.class);
+    SseEmitter second = mock(SseEmitter.class);
+    jobEventService.register(first);
+    jobEventService.register(second);
+
+    Job job = Job.builder().id(3L).status("complete").log("hello").build();
+    jobEventService.onJobStatus(new JobStatusEvent(job, "complete"));
+    jobEventService.onJobLog(new JobLogEvent(3L, 0, "hello"));
+
+    verify(first, times(2)).send(any(SseEventBuilder.class));
+    verify(second, times(2)).send(any(SseEventBuilder.class));
+  }
+
+  @Test
+  void subscribers_that_fail_are_dropped() throws Exception {
+    SseEmitter gone = mock(SseEmitter.class);
+    SseEmitter closed = mock(SseEmitter.class);
+    doThrow(new IOException("broken pipe")).when(gone).send(any(SseEventBuilder.class));
+    doThrow(new IllegalStateException("complete")).when(closed).send(any(SseEventBuilder.class));
+    jobEventService.register(gone);
+    jobEventService.register(closed);
+
+    jobEventService.onJobLog(new JobLogEvent(3L, 0, "hello"));
+    jobEventService.onJobLog(new JobLogEvent(3L, 6, "world"));
+
+    assertEquals(0, jobEventService.getSubscriberCount());
+    verify(gone, times(1)).send(any(SseEventBuilder.class));
+  }
+
+  @Test
+  void job_context_publishes_each_log_line_with_its_offset() {
+    ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    Job job = Job.builder().id(9L).build();
+    JobContext ctx = new JobContext(null, job, publisher);
+
+    ctx.log("first");
+    ctx.log("second");
+
+    ArgumentCaptor<JobLogEvent> captor = ArgumentCaptor.forClass(JobLogEvent.class);
+    verify(publisher, times(2)).publishEvent(captor.capture());
+    JobLogEvent firstEvent = captor.getAllValues().get(0);
+    JobLogEvent secondEvent = captor.getAllValues().get(1);
+    assertEquals(0, firstEvent.getOffset());
+    assertEquals("first", firstEvent.getMessage());
+    assertEquals(9L, secondEvent.getJobId());
+    assertEquals(5, secondEvent.getOffset());
+    assertEquals("\nsecond", secondEvent.getMessage());
+    // appending each delta to what the client has rebuilds the log
+    String client = firstEvent.getMessage();
+    assertEquals(secondEvent.getOffset(), client.length());
+    assertEquals(job.getLog(), client + secondEvent.getMessage());
+  }
+}
@@ -0,0 +1,95 @@
+package edu.ucsb.cs156.happiercows.services.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import edu.ucsb.cs156.happiercows.entities.jobs.Job;
+
+public class JobLogsTests {
+
+  @Test
+  void truncate_leaves_short_logs_alone() {
+    String log = "short log";
+    assertSame(log, JobLogs.truncate(log, 100));
+    assertSame(log, JobLogs.truncate(log, 0));
+    assertNull(JobLogs.truncate(null, 100));
+  }
+
+  @Test
+  void truncate_keeps_head_and_tail() {
+    String log = "a".repeat(100) + "b".repeat(100);
+    int max = JobLogs.TRUNCATION_MARKER.length() + 20;
+
+    String truncated = JobLogs.truncate(log, max);
+
+    assertEquals(max, truncated.length());
+    assertEquals("a".repeat(10) + JobLogs.TRUNCATION_MARKER + "b".repeat(10), truncated);
+  }
+
+  @Test
+  void truncate_with_tiny_limit_keeps_only_the_tail() {
+    assertEquals("xyz", JobLogs.truncate("abcdefghijklmnopqrstuvwxyz".repeat(3), 3));
+  }
+
+  @Test
+  void compress_round_trips() {
+    String log = "Starting job...\nDone! ✓\n".repeat(50);
+    byte[] compressed = JobLogs.compress(log);
+    assertTrue(compressed.length < log.length());
+    assertEquals(log, JobLogs.decompress(compressed));
+  }
+
+  @Test
+  void job_context_caps_the_log_and_keeps_the_latest_line() {
+    Job job = Job.builder().build();
+    int max = JobLogs.TRUNCATION_MARKER.length() + 40;
+    JobContext ctx = new JobContext(null, job, null, max);
+
+    for (int i = 0; i < 100; i++) {
+      ctx.log("line " + i);
+    }
+
+    assertEquals(max, job.getLog().length());
+    assertTrue(job.getLog().startsWith("line 0\nline 1\n"));
+    assertTrue(job.getLog().endsWith("line 98\nline 99"));
+  }
+
+  @Test
+  void stableLength_is_the_head_and_marker_of_a_truncated_log() {
+    String truncated = JobLogs.truncate("a".repeat(100) + "b".repeat(100), JobLogs.TRUNCATION_MARKER.length() + 20);
+
+    assertEquals(10 + JobLogs.TRUNCATION_MARKER.length(), JobLogs.stableLength(truncated));
+    assertEquals(9, JobLogs.stableLength("short log"));
+  }
+
+  @Test
+  void log_events_rebuild_the_log_after_it_is_truncated() {
+    ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+    Job job = Job.builder().id(4L).build();
+    int max = JobLogs.TRUNCATION_MARKER.length() + 40;
+    JobContext ctx = new JobContext(null, job, publisher, max);
+    ArgumentCaptor<JobLogEvent> events = ArgumentCaptor.forClass(JobLogEvent.class);
+
+    String client = "";
+    for (int i = 0; i < 30; i++) {
+      ctx.log("line " + i);
+
+      // a client keeps the first offset characters and replaces the rest
+      verify(publisher, times(i + 1)).publishEvent(events.capture());
+      JobLogEvent event = events.getValue();
+      assertTrue(event.getOffset() <= client.length());
+      client = client.substring(0, event.getOffset()) + event.getMessage();
+      assertEquals(job.getLog(), client);
+    }
+    assertTrue(job.getLog().contains(JobLogs.TRUNCATION_MARKER));
+  }
+}
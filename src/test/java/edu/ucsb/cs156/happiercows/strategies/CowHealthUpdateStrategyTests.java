@@ -11,8 +11,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.Random;
+
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration
 class CowHealthUpdateStrategyTests {
@@ -62,4 +65,90 @@ class CowHealthUpdateStrategyTests {
         assertEquals(50.0, formula.calculateNewCowHealth(commonsPlus, user, 100));
         assertEquals(50.0, formula.calculateNewCowHealth(commonsPlus, user, 90));
     }
+
+    @Test
+    void exponential_decay_scales_health_by_overload() {
+        var formula = CowHealthUpdateStrategies.ExponentialDecay;
+
+        assertEquals(50.0 * Math.exp(-0.001), formula.calculateNewCowHealth(commonsPlus, user, 110), 1e-9);
+        assertEquals(50.0, formula.calculateNewCowHealth(commonsPlus, user, 100));
+        assertEquals(50.0 * Math.exp(0.001), formula.calculateNewCowHealth(commonsPlus, user, 90), 1e-9);
+    }
+
+    @Test
+    void logistic_recovery_is_fastest_at_half_health() {
+        var formula = CowHealthUpdateStrategies.LogisticRecovery;
+        UserCommons healthy = UserCommons.builder().cowHealth(90).build();
+
+        assertEquals(50.01, formula.calculateNewCowHealth(commonsPlus, user, 100), 1e-9);
+        assertEquals(90.0036, formula.calculateNewCowHealth(commonsPlus, healthy, 90), 1e-9);
+        assertEquals(49.99, formula.calculateNewCowHealth(commonsPlus, user, 110), 1e-9);
+    }
+
+    @Test
+    void crowding_only_penalizes_cows_over_an_equal_share() {
+        var formula = CowHealthUpdateStrategies.Crowding;
+        CommonsPlus twoUsers = CommonsPlus.builder().commons(commons).totalCows(0).totalUsers(2).build();
+        UserCommons big = UserCommons.builder().cowHealth(50).numOfCows(80).build();
+        UserCommons small = UserCommons.builder().cowHealth(50).numOfCows(30).build();
+
+        assertEquals(49.7, formula.calculateNewCowHealth(twoUsers, big, 110), 1e-9);
+        assertEquals(50.0, formula.calculateNewCowHealth(twoUsers, small, 110), 1e-9);
+        assertEquals(50.01, formula.calculateNewCowHealth(twoUsers, big, 100), 1e-9);
+    }
+
+    @Test
+    void array_form_matches_per_farmer_form_for_every_strategy() {
+        Random random = new Random(156);
+        int users = 50;
+        double[] health = new double[users];
+        int[] cows = new int[users];
+        int totalCows = 0;
+        for (int i = 0; i < users; i++) {
+            health[i] = random.nextDouble() * 100;
+            cows[i] = random.nextInt(10);
+            totalCows += cows[i];
+        }
+        CommonsPlus manyUsers = CommonsPlus.builder().commons(commons).totalCows(totalCows).totalUsers(users).build();
+
+        for (CowHealthUpdateStrategies strategy : CowHealthUpdateStrategies.values()) {
+            for (int total : new int[] { totalCows, 1000 }) {
+                double[] expected = new double[users];
+                for (int i = 0; i < users; i++) {
+                    UserCommons uC = UserCommons.builder().cowHealth(health[i]).numOfCows(cows[i]).build();
+                    expected[i] = strategy.calculateNewCowHealth(manyUsers, uC, total);
+                }
+
+                double[] actual = health.clone();
+                strategy.calculateNewCowHealth(actual, cows, total, manyUsers.getEffectiveCapacity(), commons.getDegradationRate());
+
+                assertArrayEquals(expected, actual, 1e-9, strategy.name());
+            }
+        }
+    }
+
+    @Test
+    void default_array_form_calls_per_farmer_form() {
+        CowHealthUpdateStrategy custom = new CowHealthUpdateStrategy() {
+            @Override
+            public double calculateNewCowHealth(CommonsPlus commonsPlus, UserCommons uC, int totalCows) {
+                return uC.getCowHealth() + uC.getNumOfCows() + commonsPlus.getEffectiveCapacity() + totalCows + commonsPlus.getCommons().getDegradationRate();
+            }
+
+            @Override
+            public String getDisplayName() {
+                return "Custom";
+            }
+
+            @Override
+            public String getDescription() {
+                return "For testing";
+            }
+        };
+        double[] health = { 10.0, 20.0 };
+
+        custom.calculateNewCowHealth(health, new int[] { 1, 2 }, 30, 40, 0.5);
+
+        assertArrayEquals(new double[] { 81.5, 92.5 }, health);
+    }
 }